@@ -0,0 +1,128 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.exceptions.CPATransferException;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.test.BenchmarkStates;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+/**
+ * Benchmark for the edge matching of {@link AutomatonTransferRelation}. The inputs are all pairs of
+ * specification-automaton states and CFA edges that occur in the ARG of a value analysis of a
+ * program.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class AutomatonTransferRelationBenchmark {
+
+  @Param({"test/programs/simple/ex2.cil.c", "test/programs/simple/types.cil.c"})
+  public String program;
+
+  private ImmutableList<AutomatonState> states;
+  private ImmutableList<CFAEdge> edges;
+  private ImmutableList<AutomatonTransferRelation> transferRelations;
+  private ImmutableList<Precision> precisions;
+
+  @Setup(Level.Trial)
+  public void extractTransitions() throws Exception {
+    CPAcheckerResult result =
+        BenchmarkStates.analyze(
+            "config/valueAnalysis-NoCegar.properties", program, ImmutableMap.of());
+    CFA cfa = result.getCfa();
+
+    // one fresh CPA per specification automaton, independent from the CPAs of the analysis
+    Map<Automaton, AutomatonTransferRelation> transferRelationCache = new HashMap<>();
+    Map<Automaton, Precision> precisionCache = new HashMap<>();
+    ImmutableList.Builder<AutomatonState> stateBuilder = ImmutableList.builder();
+    ImmutableList.Builder<CFAEdge> edgeBuilder = ImmutableList.builder();
+    ImmutableList.Builder<AutomatonTransferRelation> transferBuilder = ImmutableList.builder();
+    ImmutableList.Builder<Precision> precisionBuilder = ImmutableList.builder();
+
+    for (AbstractState state : result.getReached()) {
+      ARGState parent = AbstractStates.extractStateByType(state, ARGState.class);
+      for (ARGState child : parent.getChildren()) {
+        CFAEdge edge = parent.getEdgeToChild(child);
+        if (edge == null) {
+          continue;
+        }
+        for (AutomatonState automatonState :
+            AbstractStates.asIterable(parent).filter(AutomatonState.class)) {
+          Automaton automaton = automatonState.getOwningAutomaton();
+          if (!transferRelationCache.containsKey(automaton)) {
+            CPAFactory factory =
+                ControlAutomatonCPA.factory()
+                    .setConfiguration(TestDataTools.configurationForTest().build())
+                    .setLogger(LogManager.createNullLogManager())
+                    .setShutdownNotifier(ShutdownNotifier.createDummy())
+                    .set(cfa, CFA.class)
+                    .set(automaton, Automaton.class);
+            ControlAutomatonCPA cpa = (ControlAutomatonCPA) factory.createInstance();
+            transferRelationCache.put(automaton, cpa.getTransferRelation());
+            precisionCache.put(
+                automaton,
+                cpa.getInitialPrecision(
+                    cfa.getMainFunction(), StateSpacePartition.getDefaultPartition()));
+          }
+          stateBuilder.add(automatonState);
+          edgeBuilder.add(edge);
+          transferBuilder.add(transferRelationCache.get(automaton));
+          precisionBuilder.add(precisionCache.get(automaton));
+        }
+      }
+    }
+    states = stateBuilder.build();
+    edges = edgeBuilder.build();
+    transferRelations = transferBuilder.build();
+    precisions = precisionBuilder.build();
+  }
+
+  @Benchmark
+  public void getAbstractSuccessorsForEdge(Blackhole pBlackhole)
+      throws CPATransferException, InterruptedException {
+    for (int i = 0; i < states.size(); i++) {
+      pBlackhole.consume(
+          transferRelations
+              .get(i)
+              .getAbstractSuccessorsForEdge(states.get(i), precisions.get(i), edges.get(i)));
+    }
+  }
+}
@@ -0,0 +1,128 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.invariants;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState.ValueAndType;
+import org.sosy_lab.cpachecker.cpa.value.type.Value;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.test.BenchmarkStates;
+
+/**
+ * Benchmarks for the arithmetic operations of {@link CompoundBitVectorInterval}. The operands are
+ * the unions of all values that the value analysis finds for each variable of a program, which
+ * results in a realistic mix of singletons and intervals with holes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CompoundBitVectorIntervalBenchmark {
+
+  private static final BitVectorInfo INFO = BitVectorInfo.from(64, true);
+
+  @Param({"test/programs/simple/ex2.cil.c", "test/programs/simple/types.cil.c"})
+  public String program;
+
+  @Param({"true", "false"})
+  public boolean allowSignedWrapAround;
+
+  private ImmutableList<CompoundBitVectorInterval> operands;
+
+  @Setup(Level.Trial)
+  public void extractIntervals() throws Exception {
+    Map<MemoryLocation, CompoundBitVectorInterval> intervals = new HashMap<>();
+    for (ValueAnalysisState state :
+        BenchmarkStates.extractStates(
+                BenchmarkStates.analyze(
+                        "config/valueAnalysis-NoCegar.properties", program, ImmutableMap.of())
+                    .getReached(),
+                ValueAnalysisState.class)
+            .values()) {
+      for (Entry<MemoryLocation, ValueAndType> entry : state.getConstants()) {
+        Value value = entry.getValue().getValue();
+        if (value.isNumericValue()) {
+          CompoundBitVectorInterval singleton =
+              CompoundBitVectorInterval.singleton(INFO, value.asNumericValue().longValue());
+          intervals.merge(entry.getKey(), singleton, CompoundBitVectorInterval::union);
+        }
+      }
+    }
+    operands = ImmutableList.copyOf(intervals.values());
+  }
+
+  @Benchmark
+  public void add(Blackhole pBlackhole) {
+    for (int i = 1; i < operands.size(); i++) {
+      pBlackhole.consume(
+          operands
+              .get(i - 1)
+              .add(operands.get(i), allowSignedWrapAround, OverflowEventHandler.EMPTY));
+    }
+  }
+
+  @Benchmark
+  public void multiply(Blackhole pBlackhole) {
+    for (int i = 1; i < operands.size(); i++) {
+      pBlackhole.consume(
+          operands
+              .get(i - 1)
+              .multiply(operands.get(i), allowSignedWrapAround, OverflowEventHandler.EMPTY));
+    }
+  }
+
+  @Benchmark
+  public void divide(Blackhole pBlackhole) {
+    for (int i = 1; i < operands.size(); i++) {
+      pBlackhole.consume(
+          operands
+              .get(i - 1)
+              .divide(operands.get(i), allowSignedWrapAround, OverflowEventHandler.EMPTY));
+    }
+  }
+
+  @Benchmark
+  public void binaryAnd(Blackhole pBlackhole) {
+    for (int i = 1; i < operands.size(); i++) {
+      pBlackhole.consume(
+          operands
+              .get(i - 1)
+              .binaryAnd(operands.get(i), allowSignedWrapAround, OverflowEventHandler.EMPTY));
+    }
+  }
+
+  @Benchmark
+  public void unionAndIntersect(Blackhole pBlackhole) {
+    for (int i = 1; i < operands.size(); i++) {
+      CompoundBitVectorInterval union = operands.get(i - 1).unionWith(operands.get(i));
+      pBlackhole.consume(union.intersectWith(operands.get(i)));
+    }
+  }
+}
@@ -0,0 +1,107 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.value;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState.ValueAndType;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.test.BenchmarkStates;
+
+/**
+ * Benchmarks for the coverage check of {@link ValueAnalysisState} and for the updates of its
+ * underlying persistent map, using the states that the value analysis computes for a program.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ValueAnalysisStateBenchmark {
+
+  /** Upper bound for the number of state pairs that are compared per benchmark invocation. */
+  private static final int MAX_PAIRS = 100_000;
+
+  @Param({"test/programs/simple/ex2.cil.c", "test/programs/simple/types.cil.c"})
+  public String program;
+
+  private ImmutableList<ValueAnalysisState> states;
+  private ImmutableList<ValueAnalysisState> first;
+  private ImmutableList<ValueAnalysisState> second;
+
+  @Setup(Level.Trial)
+  public void extractStates() throws Exception {
+    ImmutableListMultimap<CFANode, ValueAnalysisState> statesByLocation =
+        BenchmarkStates.extractStates(
+            BenchmarkStates.analyze(
+                    "config/valueAnalysis-NoCegar.properties", program, ImmutableMap.of())
+                .getReached(),
+            ValueAnalysisState.class);
+    states = ImmutableList.copyOf(statesByLocation.values());
+
+    ImmutableList.Builder<ValueAnalysisState> firstBuilder = ImmutableList.builder();
+    ImmutableList.Builder<ValueAnalysisState> secondBuilder = ImmutableList.builder();
+    int pairs = 0;
+    for (CFANode location : statesByLocation.keySet()) {
+      List<ValueAnalysisState> statesAtLocation = statesByLocation.get(location);
+      for (ValueAnalysisState state1 : statesAtLocation) {
+        for (ValueAnalysisState state2 : statesAtLocation) {
+          if (state1 != state2 && pairs++ < MAX_PAIRS) {
+            firstBuilder.add(state1);
+            secondBuilder.add(state2);
+          }
+        }
+      }
+    }
+    first = firstBuilder.build();
+    second = secondBuilder.build();
+  }
+
+  @Benchmark
+  public void isLessOrEqual(Blackhole pBlackhole) {
+    for (int i = 0; i < first.size(); i++) {
+      pBlackhole.consume(first.get(i).isLessOrEqual(second.get(i)));
+    }
+  }
+
+  /** Overwrite and afterwards remove each tracked value of each state. */
+  @Benchmark
+  public void assignAndForget(Blackhole pBlackhole) {
+    for (ValueAnalysisState state : states) {
+      ValueAnalysisState copy = ValueAnalysisState.copyOf(state);
+      for (Entry<MemoryLocation, ValueAndType> entry : state.getConstants()) {
+        copy.assignConstant(entry.getKey(), new NumericValue(0), entry.getValue().getType());
+      }
+      for (MemoryLocation memoryLocation : state.getTrackedMemoryLocations()) {
+        pBlackhole.consume(copy.forget(memoryLocation));
+      }
+      pBlackhole.consume(copy);
+    }
+  }
+}
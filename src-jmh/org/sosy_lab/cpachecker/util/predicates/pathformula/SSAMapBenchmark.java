@@ -0,0 +1,91 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.predicates.pathformula;
+
+import static org.sosy_lab.common.collect.MapsDifference.collectMapsDifferenceTo;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.common.collect.MapsDifference;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cpa.predicate.PredicateAbstractState;
+import org.sosy_lab.cpachecker.util.test.BenchmarkStates;
+
+/**
+ * Benchmark for {@link SSAMap#merge}, applied to all pairs of SSA maps that the predicate analysis
+ * computes for the same program location (without merging them).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SSAMapBenchmark {
+
+  @Param({"test/programs/simple/ex2.cil.c", "test/programs/simple/types.cil.c"})
+  public String program;
+
+  private ImmutableList<SSAMap> first;
+  private ImmutableList<SSAMap> second;
+
+  @Setup(Level.Trial)
+  public void extractSSAMaps() throws Exception {
+    ImmutableList.Builder<SSAMap> firstBuilder = ImmutableList.builder();
+    ImmutableList.Builder<SSAMap> secondBuilder = ImmutableList.builder();
+
+    ImmutableListMultimap<CFANode, PredicateAbstractState> states =
+        BenchmarkStates.extractStates(
+            BenchmarkStates.analyze(
+                    "config/predicateAnalysis.properties",
+                    program,
+                    ImmutableMap.of("cpa.predicate.merge", "SEP"))
+                .getReached(),
+            PredicateAbstractState.class);
+
+    for (CFANode location : states.keySet()) {
+      List<PredicateAbstractState> statesAtLocation = states.get(location);
+      for (int i = 0; i < statesAtLocation.size(); i++) {
+        for (int j = i + 1; j < statesAtLocation.size(); j++) {
+          firstBuilder.add(statesAtLocation.get(i).getPathFormula().getSsa());
+          secondBuilder.add(statesAtLocation.get(j).getPathFormula().getSsa());
+        }
+      }
+    }
+    first = firstBuilder.build();
+    second = secondBuilder.build();
+  }
+
+  @Benchmark
+  public void merge(Blackhole pBlackhole) {
+    List<MapsDifference.Entry<String, Integer>> differences = new ArrayList<>();
+    for (int i = 0; i < first.size(); i++) {
+      differences.clear();
+      pBlackhole.consume(
+          SSAMap.merge(first.get(i), second.get(i), collectMapsDifferenceTo(differences)));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.test;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import java.util.Map;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.CPAchecker;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+
+/**
+ * Utilities for the JMH benchmarks that provide realistic abstract states by running an analysis
+ * on one of the programs in <code>test/programs</code>. All paths are relative to the CPAchecker
+ * directory, which is the working directory when running the benchmarks with <code>ant jmh</code>.
+ */
+public final class BenchmarkStates {
+
+  private BenchmarkStates() {}
+
+  /**
+   * Run the analysis defined by the given configuration file on the given program. The analysis
+   * does not stop at the first property violation, and no output files are written.
+   */
+  public static CPAcheckerResult analyze(
+      String pConfigFile, String pProgram, Map<String, String> pOptions) throws Exception {
+    Configuration config =
+        TestDataTools.configurationForTest()
+            .loadFromFile(pConfigFile)
+            .setOption("analysis.stopAfterError", "false")
+            .setOptions(pOptions)
+            .build();
+    CPAchecker cpaChecker =
+        new CPAchecker(config, LogManager.createNullLogManager(), ShutdownManager.create());
+    CPAcheckerResult result = cpaChecker.run(ImmutableList.of(pProgram));
+    checkState(
+        result.getReached() != null && result.getCfa() != null,
+        "Analysis of %s with %s failed",
+        pProgram,
+        pConfigFile);
+    return result;
+  }
+
+  /**
+   * Extract all abstract states of the given type from the reached set, grouped by their program
+   * location. States at the same location are the ones that are compared and merged by an
+   * analysis.
+   */
+  public static <T extends AbstractState> ImmutableListMultimap<CFANode, T> extractStates(
+      UnmodifiableReachedSet pReached, Class<T> pType) {
+    ImmutableListMultimap.Builder<CFANode, T> result = ImmutableListMultimap.builder();
+    for (AbstractState state : pReached) {
+      CFANode location = AbstractStates.extractLocation(state);
+      T component = AbstractStates.extractStateByType(state, pType);
+      if (location != null && component != null) {
+        result.put(location, component);
+      }
+    }
+    return result.build();
+  }
+}
@@ -10,18 +10,23 @@ package org.sosy_lab.cpachecker.cfa;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.io.MoreFiles;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -29,9 +34,11 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.Concurrency;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
@@ -41,6 +48,7 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.io.IO;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.ADeclaration;
 import org.sosy_lab.cpachecker.cfa.ast.AExpression;
@@ -84,6 +92,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CDefaults;
 import org.sosy_lab.cpachecker.cfa.types.c.CElaboratedType;
 import org.sosy_lab.cpachecker.cfa.types.c.CStorageClass;
 import org.sosy_lab.cpachecker.cfa.types.c.CType;
+import org.sosy_lab.cpachecker.core.CPAchecker;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.cfa.ast.acsl.ACSLParser;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
@@ -212,18 +221,47 @@ public class CFACreator {
   @Option(
     secure = true,
     name = "cfa.serialize",
-    description = "export CFA as .ser file (dump Java objects)"
+    description =
+        "export CFA in a binary format that can be loaded again with cfa.deserializeFile"
   )
   private boolean serializeCfa = false;
 
   @Option(
     secure = true,
     name = "cfa.serializeFile",
-    description = "export CFA as .ser file (dump Java objects)"
+    description =
+        "export CFA in a binary format that can be loaded again with cfa.deserializeFile."
+            + " The file is compressed if its name ends with '.gz',"
+            + " uncompressed files are larger but faster to load."
   )
   @FileOption(FileOption.Type.OUTPUT_FILE)
   private Path serializeCfaFile = Path.of("cfa.ser.gz");
 
+  @Option(
+    secure = true,
+    name = "cfa.deserializeFile",
+    description =
+        "load the CFA from a file that was written with cfa.serialize instead of parsing"
+            + " the program. The file needs to be created with the same version of CPAchecker"
+            + " and the same options for CFA creation."
+  )
+  @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
+  private @Nullable Path deserializeCfaFile = null;
+
+  @Option(
+    secure = true,
+    name = "cfa.cache.directory",
+    description =
+        "directory for caching CFAs between runs of CPAchecker. If a CFA was already created"
+            + " for the same program files with the same version of CPAchecker and the same"
+            + " options for parsing and CFA creation, it is loaded from this directory"
+            + " instead of parsing the program again. Use an absolute path to share the cache"
+            + " between runs with different output directories. Programs that need to be"
+            + " preprocessed are not cached because included files are not tracked."
+  )
+  @FileOption(FileOption.Type.OUTPUT_DIRECTORY)
+  private @Nullable Path cfaCacheDirectory = null;
+
   @Option(
     secure = true,
     name = "cfa.pixelGraphicFile",
@@ -302,13 +340,22 @@ public class CFACreator {
 
   private static class CFACreatorStatistics implements Statistics {
 
+    private static final int SLOWEST_FILES_IN_STATISTICS = 5;
+
     private final Timer parserInstantiationTime = new Timer();
     private final Timer totalTime = new Timer();
     private Timer parsingTime;
     private Timer conversionTime;
+    private @Nullable Timer functionConversionTime;
+    private Supplier<ImmutableMap<Path, TimeSpan>> parseTimesPerFile = ImmutableMap::of;
     private final Timer checkTime = new Timer();
     private final Timer processingTime = new Timer();
     private final Timer exportTime = new Timer();
+    private final Timer deserializationTime = new Timer();
+    private final Timer cacheLookupTime = new Timer();
+    private int cacheHits = 0;
+    private int cacheMisses = 0;
+    private TimeSpan cacheTimeSaved = TimeSpan.empty();
     private final List<Statistics> statisticsCollection;
     private final LogManager logger;
 
@@ -327,13 +374,39 @@ public class CFACreator {
       out.println("  Time for loading parser:    " + parserInstantiationTime);
       out.println("  Time for CFA construction:  " + totalTime);
       out.println("    Time for parsing file(s): " + parsingTime);
+      ImmutableMap<Path, TimeSpan> parseTimes = parseTimesPerFile.get();
+      if (parseTimes.size() > 1) {
+        // the slowest files, which helps to find expensive headers
+        for (Map.Entry<Path, TimeSpan> entry :
+            Ordering.natural()
+                .onResultOf(Map.Entry<Path, TimeSpan>::getValue)
+                .greatestOf(parseTimes.entrySet(), SLOWEST_FILES_IN_STATISTICS)) {
+          out.println(
+              "      Time for parsing "
+                  + entry.getKey()
+                  + ": "
+                  + entry.getValue().formatAs(TimeUnit.SECONDS));
+        }
+      }
       out.println("    Time for AST to CFA:      " + conversionTime);
+      if (functionConversionTime != null) {
+        out.println("      Time for function CFAs: " + functionConversionTime);
+      }
       out.println("    Time for CFA sanity check:" + checkTime);
       out.println("    Time for post-processing: " + processingTime);
 
+      if (deserializationTime.getNumberOfIntervals() > 0) {
+        out.println("    Time for loading CFA:     " + deserializationTime);
+      }
       if (exportTime.getNumberOfIntervals() > 0) {
         out.println("    Time for CFA export:      " + exportTime);
       }
+      if (cacheLookupTime.getNumberOfIntervals() > 0) {
+        out.println("    Time for CFA cache lookup:" + cacheLookupTime);
+        out.println("    CFA cache hits / misses:  " + cacheHits + " / " + cacheMisses);
+        out.println(
+            "    Time saved by CFA cache:  " + cacheTimeSaved.formatAs(TimeUnit.SECONDS));
+      }
 
       for (Statistics st : statisticsCollection) {
         StatisticsUtils.printStatistics(st, out, logger, pResult, pReached);
@@ -413,6 +486,8 @@ public class CFACreator {
 
     stats.parsingTime = parser.getParseTime();
     stats.conversionTime = parser.getCFAConstructionTime();
+    stats.functionConversionTime = parser.getFunctionCFAConstructionTime();
+    stats.parseTimesPerFile = parser::getParseTimesPerFile;
 
     stats.parserInstantiationTime.stop();
   }
@@ -458,6 +533,28 @@ public class CFACreator {
     Preconditions.checkArgument(
         !sourceFiles.isEmpty(), "At least one source file must be provided!");
 
+    if (deserializeCfaFile != null) {
+      return loadSerializedCFA(sourceFiles);
+    }
+
+    final Optional<Path> cacheFile = getCacheFile(sourceFiles);
+    if (cacheFile.isPresent()) {
+      Optional<CFA> cachedCfa = loadCachedCFA(cacheFile.orElseThrow());
+      if (cachedCfa.isPresent()) {
+        return cachedCfa.orElseThrow();
+      }
+    }
+
+    CFA cfa = parseFilesAndCreateCFA(sourceFiles);
+
+    if (cacheFile.isPresent() && !(cfa instanceof CFAWithACSLAnnotations)) {
+      storeCachedCFAAsync(cfa, stats.totalTime.getLengthOfLastInterval(), cacheFile.orElseThrow());
+    }
+    return cfa;
+  }
+
+  private CFA parseFilesAndCreateCFA(List<String> sourceFiles)
+      throws InvalidConfigurationException, IOException, ParserException, InterruptedException {
     stats.totalTime.start();
     try {
       // FIRST, parse file(s) and create CFAs for each function
@@ -498,6 +595,178 @@ public class CFACreator {
     }
   }
 
+  /** Load a CFA that was written with option cfa.serialize instead of parsing the program. */
+  private CFA loadSerializedCFA(List<String> sourceFiles)
+      throws InvalidConfigurationException, IOException {
+    stats.totalTime.start();
+    stats.deserializationTime.start();
+    final CFA cfa;
+    try {
+      logger.log(Level.FINE, "Loading serialized CFA from", deserializeCfaFile);
+      cfa = CFASerialization.read(deserializeCfaFile);
+    } finally {
+      stats.deserializationTime.stop();
+      stats.totalTime.stop();
+    }
+
+    if (!cfa.getMachineModel().equals(machineModel) || cfa.getLanguage() != language) {
+      throw new InvalidConfigurationException(
+          String.format(
+              "Serialized CFA in %s was created for %s with machine model %s,"
+                  + " but the current configuration is for %s with machine model %s",
+              deserializeCfaFile,
+              cfa.getLanguage(),
+              cfa.getMachineModel(),
+              language,
+              machineModel));
+    }
+    if (!cfa.getMainFunction().getFunctionName().equals(mainFunctionName)) {
+      throw new InvalidConfigurationException(
+          String.format(
+              "Serialized CFA in %s was created with entry function %s instead of %s",
+              deserializeCfaFile, cfa.getMainFunction().getFunctionName(), mainFunctionName));
+    }
+    List<String> cfaFileNames = Lists.transform(cfa.getFileNames(), Path::toString);
+    if (!cfaFileNames.equals(sourceFiles)) {
+      logger.logf(
+          Level.WARNING,
+          "Serialized CFA in %s was created for the program %s, but the given program is %s.",
+          deserializeCfaFile,
+          cfaFileNames,
+          sourceFiles);
+    }
+
+    logger.log(Level.FINE, "DONE, CFA for", cfa.getNumberOfFunctions(), "functions loaded.");
+    return cfa;
+  }
+
+  /**
+   * Compute the file in {@link #cfaCacheDirectory} that holds the CFA for the given program with
+   * the current configuration. The name of the file is a hash of everything that may influence the
+   * CFA: the version of CPAchecker, the content of the program files, and all options for parsing
+   * and CFA creation.
+   *
+   * @return The cache file (which may not exist yet), or an empty optional if caching is disabled
+   *     or not possible for the given program.
+   */
+  private Optional<Path> getCacheFile(List<String> sourceFiles) throws IOException {
+    if (cfaCacheDirectory == null
+        || language != Language.C
+        || usePreprocessor
+        || useClang
+        || !sourceFiles.stream().map(Path::of).allMatch(Files::isRegularFile)) {
+      return Optional.empty();
+    }
+
+    stats.cacheLookupTime.start();
+    try {
+      Hasher hasher = Hashing.sha256().newHasher();
+      hasher.putString(CPAchecker.getPlainVersion(), StandardCharsets.UTF_8);
+      for (String sourceFile : sourceFiles) {
+        hasher.putString(sourceFile, StandardCharsets.UTF_8);
+        hasher.putBytes(Files.readAllBytes(Path.of(sourceFile)));
+      }
+      config
+          .asPropertiesString()
+          .lines()
+          .filter(CFACreator::isRelevantForCFACache)
+          .sorted()
+          .forEachOrdered(line -> hasher.putString(line, StandardCharsets.UTF_8));
+      return Optional.of(cfaCacheDirectory.resolve(hasher.hash() + ".cfa"));
+    } finally {
+      stats.cacheLookupTime.stop();
+    }
+  }
+
+  /** Check whether a line of the configuration contains an option that may change the CFA. */
+  @VisibleForTesting
+  static boolean isRelevantForCFACache(String pConfigurationLine) {
+    String key =
+        Splitter.on('=').limit(2).trimResults().split(pConfigurationLine).iterator().next();
+    return ((key.startsWith("cfa.") && !key.startsWith("cfa.cache."))
+        || key.startsWith("parser.")
+        || key.startsWith("liveVar.")
+        || key.equals("language")
+        || key.equals("analysis.entryFunction")
+        || key.equals("analysis.machineModel")
+        || key.equals("analysis.interprocedural")
+        || key.equals("analysis.functionPointerCalls")
+        || key.equals("analysis.threadOperationsTransform")
+        || key.equals("analysis.useGlobalVars")
+        || key.equals("analysis.useLoopStructure"));
+  }
+
+  /**
+   * Load a CFA from the cache, if it is present there.
+   *
+   * @return The loaded CFA, or an empty optional if the CFA needs to be created.
+   */
+  private Optional<CFA> loadCachedCFA(Path cacheFile) {
+    if (!Files.isRegularFile(cacheFile)) {
+      logger.log(Level.FINE, "No cached CFA found in", cacheFile);
+      stats.cacheMisses++;
+      return Optional.empty();
+    }
+
+    stats.totalTime.start();
+    stats.cacheLookupTime.start();
+    stats.deserializationTime.start();
+    final CFA cfa;
+    final TimeSpan creationTime;
+    try {
+      logger.log(Level.FINE, "Loading cached CFA from", cacheFile);
+      creationTime = CFASerialization.readCreationTime(cacheFile);
+      cfa = CFASerialization.read(cacheFile);
+    } catch (IOException e) {
+      logger.logUserException(
+          Level.INFO, e, "Could not load cached CFA, creating it from the program instead");
+      stats.cacheMisses++;
+      return Optional.empty();
+    } finally {
+      stats.deserializationTime.stop();
+      stats.cacheLookupTime.stop();
+      stats.totalTime.stop();
+    }
+
+    stats.cacheHits++;
+    stats.cacheTimeSaved =
+        TimeSpan.sum(
+            stats.cacheTimeSaved,
+            TimeSpan.difference(creationTime, stats.deserializationTime.getLengthOfLastInterval()));
+
+    if (shouldExportCFA()) {
+      exportCFAAsync(cfa, creationTime);
+    }
+
+    logger.log(Level.FINE, "DONE, CFA for", cfa.getNumberOfFunctions(), "functions loaded.");
+    return Optional.of(cfa);
+  }
+
+  private void storeCachedCFAAsync(final CFA cfa, TimeSpan creationTime, Path cacheFile) {
+    // Execute asynchronously like the export, this is safe because the CFA is not modified.
+    Concurrency.newThread(
+            "CFA cache thread",
+            () -> {
+              try {
+                // Write to a temporary file first such that concurrent runs of CPAchecker
+                // never see an incomplete file.
+                Files.createDirectories(cacheFile.getParent());
+                Path tmpFile =
+                    Files.createTempFile(
+                        cacheFile.getParent(), cacheFile.getFileName() + ".", ".tmp");
+                try {
+                  CFASerialization.write(cfa, creationTime, tmpFile);
+                  Files.move(tmpFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                  Files.deleteIfExists(tmpFile);
+                }
+              } catch (IOException e) {
+                logger.logUserException(Level.WARNING, e, "Could not store CFA in cache.");
+              }
+            })
+        .start();
+  }
+
   @VisibleForTesting
   static FunctionEntryNode getJavaMainMethod(
       List<String> sourceFiles, String mainFunction, Map<String, FunctionEntryNode> cfas)
@@ -647,13 +916,8 @@ public class CFACreator {
     assert CFACheck.check(mainFunction, null, machineModel);
     stats.checkTime.stop();
 
-    if (((exportCfaFile != null) && (exportCfa || exportCfaPerFunction))
-        || ((exportFunctionCallsFile != null) && exportFunctionCalls)
-        || ((exportFunctionCallsUsedFile != null) && exportFunctionCalls)
-        || ((serializeCfaFile != null) && serializeCfa)
-        || (exportCfaPixelFile != null)
-        || (exportCfaToCFile != null && exportCfaToC)) {
-      exportCFAAsync(immutableCFA);
+    if (shouldExportCFA()) {
+      exportCFAAsync(immutableCFA, stats.totalTime.getSumTime());
     }
 
     logger.log(
@@ -1122,13 +1386,22 @@ v.addInitializer(initializer);
     }
   }
 
-  private void exportCFAAsync(final CFA cfa) {
+  private boolean shouldExportCFA() {
+    return ((exportCfaFile != null) && (exportCfa || exportCfaPerFunction))
+        || ((exportFunctionCallsFile != null) && exportFunctionCalls)
+        || ((exportFunctionCallsUsedFile != null) && exportFunctionCalls)
+        || ((serializeCfaFile != null) && serializeCfa)
+        || (exportCfaPixelFile != null)
+        || (exportCfaToCFile != null && exportCfaToC);
+  }
+
+  private void exportCFAAsync(final CFA cfa, final TimeSpan creationTime) {
     // Execute asynchronously, this may take several seconds for large programs on slow disks.
     // This is safe because we don't modify the CFA from this point on.
-    Concurrency.newThread("CFA export thread", () -> exportCFA(cfa)).start();
+    Concurrency.newThread("CFA export thread", () -> exportCFA(cfa, creationTime)).start();
   }
 
-  private void exportCFA(final CFA cfa) {
+  private void exportCFA(final CFA cfa, final TimeSpan creationTime) {
     stats.exportTime.start();
 
     // write CFA to file
@@ -1184,12 +1457,7 @@ v.addInitializer(initializer);
 
     if (serializeCfa && serializeCfaFile != null) {
       try {
-        MoreFiles.createParentDirectories(serializeCfaFile);
-        try (OutputStream outputStream = Files.newOutputStream(serializeCfaFile);
-            OutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
-            ObjectOutputStream oos = new ObjectOutputStream(gzipOutputStream)) {
-          oos.writeObject(cfa);
-        }
+        CFASerialization.write(cfa, creationTime, serializeCfaFile);
       } catch (IOException e) {
         logger.logUserException(Level.WARNING, e, "Could not serialize CFA to file.");
       }
@@ -139,6 +139,15 @@ public class CFACreatorTest {
         createDeclaringClassMock(classPath));
   }
 
+  @Test
+  public void testOptionsRelevantForCFACache() {
+    assertThat(CFACreator.isRelevantForCFACache("cfa.findLiveVariables = true")).isTrue();
+    assertThat(CFACreator.isRelevantForCFACache("liveVar.evaluationStrategy = GLOBAL")).isTrue();
+    assertThat(CFACreator.isRelevantForCFACache("parser.dialect = GNUC")).isTrue();
+    assertThat(CFACreator.isRelevantForCFACache("cfa.cache.directory = cache")).isFalse();
+    assertThat(CFACreator.isRelevantForCFACache("cpa.predicate.abs.cacheSize = 10")).isFalse();
+  }
+
   private JClassType createDeclaringClassMock(String classPath) {
     String simpleClassName;
     int indexOfLastDot = classPath.lastIndexOf(".");
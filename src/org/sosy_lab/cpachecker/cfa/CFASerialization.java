@@ -0,0 +1,915 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cfa;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.io.MoreFiles;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.cpachecker.cfa.ast.AFunctionDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.AVariableDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
+import org.sosy_lab.cpachecker.cfa.ast.c.CDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionCall;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CReturnStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CSimpleDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CVariableDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.java.JMethodDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.java.JVariableDeclaration;
+import org.sosy_lab.cpachecker.cfa.model.AssumeEdge;
+import org.sosy_lab.cpachecker.cfa.model.BlankEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFALabelNode;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.CFATerminationNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionCallEdge;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionExitNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionReturnEdge;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CAssumeEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CDeclarationEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionCallEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionReturnEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CFunctionSummaryStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CReturnStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.c.CStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.java.JMethodEntryNode;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.LiveVariables;
+import org.sosy_lab.cpachecker.util.LoopStructure;
+import org.sosy_lab.cpachecker.util.variableclassification.VariableClassification;
+
+/**
+ * Reading and writing of CFAs in a binary file, such that a program can be parsed once and the
+ * resulting CFA can be reused by several analysis runs.
+ *
+ * <p>The file starts with a header consisting of a magic number, the version of the file format,
+ * a flag whether the rest of the file is compressed, and the time that was needed for creating the
+ * CFA originally (such that users can estimate the time that loading the file saves). The header is
+ * followed by flat tables:
+ *
+ * <ul>
+ *   <li>Strings (raw statements, descriptions, labels, and file names) are stored in a table when
+ *       they occur first and are referenced by their index afterwards.
+ *   <li>Nodes are stored as one record per node with its kind and number, and are referenced by
+ *       their index in the table.
+ *   <li>Edges are stored as one record per edge with its kind and the indices of its nodes.
+ *       Summary edges come first, such that call and return edges can reference them.
+ *   <li>The leaving and entering edges of all nodes are stored as lists of edge indices.
+ * </ul>
+ *
+ * Nodes and edges are created with their constructors when reading, without Java serialization.
+ * Only the AST of the program (declarations, statements, and expressions) and the additional
+ * information of the CFA (loop structure, variable classification, and live variables) are written
+ * with Java serialization, where references to nodes and edges are replaced by their indices. Edges
+ * of kinds that are not part of the table are written with Java serialization, too.
+ *
+ * <p>Compression is used if the file name ends with ".gz".
+ */
+final class CFASerialization {
+
+  /** The bytes "CFA" followed by a zero byte. */
+  private static final int MAGIC = 0x43464100;
+
+  /**
+   * Version of the file format, needs to be increased whenever the header or the tables change or
+   * whenever classes that are part of the CFA change incompatibly.
+   */
+  private static final int FORMAT_VERSION = 3;
+
+  private static final int HEADER_SIZE = 4 + 4 + 1 + 8;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /** Kinds of nodes in the node table, identified by their ordinal. */
+  private enum NodeKind {
+    NODE,
+    TERMINATION_NODE,
+    LABEL_NODE,
+    EXIT_NODE,
+    C_ENTRY_NODE,
+    JAVA_ENTRY_NODE;
+
+    private static NodeKind of(CFANode pNode) throws NotSerializableException {
+      Class<?> cls = pNode.getClass();
+      if (cls == CFANode.class) {
+        return NODE;
+      } else if (cls == CFATerminationNode.class) {
+        return TERMINATION_NODE;
+      } else if (cls == CFALabelNode.class) {
+        return LABEL_NODE;
+      } else if (cls == FunctionExitNode.class) {
+        return EXIT_NODE;
+      } else if (cls == CFunctionEntryNode.class) {
+        return C_ENTRY_NODE;
+      } else if (cls == JMethodEntryNode.class) {
+        return JAVA_ENTRY_NODE;
+      }
+      throw new NotSerializableException(cls.getName());
+    }
+  }
+
+  /**
+   * Kinds of edges in the edge table, identified by their ordinal. Edges of other classes (e.g.,
+   * edges of Java programs) are stored as {@link #OTHER} with Java serialization.
+   */
+  private enum EdgeKind {
+    OTHER,
+    BLANK,
+    C_ASSUME,
+    C_STATEMENT,
+    C_DECLARATION,
+    C_RETURN_STATEMENT,
+    C_FUNCTION_SUMMARY,
+    C_FUNCTION_CALL,
+    C_FUNCTION_RETURN,
+    C_FUNCTION_SUMMARY_STATEMENT;
+
+    private static EdgeKind of(CFAEdge pEdge) {
+      Class<?> cls = pEdge.getClass();
+      if (cls == BlankEdge.class) {
+        return BLANK;
+      } else if (cls == CAssumeEdge.class) {
+        return C_ASSUME;
+      } else if (cls == CStatementEdge.class) {
+        return C_STATEMENT;
+      } else if (cls == CDeclarationEdge.class) {
+        return C_DECLARATION;
+      } else if (cls == CReturnStatementEdge.class) {
+        return C_RETURN_STATEMENT;
+      } else if (cls == CFunctionSummaryEdge.class) {
+        return C_FUNCTION_SUMMARY;
+      } else if (cls == CFunctionCallEdge.class) {
+        return C_FUNCTION_CALL;
+      } else if (cls == CFunctionReturnEdge.class) {
+        return C_FUNCTION_RETURN;
+      } else if (cls == CFunctionSummaryStatementEdge.class) {
+        return C_FUNCTION_SUMMARY_STATEMENT;
+      }
+      return OTHER;
+    }
+  }
+
+  private static final byte DUMMY_LOCATION = 0;
+  private static final byte MULTIPLE_FILES_LOCATION = 1;
+  private static final byte REAL_LOCATION = 2;
+
+  private CFASerialization() {}
+
+  static void write(CFA pCfa, TimeSpan pCreationTime, Path pFile) throws IOException {
+    boolean compress = pFile.getFileName().toString().endsWith(".gz");
+
+    MoreFiles.createParentDirectories(pFile);
+    try (OutputStream fileOutputStream =
+            new BufferedOutputStream(Files.newOutputStream(pFile), BUFFER_SIZE);
+        DataOutputStream header = new DataOutputStream(fileOutputStream)) {
+      header.writeInt(MAGIC);
+      header.writeInt(FORMAT_VERSION);
+      header.writeBoolean(compress);
+      header.writeLong(pCreationTime.asMillis());
+      header.flush();
+
+      OutputStream body = compress ? new GZIPOutputStream(header, BUFFER_SIZE) : header;
+      try (CFAOutputStream out = new CFAOutputStream(body)) {
+        out.writeCfa(pCfa);
+      }
+    }
+  }
+
+  /** Read only the time that was needed for creating the CFA stored in the given file. */
+  static TimeSpan readCreationTime(Path pFile) throws IOException {
+    try (DataInputStream header =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(pFile), HEADER_SIZE))) {
+      readHeader(header, pFile);
+      return TimeSpan.ofMillis(header.readLong());
+    }
+  }
+
+  static CFA read(Path pFile) throws IOException {
+    final ImmutableCFA cfa;
+    try (InputStream fileInputStream =
+            new BufferedInputStream(Files.newInputStream(pFile), BUFFER_SIZE);
+        DataInputStream header = new DataInputStream(fileInputStream)) {
+      boolean compressed = readHeader(header, pFile);
+      header.readLong(); // creation time
+
+      InputStream body = compressed ? new GZIPInputStream(header, BUFFER_SIZE) : header;
+      try (CFAInputStream in = new CFAInputStream(body)) {
+        cfa = in.readCfa();
+      }
+    } catch (InvalidClassException e) {
+      throw new IOException(
+          "Serialized CFA in " + pFile + " was written by an incompatible version of CPAchecker",
+          e);
+    } catch (ClassNotFoundException | ClassCastException | IllegalArgumentException e) {
+      throw new IOException(pFile + " does not contain a valid serialized CFA", e);
+    }
+
+    if (!cfa.getAllNodes().isEmpty()) {
+      // new nodes must not reuse the numbers of the loaded nodes
+      CFANode.reserveNodeNumbersUpTo(cfa.getAllNodes().last().getNodeNumber());
+    }
+    return cfa;
+  }
+
+  /** Check magic number and version, and return whether the rest of the file is compressed. */
+  private static boolean readHeader(DataInputStream pHeader, Path pFile) throws IOException {
+    if (pHeader.readInt() != MAGIC) {
+      throw new IOException(pFile + " does not contain a serialized CFA");
+    }
+    int version = pHeader.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new IOException(
+          String.format(
+              "Serialized CFA in %s has version %d of the file format, but %d is required",
+              pFile, version, FORMAT_VERSION));
+    }
+    return pHeader.readBoolean();
+  }
+
+  /** Serialized reference to the node with the given index in the node table. */
+  private static final class NodeReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private NodeReference(int pIndex) {
+      index = pIndex;
+    }
+  }
+
+  /** Serialized reference to the edge with the given index in the edge table. */
+  private static final class EdgeReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private EdgeReference(int pIndex) {
+      index = pIndex;
+    }
+  }
+
+  /**
+   * An {@link ObjectOutputStream} that writes the tables of a CFA. Objects that are written with
+   * Java serialization reference nodes and edges by their index, and each distinct string is
+   * written only once, even if there are several equal but not identical string instances.
+   */
+  private static final class CFAOutputStream extends ObjectOutputStream {
+
+    private final Map<String, String> internedStrings = new HashMap<>();
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+    private final Map<CFANode, Integer> nodeIndices = new HashMap<>();
+    private final Map<CFAEdge, Integer> edgeIndices = new IdentityHashMap<>();
+
+    /** the edge that is currently written with Java serialization, which is not replaced */
+    private @Nullable CFAEdge currentEdge = null;
+
+    private CFAOutputStream(OutputStream pOut) throws IOException {
+      super(pOut);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object pObj) {
+      if (pObj instanceof String) {
+        return internedStrings.computeIfAbsent((String) pObj, s -> s);
+      } else if (pObj instanceof CFANode) {
+        Integer index = nodeIndices.get(pObj);
+        return index == null ? pObj : new NodeReference(index);
+      } else if (pObj instanceof CFAEdge && pObj != currentEdge) {
+        Integer index = edgeIndices.get(pObj);
+        return index == null ? pObj : new EdgeReference(index);
+      }
+      return pObj;
+    }
+
+    private void writeCfa(CFA pCfa) throws IOException {
+      ImmutableList<CFANode> nodes = ImmutableList.copyOf(pCfa.getAllNodes());
+      for (CFANode node : nodes) {
+        nodeIndices.put(node, nodeIndices.size());
+      }
+      List<CFAEdge> edges = collectEdges(nodes);
+
+      writeObject(pCfa.getMachineModel());
+      writeObject(pCfa.getLanguage());
+
+      writeInt(nodes.size());
+      for (CFANode node : nodes) {
+        writeNode(node);
+      }
+
+      writeInt(edges.size());
+      for (CFAEdge edge : edges) {
+        writeEdge(edge);
+      }
+
+      // we have to keep the order of edges 'AS IS'
+      for (CFANode node : nodes) {
+        writeInt(node.getNumLeavingEdges());
+        for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+          writeInt(edgeIndices.get(edge));
+        }
+        writeInt(node.getNumEnteringEdges());
+        for (CFAEdge edge : CFAUtils.enteringEdges(node)) {
+          writeInt(edgeIndices.get(edge));
+        }
+        writeOptionalEdge(node.getLeavingSummaryEdge());
+        writeOptionalEdge(node.getEnteringSummaryEdge());
+      }
+
+      writeInt(pCfa.getNumberOfFunctions());
+      for (Map.Entry<String, FunctionEntryNode> function : pCfa.getAllFunctions().entrySet()) {
+        writeString(function.getKey());
+        writeNodeIndex(function.getValue());
+      }
+      writeInt(pCfa.getMainFunction() == null ? -1 : nodeIndices.get(pCfa.getMainFunction()));
+
+      writeObject(pCfa.getLoopStructure().orElse(null));
+      writeObject(pCfa.getVarClassification().orElse(null));
+      writeObject(pCfa.getLiveVariables().orElse(null));
+
+      writeInt(pCfa.getFileNames().size());
+      for (Path fileName : pCfa.getFileNames()) {
+        writeString(fileName.toString());
+      }
+    }
+
+    /**
+     * Return all edges of the given nodes, including summary edges, and assign their indices. The
+     * summary edges come first, such that they can be created before the call and return edges.
+     */
+    private List<CFAEdge> collectEdges(List<CFANode> pNodes) {
+      List<CFAEdge> edges = new ArrayList<>();
+      for (CFANode node : pNodes) {
+        for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+          if (edge instanceof FunctionCallEdge) {
+            addEdge(((FunctionCallEdge) edge).getSummaryEdge(), edges);
+          } else if (edge instanceof FunctionReturnEdge) {
+            addEdge(((FunctionReturnEdge) edge).getSummaryEdge(), edges);
+          }
+        }
+        addEdge(node.getLeavingSummaryEdge(), edges);
+        addEdge(node.getEnteringSummaryEdge(), edges);
+      }
+      for (CFANode node : pNodes) {
+        for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+          addEdge(edge, edges);
+        }
+        for (CFAEdge edge : CFAUtils.allEnteringEdges(node)) {
+          addEdge(edge, edges);
+        }
+      }
+      return edges;
+    }
+
+    private void addEdge(@Nullable CFAEdge pEdge, List<CFAEdge> pEdges) {
+      if (pEdge != null && !edgeIndices.containsKey(pEdge)) {
+        edgeIndices.put(pEdge, pEdges.size());
+        pEdges.add(pEdge);
+      }
+    }
+
+    private void writeNode(CFANode pNode) throws IOException {
+      NodeKind kind = NodeKind.of(pNode);
+      writeByte(kind.ordinal());
+      writeInt(pNode.getNodeNumber());
+      writeObject(pNode.getFunction());
+      writeInt(pNode.getReversePostorderId());
+      writeBoolean(pNode.isLoopStart());
+      Set<CSimpleDeclaration> outOfScopeVariables = pNode.getOutOfScopeVariables();
+      writeObject(outOfScopeVariables.isEmpty() ? null : ImmutableSet.copyOf(outOfScopeVariables));
+
+      switch (kind) {
+        case LABEL_NODE:
+          writeString(((CFALabelNode) pNode).getLabel());
+          break;
+        case C_ENTRY_NODE:
+        case JAVA_ENTRY_NODE:
+          FunctionEntryNode entryNode = (FunctionEntryNode) pNode;
+          writeFileLocation(entryNode.getFileLocation());
+          writeNodeIndex(entryNode.getExitNode());
+          writeObject(entryNode.getReturnVariable().orElse(null));
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void writeEdge(CFAEdge pEdge) throws IOException {
+      EdgeKind kind = EdgeKind.of(pEdge);
+      writeByte(kind.ordinal());
+      if (kind == EdgeKind.OTHER) {
+        currentEdge = pEdge;
+        writeObject(pEdge);
+        currentEdge = null;
+        return;
+      }
+
+      writeNodeIndex(pEdge.getPredecessor());
+      writeNodeIndex(pEdge.getSuccessor());
+      if (kind != EdgeKind.C_FUNCTION_RETURN) {
+        writeString(pEdge.getRawStatement());
+      }
+      writeFileLocation(pEdge.getFileLocation());
+
+      switch (kind) {
+        case BLANK:
+          writeString(pEdge.getDescription());
+          break;
+        case C_ASSUME:
+          AssumeEdge assumeEdge = (AssumeEdge) pEdge;
+          writeObject(assumeEdge.getExpression());
+          writeBoolean(assumeEdge.getTruthAssumption());
+          writeBoolean(assumeEdge.isSwapped());
+          writeBoolean(assumeEdge.isArtificialIntermediate());
+          break;
+        case C_STATEMENT:
+          writeObject(((CStatementEdge) pEdge).getStatement());
+          break;
+        case C_DECLARATION:
+          writeObject(((CDeclarationEdge) pEdge).getDeclaration());
+          break;
+        case C_RETURN_STATEMENT:
+          writeObject(((CReturnStatementEdge) pEdge).getReturnStatement());
+          break;
+        case C_FUNCTION_SUMMARY:
+          CFunctionSummaryEdge summaryEdge = (CFunctionSummaryEdge) pEdge;
+          writeObject(summaryEdge.getExpression());
+          writeNodeIndex(summaryEdge.getFunctionEntry());
+          break;
+        case C_FUNCTION_CALL:
+          CFunctionCallEdge callEdge = (CFunctionCallEdge) pEdge;
+          writeObject(callEdge.getFunctionCall());
+          writeInt(edgeIndices.get(callEdge.getSummaryEdge()));
+          break;
+        case C_FUNCTION_RETURN:
+          writeInt(edgeIndices.get(((CFunctionReturnEdge) pEdge).getSummaryEdge()));
+          break;
+        case C_FUNCTION_SUMMARY_STATEMENT:
+          CFunctionSummaryStatementEdge statementEdge = (CFunctionSummaryStatementEdge) pEdge;
+          writeObject(statementEdge.getStatement());
+          writeObject(statementEdge.getFunctionCall());
+          writeString(statementEdge.getFunctionName());
+          break;
+        default:
+          throw new AssertionError(kind);
+      }
+    }
+
+    private void writeNodeIndex(CFANode pNode) throws IOException {
+      Integer index = nodeIndices.get(pNode);
+      if (index == null) {
+        throw new NotSerializableException("Node " + pNode + " is not part of the CFA");
+      }
+      writeInt(index);
+    }
+
+    private void writeOptionalEdge(@Nullable CFAEdge pEdge) throws IOException {
+      writeInt(pEdge == null ? -1 : edgeIndices.get(pEdge));
+    }
+
+    /**
+     * Write the index of the given string in the string table. If the string was not written
+     * before, its index is the size of the table and it is written afterwards.
+     */
+    private void writeString(String pString) throws IOException {
+      Integer index = stringIndices.get(pString);
+      if (index != null) {
+        writeInt(index);
+        return;
+      }
+      writeInt(stringIndices.size());
+      stringIndices.put(pString, stringIndices.size());
+      byte[] bytes = pString.getBytes(StandardCharsets.UTF_8);
+      writeInt(bytes.length);
+      write(bytes);
+    }
+
+    private void writeFileLocation(FileLocation pLocation) throws IOException {
+      if (pLocation.equals(FileLocation.DUMMY)) {
+        writeByte(DUMMY_LOCATION);
+      } else if (pLocation.equals(FileLocation.MULTIPLE_FILES)) {
+        writeByte(MULTIPLE_FILES_LOCATION);
+      } else {
+        writeByte(REAL_LOCATION);
+        writeString(pLocation.getFileName().toString());
+        writeString(pLocation.getNiceFileName());
+        writeInt(pLocation.getNodeOffset());
+        writeInt(pLocation.getNodeLength());
+        writeInt(pLocation.getStartingLineNumber());
+        writeInt(pLocation.getEndingLineNumber());
+        writeInt(pLocation.getStartingLineInOrigin());
+        writeInt(pLocation.getEndingLineInOrigin());
+        writeBoolean(pLocation.isOffsetRelatedToOrigin());
+      }
+    }
+  }
+
+  /** An {@link ObjectInputStream} that reads the tables written by {@link CFAOutputStream}. */
+  private static final class CFAInputStream extends ObjectInputStream {
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Path> paths = new HashMap<>();
+    private CFANode[] nodes = new CFANode[0];
+    private CFAEdge[] edges = new CFAEdge[0];
+
+    private CFAInputStream(InputStream pIn) throws IOException {
+      super(pIn);
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object pObj) throws IOException {
+      if (pObj instanceof NodeReference) {
+        return node(((NodeReference) pObj).index);
+      } else if (pObj instanceof EdgeReference) {
+        return edge(((EdgeReference) pObj).index);
+      }
+      return pObj;
+    }
+
+    private ImmutableCFA readCfa() throws IOException, ClassNotFoundException {
+      MachineModel machineModel = (MachineModel) readObject();
+      Language language = (Language) readObject();
+
+      nodes = new CFANode[readInt()];
+      List<EntryNodeRecord> entryNodes = new ArrayList<>();
+      for (int i = 0; i < nodes.length; i++) {
+        readNode(i, entryNodes);
+      }
+      // entry nodes are created last, because they need their exit nodes
+      for (EntryNodeRecord entryNode : entryNodes) {
+        entryNode.create(this);
+      }
+
+      edges = new CFAEdge[readInt()];
+      for (int i = 0; i < edges.length; i++) {
+        edges[i] = readEdge();
+      }
+
+      // we have to keep the order of edges 'AS IS'
+      for (CFANode node : nodes) {
+        for (int i = readInt(); i > 0; i--) {
+          node.addLeavingEdge(edge(readInt()));
+        }
+        for (int i = readInt(); i > 0; i--) {
+          node.addEnteringEdge(edge(readInt()));
+        }
+        FunctionSummaryEdge leavingSummaryEdge = readOptionalSummaryEdge();
+        if (leavingSummaryEdge != null) {
+          node.addLeavingSummaryEdge(leavingSummaryEdge);
+        }
+        FunctionSummaryEdge enteringSummaryEdge = readOptionalSummaryEdge();
+        if (enteringSummaryEdge != null) {
+          node.addEnteringSummaryEdge(enteringSummaryEdge);
+        }
+      }
+
+      Map<String, FunctionEntryNode> functions = new TreeMap<>();
+      for (int i = readInt(); i > 0; i--) {
+        functions.put(readString(), (FunctionEntryNode) node(readInt()));
+      }
+      int mainFunction = readInt();
+
+      LoopStructure loopStructure = (LoopStructure) readObject();
+      VariableClassification varClassification = (VariableClassification) readObject();
+      LiveVariables liveVariables = (LiveVariables) readObject();
+
+      ImmutableList.Builder<Path> fileNames = ImmutableList.builder();
+      for (int i = readInt(); i > 0; i--) {
+        fileNames.add(readPath());
+      }
+
+      if (mainFunction == -1) {
+        return ImmutableCFA.empty(machineModel, language);
+      }
+      ImmutableSetMultimap.Builder<String, CFANode> allNodes = ImmutableSetMultimap.builder();
+      for (CFANode node : nodes) {
+        allNodes.put(node.getFunctionName(), node);
+      }
+      return new ImmutableCFA(
+          machineModel,
+          functions,
+          allNodes.build(),
+          (FunctionEntryNode) node(mainFunction),
+          Optional.ofNullable(loopStructure),
+          Optional.ofNullable(varClassification),
+          Optional.ofNullable(liveVariables),
+          fileNames.build(),
+          language);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readNode(int pIndex, List<EntryNodeRecord> pEntryNodes)
+        throws IOException, ClassNotFoundException {
+      NodeKind kind = readKind(NodeKind.values());
+      int nodeNumber = readInt();
+      AFunctionDeclaration function = (AFunctionDeclaration) readObject();
+      int reversePostorderId = readInt();
+      boolean isLoopStart = readBoolean();
+      Set<CSimpleDeclaration> outOfScopeVariables = (Set<CSimpleDeclaration>) readObject();
+
+      final CFANode node;
+      switch (kind) {
+        case NODE:
+          node = CFANode.createNodeWithNumber(nodeNumber, () -> new CFANode(function));
+          break;
+        case TERMINATION_NODE:
+          node = CFANode.createNodeWithNumber(nodeNumber, () -> new CFATerminationNode(function));
+          break;
+        case LABEL_NODE:
+          String label = readString();
+          node = CFANode.createNodeWithNumber(nodeNumber, () -> new CFALabelNode(function, label));
+          break;
+        case EXIT_NODE:
+          node = CFANode.createNodeWithNumber(nodeNumber, () -> new FunctionExitNode(function));
+          break;
+        case C_ENTRY_NODE:
+        case JAVA_ENTRY_NODE:
+          pEntryNodes.add(
+              new EntryNodeRecord(
+                  pIndex,
+                  kind,
+                  nodeNumber,
+                  function,
+                  readFileLocation(),
+                  readInt(),
+                  (AVariableDeclaration) readObject()));
+          node = null;
+          break;
+        default:
+          throw new AssertionError(kind);
+      }
+
+      if (node != null) {
+        nodes[pIndex] = node;
+        restoreNode(node, reversePostorderId, isLoopStart, outOfScopeVariables);
+      } else {
+        pEntryNodes
+            .get(pEntryNodes.size() - 1)
+            .setNodeInformation(reversePostorderId, isLoopStart, outOfScopeVariables);
+      }
+    }
+
+    private static void restoreNode(
+        CFANode pNode,
+        int pReversePostorderId,
+        boolean pIsLoopStart,
+        @Nullable Set<CSimpleDeclaration> pOutOfScopeVariables) {
+      pNode.setReversePostorderId(pReversePostorderId);
+      if (pIsLoopStart) {
+        pNode.setLoopStart();
+      }
+      if (pOutOfScopeVariables != null) {
+        pNode.addOutOfScopeVariables(pOutOfScopeVariables);
+      }
+    }
+
+    private CFAEdge readEdge() throws IOException, ClassNotFoundException {
+      EdgeKind kind = readKind(EdgeKind.values());
+      if (kind == EdgeKind.OTHER) {
+        return (CFAEdge) readObject();
+      }
+
+      CFANode predecessor = node(readInt());
+      CFANode successor = node(readInt());
+      String rawStatement = kind == EdgeKind.C_FUNCTION_RETURN ? "" : readString();
+      FileLocation location = readFileLocation();
+
+      switch (kind) {
+        case BLANK:
+          return new BlankEdge(rawStatement, location, predecessor, successor, readString());
+        case C_ASSUME:
+          return new CAssumeEdge(
+              rawStatement,
+              location,
+              predecessor,
+              successor,
+              (CExpression) readObject(),
+              readBoolean(),
+              readBoolean(),
+              readBoolean());
+        case C_STATEMENT:
+          return new CStatementEdge(
+              rawStatement, (CStatement) readObject(), location, predecessor, successor);
+        case C_DECLARATION:
+          return new CDeclarationEdge(
+              rawStatement, location, predecessor, successor, (CDeclaration) readObject());
+        case C_RETURN_STATEMENT:
+          return new CReturnStatementEdge(
+              rawStatement,
+              (CReturnStatement) readObject(),
+              location,
+              predecessor,
+              (FunctionExitNode) successor);
+        case C_FUNCTION_SUMMARY:
+          return new CFunctionSummaryEdge(
+              rawStatement,
+              location,
+              predecessor,
+              successor,
+              (CFunctionCall) readObject(),
+              (CFunctionEntryNode) node(readInt()));
+        case C_FUNCTION_CALL:
+          return new CFunctionCallEdge(
+              rawStatement,
+              location,
+              predecessor,
+              (CFunctionEntryNode) successor,
+              (CFunctionCall) readObject(),
+              (CFunctionSummaryEdge) edge(readInt()));
+        case C_FUNCTION_RETURN:
+          return new CFunctionReturnEdge(
+              location,
+              (FunctionExitNode) predecessor,
+              successor,
+              (CFunctionSummaryEdge) edge(readInt()));
+        case C_FUNCTION_SUMMARY_STATEMENT:
+          return new CFunctionSummaryStatementEdge(
+              rawStatement,
+              (CStatement) readObject(),
+              location,
+              predecessor,
+              successor,
+              (CFunctionCall) readObject(),
+              readString());
+        default:
+          throw new AssertionError(kind);
+      }
+    }
+
+    private <T extends Enum<T>> T readKind(T[] pKinds) throws IOException {
+      int ordinal = readUnsignedByte();
+      if (ordinal >= pKinds.length) {
+        throw new InvalidObjectException("Invalid kind " + ordinal + " in CFA tables");
+      }
+      return pKinds[ordinal];
+    }
+
+    private CFANode node(int pIndex) throws InvalidObjectException {
+      if (pIndex < 0 || pIndex >= nodes.length || nodes[pIndex] == null) {
+        throw new InvalidObjectException("Invalid reference to node " + pIndex);
+      }
+      return nodes[pIndex];
+    }
+
+    private CFAEdge edge(int pIndex) throws InvalidObjectException {
+      if (pIndex < 0 || pIndex >= edges.length || edges[pIndex] == null) {
+        throw new InvalidObjectException("Invalid reference to edge " + pIndex);
+      }
+      return edges[pIndex];
+    }
+
+    private @Nullable FunctionSummaryEdge readOptionalSummaryEdge() throws IOException {
+      int index = readInt();
+      return index == -1 ? null : (FunctionSummaryEdge) edge(index);
+    }
+
+    private String readString() throws IOException {
+      int index = readInt();
+      if (index == strings.size()) {
+        byte[] bytes = new byte[readInt()];
+        readFully(bytes);
+        strings.add(new String(bytes, StandardCharsets.UTF_8));
+      } else if (index < 0 || index > strings.size()) {
+        throw new InvalidObjectException("Invalid reference to string " + index);
+      }
+      return strings.get(index);
+    }
+
+    /** Read a file name, which is converted to a path only once. */
+    private Path readPath() throws IOException {
+      return paths.computeIfAbsent(readString(), Path::of);
+    }
+
+    private FileLocation readFileLocation() throws IOException {
+      byte tag = readByte();
+      switch (tag) {
+        case DUMMY_LOCATION:
+          return FileLocation.DUMMY;
+        case MULTIPLE_FILES_LOCATION:
+          return FileLocation.MULTIPLE_FILES;
+        case REAL_LOCATION:
+          return new FileLocation(
+              readPath(),
+              readString(),
+              readInt(),
+              readInt(),
+              readInt(),
+              readInt(),
+              readInt(),
+              readInt(),
+              readBoolean());
+        default:
+          throw new InvalidObjectException("Invalid file location " + tag + " in CFA tables");
+      }
+    }
+  }
+
+  /** The information of a function entry node, which is created after its exit node. */
+  private static final class EntryNodeRecord {
+
+    private final int index;
+    private final NodeKind kind;
+    private final int nodeNumber;
+    private final AFunctionDeclaration function;
+    private final FileLocation location;
+    private final int exitNode;
+    private final @Nullable AVariableDeclaration returnVariable;
+
+    private int reversePostorderId;
+    private boolean isLoopStart;
+    private @Nullable Set<CSimpleDeclaration> outOfScopeVariables;
+
+    private EntryNodeRecord(
+        int pIndex,
+        NodeKind pKind,
+        int pNodeNumber,
+        AFunctionDeclaration pFunction,
+        FileLocation pLocation,
+        int pExitNode,
+        @Nullable AVariableDeclaration pReturnVariable) {
+      index = pIndex;
+      kind = pKind;
+      nodeNumber = pNodeNumber;
+      function = pFunction;
+      location = pLocation;
+      exitNode = pExitNode;
+      returnVariable = pReturnVariable;
+    }
+
+    private void setNodeInformation(
+        int pReversePostorderId,
+        boolean pIsLoopStart,
+        @Nullable Set<CSimpleDeclaration> pOutOfScopeVariables) {
+      reversePostorderId = pReversePostorderId;
+      isLoopStart = pIsLoopStart;
+      outOfScopeVariables = pOutOfScopeVariables;
+    }
+
+    private void create(CFAInputStream pIn) throws InvalidObjectException {
+      FunctionExitNode exit = (FunctionExitNode) pIn.node(exitNode);
+      FunctionEntryNode entryNode =
+          CFANode.createNodeWithNumber(
+              nodeNumber,
+              () ->
+                  kind == NodeKind.C_ENTRY_NODE
+                      ? new CFunctionEntryNode(
+                          location,
+                          (CFunctionDeclaration) function,
+                          exit,
+                          Optional.ofNullable((CVariableDeclaration) returnVariable))
+                      : new JMethodEntryNode(
+                          location,
+                          (JMethodDeclaration) function,
+                          exit,
+                          Optional.ofNullable((JVariableDeclaration) returnVariable)));
+      CFAInputStream.restoreNode(entryNode, reversePostorderId, isLoopStart, outOfScopeVariables);
+      exit.setEntryNode(entryNode);
+      pIn.nodes[index] = entryNode;
+    }
+  }
+}
@@ -0,0 +1,200 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cfa;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.FluentIterable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.cpachecker.cfa.ast.ASimpleDeclaration;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFALabelNode;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.LiveVariables;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class CFASerializationTest {
+
+  private static final String[] PROGRAM = {
+    "int f(int x) {",
+    "  return x + 1;",
+    "}",
+    "int main() {",
+    "  int a = 0;",
+    "  while (a < 10) {",
+    "    a = f(a);",
+    "  }",
+    "  return a;",
+    "}"
+  };
+
+  /** Program with all kinds of nodes and edges of C programs. */
+  private static final String[] PROGRAM_WITH_ALL_KINDS = {
+    "extern void abort(void);",
+    "int g;",
+    "int f(int x) {",
+    "  if (x > 5) {",
+    "    abort();",
+    "  }",
+    "  return x + 1;",
+    "}",
+    "int main() {",
+    "  int a = 0;",
+    "  f(a);",
+    "  a = f(a);",
+    "  if (a == 3) {",
+    "    goto END;",
+    "  }",
+    "  g = a;",
+    "END:",
+    "  return a;",
+    "}"
+  };
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private void checkRoundTrip(String pFileName) throws Exception {
+    CFA cfa = TestDataTools.makeCFA(PROGRAM);
+    Path file = tempFolder.getRoot().toPath().resolve(pFileName);
+
+    CFASerialization.write(cfa, TimeSpan.ofMillis(1234), file);
+    assertThat(CFASerialization.readCreationTime(file)).isEqualTo(TimeSpan.ofMillis(1234));
+    CFA loaded = CFASerialization.read(file);
+
+    assertThat(loaded.getAllFunctionNames())
+        .containsExactlyElementsIn(cfa.getAllFunctionNames())
+        .inOrder();
+    assertThat(loaded.getMainFunction().getFunctionName())
+        .isEqualTo(cfa.getMainFunction().getFunctionName());
+    assertThat(loaded.getMachineModel()).isEqualTo(cfa.getMachineModel());
+    assertThat(nodeNumbers(loaded)).containsExactlyElementsIn(nodeNumbers(cfa)).inOrder();
+    assertThat(edges(loaded)).containsExactlyElementsIn(edges(cfa)).inOrder();
+    assertThat(loaded.getLoopStructure().orElseThrow().getAllLoopHeads())
+        .hasSize(cfa.getLoopStructure().orElseThrow().getAllLoopHeads().size());
+
+    assertThat(CFANode.newDummyCFANode().getNodeNumber())
+        .isGreaterThan(nodeNumbers(loaded).last().get());
+  }
+
+  private static FluentIterable<Integer> nodeNumbers(CFA pCfa) {
+    return FluentIterable.from(pCfa.getAllNodes()).transform(CFANode::getNodeNumber);
+  }
+
+  private static FluentIterable<String> edges(CFA pCfa) {
+    return FluentIterable.from(pCfa.getAllNodes())
+        .transformAndConcat(CFAUtils::allLeavingEdges)
+        .transform(CFAEdge::toString);
+  }
+
+  @Test
+  public void testRoundTripUncompressed() throws Exception {
+    checkRoundTrip("cfa.ser");
+  }
+
+  @Test
+  public void testRoundTripCompressed() throws Exception {
+    checkRoundTrip("cfa.ser.gz");
+  }
+
+  @Test
+  public void testRoundTripRestoresStructure() throws Exception {
+    CFA cfa = TestDataTools.makeCFA(PROGRAM_WITH_ALL_KINDS);
+    Path file = tempFolder.getRoot().toPath().resolve("cfa.ser");
+
+    CFASerialization.write(cfa, TimeSpan.ofMillis(1234), file);
+    CFA loaded = CFASerialization.read(file);
+
+    assertThat(nodeStructure(loaded)).containsExactlyElementsIn(nodeStructure(cfa)).inOrder();
+    assertThat(loaded.getFileNames()).containsExactlyElementsIn(cfa.getFileNames()).inOrder();
+    for (FunctionEntryNode entryNode : loaded.getAllFunctionHeads()) {
+      assertThat(entryNode.getExitNode().getEntryNode()).isSameInstanceAs(entryNode);
+      assertThat(loaded.getAllNodes()).contains(entryNode.getExitNode());
+    }
+  }
+
+  /** Returns a description of each node with all information that is stored in the node table. */
+  private static FluentIterable<String> nodeStructure(CFA pCfa) {
+    return FluentIterable.from(pCfa.getAllNodes())
+        .transform(
+            node ->
+                String.join(
+                    " ",
+                    node.getClass().getSimpleName(),
+                    node.toString(),
+                    node.getFunctionName(),
+                    Integer.toString(node.getReversePostorderId()),
+                    Boolean.toString(node.isLoopStart()),
+                    node instanceof CFALabelNode ? ((CFALabelNode) node).getLabel() : "",
+                    node instanceof FunctionEntryNode
+                        ? ((FunctionEntryNode) node).getExitNode().toString()
+                        : "",
+                    CFAUtils.leavingEdges(node).transform(CFASerializationTest::edge).toString(),
+                    CFAUtils.enteringEdges(node).transform(CFASerializationTest::edge).toString(),
+                    edge(node.getLeavingSummaryEdge()),
+                    edge(node.getEnteringSummaryEdge()),
+                    node.getOutOfScopeVariables().toString()));
+  }
+
+  private static String edge(@Nullable CFAEdge pEdge) {
+    return pEdge == null
+        ? "-"
+        : pEdge.getClass().getSimpleName() + ":" + pEdge + "@" + pEdge.getFileLocation();
+  }
+
+  @Test
+  public void testRoundTripWithLiveVariables() throws Exception {
+    Configuration config =
+        TestDataTools.configurationForTest().setOption("cfa.findLiveVariables", "true").build();
+    CFA cfa = TestDataTools.makeCFA(config, PROGRAM);
+    LiveVariables liveVariables = cfa.getLiveVariables().orElseThrow();
+    Path file = tempFolder.getRoot().toPath().resolve("cfa.ser");
+
+    CFASerialization.write(cfa, TimeSpan.ofMillis(1234), file);
+    CFA loaded = CFASerialization.read(file);
+
+    LiveVariables loadedLiveVariables = loaded.getLiveVariables().orElseThrow();
+    assertThat(liveVariableNames(loadedLiveVariables, loaded))
+        .containsExactlyElementsIn(liveVariableNames(liveVariables, cfa))
+        .inOrder();
+    assertThat(
+            FluentIterable.from(loadedLiveVariables.getAllLiveVariables())
+                .transform(ASimpleDeclaration::getQualifiedName))
+        .containsExactlyElementsIn(
+            FluentIterable.from(liveVariables.getAllLiveVariables())
+                .transform(ASimpleDeclaration::getQualifiedName));
+  }
+
+  /** Returns pairs of node number and qualified name of all variables live at each node. */
+  private static FluentIterable<String> liveVariableNames(LiveVariables pLiveVariables, CFA pCfa) {
+    return FluentIterable.from(pCfa.getAllNodes())
+        .transformAndConcat(
+            node ->
+                FluentIterable.from(pLiveVariables.getLiveVariablesForNode(node))
+                    .transform(decl -> node.getNodeNumber() + ":" + decl.getQualifiedName()));
+  }
+
+  @Test
+  public void testInvalidFile() throws IOException {
+    Path file = tempFolder.newFile("cfa.ser").toPath();
+    Files.writeString(file, "not a CFA", StandardCharsets.US_ASCII);
+    assertThrows(IOException.class, () -> CFASerialization.read(file));
+  }
+}
@@ -8,6 +8,7 @@
 
 package org.sosy_lab.cpachecker.cfa;
 
+import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
@@ -28,6 +29,7 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.io.IO;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.c.CAstNode;
 import org.sosy_lab.cpachecker.cfa.parser.Scope;
@@ -192,6 +194,16 @@ public class CParserWithLocationMapper implements CParser {
     return realParser.getCFAConstructionTime();
   }
 
+  @Override
+  public Timer getFunctionCFAConstructionTime() {
+    return realParser.getFunctionCFAConstructionTime();
+  }
+
+  @Override
+  public ImmutableMap<Path, TimeSpan> getParseTimesPerFile() {
+    return realParser.getParseTimesPerFile();
+  }
+
   @Override
   public ParseResult parseFiles(List<String> pFilenames)
       throws CParserException, IOException, InterruptedException {
@@ -8,9 +8,11 @@
 
 package org.sosy_lab.cpachecker.cfa;
 
+import com.google.common.collect.ImmutableMap;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.c.CAstNode;
 import org.sosy_lab.cpachecker.cfa.parser.Scope;
@@ -47,6 +49,16 @@ class CParserWithPreprocessor implements CParser {
     return realParser.getCFAConstructionTime();
   }
 
+  @Override
+  public Timer getFunctionCFAConstructionTime() {
+    return realParser.getFunctionCFAConstructionTime();
+  }
+
+  @Override
+  public ImmutableMap<Path, TimeSpan> getParseTimesPerFile() {
+    return realParser.getParseTimesPerFile();
+  }
+
   @Override
   public ParseResult parseFiles(List<String> pFilenames)
       throws CParserException, InterruptedException {
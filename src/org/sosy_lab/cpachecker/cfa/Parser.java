@@ -8,9 +8,12 @@
 
 package org.sosy_lab.cpachecker.cfa;
 
+import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.exceptions.ParserException;
 
@@ -57,4 +60,20 @@ public interface Parser {
    */
   Timer getCFAConstructionTime();
 
+  /**
+   * Return a timer that measured the time needed for creating the CFAs of the function bodies,
+   * which is part of {@link #getCFAConstructionTime()}. Optional method: may return null.
+   */
+  default Timer getFunctionCFAConstructionTime() {
+    return null;
+  }
+
+  /**
+   * Return the time that was needed for parsing each file, in the order in which the files were
+   * parsed. Optional method: may return an empty map.
+   */
+  default ImmutableMap<Path, TimeSpan> getParseTimesPerFile() {
+    return ImmutableMap.of();
+  }
+
 }
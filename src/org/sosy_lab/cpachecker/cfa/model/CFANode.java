@@ -20,7 +20,8 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import org.sosy_lab.common.UniqueIdGenerator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.sosy_lab.cpachecker.cfa.ast.AFunctionDeclaration;
 import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
 import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionDeclaration;
@@ -32,7 +33,10 @@ public class CFANode implements Comparable<CFANode>, Serializable {
 
   private static final long serialVersionUID = 5168350921309486536L;
 
-  private static final UniqueIdGenerator idGenerator = new UniqueIdGenerator();
+  private static final AtomicInteger nextNodeNumber = new AtomicInteger();
+
+  // if set, nodes created by the current thread get their numbers from this range
+  private static final ThreadLocal<NodeNumberRange> currentNodeNumberRange = new ThreadLocal<>();
 
   private final int nodeNumber;
 
@@ -75,7 +79,92 @@ public class CFANode implements Comparable<CFANode>, Serializable {
 
   public CFANode(AFunctionDeclaration pFunction) {
     function = pFunction;
-    nodeNumber = idGenerator.getFreshId();
+    nodeNumber = getFreshNodeNumber();
+  }
+
+  private static int getFreshNodeNumber() {
+    NodeNumberRange range = currentNodeNumberRange.get();
+    return range == null ? nextNodeNumber.getAndIncrement() : range.next();
+  }
+
+  /**
+   * Ensure that all nodes that are created afterwards get a node number that is larger than the
+   * given one. This is necessary if nodes are loaded from a serialized CFA, because node numbers
+   * need to be unique.
+   */
+  public static void reserveNodeNumbersUpTo(int pNodeNumber) {
+    nextNodeNumber.accumulateAndGet(pNodeNumber + 1, Math::max);
+  }
+
+  /**
+   * Reserve the given number of consecutive node numbers, which can later be used with {@link
+   * #createNodesWithNumbersFrom(NodeNumberRange, Supplier)}. Node numbers are reserved in the order
+   * in which this method is called, so if the ranges are reserved by a single thread, the numbers
+   * of nodes that are created concurrently do not depend on the scheduling of the threads.
+   */
+  public static NodeNumberRange reserveNodeNumbers(int pCount) {
+    checkArgument(pCount >= 0, "Negative number of node numbers: %s", pCount);
+    int start = nextNodeNumber.getAndAdd(pCount);
+    return new NodeNumberRange(start, start + pCount);
+  }
+
+  /**
+   * Execute the given action such that all nodes that are created by the current thread during
+   * this time get their numbers from the given range.
+   *
+   * @throws NodeNumberRangeExhaustedException if more nodes are created than the range can number
+   */
+  public static <T> T createNodesWithNumbersFrom(NodeNumberRange pRange, Supplier<T> pAction) {
+    checkState(currentNodeNumberRange.get() == null, "Node number range is already in use");
+    currentNodeNumberRange.set(pRange);
+    try {
+      return pAction.get();
+    } finally {
+      currentNodeNumberRange.remove();
+    }
+  }
+
+  /**
+   * Execute the given action such that the node that is created by the current thread during this
+   * time gets the given number. This is only meant for restoring nodes with their original numbers
+   * (e.g., when loading a serialized CFA), so the caller is responsible for not using a number
+   * twice and for calling {@link #reserveNodeNumbersUpTo(int)} afterwards.
+   */
+  public static <T> T createNodeWithNumber(int pNodeNumber, Supplier<T> pAction) {
+    return createNodesWithNumbersFrom(new NodeNumberRange(pNodeNumber, pNodeNumber + 1), pAction);
+  }
+
+  /**
+   * A range of node numbers that was reserved with {@link #reserveNodeNumbers(int)}. The numbers
+   * are given to the nodes in increasing order, and a range may be used by only one thread at a
+   * time.
+   */
+  public static final class NodeNumberRange {
+
+    private final int end;
+    private int next;
+
+    private NodeNumberRange(int pStart, int pEnd) {
+      next = pStart;
+      end = pEnd;
+    }
+
+    private int next() {
+      if (next >= end) {
+        throw new NodeNumberRangeExhaustedException();
+      }
+      return next++;
+    }
+  }
+
+  /** Thrown if more nodes are created than the current {@link NodeNumberRange} can number. */
+  public static final class NodeNumberRangeExhaustedException extends RuntimeException {
+
+    private static final long serialVersionUID = -2950128381946329817L;
+
+    private NodeNumberRangeExhaustedException() {
+      super("All node numbers of the reserved range are used");
+    }
   }
 
   public int getNodeNumber() {
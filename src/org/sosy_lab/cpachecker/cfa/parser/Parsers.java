@@ -19,6 +19,7 @@ import org.sosy_lab.common.Classes;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.annotations.SuppressForbidden;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -63,6 +64,29 @@ public class Parsers {
     @Option(secure = true, description = "simplify simple const expressions like 1+2")
     private boolean simplifyConstExpressions = true;
 
+    @Option(
+        secure = true,
+        name = "parallelFunctionBuilding.threads",
+        description =
+            "Number of threads used for creating the CFAs of the function bodies of C programs"
+                + " in parallel. With 1 the functions are handled sequentially, with -1 the number"
+                + " of available cores is used. The resulting CFA does not depend on the"
+                + " scheduling of the threads, but its node numbers differ from the sequential"
+                + " construction.")
+    @IntegerOption(min = -1)
+    private int functionBuilderThreads = 1;
+
+    @Option(
+        secure = true,
+        name = "parallelParsing.threads",
+        description =
+            "Number of threads used for parsing the files of C programs that consist of several"
+                + " translation units in parallel. With 1 the files are parsed sequentially, with"
+                + " -1 the number of available cores is used. The files are linked in the given"
+                + " order regardless of the number of threads.")
+    @IntegerOption(min = -1)
+    private int parserThreads = 1;
+
     public boolean initializeAllVariables() {
       return initializeAllVariables;
     }
@@ -78,6 +102,18 @@ public class Parsers {
     public boolean simplifyConstExpressions() {
       return simplifyConstExpressions;
     }
+
+    public int getParserThreads() {
+      return parserThreads == -1
+          ? Runtime.getRuntime().availableProcessors()
+          : Math.max(1, parserThreads);
+    }
+
+    public int getFunctionBuilderThreads() {
+      return functionBuilderThreads == -1
+          ? Runtime.getRuntime().availableProcessors()
+          : Math.max(1, functionBuilderThreads);
+    }
   }
 
   private Parsers() { }
@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.eclipse.cdt.core.dom.ast.IASTArrayDeclarator;
@@ -197,7 +198,11 @@ class ASTConverter {
   // this counter is static to make the replacing names for anonymous types, in
   // more than one file (which get parsed with different AstConverters, although
   // they are in the same run) unique
-  private static int anonTypeCounter = 0;
+  private static final AtomicInteger anonTypeCounter = new AtomicInteger();
+
+  // if set, names for anonymous types are created locally with this prefix
+  private @Nullable String localAnonTypePrefix = null;
+  private int localAnonTypeCounter = 0;
 
 
   private final Sideassignments sideAssignmentStack;
@@ -229,6 +234,25 @@ class ASTConverter {
     this.binExprBuilder = new CBinaryExpressionBuilder(pMachineModel, pLogger);
   }
 
+  /**
+   * Prepare this converter for being used concurrently with other converters, e.g., when function
+   * bodies are converted in parallel. Anonymous types are named with the given prefix and a local
+   * counter instead of the global counter, which makes the names independent of the order in which
+   * the converters are used. The prefix needs to be unique for each converter. Converted types are
+   * stored in a cache of this converter, cf. {@link ASTTypeConverter#useLocalTypeConversions()}.
+   */
+  void prepareForConcurrentConversion(String pPrefix) {
+    localAnonTypePrefix = Preconditions.checkNotNull(pPrefix);
+    typeConverter.useLocalTypeConversions();
+  }
+
+  private String createAnonymousTypeName() {
+    if (localAnonTypePrefix != null) {
+      return "__anon_type_" + localAnonTypePrefix + localAnonTypeCounter++;
+    }
+    return "__anon_type_" + anonTypeCounter.getAndIncrement();
+  }
+
   public CExpression convertExpressionWithoutSideEffects(
       IASTExpression e) {
 
@@ -2329,11 +2353,15 @@ class ASTConverter {
     String name = convert(d.getName());
     String origName = name;
     if (name.isEmpty()) {
-      name = "__anon_type_";
       if (d.getStorageClass() == IASTDeclSpecifier.sc_typedef) {
-        name += ((IASTSimpleDeclaration)d.getParent()).getDeclarators()[0].getName().getRawSignature();
+        name =
+            "__anon_type_"
+                + ((IASTSimpleDeclaration) d.getParent())
+                    .getDeclarators()[0]
+                    .getName()
+                    .getRawSignature();
       } else {
-        name += anonTypeCounter++;
+        name = createAnonymousTypeName();
       }
     }
 
@@ -2386,7 +2414,7 @@ class ASTConverter {
     // when the enum has no name we create one
     // (this may be the case when the enum declaration is surrounded by a typedef)
     if (name.isEmpty()) {
-      name = "__anon_type_" + anonTypeCounter++;
+      name = createAnonymousTypeName();
     }
 
     CEnumType enumType = new CEnumType(d.isConst(), d.isVolatile(), list, name, origName);
@@ -13,11 +13,11 @@ import static com.google.common.base.Verify.verify;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
@@ -79,14 +79,17 @@ class ASTTypeConverter {
     converter = pConverter;
     filePrefix = pFilePrefix;
     parseContext = pParseContext;
-    if (!typeConversions.containsKey(filePrefix)) {
-      typeConversions.put(filePrefix, new IdentityHashMap<>());
-    }
+    typeConversions.computeIfAbsent(filePrefix, k -> new IdentityHashMap<>());
   }
 
   /** cache for all ITypes, so that they don't have to be parsed again and again
-   *  (Eclipse seems to give us identical objects for identical types already). */
-  private final static Map<String, Map<IType, CType>> typeConversions = new HashMap<>();
+   *  (Eclipse seems to give us identical objects for identical types already).
+   *  Converters that are used concurrently only read the cache of their file,
+   *  cf. {@link #useLocalTypeConversions()}. */
+  private final static Map<String, Map<IType, CType>> typeConversions = new ConcurrentHashMap<>();
+
+  /** cache for the types converted by this converter that are not added to the shared cache */
+  private @Nullable Map<IType, CType> localTypeConversions = null;
 
   /**
    * This can be used to rename a CType in case of Types with equal names but
@@ -105,13 +108,32 @@ class ASTTypeConverter {
     return null;
   }
 
+  /**
+   * Let this converter store the types it converts in its own cache instead of the cache that is
+   * shared by all converters for the same file. The shared cache is then only read, so several
+   * converters can be used concurrently, and composite types whose members are not yet converted
+   * are never visible to other converters.
+   */
+  void useLocalTypeConversions() {
+    localTypeConversions = new IdentityHashMap<>();
+  }
+
+  /** Return the cache in which the types converted by this converter are stored. */
+  private Map<IType, CType> getWritableTypeConversions() {
+    return localTypeConversions != null ? localTypeConversions : typeConversions.get(filePrefix);
+  }
+
   CType convert(IType t) {
     CType result = typeConversions.get(filePrefix).get(t);
+    if (result == null && localTypeConversions != null) {
+      result = localTypeConversions.get(t);
+    }
     if (result == null) {
       result = checkNotNull(convert0(t));
       // re-check, in some cases we updated the map already
-      if (!typeConversions.get(filePrefix).containsKey(t)) {
-        typeConversions.get(filePrefix).put(t, result);
+      Map<IType, CType> conversions = getWritableTypeConversions();
+      if (!conversions.containsKey(t)) {
+        conversions.put(t, result);
       }
     }
     return result;
@@ -167,7 +189,9 @@ class ASTTypeConverter {
       // we cheat and put a CElaboratedType instance in the map.
       // This means that wherever the ICompositeType instance appears, it will be
       // replaced by an CElaboratedType.
-      typeConversions.get(filePrefix).put(t, new CElaboratedType(false, false, kind, name, compType.getOrigName(), compType));
+      getWritableTypeConversions()
+          .put(
+              t, new CElaboratedType(false, false, kind, name, compType.getOrigName(), compType));
 
       compType.setMembers(conv(ct.getFields()));
 
@@ -10,33 +10,53 @@ package org.sosy_lab.cpachecker.cfa.parser.eclipse.c;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.TreeMultimap;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTASMDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTProblem;
 import org.eclipse.cdt.core.dom.ast.IASTProblemDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.ICompositeType;
+import org.eclipse.cdt.core.dom.ast.IEnumeration;
+import org.eclipse.cdt.core.dom.ast.IEnumerator;
+import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.IVariable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.common.log.LogManagerWithoutDuplicates;
+import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ParseResult;
 import org.sosy_lab.cpachecker.cfa.ParseResultWithCommentLocations;
 import org.sosy_lab.cpachecker.cfa.ast.ADeclaration;
@@ -52,6 +72,8 @@ import org.sosy_lab.cpachecker.cfa.ast.c.CSimpleDeclaration;
 import org.sosy_lab.cpachecker.cfa.ast.c.CTypeDefDeclaration;
 import org.sosy_lab.cpachecker.cfa.ast.c.CVariableDeclaration;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.CFANode.NodeNumberRange;
+import org.sosy_lab.cpachecker.cfa.model.CFANode.NodeNumberRangeExhaustedException;
 import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
 import org.sosy_lab.cpachecker.cfa.parser.Parsers.EclipseCParserOptions;
 import org.sosy_lab.cpachecker.cfa.parser.Scope;
@@ -66,10 +88,16 @@ import org.sosy_lab.cpachecker.util.Triple;
  * After instantiating this class,
  * call {@link #analyzeTranslationUnit(IASTTranslationUnit, String, Scope)}
  * once for each translation unit that should be used
- * and finally call {@link #createCFA()}.
+ * and finally call {@link #createCFA(Timer)}.
  */
 class CFABuilder extends ASTVisitor {
 
+  // Upper bound for the number of CFA nodes that are created for a function, used for reserving
+  // node numbers if function bodies are converted in parallel. This is only a heuristic,
+  // functions that need more nodes are converted again afterwards.
+  private static final int NODE_NUMBERS_PER_AST_NODE = 8;
+  private static final int ADDITIONAL_NODE_NUMBERS_PER_FUNCTION = 16;
+
   // Data structures for handling function declarations
   private final List<Triple<List<IASTFunctionDefinition>, String, GlobalScope>> functionDeclarations = new ArrayList<>();
   private final NavigableMap<String, FunctionEntryNode> cfas = new TreeMap<>();
@@ -112,7 +140,7 @@ class CFABuilder extends ASTVisitor {
       ParseContext pParseContext,
       MachineModel pMachine) {
     options = pOptions;
-    logger = new LogManagerWithoutDuplicates(pLogger);
+    logger = new SynchronizedLogManagerWithoutDuplicates(pLogger);
     shutdownNotifier = pShutdownNotifier;
     parseContext = pParseContext;
     machine = pMachine;
@@ -323,7 +351,13 @@ class CFABuilder extends ASTVisitor {
     throw parseContext.parseError(problem);
   }
 
-  public ParseResult createCFA() throws CParserException, InterruptedException {
+  /**
+   * Create the CFA for all translation units that were analyzed.
+   *
+   * @param pFunctionTimer timer that measures the creation of the CFAs for the function bodies
+   */
+  public ParseResult createCFA(Timer pFunctionTimer)
+      throws CParserException, InterruptedException {
     // in case we
     if (functionDeclarations.size() > 1) {
       programDeclarations.completeUncompletedElaboratedTypes();
@@ -334,6 +368,34 @@ class CFABuilder extends ASTVisitor {
       ((CDeclaration)decl.getFirst()).getType().accept(fillInAllBindingsVisitor);
     }
 
+    pFunctionTimer.start();
+    try {
+      if (options.getFunctionBuilderThreads() > 1) {
+        handleFunctionDefinitionsInParallel(options.getFunctionBuilderThreads());
+      } else {
+        handleFunctionDefinitions();
+      }
+    } finally {
+      pFunctionTimer.stop();
+    }
+
+    if (encounteredAsm) {
+      logger.log(Level.WARNING, "Inline assembler ignored, analysis is probably unsound!");
+    }
+
+    if (checkBinding.foundUndefinedIdentifiers()) {
+      throw new CParserException("Invalid C code because of undefined identifiers mentioned above.");
+    }
+
+    if (acslCommentPositions.isEmpty()) {
+      return new ParseResult(cfas, cfaNodes, globalDecls, parsedFiles);
+    }
+
+    return new ParseResultWithCommentLocations(
+        cfas, cfaNodes, globalDecls, parsedFiles, acslCommentPositions, blocks);
+  }
+
+  private void handleFunctionDefinitions() throws InterruptedException {
     for (Triple<List<IASTFunctionDefinition>, String, GlobalScope> triple : functionDeclarations) {
       GlobalScope actScope = triple.getThird();
 
@@ -345,61 +407,147 @@ class CFABuilder extends ASTVisitor {
       ImmutableMap<String, CTypeDefDeclaration> actTypeDefs = actScope.getTypeDefs();
       ImmutableMap<String, CSimpleDeclaration> actVars = actScope.getGlobalVars();
       for (IASTFunctionDefinition declaration : triple.getFirst()) {
-          handleFunctionDefinition(actScope,
-                                   triple.getSecond(),
-                                   declaration,
-                                   actFunctions,
-                                   actTypes,
-                                   actTypeDefs,
-                                   actVars);
+        CFAFunctionBuilder functionBuilder =
+            createFunctionBuilder(
+                triple.getSecond(),
+                actFunctions,
+                actTypes,
+                actTypeDefs,
+                actVars,
+                sideAssignmentStack);
+        declaration.accept(functionBuilder);
+
+        // check whether an interrupt happened while parsing
+        shutdownNotifier.shutdownIfNecessary();
+
+        addFunction(actScope, functionBuilder);
       }
     }
+  }
 
-    if (encounteredAsm) {
-      logger.log(Level.WARNING, "Inline assembler ignored, analysis is probably unsound!");
+  /**
+   * Create the CFAs of all function bodies concurrently. Afterwards, the functions are added in the
+   * same order as in {@link #handleFunctionDefinitions()}. Each function gets a range of node
+   * numbers that is reserved in this order before the conversion starts, such that the resulting
+   * CFA does not depend on the scheduling of the threads.
+   */
+  private void handleFunctionDefinitionsInParallel(int pThreads) throws InterruptedException {
+    // CDT fills caches in the AST lazily, which is not thread-safe
+    AstCacheResolver cacheResolver = new AstCacheResolver();
+    for (Triple<List<IASTFunctionDefinition>, String, GlobalScope> triple : functionDeclarations) {
+      for (IASTFunctionDefinition declaration : triple.getFirst()) {
+        declaration.accept(cacheResolver);
+      }
     }
+    shutdownNotifier.shutdownIfNecessary();
 
-    if (checkBinding.foundUndefinedIdentifiers()) {
-      throw new CParserException("Invalid C code because of undefined identifiers mentioned above.");
-    }
+    List<Pair<GlobalScope, ForkJoinTask<Optional<CFAFunctionBuilder>>>> tasks = new ArrayList<>();
+    List<Supplier<CFAFunctionBuilder>> conversions = new ArrayList<>();
+    ForkJoinPool pool = new ForkJoinPool(pThreads);
+    try {
+      int functionIndex = 0;
+      for (Triple<List<IASTFunctionDefinition>, String, GlobalScope> triple :
+          functionDeclarations) {
+        GlobalScope actScope = triple.getThird();
+        ImmutableMap<String, CFunctionDeclaration> actFunctions = actScope.getFunctions();
+        ImmutableMap<String, CComplexTypeDeclaration> actTypes = actScope.getTypes();
+        ImmutableMap<String, CTypeDefDeclaration> actTypeDefs = actScope.getTypeDefs();
+        ImmutableMap<String, CSimpleDeclaration> actVars = actScope.getGlobalVars();
+        for (IASTFunctionDefinition declaration : triple.getFirst()) {
+          // names of anonymous types need to be independent of the order of conversion
+          String anonymousTypePrefix = (functionIndex++) + "_";
+          Supplier<CFAFunctionBuilder> conversion =
+              () -> {
+                CFAFunctionBuilder functionBuilder =
+                    createFunctionBuilder(
+                        triple.getSecond(),
+                        actFunctions,
+                        actTypes,
+                        actTypeDefs,
+                        actVars,
+                        new Sideassignments());
+                functionBuilder.prepareForConcurrentConversion(anonymousTypePrefix);
+                declaration.accept(functionBuilder);
+                return functionBuilder;
+              };
+          NodeNumberRange nodeNumbers =
+              CFANode.reserveNodeNumbers(
+                  NODE_NUMBERS_PER_AST_NODE * countAstNodes(declaration)
+                      + ADDITIONAL_NODE_NUMBERS_PER_FUNCTION);
+          conversions.add(conversion);
+          tasks.add(
+              Pair.of(
+                  actScope,
+                  pool.submit(
+                      () -> {
+                        try {
+                          return Optional.of(
+                              CFANode.createNodesWithNumbersFrom(nodeNumbers, conversion));
+                        } catch (NodeNumberRangeExhaustedException e) {
+                          return Optional.empty();
+                        }
+                      })));
+        }
+      }
 
-    if (acslCommentPositions.isEmpty()) {
-      return new ParseResult(cfas, cfaNodes, globalDecls, parsedFiles);
+      for (int i = 0; i < tasks.size(); i++) {
+        Optional<CFAFunctionBuilder> result;
+        try {
+          result = tasks.get(i).getSecond().get();
+        } catch (ExecutionException e) {
+          Throwables.throwIfUnchecked(e.getCause());
+          throw new AssertionError(e);
+        }
+        shutdownNotifier.shutdownIfNecessary();
+
+        // If the reserved node numbers were not sufficient, we convert the function again with
+        // fresh node numbers. This happens deterministically here in the order of the functions.
+        CFAFunctionBuilder functionBuilder = result.orElseGet(conversions.get(i));
+        addFunction(tasks.get(i).getFirst(), functionBuilder);
+      }
+    } finally {
+      pool.shutdownNow();
     }
+  }
 
-    return new ParseResultWithCommentLocations(
-        cfas, cfaNodes, globalDecls, parsedFiles, acslCommentPositions, blocks);
+  /** Return the number of AST nodes in the given subtree. */
+  private static int countAstNodes(IASTNode pNode) {
+    int count = 0;
+    Deque<IASTNode> waitlist = new ArrayDeque<>();
+    waitlist.push(pNode);
+    while (!waitlist.isEmpty()) {
+      IASTNode node = waitlist.pop();
+      count++;
+      for (IASTNode child : node.getChildren()) {
+        waitlist.push(child);
+      }
+    }
+    return count;
   }
 
-  private void handleFunctionDefinition(
-      final GlobalScope actScope,
+  private CFAFunctionBuilder createFunctionBuilder(
       String fileName,
-      IASTFunctionDefinition declaration,
       ImmutableMap<String, CFunctionDeclaration> functions,
       ImmutableMap<String, CComplexTypeDeclaration> types,
       ImmutableMap<String, CTypeDefDeclaration> typedefs,
-      ImmutableMap<String, CSimpleDeclaration> globalVars)
-      throws InterruptedException {
+      ImmutableMap<String, CSimpleDeclaration> globalVars,
+      Sideassignments pSideAssignmentStack) {
 
     FunctionScope localScope =
         new FunctionScope(functions, types, typedefs, globalVars, fileName, artificialScope);
-    CFAFunctionBuilder functionBuilder =
-        new CFAFunctionBuilder(
-            options,
-            logger,
-            shutdownNotifier,
-            localScope,
-            parseContext,
-            machine,
-            fileName,
-            sideAssignmentStack,
-            checkBinding);
-
-    declaration.accept(functionBuilder);
-
-    // check whether an interrupt happened while parsing
-    shutdownNotifier.shutdownIfNecessary();
+    return new CFAFunctionBuilder(
+        options,
+        logger,
+        shutdownNotifier,
+        localScope,
+        parseContext,
+        machine,
+        fileName,
+        pSideAssignmentStack,
+        checkBinding);
+  }
 
+  private void addFunction(final GlobalScope actScope, CFAFunctionBuilder functionBuilder) {
     FunctionEntryNode startNode = functionBuilder.getStartNode();
     String functionName = startNode.getFunctionName();
 
@@ -420,6 +568,81 @@ class CFABuilder extends ASTVisitor {
     functionBuilder.finish();
   }
 
+  /**
+   * Visitor that fills all caches that CDT computes lazily while an AST is read, such that the AST
+   * is not modified anymore when function bodies are converted concurrently. CDT stores the
+   * locations of each node, the bindings of names, the types of variables, functions, and typedefs,
+   * and the values of enumerators in the AST or the bindings on first access, without any
+   * synchronization. The location map of the translation unit, which is used for computing the
+   * locations, is complete after parsing and only read afterwards. Types of expressions are not
+   * cached, but computing them fills the caches of the bindings they use.
+   */
+  private static class AstCacheResolver extends ASTGenericVisitor {
+
+    private AstCacheResolver() {
+      super(true);
+    }
+
+    @Override
+    protected int genericVisit(IASTNode pNode) {
+      pNode.getFileLocation();
+      if (pNode instanceof IASTName) {
+        resolve(((IASTName) pNode).resolveBinding());
+      } else if (pNode instanceof IASTExpression) {
+        ((IASTExpression) pNode).getExpressionType();
+      }
+      return PROCESS_CONTINUE;
+    }
+
+    private static void resolve(IBinding pBinding) {
+      if (pBinding instanceof IVariable) {
+        ((IVariable) pBinding).getType();
+      } else if (pBinding instanceof IFunction) {
+        ((IFunction) pBinding).getType();
+      } else if (pBinding instanceof ITypedef) {
+        ((ITypedef) pBinding).getType();
+      } else if (pBinding instanceof ICompositeType) {
+        ((ICompositeType) pBinding).getFields();
+      } else if (pBinding instanceof IEnumeration) {
+        ((IEnumeration) pBinding).getEnumerators();
+      } else if (pBinding instanceof IEnumerator) {
+        ((IEnumerator) pBinding).getValue();
+      }
+    }
+  }
+
+  /**
+   * {@link LogManagerWithoutDuplicates} that can be used by several threads, which is necessary
+   * when function bodies are converted in parallel.
+   */
+  private static class SynchronizedLogManagerWithoutDuplicates
+      extends LogManagerWithoutDuplicates {
+
+    private SynchronizedLogManagerWithoutDuplicates(LogManager pDelegate) {
+      super(pDelegate);
+    }
+
+    @Override
+    public synchronized void logOnce(Level pPriority, Object... pArgs) {
+      super.logOnce(pPriority, pArgs);
+    }
+
+    @Override
+    public synchronized void logOnce(Level pPriority, Supplier<String> pMsgSupplier) {
+      super.logOnce(pPriority, pMsgSupplier);
+    }
+
+    @Override
+    public synchronized void logfOnce(Level pPriority, String pFormat, Object... pArgs) {
+      super.logfOnce(pPriority, pFormat, pArgs);
+    }
+
+    @Override
+    public synchronized void resetSeenMessages() {
+      super.resetSeenMessages();
+    }
+  }
+
   @Override
   public int leave(IASTTranslationUnit ast) {
     if (shutdownNotifier.shouldShutdown()) {
@@ -0,0 +1,143 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cfa.parser.eclipse.c;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class CFABuilderTest {
+
+  private static final int FUNCTIONS = 20;
+
+  private static String[] createProgram() {
+    List<String> lines = new ArrayList<>();
+    lines.add("struct list { int value; struct list *next; };");
+    for (int i = 0; i < FUNCTIONS; i++) {
+      lines.add("int f" + i + "(struct list *l, int x) {");
+      lines.add("  struct { int a; int b; } pair = { x, " + i + " };");
+      lines.add("  while (l != 0 && x < " + (i * 10) + ") {");
+      lines.add("    x = x + (l->value > pair.b ? l->value : pair.a);");
+      lines.add("    l = l->next;");
+      lines.add("  }");
+      lines.add("  switch (x) {");
+      lines.add("  case 0: return 1;");
+      lines.add("  case " + (i + 1) + ": x++; break;");
+      lines.add("  default: goto end;");
+      lines.add("  }");
+      lines.add("  end: return x;");
+      lines.add("}");
+    }
+    lines.add("int main() {");
+    lines.add("  struct list l = { 0, 0 };");
+    lines.add("  int x = 0;");
+    for (int i = 0; i < FUNCTIONS; i++) {
+      lines.add("  x = f" + i + "(&l, x);");
+    }
+    lines.add("  return x;");
+    lines.add("}");
+    return lines.toArray(new String[0]);
+  }
+
+  private static CFA makeCFA(int pThreads) throws Exception {
+    Configuration config =
+        TestDataTools.configurationForTest()
+            .setOption("cfa.parallelFunctionBuilding.threads", Integer.toString(pThreads))
+            .build();
+    return TestDataTools.makeCFA(config, createProgram());
+  }
+
+  /**
+   * Describe all nodes and edges of the CFA with node numbers that are relative to the smallest
+   * node number, because the numbers of a second CFA continue after those of the first one.
+   */
+  private static ImmutableList<String> describe(CFA pCfa) {
+    int offset = Collections.min(pCfa.getAllNodes()).getNodeNumber();
+    List<String> result = new ArrayList<>();
+    for (CFANode node : pCfa.getAllNodes()) {
+      result.add((node.getNodeNumber() - offset) + " in " + node.getFunctionName());
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        result.add(
+            (node.getNodeNumber() - offset)
+                + " -> "
+                + (edge.getSuccessor().getNodeNumber() - offset)
+                + ": "
+                + edge.getDescription());
+      }
+    }
+    return ImmutableList.sortedCopyOf(result);
+  }
+
+  /**
+   * Describe the edges of each function by the numbers of their nodes and their raw statements.
+   * The nodes of each function are numbered by their rank among the nodes of the function, because
+   * the absolute numbers depend on the node numbers that are reserved for the function.
+   */
+  private static ImmutableSetMultimap<String, String> describeEdgesByFunction(CFA pCfa) {
+    Map<CFANode, String> nodeNames = new HashMap<>();
+    for (String function : pCfa.getAllFunctionNames()) {
+      int rank = 0;
+      for (CFANode node :
+          ImmutableList.sortedCopyOf(
+              Collections2.filter(
+                  pCfa.getAllNodes(), node -> node.getFunctionName().equals(function)))) {
+        nodeNames.put(node, function + ":" + (rank++));
+      }
+    }
+
+    ImmutableSetMultimap.Builder<String, String> result = ImmutableSetMultimap.builder();
+    for (CFANode node : pCfa.getAllNodes()) {
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        result.put(
+            node.getFunctionName(),
+            nodeNames.get(node)
+                + " -> "
+                + nodeNames.get(edge.getSuccessor())
+                + ": "
+                + edge.getRawStatement());
+      }
+    }
+    return result.build();
+  }
+
+  @Test
+  public void testParallelBuildingIsDeterministic() throws Exception {
+    ImmutableList<String> first = describe(makeCFA(4));
+    ImmutableList<String> second = describe(makeCFA(4));
+
+    assertThat(first).isNotEmpty();
+    assertThat(second).containsExactlyElementsIn(first).inOrder();
+  }
+
+  @Test
+  public void testParallelBuildingCreatesSameStructure() throws Exception {
+    CFA sequential = makeCFA(1);
+    CFA parallel = makeCFA(4);
+
+    assertThat(parallel.getAllFunctionNames())
+        .containsExactlyElementsIn(sequential.getAllFunctionNames());
+    assertThat(parallel.getAllNodes()).hasSize(sequential.getAllNodes().size());
+    assertThat(describeEdgesByFunction(parallel))
+        .containsExactlyEntriesIn(describeEdgesByFunction(sequential));
+  }
+}
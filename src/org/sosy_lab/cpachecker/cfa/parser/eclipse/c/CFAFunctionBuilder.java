@@ -215,6 +215,11 @@ class CFAFunctionBuilder extends ASTVisitor {
     shouldVisitExpressions = true;
     sideAssignmentStack = pSideAssignmentStack;
   }
+  /** @see ASTConverter#prepareForConcurrentConversion(String) */
+  void prepareForConcurrentConversion(String pPrefix) {
+    astCreator.prepareForConcurrentConversion(pPrefix);
+  }
+
   FunctionEntryNode getStartNode() {
     checkState(cfa != null);
     return cfa;
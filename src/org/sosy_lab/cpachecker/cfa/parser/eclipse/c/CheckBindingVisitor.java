@@ -8,7 +8,7 @@
 
 package org.sosy_lab.cpachecker.cfa.parser.eclipse.c;
 
-import java.util.HashSet;
+import com.google.common.collect.Sets;
 import java.util.Set;
 import java.util.logging.Level;
 import org.sosy_lab.common.log.LogManager;
@@ -61,9 +61,10 @@ class CheckBindingVisitor implements CRightHandSideVisitor<Void, CFAGenerationRu
 
   private final LogManager logger;
 
-  private final Set<String> printedWarnings = new HashSet<>();
+  // thread-safe because function bodies may be converted in parallel
+  private final Set<String> printedWarnings = Sets.newConcurrentHashSet();
 
-  private boolean foundUndefinedIdentifiers = false;
+  private volatile boolean foundUndefinedIdentifiers = false;
 
   CheckBindingVisitor(LogManager pLogger) {
     logger = pLogger;
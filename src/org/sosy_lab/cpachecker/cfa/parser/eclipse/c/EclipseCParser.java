@@ -14,11 +14,13 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -27,8 +29,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
@@ -52,6 +59,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.common.log.LogManagerWithoutDuplicates;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.CParser;
 import org.sosy_lab.cpachecker.cfa.CProgramScope;
@@ -62,6 +70,7 @@ import org.sosy_lab.cpachecker.cfa.parser.Parsers.EclipseCParserOptions;
 import org.sosy_lab.cpachecker.cfa.parser.Scope;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
 import org.sosy_lab.cpachecker.exceptions.CParserException;
+import org.sosy_lab.cpachecker.util.Pair;
 
 /** Wrapper for Eclipse CDT */
 class EclipseCParser implements CParser {
@@ -77,6 +86,8 @@ class EclipseCParser implements CParser {
 
   private final Timer parseTimer = new Timer();
   private final Timer cfaTimer = new Timer();
+  private final Timer functionCfaTimer = new Timer();
+  private final Map<Path, TimeSpan> parseTimesPerFile = new LinkedHashMap<>();
 
   public EclipseCParser(
       LogManager pLogger,
@@ -146,21 +157,98 @@ class EclipseCParser implements CParser {
     ParseContext parseContext =
         new ParseContext(createNiceFileNameFunction(fileNameMapping.keySet()), sourceOriginMapping);
 
-    List<IASTTranslationUnit> astUnits = new ArrayList<>(pInput.size());
+    final List<IASTTranslationUnit> astUnits;
+    int threads = Math.min(options.getParserThreads(), pInput.size());
+    if (threads > 1) {
+      astUnits = parseInParallel(pInput, parseContext, pWrapperFunction, threads);
 
-    for (FileToParse f : pInput) {
-      final Path fileName = fixPath(f.getFileName());
+    } else {
+      astUnits = new ArrayList<>(pInput.size());
+      for (FileToParse f : pInput) {
+        final Path fileName = fixPath(f.getFileName());
 
-      try {
-        astUnits.add(parse(pWrapperFunction.wrap(fileName, f), parseContext));
-      } catch (IOException e) {
-        throw new CParserException("IO failed!", e);
+        try {
+          astUnits.add(parse(pWrapperFunction.wrap(fileName, f), parseContext));
+        } catch (IOException e) {
+          throw new CParserException("IO failed!", e);
+        }
+        parseTimesPerFile.merge(
+            f.getFileName(), parseTimer.getLengthOfLastInterval(), TimeSpan::sum);
       }
     }
 
     return buildCFA(astUnits, parseContext, scope);
   }
 
+  /**
+   * Parse several translation units concurrently. Each file is parsed by a separate CDT parser with
+   * its own log service, and the resulting ASTs are returned in the order of the input, such that
+   * the CFA that is built from them does not depend on the scheduling of the threads.
+   */
+  private List<IASTTranslationUnit> parseInParallel(
+      List<? extends FileToParse> pInput,
+      ParseContext parseContext,
+      FileParseWrapper pWrapperFunction,
+      int pThreads)
+      throws CParserException, InterruptedException {
+
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            pThreads,
+            new ThreadFactoryBuilder().setNameFormat("C parser thread %d").setDaemon(true).build());
+    parseTimer.start();
+    try {
+      List<Future<Pair<IASTTranslationUnit, TimeSpan>>> results = new ArrayList<>(pInput.size());
+      for (FileToParse f : pInput) {
+        results.add(pool.submit(() -> parseWithOwnLog(f, parseContext, pWrapperFunction)));
+      }
+
+      List<IASTTranslationUnit> astUnits = new ArrayList<>(pInput.size());
+      for (int i = 0; i < pInput.size(); i++) {
+        Pair<IASTTranslationUnit, TimeSpan> result;
+        try {
+          result = results.get(i).get();
+        } catch (ExecutionException e) {
+          Throwables.throwIfInstanceOf(e.getCause(), CParserException.class);
+          Throwables.throwIfInstanceOf(e.getCause(), InterruptedException.class);
+          Throwables.throwIfUnchecked(e.getCause());
+          throw new AssertionError(e);
+        }
+        astUnits.add(result.getFirst());
+        parseTimesPerFile.merge(pInput.get(i).getFileName(), result.getSecond(), TimeSpan::sum);
+      }
+      return astUnits;
+
+    } finally {
+      parseTimer.stop();
+      pool.shutdownNow();
+    }
+  }
+
+  private Pair<IASTTranslationUnit, TimeSpan> parseWithOwnLog(
+      FileToParse pFile, ParseContext parseContext, FileParseWrapper pWrapperFunction)
+      throws CParserException, InterruptedException {
+    final FileContent content;
+    try {
+      content = pWrapperFunction.wrap(fixPath(pFile.getFileName()), pFile);
+    } catch (IOException e) {
+      throw new CParserException("IO failed!", e);
+    }
+
+    // the log service holds the currently running CDT parser, so it cannot be shared
+    ShutdownNotifierLogAdapter log = new ShutdownNotifierLogAdapter(shutdownNotifier);
+    Timer timer = new Timer();
+    timer.start();
+    final IASTTranslationUnit result;
+    try {
+      result = parse0(content, parseContext, log);
+    } finally {
+      timer.stop();
+      shutdownNotifier.unregister(log);
+    }
+    return Pair.of(result, timer.getLengthOfLastInterval());
+  }
+
   @Override
   public ParseResult parseFiles(List<String> pFilenames)
       throws CParserException, InterruptedException {
@@ -293,7 +381,17 @@ class EclipseCParser implements CParser {
       throws CParserException, InterruptedException {
     parseTimer.start();
     try {
-      IASTTranslationUnit result = getASTTranslationUnit(codeReader);
+      return parse0(codeReader, parseContext, parserLog);
+    } finally {
+      parseTimer.stop();
+    }
+  }
+
+  private IASTTranslationUnit parse0(
+      FileContent codeReader, ParseContext parseContext, IParserLogService pParserLog)
+      throws CParserException, InterruptedException {
+    try {
+      IASTTranslationUnit result = getASTTranslationUnit(codeReader, pParserLog);
 
       // Separate handling of include problems
       // so that we can give a better error message.
@@ -318,12 +416,11 @@ class EclipseCParser implements CParser {
 
     } catch (CFAGenerationRuntimeException | CoreException e) {
       throw new CParserException(e);
-    } finally {
-      parseTimer.stop();
     }
   }
 
-  private IASTTranslationUnit getASTTranslationUnit(FileContent pCode)
+  private IASTTranslationUnit getASTTranslationUnit(
+      FileContent pCode, IParserLogService pParserLog)
       throws CFAGenerationRuntimeException, CoreException, InterruptedException {
     try {
       return language.getASTTranslationUnit(
@@ -332,7 +429,7 @@ class EclipseCParser implements CParser {
           FileContentProvider.instance,
           null,
           PARSER_OPTIONS,
-          parserLog);
+          pParserLog);
     } finally {
       shutdownNotifier.shutdownIfNecessary();
     }
@@ -381,7 +478,7 @@ class EclipseCParser implements CParser {
         }
       }
 
-      return builder.createCFA();
+      return builder.createCFA(functionCfaTimer);
 
     } catch (CFAGenerationRuntimeException e) {
       throw new CParserException(e);
@@ -447,6 +544,16 @@ class EclipseCParser implements CParser {
     return cfaTimer;
   }
 
+  @Override
+  public Timer getFunctionCFAConstructionTime() {
+    return functionCfaTimer;
+  }
+
+  @Override
+  public ImmutableMap<Path, TimeSpan> getParseTimesPerFile() {
+    return ImmutableMap.copyOf(parseTimesPerFile);
+  }
+
 
   /**
    * Private class extending the Eclipse CDT class that is the starting point
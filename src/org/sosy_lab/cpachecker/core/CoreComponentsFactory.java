@@ -11,6 +11,7 @@ package org.sosy_lab.cpachecker.core;
 import static com.google.common.base.Verify.verifyNotNull;
 
 import java.io.IOException;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownManager;
@@ -78,6 +79,7 @@ import org.sosy_lab.cpachecker.core.reachedset.HistoryForwardingReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
 import org.sosy_lab.cpachecker.cpa.PropertyChecker.PropertyCheckerCPA;
 import org.sosy_lab.cpachecker.cpa.arg.ARGCPA;
 import org.sosy_lab.cpachecker.cpa.bam.BAMCPA;
@@ -404,6 +406,21 @@ public class CoreComponentsFactory {
       ShutdownNotifier pShutdownNotifier,
       AggregatedReachedSets pAggregatedReachedSets)
       throws InvalidConfigurationException {
+    this(
+        pConfig, pLogger, pShutdownNotifier, pAggregatedReachedSets, UnaryOperator.identity());
+  }
+
+  /**
+   * Create a factory whose reached sets use waitlists that are additionally decorated by the given
+   * function (cf. {@link ReachedSetFactory}).
+   */
+  public CoreComponentsFactory(
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier,
+      AggregatedReachedSets pAggregatedReachedSets,
+      UnaryOperator<WaitlistFactory> pWaitlistDecorator)
+      throws InvalidConfigurationException {
     config = pConfig;
     logger = pLogger;
 
@@ -426,7 +443,7 @@ public class CoreComponentsFactory {
       aggregatedReachedSets = pAggregatedReachedSets;
     }
 
-    reachedSetFactory = new ReachedSetFactory(config, logger);
+    reachedSetFactory = new ReachedSetFactory(config, logger, pWaitlistDecorator);
     cpaFactory = new CPABuilder(config, logger, shutdownNotifier, reachedSetFactory);
 
     if (checkCounterexamplesWithBDDCPARestriction) {
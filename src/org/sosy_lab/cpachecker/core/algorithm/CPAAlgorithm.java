@@ -355,7 +355,9 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
         stats.stopTimer.start();
         boolean stop;
         try {
-          stop = stopOperator.stop(successor, reachedSet.getReached(successor), successorPrecision);
+          stop =
+              stopOperator.stop(
+                  successor, reachedSet.getCoverageCandidates(successor), successorPrecision);
         } finally {
           stats.stopTimer.stop();
         }
@@ -432,7 +434,9 @@ public class CPAAlgorithm implements Algorithm, StatisticsProvider {
       stats.stopTimer.start();
       boolean stop;
       try {
-        stop = stopOperator.stop(successor, reached, successorPrecision);
+        stop =
+            stopOperator.stop(
+                successor, reachedSet.getCoverageCandidates(successor), successorPrecision);
       } finally {
         stats.stopTimer.stop();
       }
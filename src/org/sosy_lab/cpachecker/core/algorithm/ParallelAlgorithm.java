@@ -37,6 +37,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.Classes.UnexpectedCheckedException;
@@ -49,11 +50,15 @@ import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.configuration.TimeSpanOption;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.core.CoreComponentsFactory;
+import org.sosy_lab.cpachecker.core.algorithm.ParallelAnalysisScheduler.ScheduledAnalysis;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantExchange;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -93,6 +98,31 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
   @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
   private List<AnnotatedValue<Path>> configFiles;
 
+  @Option(
+      secure = true,
+      description =
+          "Let the analyses exchange invariants while they are running: invariants proven by one"
+              + " analysis (e.g., by k-induction) are provided to all other analyses in the same"
+              + " way as invariants from supplied reached sets.")
+  private boolean exchangeInvariants = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Maximal number of analyses that are running at the same time (0 for no limit, -1 for"
+              + " the number of available processors). If there are more analyses, they are"
+              + " time-sliced, and analyses whose reached set grows get longer time slices than"
+              + " analyses that stall.")
+  private int maxConcurrentAnalyses = 0;
+
+  @Option(
+      secure = true,
+      description =
+          "Default length of the time slices for analyses if not all analyses can run at the same"
+              + " time (cf. option maxConcurrentAnalyses).")
+  @TimeSpanOption(codeUnit = TimeUnit.NANOSECONDS, defaultUserUnit = TimeUnit.SECONDS, min = 1)
+  private TimeSpan timeSlice = TimeSpan.ofSeconds(5);
+
   private static final String SUCCESS_MESSAGE =
       "One of the parallel analyses has finished successfully, cancelling all other runs.";
 
@@ -106,6 +136,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
   private ParallelAnalysisResult finalResult = null;
   private CFANode mainEntryNode = null;
   private final AggregatedReachedSetManager aggregatedReachedSetManager;
+  private final @Nullable ParallelAnalysisScheduler scheduler;
 
   private final List<ConditionAdjustmentEventSubscriber> conditionAdjustmentEventSubscribers =
       new CopyOnWriteArrayList<>();
@@ -129,9 +160,26 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     specification = checkNotNull(pSpecification);
     cfa = checkNotNull(pCfa);
 
-    aggregatedReachedSetManager = new AggregatedReachedSetManager();
+    if (exchangeInvariants) {
+      stats.invariantExchange = new InvariantExchange();
+      aggregatedReachedSetManager = new AggregatedReachedSetManager(stats.invariantExchange);
+    } else {
+      aggregatedReachedSetManager = new AggregatedReachedSetManager();
+    }
     aggregatedReachedSetManager.addAggregated(pAggregatedReachedSets);
 
+    if (maxConcurrentAnalyses == 0) {
+      scheduler = null;
+    } else {
+      scheduler =
+          new ParallelAnalysisScheduler(
+              maxConcurrentAnalyses == -1
+                  ? Runtime.getRuntime().availableProcessors()
+                  : Math.max(1, maxConcurrentAnalyses),
+              timeSlice);
+    }
+    stats.scheduler = scheduler;
+
     ImmutableList.Builder<Callable<ParallelAnalysisResult>> analysesBuilder =
         ImmutableList.builder();
     for (AnnotatedValue<Path> p : configFiles) {
@@ -292,12 +340,16 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     final ResourceLimitChecker singleAnalysisOverallLimit =
         ResourceLimitChecker.fromConfiguration(singleConfig, singleLogger, singleShutdownManager);
 
+    final @Nullable ScheduledAnalysis scheduledAnalysis =
+        scheduler == null ? null : scheduler.register(singleShutdownManager.getNotifier());
+
     final CoreComponentsFactory coreComponents =
         new CoreComponentsFactory(
             singleConfig,
             singleLogger,
             singleShutdownManager.getNotifier(),
-            aggregatedReachedSetManager.asView());
+            aggregatedReachedSetManager.asView(),
+            scheduledAnalysis == null ? UnaryOperator.identity() : scheduledAnalysis::decorate);
 
     final ConfigurableProgramAnalysis cpa = coreComponents.createCPA(cfa, specification);
     final Algorithm algorithm = coreComponents.createAlgorithm(cpa, cfa, specification);
@@ -311,8 +363,8 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
             Iterables.getOnlyElement(
                 FluentIterable.from(singleAnalysisOverallLimit.getResourceLimits())
                     .filter(ThreadCpuTimeLimit.class),
-                null), terminated);
-    return () -> {
+                null), terminated, scheduledAnalysis);
+    Callable<ParallelAnalysisResult> analysis = () -> {
       // TODO global info will not work correctly with parallel analyses
       // as it is a mutable singleton object
       GlobalInfo.getInstance().setUpInfoFromCPA(cpa);
@@ -350,10 +402,30 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
               supplyReached,
               supplyRefinableReached,
               coreComponents,
-              statisticsEntry);
+              statisticsEntry,
+              scheduledAnalysis);
       terminated.set(true);
       return r;
     };
+
+    if (scheduledAnalysis == null) {
+      return analysis;
+    }
+    return () -> {
+      try {
+        scheduledAnalysis.start();
+      } catch (InterruptedException e) {
+        singleLogger.log(Level.INFO, "Analysis was terminated before it was started");
+        terminated.set(true);
+        scheduledAnalysis.finish();
+        return ParallelAnalysisResult.absent(singleConfigFileName.toString());
+      }
+      try {
+        return analysis.call();
+      } finally {
+        scheduledAnalysis.finish();
+      }
+    };
   }
 
   private ParallelAnalysisResult runParallelAnalysis(
@@ -365,7 +437,8 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       final boolean supplyReached,
       final boolean supplyRefinableReached,
       final CoreComponentsFactory coreComponents,
-      final StatisticsEntry pStatisticsEntry)
+      final StatisticsEntry pStatisticsEntry,
+      final @Nullable ScheduledAnalysis pScheduledAnalysis)
       throws CPAException {
     try {
       AlgorithmStatus status = null;
@@ -397,6 +470,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       }
 
       if (!supplyRefinableReached) {
+        observe(currentReached, pScheduledAnalysis);
         status = algorithm.run(currentReached);
       } else {
         boolean stopAnalysis = true;
@@ -404,6 +478,7 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
 
           // explore statespace fully only if the analysis is sound and no reachable error is found
           while (currentReached.hasWaitingState()) {
+            observe(currentReached, pScheduledAnalysis);
             status = algorithm.run(currentReached);
             if (!status.isSound()) {
               break;
@@ -480,6 +555,12 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     }
   }
 
+  private static void observe(ReachedSet pReached, @Nullable ScheduledAnalysis pScheduledAnalysis) {
+    if (pScheduledAnalysis != null) {
+      pScheduledAnalysis.observe(pReached);
+    }
+  }
+
   @Nullable
   private Configuration createSingleConfig(Path singleConfigFileName, LogManager pLogger) {
     try {
@@ -565,15 +646,23 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
     private final List<StatisticsEntry> allAnalysesStats = new CopyOnWriteArrayList<>();
     private int noOfAlgorithmsUsed = 0;
     private String successfulAnalysisName = null;
+    private @Nullable InvariantExchange invariantExchange = null;
+    private @Nullable ParallelAnalysisScheduler scheduler = null;
 
     ParallelAlgorithmStatistics(LogManager pLogger) {
       logger = checkNotNull(pLogger);
     }
 
     public synchronized StatisticsEntry getNewSubStatistics(
-        ReachedSet pReached, String pName, @Nullable ThreadCpuTimeLimit pRLimit, AtomicBoolean pTerminated) {
+        ReachedSet pReached,
+        String pName,
+        @Nullable ThreadCpuTimeLimit pRLimit,
+        AtomicBoolean pTerminated,
+        @Nullable ScheduledAnalysis pScheduledAnalysis) {
       Collection<Statistics> subStats = new CopyOnWriteArrayList<>();
-      StatisticsEntry entry = new StatisticsEntry(subStats, pReached, pName, pRLimit, pTerminated);
+      StatisticsEntry entry =
+          new StatisticsEntry(
+              subStats, pReached, pName, pRLimit, pTerminated, pScheduledAnalysis);
       allAnalysesStats.add(entry);
       return entry;
     }
@@ -589,6 +678,14 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       if (successfulAnalysisName != null) {
         out.println("Successful analysis: " + successfulAnalysisName);
       }
+      if (invariantExchange != null) {
+        out.println(
+            "Number of exchanged invariants:   "
+                + invariantExchange.getNumberOfPublishedInvariants());
+      }
+      if (scheduler != null) {
+        scheduler.printStatistics(out);
+      }
       printSubStatistics(out, result);
     }
 
@@ -608,6 +705,9 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
         }
         boolean terminated = subStats.terminated.get();
         if (terminated) {
+          if (subStats.scheduledAnalysis != null) {
+            subStats.scheduledAnalysis.printStatistics(pOut);
+          }
           Result result = determineAnalysisResult(pResult, subStats.name);
           for (Statistics s : subStats.subStatistics) {
             StatisticsUtils.printStatistics(s, pOut, logger, result, subStats.reachedSet.get());
@@ -686,12 +786,21 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
 
     private final AtomicBoolean terminated;
 
-    public StatisticsEntry(Collection<Statistics> pSubStatistics, ReachedSet pReachedSet, String pName, @Nullable ThreadCpuTimeLimit pRLimit, AtomicBoolean pTerminated) {
+    private final @Nullable ScheduledAnalysis scheduledAnalysis;
+
+    public StatisticsEntry(
+        Collection<Statistics> pSubStatistics,
+        ReachedSet pReachedSet,
+        String pName,
+        @Nullable ThreadCpuTimeLimit pRLimit,
+        AtomicBoolean pTerminated,
+        @Nullable ScheduledAnalysis pScheduledAnalysis) {
       subStatistics = Objects.requireNonNull(pSubStatistics);
       reachedSet = new AtomicReference<>(Objects.requireNonNull(pReachedSet));
       name = Objects.requireNonNull(pName);
       rLimit = pRLimit;
       terminated = Objects.requireNonNull(pTerminated);
+      scheduledAnalysis = pScheduledAnalysis;
     }
 
   }
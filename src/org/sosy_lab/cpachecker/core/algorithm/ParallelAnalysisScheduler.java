@@ -0,0 +1,310 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.algorithm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Scheduler that bounds the number of analyses of {@link ParallelAlgorithm} that are running at
+ * the same time. If there are more analyses than slots, the analyses are time-sliced: an analysis
+ * whose time slice has expired gives its slot to the next waiting analysis and waits until it gets
+ * a slot again. Analyses can only be paused at checkpoints, which are the calls to {@link
+ * Waitlist#pop()} in the thread of the analysis on waitlists created by the factories returned by
+ * {@link ScheduledAnalysis#decorate(WaitlistFactory)}. Analyses that never reach a checkpoint, for
+ * example because they run nested analyses with reached sets from other factories, keep their slot
+ * until they terminate.
+ *
+ * <p>The length of the time slice of each analysis adapts to its progress: an analysis whose
+ * reached set (cf. {@link ScheduledAnalysis#observe(UnmodifiableReachedSet)}) did not grow during
+ * its last slice (because no states were added, or because refinements removed as many states as
+ * were added) gets a shorter slice next time, whereas an analysis whose reached set grew gets a
+ * longer slice. Waiting analyses get a slot in FIFO order,
+ * such that stalling analyses get less time but never starve.
+ */
+final class ParallelAnalysisScheduler {
+
+  /** The weight of an analysis determines its time slice relative to the default time slice. */
+  private static final int DEFAULT_WEIGHT = 4;
+
+  private static final int MIN_WEIGHT = 1;
+  private static final int MAX_WEIGHT = 16;
+
+  private final int maxRunningAnalyses;
+  private final long defaultTimeSliceNanos;
+
+  // guarded by this
+  private final Deque<ScheduledAnalysis> waitingAnalyses = new ArrayDeque<>();
+  private int runningAnalyses = 0;
+
+  ParallelAnalysisScheduler(int pMaxRunningAnalyses, TimeSpan pDefaultTimeSlice) {
+    checkArgument(pMaxRunningAnalyses > 0);
+    maxRunningAnalyses = pMaxRunningAnalyses;
+    defaultTimeSliceNanos = pDefaultTimeSlice.asNanos();
+  }
+
+  /**
+   * Create the scheduling handle for a new analysis. Waiting for a slot is aborted as soon as a
+   * shutdown is requested via the given notifier.
+   */
+  ScheduledAnalysis register(ShutdownNotifier pShutdownNotifier) {
+    ScheduledAnalysis analysis = new ScheduledAnalysis(pShutdownNotifier);
+    pShutdownNotifier.register(reason -> wakeUpWaitingAnalyses());
+    return analysis;
+  }
+
+  private synchronized void wakeUpWaitingAnalyses() {
+    notifyAll();
+  }
+
+  @VisibleForTesting
+  synchronized boolean hasWaitingAnalyses() {
+    return !waitingAnalyses.isEmpty();
+  }
+
+  private synchronized void acquireSlot(ScheduledAnalysis pAnalysis) throws InterruptedException {
+    checkState(!pAnalysis.hasSlot);
+    if (runningAnalyses < maxRunningAnalyses && waitingAnalyses.isEmpty()) {
+      runningAnalyses++;
+      pAnalysis.hasSlot = true;
+      return;
+    }
+
+    waitingAnalyses.addLast(pAnalysis);
+    try {
+      while (!pAnalysis.hasSlot) {
+        pAnalysis.shutdownNotifier.shutdownIfNecessary();
+        wait();
+      }
+    } finally {
+      waitingAnalyses.remove(pAnalysis);
+    }
+  }
+
+  private synchronized void releaseSlot(ScheduledAnalysis pAnalysis) {
+    if (!pAnalysis.hasSlot) {
+      return;
+    }
+    pAnalysis.hasSlot = false;
+    ScheduledAnalysis next = waitingAnalyses.pollFirst();
+    if (next != null) {
+      // hand the slot over directly, such that no newly arriving analysis can overtake
+      next.hasSlot = true;
+      notifyAll();
+    } else {
+      runningAnalyses--;
+    }
+  }
+
+  void printStatistics(PrintStream pOut) {
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put("Max. number of concurrently running analyses", maxRunningAnalyses)
+        .put("Default time slice", TimeSpan.ofNanos(defaultTimeSliceNanos).formatAs(SECONDS));
+  }
+
+  /**
+   * Handle for one analysis that is scheduled. All methods except for {@link
+   * #decorate(WaitlistFactory)} and {@link #printStatistics(PrintStream)} need to be called from
+   * the thread of the analysis.
+   */
+  final class ScheduledAnalysis {
+
+    private final ShutdownNotifier shutdownNotifier;
+
+    // guarded by the scheduler
+    private boolean hasSlot = false;
+
+    // the thread that started the analysis, only this thread is paused at checkpoints
+    private @Nullable Thread thread = null;
+
+    private @Nullable UnmodifiableReachedSet observedReached = null;
+    private int sizeAtStartOfSlice = 0;
+
+    private long endOfSlice;
+    private int weight = DEFAULT_WEIGHT;
+
+    // statistics, written only by the thread of the analysis
+    private final Timer timeWithSlot = new Timer();
+    private int slices = 0;
+    private int pauses = 0;
+    private int stalledSlices = 0;
+    private long totalGrowth = 0;
+    private long totalShrinkage = 0;
+
+    private ScheduledAnalysis(ShutdownNotifier pShutdownNotifier) {
+      shutdownNotifier = checkNotNull(pShutdownNotifier);
+    }
+
+    /** Wait until the analysis may start, i.e., until it has a slot. */
+    void start() throws InterruptedException {
+      thread = Thread.currentThread();
+      acquireSlot(this);
+      startSlice();
+    }
+
+    /** Give up the slot of the analysis. Needs to be called whenever the analysis terminates. */
+    void finish() {
+      if (timeWithSlot.isRunning()) {
+        timeWithSlot.stop();
+      }
+      releaseSlot(this);
+    }
+
+    /**
+     * Return a factory for waitlists that check whether the analysis should be paused whenever a
+     * state is taken from them by the thread of the analysis. The waitlists of the given factory
+     * are used for the actual strategy.
+     */
+    WaitlistFactory decorate(WaitlistFactory pWaitlistFactory) {
+      checkNotNull(pWaitlistFactory);
+      return () -> new SchedulingWaitlist(pWaitlistFactory.createWaitlistInstance(), this);
+    }
+
+    /**
+     * Measure the progress of the analysis by the size of the given reached set from now on. Needs
+     * to be called again whenever the analysis continues with another reached set.
+     */
+    void observe(UnmodifiableReachedSet pReached) {
+      if (observedReached != pReached) {
+        observedReached = checkNotNull(pReached);
+        sizeAtStartOfSlice = pReached.size();
+      }
+    }
+
+    /** Print the progress metrics on which the scheduling decisions for this analysis are based. */
+    void printStatistics(PrintStream pOut) {
+      StatisticsWriter.writingStatisticsTo(pOut)
+          .put("Time with slot", timeWithSlot.getSumTime().formatAs(SECONDS))
+          .put("Number of time slices", slices)
+          .put("Number of pauses", pauses)
+          .put("Number of stalled time slices", stalledSlices)
+          .put("Growth of reached set in growing slices", totalGrowth)
+          .put("Shrinkage of reached set in stalled slices", totalShrinkage)
+          .put("Final relative time slice", weight + "/" + DEFAULT_WEIGHT);
+    }
+
+    private void startSlice() {
+      slices++;
+      sizeAtStartOfSlice = observedReached == null ? 0 : observedReached.size();
+      endOfSlice = System.nanoTime() + defaultTimeSliceNanos * weight / DEFAULT_WEIGHT;
+      timeWithSlot.start();
+    }
+
+    private void endSlice() {
+      timeWithSlot.stop();
+      int growth = observedReached == null ? 0 : observedReached.size() - sizeAtStartOfSlice;
+      if (growth > 0) {
+        totalGrowth += growth;
+        weight = Math.min(MAX_WEIGHT, weight * 2);
+      } else {
+        stalledSlices++;
+        totalShrinkage -= growth;
+        weight = Math.max(MIN_WEIGHT, weight / 2);
+      }
+    }
+
+    private void checkpoint() {
+      if (Thread.currentThread() != thread || !timeWithSlot.isRunning()) {
+        // nested analyses in other threads cannot be paused, and the time with the slot is not
+        // running only if the analysis has already finished
+        return;
+      }
+      if (System.nanoTime() < endOfSlice) {
+        return;
+      }
+      endSlice();
+      if (hasWaitingAnalyses()) {
+        pauses++;
+        releaseSlot(this);
+        try {
+          acquireSlot(this);
+        } catch (InterruptedException e) {
+          // The analysis is being cancelled and will notice this at its next check of the
+          // shutdown notifier, we cannot throw the exception from pop().
+          Thread.currentThread().interrupt();
+        }
+      }
+      startSlice();
+    }
+  }
+
+  private static final class SchedulingWaitlist implements Waitlist {
+
+    private final Waitlist delegate;
+    private final ScheduledAnalysis analysis;
+
+    private SchedulingWaitlist(Waitlist pDelegate, ScheduledAnalysis pAnalysis) {
+      delegate = checkNotNull(pDelegate);
+      analysis = pAnalysis;
+    }
+
+    @Override
+    public AbstractState pop() {
+      analysis.checkpoint();
+      return delegate.pop();
+    }
+
+    @Override
+    public void add(AbstractState pState) {
+      delegate.add(pState);
+    }
+
+    @Override
+    public void clear() {
+      delegate.clear();
+    }
+
+    @Override
+    public boolean contains(AbstractState pState) {
+      return delegate.contains(pState);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean remove(AbstractState pState) {
+      return delegate.remove(pState);
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+
+    @Override
+    public Iterator<AbstractState> iterator() {
+      return delegate.iterator();
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+}
@@ -0,0 +1,218 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.algorithm;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.cpachecker.core.algorithm.ParallelAnalysisScheduler.ScheduledAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
+
+public class ParallelAnalysisSchedulerTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  /** Time slices that are always expired at the next checkpoint. */
+  private static final TimeSpan SHORT_TIME_SLICE = TimeSpan.ofNanos(1);
+
+  /** Time slices that never expire during the test. */
+  private static final TimeSpan LONG_TIME_SLICE = TimeSpan.ofSeconds(1000);
+
+  private static Waitlist createWaitlist(ScheduledAnalysis pAnalysis, AbstractState... pStates) {
+    Waitlist waitlist = pAnalysis.decorate(TraversalMethod.BFS).createWaitlistInstance();
+    for (AbstractState state : pStates) {
+      waitlist.add(state);
+    }
+    return waitlist;
+  }
+
+  private static void awaitWaitingAnalysis(ParallelAnalysisScheduler pScheduler)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (!pScheduler.hasWaitingAnalyses()) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  private static String getStatistics(ScheduledAnalysis pAnalysis) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+      pAnalysis.printStatistics(printStream);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testWaitlistKeepsOrderOfDelegate() throws Exception {
+    ParallelAnalysisScheduler scheduler = new ParallelAnalysisScheduler(1, SHORT_TIME_SLICE);
+    ScheduledAnalysis analysis = scheduler.register(ShutdownNotifier.createDummy());
+    AbstractState first = mock(AbstractState.class);
+    AbstractState second = mock(AbstractState.class);
+    Waitlist waitlist = createWaitlist(analysis, first, second);
+
+    analysis.start();
+    try {
+      // without other analyses, expired time slices do not pause the analysis
+      assertThat(waitlist.size()).isEqualTo(2);
+      assertThat(waitlist.pop()).isSameInstanceAs(first);
+      assertThat(waitlist.pop()).isSameInstanceAs(second);
+      assertThat(waitlist.isEmpty()).isTrue();
+    } finally {
+      analysis.finish();
+    }
+  }
+
+  @Test
+  public void testExpiredTimeSliceGivesSlotToWaitingAnalysis() throws Exception {
+    ParallelAnalysisScheduler scheduler = new ParallelAnalysisScheduler(1, SHORT_TIME_SLICE);
+    ScheduledAnalysis first = scheduler.register(ShutdownNotifier.createDummy());
+    ScheduledAnalysis second = scheduler.register(ShutdownNotifier.createDummy());
+    AbstractState state = mock(AbstractState.class);
+    Waitlist waitlist = createWaitlist(first, state);
+
+    first.start();
+    AtomicBoolean secondHasRun = new AtomicBoolean(false);
+    CompletableFuture<Void> secondAnalysis =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                second.start();
+              } catch (InterruptedException e) {
+                throw new AssertionError(e);
+              }
+              secondHasRun.set(true);
+              second.finish();
+            });
+    try {
+      awaitWaitingAnalysis(scheduler);
+      assertThat(secondHasRun.get()).isFalse();
+
+      // the checkpoint pauses the first analysis until the second one has given up its slot
+      assertThat(waitlist.pop()).isSameInstanceAs(state);
+      assertThat(secondHasRun.get()).isTrue();
+      secondAnalysis.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } finally {
+      first.finish();
+    }
+    assertThat(getStatistics(first)).containsMatch("Number of pauses:\\s+1\\b");
+  }
+
+  @Test
+  public void testCheckpointsOfOtherThreadsAreIgnored() throws Exception {
+    ParallelAnalysisScheduler scheduler = new ParallelAnalysisScheduler(1, SHORT_TIME_SLICE);
+    ScheduledAnalysis first = scheduler.register(ShutdownNotifier.createDummy());
+    ScheduledAnalysis second = scheduler.register(ShutdownNotifier.createDummy());
+    AbstractState state = mock(AbstractState.class);
+    Waitlist waitlist = createWaitlist(first, state);
+
+    first.start();
+    CountDownLatch secondHasStarted = new CountDownLatch(1);
+    CompletableFuture<Void> secondAnalysis =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                second.start();
+              } catch (InterruptedException e) {
+                throw new AssertionError(e);
+              }
+              secondHasStarted.countDown();
+              second.finish();
+            });
+    try {
+      awaitWaitingAnalysis(scheduler);
+
+      // a nested analysis of the first analysis in another thread must not be paused
+      CompletableFuture<AbstractState> nestedPop = CompletableFuture.supplyAsync(waitlist::pop);
+      assertThat(nestedPop.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isSameInstanceAs(state);
+      assertThat(secondHasStarted.getCount()).isEqualTo(1);
+    } finally {
+      first.finish();
+    }
+    assertThat(secondHasStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    secondAnalysis.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testTimeSliceAdaptsToProgress() throws Exception {
+    ParallelAnalysisScheduler scheduler = new ParallelAnalysisScheduler(1, SHORT_TIME_SLICE);
+    ScheduledAnalysis analysis = scheduler.register(ShutdownNotifier.createDummy());
+    ReachedSet reached = mock(ReachedSet.class);
+    when(reached.size()).thenReturn(1);
+    Waitlist waitlist =
+        createWaitlist(
+            analysis,
+            mock(AbstractState.class),
+            mock(AbstractState.class),
+            mock(AbstractState.class));
+
+    analysis.start();
+    analysis.observe(reached);
+    try {
+      // two slices without growth reduce the time slice to the minimum
+      waitlist.pop();
+      waitlist.pop();
+      assertThat(getStatistics(analysis)).containsMatch("Final relative time slice:\\s+1/4");
+
+      // one slice with growth doubles the time slice again
+      when(reached.size()).thenReturn(5);
+      waitlist.pop();
+    } finally {
+      analysis.finish();
+    }
+    String statistics = getStatistics(analysis);
+    assertThat(statistics).containsMatch("Number of stalled time slices:\\s+2\\b");
+    assertThat(statistics).containsMatch("Growth of reached set in growing slices:\\s+4\\b");
+    assertThat(statistics).containsMatch("Final relative time slice:\\s+2/4");
+  }
+
+  @Test
+  public void testShutdownAbortsWaitingAnalysis() throws Exception {
+    ParallelAnalysisScheduler scheduler = new ParallelAnalysisScheduler(1, LONG_TIME_SLICE);
+    ScheduledAnalysis first = scheduler.register(ShutdownNotifier.createDummy());
+    ShutdownManager shutdownManager = ShutdownManager.create();
+    ScheduledAnalysis second = scheduler.register(shutdownManager.getNotifier());
+
+    first.start();
+    CompletableFuture<Boolean> secondAnalysis =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                second.start();
+                second.finish();
+                return false;
+              } catch (InterruptedException e) {
+                return true;
+              }
+            });
+    try {
+      awaitWaitingAnalysis(scheduler);
+      shutdownManager.requestShutdown("test");
+      assertThat(secondAnalysis.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+      assertThat(scheduler.hasWaitingAnalyses()).isFalse();
+    } finally {
+      first.finish();
+    }
+  }
+}
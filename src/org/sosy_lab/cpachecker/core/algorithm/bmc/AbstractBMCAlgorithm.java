@@ -17,11 +17,14 @@ import static org.sosy_lab.cpachecker.util.AbstractStates.extractLocation;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
@@ -32,6 +35,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,9 +46,15 @@ import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
@@ -64,11 +74,14 @@ import org.sosy_lab.cpachecker.core.algorithm.CPAAlgorithm;
 import org.sosy_lab.cpachecker.core.algorithm.ParallelAlgorithm.ConditionAdjustmentEventSubscriber;
 import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
 import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariantCombination;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.ExpressionTreeCandidateInvariant;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.SingleLocationFormulaInvariant;
 import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.SymbolicCandiateInvariant;
 import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.TargetLocationCandidateInvariant;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.AbstractInvariantGenerator;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.DoNothingInvariantGenerator;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.ExpressionTreeSupplier;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantExchange;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantGenerator;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantSupplier;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.KInductionInvariantGenerator;
@@ -180,6 +193,21 @@ abstract class AbstractBMCAlgorithm
               + "The improvement depends on the underlying SMT solver.")
   private boolean simplifyBooleanFormula = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Check each candidate invariant in each iteration of BMC only at those states that were"
+              + " not yet checked for it in a previous iteration with a smaller bound.")
+  private boolean incremental = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Check the induction step case in a separate thread with its own solver, concurrently"
+              + " to the base case and the bounding assertions of the same iteration."
+              + " Not supported together with bmc.usePropertyDirection.")
+  private boolean parallelInduction = false;
+
   protected final BMCStatistics stats;
   private final Algorithm algorithm;
   private final ConfigurableProgramAnalysis cpa;
@@ -187,6 +215,12 @@ abstract class AbstractBMCAlgorithm
   private final @Nullable ConfigurableProgramAnalysis stepCaseCPA;
   private final @Nullable Algorithm stepCaseAlgorithm;
 
+  /**
+   * Statistics of the step cases that run concurrently to the base case (if {@link
+   * #parallelInduction} is enabled), such that the timers are not used by two threads.
+   */
+  private final @Nullable BMCStatistics parallelStepCaseStats;
+
   protected final InvariantGenerator invariantGenerator;
   private final InvariantGeneratorHeadStart invariantGeneratorHeadStart;
 
@@ -211,9 +245,15 @@ abstract class AbstractBMCAlgorithm
   /** The candidate invariants that have been proven to hold at the loop heads. */
   private final Set<CandidateInvariant> confirmedCandidates = new CopyOnWriteArraySet<>();
 
+  /** Where proven invariants are published for analyses running in parallel (if present). */
+  private final @Nullable InvariantExchange invariantExchange;
+
   private final List<ConditionAdjustmentEventSubscriber> conditionAdjustmentEventSubscribers =
       new CopyOnWriteArrayList<>();
 
+  /** The states at which each candidate invariant was already checked (for incremental BMC). */
+  private final Map<CandidateInvariant, BmcResult> incrementalResults = new HashMap<>();
+
   protected AbstractBMCAlgorithm(
       Algorithm pAlgorithm,
       ConfigurableProgramAnalysis pCPA,
@@ -237,6 +277,7 @@ abstract class AbstractBMCAlgorithm
     reachedSetFactory = pReachedSetFactory;
     cfa = pCFA;
     specification = checkNotNull(pSpecification);
+    invariantExchange = pAggregatedReachedSets.getInvariantExchange().orElse(null);
 
     shutdownNotifier = pShutdownManager.getNotifier();
     TestTargetCPA testCPA = CPAs.retrieveCPA(pCPA, TestTargetCPA.class);
@@ -257,6 +298,19 @@ abstract class AbstractBMCAlgorithm
               && !getLoopHeads().isEmpty();
     }
 
+    if (parallelInduction && (!induction || usePropertyDirection)) {
+      if (usePropertyDirection) {
+        logger.log(
+            Level.WARNING,
+            "Parallel induction is not supported together with property direction, checking the"
+                + " step case sequentially.");
+      }
+      parallelInduction = false;
+    }
+
+    parallelStepCaseStats =
+        parallelInduction ? new BMCStatistics("BMC algorithm (parallel step case)") : null;
+
     if (induction) {
       LogManager stepCaseLogger = logger.withComponentName("InductionStepCase");
       CPABuilder builder =
@@ -312,7 +366,7 @@ abstract class AbstractBMCAlgorithm
             e);
       }
     }
-    invariantGenerator =
+    InvariantGenerator generator =
         invariantGenerationStrategy.createInvariantGenerator(
             invGenConfig,
             pLogger,
@@ -322,10 +376,12 @@ abstract class AbstractBMCAlgorithm
             pSpecification,
             pAggregatedReachedSets,
             targetLocationProvider);
-    if (invariantGenerator instanceof ConditionAdjustmentEventSubscriber) {
-      conditionAdjustmentEventSubscribers.add(
-          (ConditionAdjustmentEventSubscriber) invariantGenerator);
+    if (generator instanceof ConditionAdjustmentEventSubscriber) {
+      conditionAdjustmentEventSubscribers.add((ConditionAdjustmentEventSubscriber) generator);
     }
+    // a step case that runs concurrently to the base case also accesses the invariant generator
+    invariantGenerator =
+        parallelInduction ? new SynchronizedInvariantGenerator(generator) : generator;
     invariantGeneratorHeadStart = invariantGeneratorHeadStartStrategy.createFor(this);
 
     @SuppressWarnings("resource")
@@ -368,11 +424,22 @@ abstract class AbstractBMCAlgorithm
 
     AlgorithmStatus status;
 
+    final @Nullable ExecutorService stepCaseExecutor =
+        parallelInduction
+            ? Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("BMC-step-case-%d")
+                    .build())
+            : null;
+    @Nullable ParallelStepCase parallelStepCase = null;
+
     try (ProverEnvironment prover = solver.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
       invariantGeneratorHeadStart.waitForInvariantGenerator();
 
       do {
         shutdownNotifier.shutdownIfNecessary();
+        stats.startBound(getCurrentBound());
 
         logger.log(Level.INFO, "Creating formula for program");
         stats.bmcPreparation.start();
@@ -395,7 +462,14 @@ abstract class AbstractBMCAlgorithm
           return AlgorithmStatus.SOUND_AND_PRECISE;
         }
 
+        if (stepCaseExecutor != null
+            && status.isSound()
+            && candidateGenerator.hasCandidatesAvailable()) {
+          parallelStepCase = startStepCase(reachedSet, candidateGenerator, stepCaseExecutor);
+        }
+
         // Perform a bounded model check on each candidate invariant
+        Set<CandidateInvariant> refutedCandidates = new HashSet<>();
         Iterator<CandidateInvariant> candidateInvariantIterator = candidateGenerator.iterator();
         while (candidateInvariantIterator.hasNext()) {
           shutdownNotifier.shutdownIfNecessary();
@@ -408,6 +482,7 @@ abstract class AbstractBMCAlgorithm
               return AlgorithmStatus.UNSOUND_AND_PRECISE;
             }
             candidateInvariantIterator.remove();
+            refutedCandidates.add(candidateInvariant);
           }
 
           if (invariantGenerator.isProgramSafe()) {
@@ -430,7 +505,17 @@ abstract class AbstractBMCAlgorithm
           }
 
           // try to prove program safety via induction
-          if (induction && !sound) {
+          if (parallelStepCase != null && sound) {
+            // The bounding assertions already prove the program safe for the current candidates,
+            // so the result of the step case is not needed.
+            parallelStepCase.shutdownManager.requestShutdown(
+                "Bounding assertions hold, step case is not needed");
+            parallelStepCase = null;
+          } else if (parallelStepCase != null) {
+            StepCaseResult stepCaseResult = awaitStepCase(parallelStepCase.result);
+            parallelStepCase = null;
+            sound = applyStepCaseResult(stepCaseResult, candidateGenerator, refutedCandidates);
+          } else if (induction && !sound) {
             if (usePropertyDirection) {
               usePropertyDirection =
                   refineCtiBlockingClauses(reachedSet, prover, ctiBlockingClauses, checkedClauses);
@@ -439,7 +524,8 @@ abstract class AbstractBMCAlgorithm
               }
             }
             try (@SuppressWarnings("resource")
-                KInductionProver kInductionProver = createInductionProver()) {
+                KInductionProver kInductionProver =
+                    createInductionProver(stats, shutdownNotifier)) {
             sound =
                 checkStepCase(reachedSet, candidateGenerator, kInductionProver, ctiBlockingClauses);
             }
@@ -456,11 +542,109 @@ abstract class AbstractBMCAlgorithm
         }
       }
       while (status.isSound() && adjustConditions());
+    } finally {
+      if (stepCaseExecutor != null) {
+        if (parallelStepCase != null && !parallelStepCase.result.isDone()) {
+          // The analysis terminates without needing the result of the step case,
+          // so there is no reason to let it continue.
+          parallelStepCase.shutdownManager.requestShutdown("BMC terminated before the step case");
+        }
+        stepCaseExecutor.shutdownNow();
+        // The step case uses the step-case CPA and the invariant generator, so it must not
+        // outlive this run. It stops at its next shutdown check.
+        Uninterruptibles.awaitTerminationUninterruptibly(stepCaseExecutor);
+      }
     }
 
     return AlgorithmStatus.UNSOUND_AND_PRECISE;
   }
 
+  /**
+   * Starts the step case for the current bound in the given executor. The candidates and the
+   * checked states are determined immediately, such that the step case does not access the reached
+   * set or the candidate generator, which are modified concurrently by the base case. Each step
+   * case gets its own shutdown manager, such that stopping it does not affect later step cases.
+   */
+  private ParallelStepCase startStepCase(
+      ReachedSet pReachedSet, CandidateGenerator pCandidateGenerator, ExecutorService pExecutor) {
+    final int k = CPAs.retrieveCPA(cpa, LoopIterationBounding.class).getMaxLoopIterations();
+    Set<Object> checkedKeys = getCheckedKeys(pReachedSet);
+    Set<CandidateInvariant> candidates =
+        from(pCandidateGenerator)
+            .filter(getCandidateApplicabilityPredicate(pReachedSet, checkedKeys))
+            .toSet();
+    Set<CandidateInvariant> assumptions = new LinkedHashSet<>(confirmedCandidates);
+    ShutdownManager stepCaseShutdownManager = ShutdownManager.createWithParent(shutdownNotifier);
+    @SuppressWarnings("resource")
+    KInductionProver kInductionProver =
+        createInductionProver(parallelStepCaseStats, stepCaseShutdownManager.getNotifier());
+
+    Future<StepCaseResult> result =
+        pExecutor.submit(
+            () -> {
+              List<CandidateInvariant> confirmed = new ArrayList<>();
+              try (kInductionProver) {
+                boolean sound =
+                    checkStepCase(
+                        kInductionProver,
+                        k,
+                        checkedKeys,
+                        candidates,
+                        new TreeSet<>(),
+                        assumptions,
+                        parts -> {
+                          Iterables.addAll(assumptions, parts);
+                          Iterables.addAll(confirmed, parts);
+                        });
+                return new StepCaseResult(sound, confirmed);
+              }
+            });
+    return new ParallelStepCase(result, stepCaseShutdownManager);
+  }
+
+  private StepCaseResult awaitStepCase(Future<StepCaseResult> pStepCase)
+      throws InterruptedException, CPAException, SolverException {
+    stats.inductionWait.start();
+    try {
+      return pStepCase.get();
+    } catch (ExecutionException e) {
+      Throwable t = e.getCause();
+      Throwables.throwIfInstanceOf(t, InterruptedException.class);
+      Throwables.throwIfInstanceOf(t, CPAException.class);
+      Throwables.throwIfInstanceOf(t, SolverException.class);
+      Throwables.throwIfUnchecked(t);
+      throw new UnexpectedCheckedException("induction step case", t);
+    } finally {
+      stats.inductionWait.stop();
+    }
+  }
+
+  /**
+   * Applies the result of a step case that was checked concurrently to the base case. The step
+   * case may have used candidates as assumptions that were refuted by the base case in the
+   * meantime; in this case its whole result is discarded.
+   *
+   * @return whether the step case proved the program safe.
+   */
+  private boolean applyStepCaseResult(
+      StepCaseResult pResult,
+      CandidateGenerator pCandidateGenerator,
+      Set<CandidateInvariant> pRefutedCandidates) {
+    Set<CandidateInvariant> refutedParts =
+        from(pRefutedCandidates)
+            .transformAndConcat(CandidateInvariantCombination::getConjunctiveParts)
+            .toSet();
+    if (from(pResult.confirmedCandidates).anyMatch(refutedParts::contains)) {
+      logger.log(
+          Level.FINE,
+          "Discarding result of step case because it relies on candidates refuted by the base"
+              + " case.");
+      return false;
+    }
+    confirmCandidates(pResult.confirmedCandidates, pCandidateGenerator);
+    return pResult.sound;
+  }
+
   private boolean checkStepCase(
       final ReachedSet reachedSet,
       final CandidateGenerator candidateGenerator,
@@ -476,10 +660,58 @@ abstract class AbstractBMCAlgorithm
 
     Set<CandidateInvariant> candidates =
         FluentIterable.concat(pCtiBlockingClauses, candidateGenerator).filter(isApplicable).toSet();
-    Set<SymbolicCandiateInvariant> checked = new HashSet<>();
 
     shutdownNotifier.shutdownIfNecessary();
 
+    return checkStepCase(
+        kInductionProver,
+        k,
+        checkedKeys,
+        candidates,
+        pCtiBlockingClauses,
+        confirmedCandidates,
+        parts -> confirmCandidates(parts, candidateGenerator));
+  }
+
+  /**
+   * Records the given candidates as proven and publishes them for other analyses if invariants are
+   * exchanged.
+   */
+  private void confirmCandidates(
+      Iterable<CandidateInvariant> pCandidates, CandidateGenerator pCandidateGenerator) {
+    Iterables.addAll(confirmedCandidates, pCandidates);
+    pCandidateGenerator.confirmCandidates(pCandidates);
+    if (invariantExchange != null) {
+      for (CandidateInvariant candidate : pCandidates) {
+        if (candidate instanceof SingleLocationFormulaInvariant
+            && candidate instanceof ExpressionTreeCandidateInvariant) {
+          invariantExchange.publish(
+              ((SingleLocationFormulaInvariant) candidate).getLocation(),
+              ((ExpressionTreeCandidateInvariant) candidate).asExpressionTree());
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks the step case for the given candidates.
+   *
+   * @param pAssumptions the candidates that may be assumed to hold, which need to contain the
+   *     candidates confirmed via {@code pConfirm}.
+   * @param pConfirm receives the conjunctive parts of each candidate that is proven inductive.
+   * @return whether the program was proven safe.
+   */
+  private boolean checkStepCase(
+      KInductionProver kInductionProver,
+      int k,
+      Set<Object> checkedKeys,
+      Set<CandidateInvariant> candidates,
+      Set<Obligation> pCtiBlockingClauses,
+      Iterable<CandidateInvariant> pAssumptions,
+      Consumer<Iterable<CandidateInvariant>> pConfirm)
+      throws InterruptedException, CPAException, SolverException {
+    Set<SymbolicCandiateInvariant> checked = new HashSet<>();
+
     boolean sound = true;
     Iterable<CandidateInvariant> candidatesToCheck = candidates;
     for (CandidateInvariant candidate : candidatesToCheck) {
@@ -501,18 +733,14 @@ abstract class AbstractBMCAlgorithm
 
       InductionResult<CandidateInvariant> inductionResult =
           kInductionProver.check(
-              Iterables.concat(confirmedCandidates, Collections.singleton(candidate)),
+              Iterables.concat(pAssumptions, Collections.singleton(candidate)),
               k,
               candidate,
               checkedKeys,
               InvariantStrengthenings.noStrengthening(),
               lifting);
       if (inductionResult.isSuccessful()) {
-        Iterables.addAll(
-            confirmedCandidates,
-            CandidateInvariantCombination.getConjunctiveParts(candidate));
-        candidateGenerator.confirmCandidates(
-            CandidateInvariantCombination.getConjunctiveParts(candidate));
+        pConfirm.accept(CandidateInvariantCombination.getConjunctiveParts(candidate));
         if (candidate == TargetLocationCandidateInvariant.INSTANCE) {
           sound = true;
           break;
@@ -526,18 +754,14 @@ abstract class AbstractBMCAlgorithm
           for (SymbolicCandiateInvariant weakening : weakenings) {
             inductionResult =
                 kInductionProver.check(
-                    Iterables.concat(confirmedCandidates, Collections.singleton(weakening)),
+                    Iterables.concat(pAssumptions, Collections.singleton(weakening)),
                     k,
                     weakening,
                     checkedKeys,
                     InvariantStrengthenings.noStrengthening(),
                     lifting);
             if (inductionResult.isSuccessful()) {
-              Iterables.addAll(
-                  confirmedCandidates,
-                  CandidateInvariantCombination.getConjunctiveParts(weakening));
-              candidateGenerator.confirmCandidates(
-                  CandidateInvariantCombination.getConjunctiveParts(weakening));
+              pConfirm.accept(CandidateInvariantCombination.getConjunctiveParts(weakening));
               break;
             }
           }
@@ -575,6 +799,13 @@ abstract class AbstractBMCAlgorithm
         .toSet();
   }
 
+  /** Returns the current loop bound, or -1 if the bound is not known. */
+  private int getCurrentBound() {
+    LoopIterationBounding loopIterationBounding =
+        CPAs.retrieveCPA(cpa, LoopIterationBounding.class);
+    return loopIterationBounding == null ? -1 : loopIterationBounding.getMaxLoopIterations();
+  }
+
   /**
    * Gets the candidate invariants to be checked.
    *
@@ -610,15 +841,56 @@ abstract class AbstractBMCAlgorithm
       final BasicProverEnvironment<?> pProver,
       CandidateInvariant pCandidateInvariant)
       throws CPATransferException, InterruptedException, SolverException {
-    return boundedModelCheck((Iterable<AbstractState>) pReachedSet, pProver, pCandidateInvariant);
+    if (!incremental || !isAssertedPerState(pCandidateInvariant)) {
+      return boundedModelCheck(pReachedSet, pReachedSet, pProver, pCandidateInvariant);
+    }
+
+    // States that were checked already in previous iterations do not change,
+    // so it suffices to check the states that were added by the latest unrolling.
+    BmcResult previousResult =
+        incrementalResults.computeIfAbsent(pCandidateInvariant, c -> new BmcResult());
+    List<AbstractState> uncheckedStates =
+        ImmutableList.copyOf(
+            previousResult.filterUnchecked(pCandidateInvariant.filterApplicable(pReachedSet)));
+    boolean safe = boundedModelCheck(uncheckedStates, pReachedSet, pProver, pCandidateInvariant);
+    if (safe) {
+      previousResult.addSafeStates(uncheckedStates);
+    } else {
+      previousResult.declareUnsafe();
+      incrementalResults.remove(pCandidateInvariant);
+    }
+    return safe;
+  }
+
+  /**
+   * Checks whether the assertion of the given candidate invariant over a set of states is the
+   * conjunction of its assertions over the single states, such that states that were already
+   * checked can be omitted. This is not the case for disjunctions of candidate invariants.
+   */
+  private static boolean isAssertedPerState(CandidateInvariant pCandidateInvariant) {
+    if (Iterables.size(CandidateInvariantCombination.getDisjunctiveParts(pCandidateInvariant))
+        > 1) {
+      return false;
+    }
+    return Iterables.all(
+        CandidateInvariantCombination.getConjunctiveParts(pCandidateInvariant),
+        part -> part == pCandidateInvariant || isAssertedPerState(part));
   }
 
+  /**
+   * Check whether the candidate invariant holds at the given states.
+   *
+   * @param pStates the states to check
+   * @param pReachedSet the reached set that is updated according to the result (if present)
+   */
   private boolean boundedModelCheck(
-      Iterable<AbstractState> pReachedSet,
+      Iterable<AbstractState> pStates,
+      @Nullable ReachedSet pReachedSet,
       BasicProverEnvironment<?> pProver,
       CandidateInvariant pCandidateInvariant)
       throws CPATransferException, InterruptedException, SolverException {
-    BooleanFormula program = bfmgr.not(pCandidateInvariant.getAssertion(pReachedSet, fmgr, pmgr));
+    stats.formulaEncoding.start();
+    BooleanFormula program = bfmgr.not(pCandidateInvariant.getAssertion(pStates, fmgr, pmgr));
     if (simplifyBooleanFormula) {
       BigInteger sizeBeforeSimplification = fmgr.countBooleanOperations(program);
       program = fmgr.simplifyBooleanFormula(program);
@@ -629,6 +901,7 @@ abstract class AbstractBMCAlgorithm
           sizeBeforeSimplification,
           sizeAfterSimplification);
     }
+    stats.formulaEncoding.stop();
     logger.log(Level.INFO, "Starting satisfiability check...");
     stats.satCheck.start();
     pProver.push(program);
@@ -636,12 +909,11 @@ abstract class AbstractBMCAlgorithm
     stats.satCheck.stop();
     // Leave program formula on solver stack until error path is created
 
-    if (pReachedSet instanceof ReachedSet) {
-      ReachedSet reachedSet = (ReachedSet) pReachedSet;
+    if (pReachedSet != null) {
       if (safe) {
-        pCandidateInvariant.assumeTruth(reachedSet);
+        pCandidateInvariant.assumeTruth(pReachedSet);
       } else if (pCandidateInvariant == TargetLocationCandidateInvariant.INSTANCE) {
-        analyzeCounterexample(program, reachedSet, pProver);
+        analyzeCounterexample(program, pReachedSet, pProver);
       }
     }
 
@@ -704,7 +976,7 @@ abstract class AbstractBMCAlgorithm
           Iterable<AbstractState> applicableStates =
               newBlockingClause.filterApplicable(pReachedSet);
           applicableStates = clauseResult.filterUnchecked(applicableStates);
-          isUnsat = boundedModelCheck(applicableStates, pProver, newBlockingClause);
+          isUnsat = boundedModelCheck(applicableStates, null, pProver, newBlockingClause);
           if (isUnsat) {
             clauseResult.addSafeStates(applicableStates);
           } else {
@@ -790,7 +1062,9 @@ abstract class AbstractBMCAlgorithm
 
       if (!boundingAssertionsSlicing) {
         // create one formula for unwinding assertions
+        stats.formulaEncoding.start();
         BooleanFormula assertions = BMCHelper.createFormulaFor(stopStates, bfmgr);
+        stats.formulaEncoding.stop();
         stats.assertionsCheck.start();
         prover.push(assertions);
         sound = prover.isUnsat();
@@ -800,7 +1074,9 @@ abstract class AbstractBMCAlgorithm
         List<AbstractState> toRemove = new ArrayList<>();
         for (AbstractState s : stopStates) {
           // create individual formula for unwinding assertions
+          stats.formulaEncoding.start();
           BooleanFormula assertions = BMCHelper.createFormulaFor(ImmutableList.of(s), bfmgr);
+          stats.formulaEncoding.stop();
           stats.assertionsCheck.start();
           prover.push(assertions);
           boolean result = prover.isUnsat();
@@ -833,12 +1109,20 @@ abstract class AbstractBMCAlgorithm
       ((StatisticsProvider)algorithm).collectStatistics(pStatsCollection);
     }
     pStatsCollection.add(stats);
+    if (parallelStepCaseStats != null) {
+      pStatsCollection.add(parallelStepCaseStats);
+    }
     if (invariantGenerator instanceof StatisticsProvider) {
       ((StatisticsProvider)invariantGenerator).collectStatistics(pStatsCollection);
     }
   }
 
-  protected KInductionProver createInductionProver() {
+  /**
+   * Creates a prover for the step case. The statistics and the shutdown notifier are given
+   * explicitly, because a step case that runs concurrently to the base case uses its own ones.
+   */
+  protected KInductionProver createInductionProver(
+      BMCStatistics pStats, ShutdownNotifier pShutdownNotifier) {
     assert induction;
     return new KInductionProver(
         cfa,
@@ -846,9 +1130,9 @@ abstract class AbstractBMCAlgorithm
         stepCaseAlgorithm,
         stepCaseCPA,
         invariantGenerator,
-        stats,
+        pStats,
         reachedSetFactory,
-        shutdownNotifier,
+        pShutdownNotifier,
         getLoopHeads(),
         usePropertyDirection);
   }
@@ -1247,6 +1531,88 @@ abstract class AbstractBMCAlgorithm
     }
   }
 
+  /**
+   * Serializes the accesses to an invariant generator, which is necessary if the step case is
+   * checked concurrently to the base case. {@link #isProgramSafe()} is not synchronized, because it
+   * is also called from shutdown listeners and needs to be thread-safe anyway.
+   */
+  private static class SynchronizedInvariantGenerator
+      implements InvariantGenerator, StatisticsProvider {
+
+    private final InvariantGenerator delegate;
+
+    private SynchronizedInvariantGenerator(InvariantGenerator pDelegate) {
+      delegate = pDelegate;
+    }
+
+    @Override
+    public synchronized boolean isStarted() {
+      return delegate.isStarted();
+    }
+
+    @Override
+    public synchronized void start(CFANode pInitialLocation) {
+      delegate.start(pInitialLocation);
+    }
+
+    @Override
+    public synchronized void cancel() {
+      delegate.cancel();
+    }
+
+    @Override
+    public synchronized InvariantSupplier getSupplier()
+        throws CPAException, InterruptedException {
+      return delegate.getSupplier();
+    }
+
+    @Override
+    public synchronized ExpressionTreeSupplier getExpressionTreeSupplier()
+        throws CPAException, InterruptedException {
+      return delegate.getExpressionTreeSupplier();
+    }
+
+    @Override
+    public boolean isProgramSafe() {
+      return delegate.isProgramSafe();
+    }
+
+    @Override
+    public void collectStatistics(Collection<Statistics> pStatsCollection) {
+      if (delegate instanceof StatisticsProvider) {
+        ((StatisticsProvider) delegate).collectStatistics(pStatsCollection);
+      }
+    }
+  }
+
+  /** A step case that is checked concurrently to the base case. */
+  private static class ParallelStepCase {
+
+    private final Future<StepCaseResult> result;
+
+    /** Allows to stop this step case once its result is no longer needed. */
+    private final ShutdownManager shutdownManager;
+
+    private ParallelStepCase(Future<StepCaseResult> pResult, ShutdownManager pShutdownManager) {
+      result = pResult;
+      shutdownManager = pShutdownManager;
+    }
+  }
+
+  /** The result of a step case that was checked concurrently to the base case. */
+  private static class StepCaseResult {
+
+    private final boolean sound;
+
+    /** The conjunctive parts of all candidates that were proven inductive. */
+    private final List<CandidateInvariant> confirmedCandidates;
+
+    private StepCaseResult(boolean pSound, List<CandidateInvariant> pConfirmedCandidates) {
+      sound = pSound;
+      confirmedCandidates = ImmutableList.copyOf(pConfirmedCandidates);
+    }
+  }
+
   private interface InvariantGeneratorHeadStart {
 
     void waitForInvariantGenerator() throws InterruptedException;
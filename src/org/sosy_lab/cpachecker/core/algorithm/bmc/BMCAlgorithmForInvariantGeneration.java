@@ -12,6 +12,7 @@ import com.google.common.base.Verify;
 import java.util.Objects;
 import java.util.Optional;
 import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
@@ -41,9 +42,12 @@ public class BMCAlgorithmForInvariantGeneration extends AbstractBMCAlgorithm {
 
   private final CandidateGenerator candidateGenerator;
 
-  private InvariantSupplier locationInvariantsProvider = InvariantSupplier.TrivialInvariantSupplier.INSTANCE;
+  // volatile because the invariants are requested by other threads while this algorithm runs
+  private volatile InvariantSupplier locationInvariantsProvider =
+      InvariantSupplier.TrivialInvariantSupplier.INSTANCE;
 
-  private ExpressionTreeSupplier locationInvariantExpressionTreeProvider = ExpressionTreeSupplier.TrivialInvariantSupplier.INSTANCE;
+  private volatile ExpressionTreeSupplier locationInvariantExpressionTreeProvider =
+      ExpressionTreeSupplier.TrivialInvariantSupplier.INSTANCE;
 
   public BMCAlgorithmForInvariantGeneration(
       Algorithm pAlgorithm,
@@ -92,8 +96,9 @@ public class BMCAlgorithmForInvariantGeneration extends AbstractBMCAlgorithm {
   }
 
   @Override
-  protected KInductionProver createInductionProver() {
-    final KInductionProver prover = super.createInductionProver();
+  protected KInductionProver createInductionProver(
+      BMCStatistics pStats, ShutdownNotifier pShutdownNotifier) {
+    final KInductionProver prover = super.createInductionProver(pStats, pShutdownNotifier);
 
     if (prover != null) {
       locationInvariantsProvider =
@@ -8,7 +8,18 @@
 
 package org.sosy_lab.cpachecker.core.algorithm.bmc;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Function;
+import com.google.common.collect.FluentIterable;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
@@ -17,35 +28,161 @@ import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 public class BMCStatistics implements Statistics {
 
   final Timer bmcPreparation = new Timer();
+  final Timer formulaEncoding = new Timer();
   final Timer satCheck = new Timer();
   final Timer errorPathCreation = new Timer();
   final Timer assertionsCheck = new Timer();
 
   final Timer inductionPreparation = new Timer();
   final Timer inductionCheck = new Timer();
+  final Timer inductionWait = new Timer();
+
+  /** Times for unrolling, encoding, and solving of each iteration, in the order of iterations. */
+  private final List<BoundTimes> timesPerBound = new ArrayList<>();
+
+  private @Nullable BoundTimes currentBound = null;
+
+  private final String name;
+
+  /** Statistics of BMC instances that run in parallel and whose times are printed by this one. */
+  private final List<BMCStatistics> parallelInstances = new ArrayList<>();
+
+  public BMCStatistics() {
+    this("BMC algorithm");
+  }
+
+  BMCStatistics(String pName) {
+    name = pName;
+  }
+
+  /**
+   * Create the statistics for a BMC instance that runs in parallel to the one using these
+   * statistics. The new statistics are not meant to be reported on their own; their times are
+   * added to the times printed by these statistics instead. Each instance needs its own statistics,
+   * because a timer must not be used by several threads.
+   */
+  public BMCStatistics createStatisticsForParallelInstance() {
+    BMCStatistics result = new BMCStatistics(name);
+    parallelInstances.add(result);
+    return result;
+  }
+
+  /**
+   * Start a new iteration of BMC with the given loop bound. The time spent for unrolling, encoding,
+   * and solving from now until the start of the next iteration is attributed to this bound.
+   */
+  void startBound(int pBound) {
+    finishBound();
+    currentBound =
+        new BoundTimes(
+            pBound < 0 ? timesPerBound.size() + 1 : pBound,
+            bmcPreparation.getSumTime(),
+            formulaEncoding.getSumTime(),
+            getSolvingTime());
+  }
+
+  private void finishBound() {
+    if (currentBound != null) {
+      timesPerBound.add(
+          new BoundTimes(
+              currentBound.bound,
+              TimeSpan.difference(bmcPreparation.getSumTime(), currentBound.unrolling),
+              TimeSpan.difference(formulaEncoding.getSumTime(), currentBound.encoding),
+              TimeSpan.difference(getSolvingTime(), currentBound.solving)));
+      currentBound = null;
+    }
+  }
+
+  private TimeSpan getSolvingTime() {
+    return TimeSpan.sum(satCheck.getSumTime(), assertionsCheck.getSumTime());
+  }
 
   @Override
   public void printStatistics(PrintStream out, Result pResult, UnmodifiableReachedSet pReached) {
-    if (bmcPreparation.getNumberOfIntervals() > 0) {
-      out.println("Time for BMC formula creation:       " + bmcPreparation);
+    if (getNumberOfIntervals(s -> s.bmcPreparation) > 0) {
+      out.println("Time for BMC formula creation:       " + getSumTime(s -> s.bmcPreparation));
     }
-    if (satCheck.getNumberOfIntervals() > 0) {
-      out.println("Time for final sat check:            " + satCheck);
+    if (getNumberOfIntervals(s -> s.formulaEncoding) > 0) {
+      out.println("Time for encoding checked states:    " + getSumTime(s -> s.formulaEncoding));
     }
-    if (errorPathCreation.getNumberOfIntervals() > 0) {
-      out.println("Time for error path creation:        " + errorPathCreation);
+    if (getNumberOfIntervals(s -> s.satCheck) > 0) {
+      out.println("Time for final sat check:            " + getSumTime(s -> s.satCheck));
     }
-    if (assertionsCheck.getNumberOfIntervals() > 0) {
-      out.println("Time for bounding assertions check:  " + assertionsCheck);
+    if (getNumberOfIntervals(s -> s.errorPathCreation) > 0) {
+      out.println("Time for error path creation:        " + getSumTime(s -> s.errorPathCreation));
     }
-    if (inductionCheck.getNumberOfIntervals() > 0) {
-      out.println("Time for induction formula creation: " + inductionPreparation);
-      out.println("Time for induction check:            " + inductionCheck);
+    if (getNumberOfIntervals(s -> s.assertionsCheck) > 0) {
+      out.println("Time for bounding assertions check:  " + getSumTime(s -> s.assertionsCheck));
+    }
+    if (getNumberOfIntervals(s -> s.inductionCheck) > 0) {
+      out.println(
+          "Time for induction formula creation: " + getSumTime(s -> s.inductionPreparation));
+      out.println("Time for induction check:            " + getSumTime(s -> s.inductionCheck));
+    }
+    if (getNumberOfIntervals(s -> s.inductionWait) > 0) {
+      out.println("Time waiting for step case:          " + getSumTime(s -> s.inductionWait));
+    }
+    // times of parallel instances are summed per bound
+    NavigableMap<Integer, BoundTimes> allTimesPerBound = new TreeMap<>();
+    for (BMCStatistics instance : getAllInstances()) {
+      instance.finishBound();
+      for (BoundTimes times : instance.timesPerBound) {
+        allTimesPerBound.merge(times.bound, times, BoundTimes::sum);
+      }
+    }
+    if (!allTimesPerBound.isEmpty()) {
+      out.println("Times per bound (unrolling / encoding / solving):");
+      for (BoundTimes times : allTimesPerBound.values()) {
+        out.println(
+            String.format(
+                "  Bound %d: %s / %s / %s",
+                times.bound,
+                times.unrolling.formatAs(TimeUnit.SECONDS),
+                times.encoding.formatAs(TimeUnit.SECONDS),
+                times.solving.formatAs(TimeUnit.SECONDS)));
+      }
     }
   }
 
+  private FluentIterable<BMCStatistics> getAllInstances() {
+    return FluentIterable.of(this).append(parallelInstances);
+  }
+
+  private int getNumberOfIntervals(Function<BMCStatistics, Timer> pTimer) {
+    return getAllInstances().transform(pTimer).stream().mapToInt(Timer::getNumberOfIntervals).sum();
+  }
+
+  private String getSumTime(Function<BMCStatistics, Timer> pTimer) {
+    return TimeSpan.sum(getAllInstances().transform(pTimer).transform(Timer::getSumTime))
+        .formatAs(TimeUnit.SECONDS);
+  }
+
   @Override
   public String getName() {
-    return "BMC algorithm";
+    return name;
+  }
+
+  private static final class BoundTimes {
+
+    private final int bound;
+    private final TimeSpan unrolling;
+    private final TimeSpan encoding;
+    private final TimeSpan solving;
+
+    private BoundTimes(int pBound, TimeSpan pUnrolling, TimeSpan pEncoding, TimeSpan pSolving) {
+      bound = pBound;
+      unrolling = pUnrolling;
+      encoding = pEncoding;
+      solving = pSolving;
+    }
+
+    private static BoundTimes sum(BoundTimes pTimes1, BoundTimes pTimes2) {
+      checkArgument(pTimes1.bound == pTimes2.bound);
+      return new BoundTimes(
+          pTimes1.bound,
+          TimeSpan.sum(pTimes1.unrolling, pTimes2.unrolling),
+          TimeSpan.sum(pTimes1.encoding, pTimes2.encoding),
+          TimeSpan.sum(pTimes1.solving, pTimes2.solving));
+    }
   }
-}
\ No newline at end of file
+}
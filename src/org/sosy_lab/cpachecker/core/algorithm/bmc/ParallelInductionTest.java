@@ -0,0 +1,103 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.io.TempFile;
+import org.sosy_lab.common.io.TempFile.DeleteOnCloseFile;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class ParallelInductionTest {
+
+  /** Program with an unbounded loop that can only be proven safe by induction. */
+  private static final ImmutableList<String> SAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = 0;",
+          "  int y = 0;",
+          "  while (__VERIFIER_nondet_int()) {",
+          "    x++;",
+          "    y++;",
+          "    if (x != y) { ERROR: return 1; }",
+          "  }",
+          "  return 0;",
+          "}");
+
+  /** Program with an unbounded loop whose error location is reached in the third iteration. */
+  private static final ImmutableList<String> UNSAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = 0;",
+          "  while (__VERIFIER_nondet_int()) {",
+          "    x++;",
+          "    if (x == 3) { ERROR: return 1; }",
+          "  }",
+          "  return 0;",
+          "}");
+
+  private static CPAcheckerResult check(List<String> pProgram, boolean pParallel)
+      throws Exception {
+    try (DeleteOnCloseFile programFile =
+        TempFile.builder().prefix("test").suffix(".c").createDeleteOnClose()) {
+      Files.write(programFile.toPath(), pProgram);
+
+      Configuration config =
+          TestDataTools.configurationForTest()
+              .loadFromFile("config/bmc-induction.properties")
+              .setOption("bmc.parallelInduction", Boolean.toString(pParallel))
+              .build();
+
+      return CPATestRunner.run(config, programFile.toPath().toString()).getCheckerResult();
+    }
+  }
+
+  private static String getStatistics(CPAcheckerResult pResult) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+      pResult.printStatistics(printStream);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testParallelInductionOfSafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(SAFE_PROGRAM, false);
+    CPAcheckerResult parallel = check(SAFE_PROGRAM, true);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.TRUE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+
+    // check that the step case was checked concurrently to the base case
+    assertThat(getStatistics(sequential)).doesNotContain("parallel step case");
+    assertThat(getStatistics(parallel)).contains("parallel step case");
+  }
+
+  @Test
+  public void testParallelInductionOfUnsafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(UNSAFE_PROGRAM, false);
+    CPAcheckerResult parallel = check(UNSAFE_PROGRAM, true);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.FALSE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+  }
+}
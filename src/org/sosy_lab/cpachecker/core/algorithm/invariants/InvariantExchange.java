@@ -0,0 +1,116 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.algorithm.invariants;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Throwables;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cpa.callstack.CallstackStateEqualsWrapper;
+import org.sosy_lab.cpachecker.util.expressions.And;
+import org.sosy_lab.cpachecker.util.expressions.DownwardCastingVisitor;
+import org.sosy_lab.cpachecker.util.expressions.DownwardCastingVisitor.IncompatibleLeafTypesException;
+import org.sosy_lab.cpachecker.util.expressions.ExpressionTree;
+import org.sosy_lab.cpachecker.util.expressions.ExpressionTrees;
+import org.sosy_lab.cpachecker.util.expressions.ToFormulaVisitor;
+import org.sosy_lab.cpachecker.util.expressions.ToFormulaVisitor.ToFormulaException;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * Thread-safe collection of invariants that analyses running in parallel on the same CFA publish
+ * for each other, for example invariants proven by k-induction.
+ *
+ * <p>The invariants are stored as expression trees per location, such that they are independent
+ * of the solver of the analysis that published them. Consumers access them via {@link
+ * #asExpressionTreeSupplier()} or {@link #asInvariantSupplier()}, which always provide the latest
+ * invariants.
+ */
+public final class InvariantExchange {
+
+  private final ConcurrentMap<CFANode, ExpressionTree<Object>> invariants =
+      new ConcurrentHashMap<>();
+
+  private final AtomicInteger numberOfPublishedInvariants = new AtomicInteger();
+
+  /**
+   * Publish an invariant that holds at the given location. It is conjoined to all invariants
+   * published for this location before.
+   */
+  public void publish(CFANode pLocation, ExpressionTree<Object> pInvariant) {
+    checkNotNull(pLocation);
+    if (ExpressionTrees.getTrue().equals(pInvariant)) {
+      return;
+    }
+    ExpressionTree<Object> previous = invariants.get(pLocation);
+    ExpressionTree<Object> current = invariants.merge(pLocation, pInvariant, And::of);
+    if (!current.equals(previous)) {
+      numberOfPublishedInvariants.incrementAndGet();
+    }
+  }
+
+  /** Returns the conjunction of all invariants published so far for the given location. */
+  public ExpressionTree<Object> getInvariantFor(CFANode pLocation) {
+    return invariants.getOrDefault(pLocation, ExpressionTrees.getTrue());
+  }
+
+  /** Returns how many invariants were published that were not known before. */
+  public int getNumberOfPublishedInvariants() {
+    return numberOfPublishedInvariants.get();
+  }
+
+  public ExpressionTreeSupplier asExpressionTreeSupplier() {
+    return this::getInvariantFor;
+  }
+
+  /**
+   * Returns a supplier that converts the published invariants into formulas of the formula manager
+   * of the consumer. Invariants that cannot be converted are ignored.
+   */
+  public InvariantSupplier asInvariantSupplier() {
+    return new InvariantSupplier() {
+
+      @Override
+      public BooleanFormula getInvariantFor(
+          CFANode pNode,
+          Optional<CallstackStateEqualsWrapper> pCallstackInformation,
+          FormulaManagerView pFmgr,
+          PathFormulaManager pPfmgr,
+          @Nullable PathFormula pContext)
+          throws InterruptedException {
+        ExpressionTree<Object> invariant = InvariantExchange.this.getInvariantFor(pNode);
+        if (ExpressionTrees.getTrue().equals(invariant)) {
+          return pFmgr.getBooleanFormulaManager().makeTrue();
+        }
+
+        // the visitors are not thread-safe, so they are not shared between calls
+        DownwardCastingVisitor<Object, AExpression> caster =
+            new DownwardCastingVisitor<>(AExpression.class);
+        ToFormulaVisitor visitor = new ToFormulaVisitor(pFmgr, pPfmgr, pContext);
+        try {
+          return invariant.accept(caster).accept(visitor);
+        } catch (ToFormulaException e) {
+          Throwables.throwIfInstanceOf(e.getCause(), InterruptedException.class);
+          return pFmgr.getBooleanFormulaManager().makeTrue();
+        } catch (IncompatibleLeafTypesException e) {
+          // all published invariants are built from expressions of the CFA
+          throw new AssertionError(e);
+        }
+      }
+    };
+  }
+}
@@ -17,17 +17,22 @@ import com.google.common.base.Predicates;
 import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.PrintStream;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -49,6 +54,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.LazyFutureTask;
 import org.sosy_lab.common.ShutdownManager;
@@ -56,6 +62,7 @@ import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.FileOption.Type;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -104,6 +111,7 @@ import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.cpa.callstack.CallstackStateEqualsWrapper;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.UnrecognizedCodeException;
 import org.sosy_lab.cpachecker.util.CFAUtils;
@@ -113,10 +121,18 @@ import org.sosy_lab.cpachecker.util.ExpressionSubstitution.SubstitutionException
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.WitnessInvariantsExtractor;
 import org.sosy_lab.cpachecker.util.automaton.TargetLocationProvider;
+import org.sosy_lab.cpachecker.util.expressions.And;
+import org.sosy_lab.cpachecker.util.expressions.ExpressionTree;
+import org.sosy_lab.cpachecker.util.expressions.ExpressionTrees;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.smt.BooleanFormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
 import org.sosy_lab.cpachecker.util.resources.ResourceLimitChecker;
 import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 import org.sosy_lab.cpachecker.util.variableclassification.Partition;
 import org.sosy_lab.cpachecker.util.variableclassification.VariableClassification;
+import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.SolverException;
 
 /** Generate invariants using k-induction. */
@@ -152,6 +168,18 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
       description = "Check candidate invariants in a separate thread asynchronously."
     )
     private boolean async = true;
+
+    @Option(
+        secure = true,
+        description =
+            "Number of threads that check the candidate invariants in parallel, each with its own"
+                + " BMC instance and solver. The candidates are partitioned by the loop heads at"
+                + " which they apply. Candidates are assumed in the step case only by the thread"
+                + " that checks them, so candidates that are only inductive together with"
+                + " candidates of another partition are not confirmed. Ignored if"
+                + " terminateOnCounterexample is enabled.")
+    @IntegerOption(min = 1)
+    private int threads = 1;
   }
 
   private static class KInductionInvariantGeneratorStatistics extends BMCStatistics {
@@ -160,7 +188,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
 
     private Integer totalNumberOfCandidates = null;
 
-    private int numberOfConfirmedCandidates = 0;
+    private final AtomicInteger numberOfConfirmedCandidates = new AtomicInteger();
 
     @Override
     public void printStatistics(PrintStream out, Result result, UnmodifiableReachedSet reached) {
@@ -169,7 +197,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
       if (totalNumberOfCandidates != null) {
         writer.put("Total number of candidates", totalNumberOfCandidates);
       }
-      writer.put("Number of confirmed candidates", numberOfConfirmedCandidates);
+      writer.put("Number of confirmed candidates", numberOfConfirmedCandidates.get());
       super.printStatistics(out, result, reached);
     }
 
@@ -181,8 +209,12 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
 
   private final KInductionInvariantGeneratorStatistics stats = new KInductionInvariantGeneratorStatistics();
 
-  private final BMCAlgorithmForInvariantGeneration algorithm;
-  private final ConfigurableProgramAnalysis cpa;
+  /** The instances that check the candidates, one per partition of the candidates. */
+  private final ImmutableList<CandidateChecker> checkers;
+
+  /** Used to stop all checkers if one of them fails while they run in parallel. */
+  private final ShutdownManager checkerShutdownManager;
+
   private final ReachedSetFactory reachedSetFactory;
 
   private final LogManager logger;
@@ -218,6 +250,24 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
     KInductionInvariantGeneratorOptions options = new KInductionInvariantGeneratorOptions();
     pConfig.inject(options);
 
+    CandidateGenerator candidateGenerator =
+        getCandidateInvariants(
+            options,
+            pConfig,
+            pLogger,
+            pCFA,
+            pShutdownManager,
+            pTargetLocationProvider,
+            specification);
+    List<CandidateGenerator> candidateGenerators = ImmutableList.of(candidateGenerator);
+    if (options.threads > 1 && !options.terminateOnCounterexample) {
+      candidateGenerators =
+          partitionByLoopHeads(
+              ((StaticCandidateProvider) candidateGenerator).getAllCandidates(),
+              pCFA,
+              options.threads);
+    }
+
     return new KInductionInvariantGenerator(
         pConfig,
         pLogger.withComponentName("KInductionInvariantGenerator"),
@@ -226,17 +276,53 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
         specification,
         pReachedSetFactory,
         options.async,
-        getCandidateInvariants(
-            options,
-            pConfig,
-            pLogger,
-            pCFA,
-            pShutdownManager,
-            pTargetLocationProvider,
-            specification),
+        candidateGenerators,
         pAggregatedReachedSets);
   }
 
+  /**
+   * Partitions the given candidates into at most the given number of candidate generators, such
+   * that all candidates that apply to the same loop head are in the same partition. The safety
+   * property is checked only in the first partition.
+   *
+   * <p>Each partition is checked independently, so the step case of a candidate can only assume
+   * the candidates of its own partition. Candidates that are only inductive together with
+   * candidates at other loop heads (mutual induction across partitions) are therefore not
+   * confirmed, although they would be if all candidates were checked by a single instance.
+   */
+  private static List<CandidateGenerator> partitionByLoopHeads(
+      Set<CandidateInvariant> pCandidates, CFA pCFA, int pPartitions) {
+    Set<CFANode> loopHeads = pCFA.getAllLoopHeads().orElse(ImmutableSet.of());
+    Map<Optional<CFANode>, List<CandidateInvariant>> candidatesByLoopHead = new LinkedHashMap<>();
+    for (CandidateInvariant candidate : pCandidates) {
+      if (candidate != TargetLocationCandidateInvariant.INSTANCE) {
+        Optional<CFANode> loopHead = loopHeads.stream().filter(candidate::appliesTo).findFirst();
+        candidatesByLoopHead.computeIfAbsent(loopHead, l -> new ArrayList<>()).add(candidate);
+      }
+    }
+
+    // assign the largest groups first, always to the currently smallest partition
+    List<List<CandidateInvariant>> groups = new ArrayList<>(candidatesByLoopHead.values());
+    groups.sort(Comparator.comparingInt(List<CandidateInvariant>::size).reversed());
+    List<List<CandidateInvariant>> partitions = new ArrayList<>();
+    for (List<CandidateInvariant> group : groups) {
+      if (partitions.size() < pPartitions) {
+        partitions.add(new ArrayList<>(group));
+      } else {
+        Collections.min(partitions, Comparator.comparingInt(List::size)).addAll(group);
+      }
+    }
+    if (partitions.isEmpty()) {
+      partitions.add(new ArrayList<>());
+    }
+    if (pCandidates.contains(TargetLocationCandidateInvariant.INSTANCE)) {
+      partitions.get(0).add(TargetLocationCandidateInvariant.INSTANCE);
+    }
+    return FluentIterable.from(partitions)
+        .<CandidateGenerator>transform(StaticCandidateProvider::new)
+        .toList();
+  }
+
   static KInductionInvariantGenerator create(
       final Configuration pConfig,
       final LogManager pLogger,
@@ -256,7 +342,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
         specification,
         pReachedSetFactory,
         pAsync,
-        candidateGenerator,
+        ImmutableList.of(candidateGenerator),
         AggregatedReachedSets.empty());
   }
 
@@ -268,7 +354,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
       final Specification specification,
       final ReachedSetFactory pReachedSetFactory,
       final boolean pAsync,
-      final CandidateGenerator pCandidateGenerator,
+      final List<CandidateGenerator> pCandidateGenerators,
       final AggregatedReachedSets pAggregatedReachedSets)
       throws InvalidConfigurationException, CPAException, InterruptedException {
     logger = pLogger;
@@ -277,88 +363,107 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
     reachedSetFactory = pReachedSetFactory;
     async = pAsync;
 
-    if (pCandidateGenerator instanceof StaticCandidateProvider) {
-      StaticCandidateProvider staticCandidateProvider =
-          (StaticCandidateProvider) pCandidateGenerator;
+    if (Iterables.all(pCandidateGenerators, Predicates.instanceOf(StaticCandidateProvider.class))) {
       stats.totalNumberOfCandidates =
-          FluentIterable.from(staticCandidateProvider.getAllCandidates())
+          FluentIterable.from(pCandidateGenerators)
+              .transformAndConcat(g -> ((StaticCandidateProvider) g).getAllCandidates())
               .filter(Predicates.not(Predicates.instanceOf(TargetLocationCandidateInvariant.class)))
               .size();
     }
-    CandidateGenerator statisticsCandidateGenerator =
-        new CandidateGenerator() {
 
-          private final Set<CandidateInvariant> confirmedCandidates = new HashSet<>();
+    checkerShutdownManager =
+        pCandidateGenerators.size() > 1
+            ? ShutdownManager.createWithParent(shutdownManager.getNotifier())
+            : shutdownManager;
+    ShutdownManager childShutdown =
+        ShutdownManager.createWithParent(checkerShutdownManager.getNotifier());
+    ResourceLimitChecker.fromConfiguration(config, logger, childShutdown).start();
 
-          @Override
-          public boolean produceMoreCandidates() {
-            return pCandidateGenerator.produceMoreCandidates();
-          }
+    List<CandidateChecker> checkerList = new ArrayList<>(pCandidateGenerators.size());
+    for (CandidateGenerator candidateGenerator : pCandidateGenerators) {
+      // each checker needs its own CPA, because the solver must not be shared between threads
+      CPABuilder invGenBMCBuilder =
+          new CPABuilder(config, logger, childShutdown.getNotifier(), pReachedSetFactory);
+      ConfigurableProgramAnalysis cpa =
+          invGenBMCBuilder.buildCPAs(cfa, specification, pAggregatedReachedSets);
+      Algorithm cpaAlgorithm =
+          CPAAlgorithm.create(cpa, logger, config, childShutdown.getNotifier());
+      // all checkers report their times in one section, but need their own timers
+      BMCStatistics checkerStats =
+          checkerList.isEmpty() ? stats : stats.createStatisticsForParallelInstance();
+      BMCAlgorithmForInvariantGeneration algorithm =
+          new BMCAlgorithmForInvariantGeneration(
+              cpaAlgorithm,
+              cpa,
+              config,
+              logger,
+              pReachedSetFactory,
+              checkerShutdownManager,
+              cfa,
+              specification,
+              checkerStats,
+              countConfirmedCandidates(candidateGenerator),
+              pAggregatedReachedSets);
+      checkerList.add(new CandidateChecker(cpa, algorithm, checkerStats));
+    }
+    checkers = ImmutableList.copyOf(checkerList);
+  }
 
-          @Override
-          public Iterator<CandidateInvariant> iterator() {
-            final Iterator<CandidateInvariant> it = pCandidateGenerator.iterator();
-            return new Iterator<>() {
+  /** Wraps the given candidate generator such that confirmed candidates are counted. */
+  private CandidateGenerator countConfirmedCandidates(
+      final CandidateGenerator pCandidateGenerator) {
+    return new CandidateGenerator() {
 
-              @Override
-              public boolean hasNext() {
-                return it.hasNext();
-              }
+      private final Set<CandidateInvariant> confirmedCandidates = new HashSet<>();
 
-              @Override
-              public CandidateInvariant next() {
-                return it.next();
-              }
+      @Override
+      public boolean produceMoreCandidates() {
+        return pCandidateGenerator.produceMoreCandidates();
+      }
 
-              @Override
-              public void remove() {
-                it.remove();
-              }
-            };
-          }
+      @Override
+      public Iterator<CandidateInvariant> iterator() {
+        final Iterator<CandidateInvariant> it = pCandidateGenerator.iterator();
+        return new Iterator<>() {
 
           @Override
-          public boolean hasCandidatesAvailable() {
-            return pCandidateGenerator.hasCandidatesAvailable();
+          public boolean hasNext() {
+            return it.hasNext();
           }
 
           @Override
-          public Set<? extends CandidateInvariant> getConfirmedCandidates() {
-            return pCandidateGenerator.getConfirmedCandidates();
+          public CandidateInvariant next() {
+            return it.next();
           }
 
           @Override
-          public void confirmCandidates(Iterable<CandidateInvariant> pCandidates) {
-            pCandidateGenerator.confirmCandidates(pCandidates);
-            for (CandidateInvariant invariant : pCandidates) {
-              if (!(invariant instanceof TargetLocationCandidateInvariant)
-                  && confirmedCandidates.add(invariant)) {
-                ++stats.numberOfConfirmedCandidates;
-              }
-            }
+          public void remove() {
+            it.remove();
           }
         };
+      }
 
-    ShutdownManager childShutdown = ShutdownManager.createWithParent(shutdownManager.getNotifier());
-    ResourceLimitChecker.fromConfiguration(config, logger, childShutdown).start();
-    CPABuilder invGenBMCBuilder =
-        new CPABuilder(config, logger, childShutdown.getNotifier(), pReachedSetFactory);
-
-    cpa = invGenBMCBuilder.buildCPAs(cfa, specification, pAggregatedReachedSets);
-    Algorithm cpaAlgorithm = CPAAlgorithm.create(cpa, logger, config, childShutdown.getNotifier());
-    algorithm =
-        new BMCAlgorithmForInvariantGeneration(
-            cpaAlgorithm,
-            cpa,
-            config,
-            logger,
-            pReachedSetFactory,
-            shutdownManager,
-            cfa,
-            specification,
-            stats,
-            statisticsCandidateGenerator,
-            pAggregatedReachedSets);
+      @Override
+      public boolean hasCandidatesAvailable() {
+        return pCandidateGenerator.hasCandidatesAvailable();
+      }
+
+      @Override
+      public Set<? extends CandidateInvariant> getConfirmedCandidates() {
+        return pCandidateGenerator.getConfirmedCandidates();
+      }
+
+      @Override
+      public void confirmCandidates(Iterable<CandidateInvariant> pCandidates) {
+        pCandidateGenerator.confirmCandidates(pCandidates);
+        for (CandidateInvariant invariant : pCandidates) {
+          if (!(invariant instanceof TargetLocationCandidateInvariant)
+              && confirmedCandidates.add(invariant)) {
+            stats.numberOfConfirmedCandidates.incrementAndGet();
+          }
+        }
+      }
+    };
   }
 
   @Override
@@ -397,7 +502,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
 
     if ((async && !invariantGenerationFuture.isDone()) || cancelled.get()) {
       // grab intermediate result that is available so far
-      return algorithm.getCurrentInvariants();
+      return getCurrentInvariants();
 
     } else {
       try {
@@ -420,7 +525,7 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
 
     if ((async && !invariantGenerationFuture.isDone()) || cancelled.get()) {
       // grab intermediate result that is available so far
-      return algorithm.getCurrentInvariantsAsExpressionTree();
+      return getCurrentInvariantsAsExpressionTree();
 
     } else {
       try {
@@ -435,17 +540,94 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
     }
   }
 
+  /**
+   * Returns the invariants confirmed so far. If several checkers run in parallel, the returned
+   * supplier always provides the latest invariants of all of them.
+   */
+  private InvariantSupplier getCurrentInvariants() {
+    if (checkers.size() == 1) {
+      return checkers.get(0).algorithm.getCurrentInvariants();
+    }
+    return new InvariantSupplier() {
+
+      @Override
+      public BooleanFormula getInvariantFor(
+          CFANode pNode,
+          Optional<CallstackStateEqualsWrapper> pCallstackInformation,
+          FormulaManagerView pFmgr,
+          PathFormulaManager pPfmgr,
+          PathFormula pContext)
+          throws InterruptedException {
+        BooleanFormulaManagerView bfmgr = pFmgr.getBooleanFormulaManager();
+        BooleanFormula invariant = bfmgr.makeTrue();
+        for (CandidateChecker checker : checkers) {
+          invariant =
+              bfmgr.and(
+                  invariant,
+                  checker
+                      .algorithm
+                      .getCurrentInvariants()
+                      .getInvariantFor(pNode, pCallstackInformation, pFmgr, pPfmgr, pContext));
+        }
+        return invariant;
+      }
+    };
+  }
+
+  private ExpressionTreeSupplier getCurrentInvariantsAsExpressionTree() {
+    if (checkers.size() == 1) {
+      return checkers.get(0).algorithm.getCurrentInvariantsAsExpressionTree();
+    }
+    return new ExpressionTreeSupplier() {
+
+      @Override
+      public ExpressionTree<Object> getInvariantFor(CFANode pNode) throws InterruptedException {
+        ExpressionTree<Object> invariant = ExpressionTrees.getTrue();
+        for (CandidateChecker checker : checkers) {
+          invariant =
+              And.of(
+                  invariant,
+                  checker.algorithm.getCurrentInvariantsAsExpressionTree().getInvariantFor(pNode));
+        }
+        return invariant;
+      }
+    };
+  }
+
   @Override
   public boolean isProgramSafe() {
-    return algorithm.isProgramSafe();
+    return FluentIterable.from(checkers).anyMatch(checker -> checker.algorithm.isProgramSafe());
   }
 
   @Override
   public void collectStatistics(Collection<Statistics> pStatsCollection) {
-    algorithm.collectStatistics(pStatsCollection);
+    for (CandidateChecker checker : checkers) {
+      List<Statistics> checkerStatistics = new ArrayList<>();
+      checker.algorithm.collectStatistics(checkerStatistics);
+      // the BMC statistics of the other checkers are printed as part of our statistics
+      checkerStatistics.removeIf(s -> s != stats && s == checker.stats);
+      pStatsCollection.addAll(checkerStatistics);
+    }
     pStatsCollection.add(stats);
   }
 
+  /** A BMC instance with its own CPA that checks one partition of the candidate invariants. */
+  private static class CandidateChecker {
+
+    private final ConfigurableProgramAnalysis cpa;
+    private final BMCAlgorithmForInvariantGeneration algorithm;
+    private final BMCStatistics stats;
+
+    private CandidateChecker(
+        ConfigurableProgramAnalysis pCpa,
+        BMCAlgorithmForInvariantGeneration pAlgorithm,
+        BMCStatistics pStats) {
+      cpa = pCpa;
+      algorithm = pAlgorithm;
+      stats = pStats;
+    }
+  }
+
   private class InvariantGenerationTask
       implements Callable<Pair<InvariantSupplier, ExpressionTreeSupplier>> {
 
@@ -462,19 +644,80 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
       shutdownManager.getNotifier().shutdownIfNecessary();
 
       try {
-        ReachedSet reachedSet =
-            reachedSetFactory.createAndInitialize(
-                cpa, initialLocation, StateSpacePartition.getDefaultPartition());
-        algorithm.run(reachedSet);
-        return Pair.of(
-            algorithm.getCurrentInvariants(), algorithm.getCurrentInvariantsAsExpressionTree());
+        if (checkers.size() == 1) {
+          run(checkers.get(0));
+        } else {
+          runInParallel();
+        }
+        return Pair.of(getCurrentInvariants(), getCurrentInvariantsAsExpressionTree());
 
       } catch (SolverException e) {
         throw new CPAException("Solver Failure", e);
       } finally {
         stats.invariantGeneration.stop();
-        CPAs.closeCpaIfPossible(cpa, logger);
-        CPAs.closeIfPossible(algorithm, logger);
+        for (CandidateChecker checker : checkers) {
+          CPAs.closeCpaIfPossible(checker.cpa, logger);
+          CPAs.closeIfPossible(checker.algorithm, logger);
+        }
+      }
+    }
+
+    private void run(CandidateChecker pChecker)
+        throws InterruptedException, CPAException, SolverException {
+      ReachedSet reachedSet =
+          reachedSetFactory.createAndInitialize(
+              pChecker.cpa, initialLocation, StateSpacePartition.getDefaultPartition());
+      pChecker.algorithm.run(reachedSet);
+    }
+
+    /**
+     * Runs all checkers in parallel and waits for all of them, such that their CPAs can be closed
+     * afterwards. If one checker fails, the others are stopped.
+     */
+    private void runInParallel() throws InterruptedException, CPAException, SolverException {
+      ExecutorService executor =
+          Executors.newFixedThreadPool(
+              checkers.size(),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("KInductionInvariantGenerator-%d")
+                  .build());
+      boolean finished = false;
+      try {
+        List<Future<?>> futures = new ArrayList<>(checkers.size());
+        for (CandidateChecker checker : checkers) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    run(checker);
+                    return null;
+                  }));
+        }
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+          try {
+            future.get();
+          } catch (ExecutionException e) {
+            if (failure == null) {
+              failure = e.getCause();
+              checkerShutdownManager.requestShutdown("Invariant generation failed: " + failure);
+            }
+          }
+        }
+        finished = true;
+        if (failure != null) {
+          Throwables.throwIfInstanceOf(failure, InterruptedException.class);
+          Throwables.throwIfInstanceOf(failure, CPAException.class);
+          Throwables.throwIfInstanceOf(failure, SolverException.class);
+          Throwables.throwIfUnchecked(failure);
+          throw new UnexpectedCheckedException("invariant generation", failure);
+        }
+      } finally {
+        if (!finished) {
+          checkerShutdownManager.requestShutdown("Invariant generation was interrupted");
+        }
+        executor.shutdown();
+        Uninterruptibles.awaitTerminationUninterruptibly(executor);
       }
     }
   }
@@ -598,12 +841,16 @@ public class KInductionInvariantGenerator extends AbstractInvariantGenerator
 
   @Override
   public void adjustmentSuccessful(ConfigurableProgramAnalysis pCpa) {
-    algorithm.adjustmentSuccessful(pCpa);
+    for (CandidateChecker checker : checkers) {
+      checker.algorithm.adjustmentSuccessful(pCpa);
+    }
   }
 
   @Override
   public void adjustmentRefused(ConfigurableProgramAnalysis pCpa) {
-    algorithm.adjustmentRefused(pCpa);
+    for (CandidateChecker checker : checkers) {
+      checker.algorithm.adjustmentRefused(pCpa);
+    }
   }
 
   private interface CfaCandidateInvariantExtractorFactory {
@@ -50,7 +50,6 @@ import org.sosy_lab.cpachecker.cpa.bam.BAMCPAWithBreakOnMissingBlock;
 import org.sosy_lab.cpachecker.cpa.bam.BAMTransferRelation;
 import org.sosy_lab.cpachecker.cpa.bam.MissingBlockAbstractionState;
 import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCache.BAMCacheEntry;
-import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManager;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.UnsupportedCodeException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
@@ -488,27 +487,17 @@ class ReachedSetExecutor {
    */
   private ReachedSetExecutor createAndRegisterNewReachedSet(MissingBlockAbstractionState pBsme) {
     ReachedSet newRs = pBsme.getReachedSet();
-    BAMDataManager data = bamcpa.getData();
-
-    synchronized (data) {
-      if (newRs == null) {
-        // We are only synchronized in the current method. Thus, we need to check
-        // the cache again, maybe another thread already created the needed reached-set.
-        final BAMCacheEntry entry =
-            data.getCache()
-                .get(pBsme.getReducedState(), pBsme.getReducedPrecision(), pBsme.getBlock());
-        newRs = entry == null ? null : entry.getReachedSet();
-      }
-
-      // now we can be sure, whether the sub-reached-set exists or not.
-      if (newRs == null) {
-        // we have not even cached a partly computed reached-set,
-        // so we must compute the subgraph specification from scratch
-        BAMCacheEntry entry =
-            data.createAndRegisterNewReachedSet(
-                pBsme.getReducedState(), pBsme.getReducedPrecision(), pBsme.getBlock());
-        newRs = entry.getReachedSet();
-      }
+    if (newRs == null) {
+      // The reached-set was missing when the exception was thrown, but maybe another thread
+      // already created it in the meantime. Otherwise we have not even cached a partly computed
+      // reached-set, so we must compute the subgraph specification from scratch.
+      // The cache guarantees that only one reached-set is created for the block.
+      newRs =
+          bamcpa
+              .getData()
+              .getOrCreateReachedSet(
+                  pBsme.getReducedState(), pBsme.getReducedPrecision(), pBsme.getBlock())
+              .getReachedSet();
     }
 
     // check whether we already have a matching RSE.
@@ -8,6 +8,6 @@
 
 /**
  * This algorithm executes the sub-analyses of BAM in several threads. The cache data-structures
- * from BAM are synchronized.
+ * from BAM are concurrent maps that can be accessed by all threads without a global lock.
  */
 package org.sosy_lab.cpachecker.core.algorithm.parallel_bam;
@@ -0,0 +1,49 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Interface for abstract states that provide a cheap signature which can be used to rule out
+ * coverage between two states without calling the abstract domain.
+ *
+ * <p>The signature is a bit set (encoded as long) that over-approximates the information contained
+ * in the state. It must fulfill the following property: if a state {@code e} is less or equal than
+ * a state {@code r}, then every bit that is set in the signature of {@code r} is also set in the
+ * signature of {@code e}. Thus if {@code (r.getCoverageSignature() & ~e.getCoverageSignature())}
+ * is not zero, {@code r} cannot cover {@code e}.
+ *
+ * <p>The signature 0 is always a valid choice, it never rules out any coverage.
+ *
+ * <p>Reached sets take a snapshot of the signature when a state is added and do not notice later
+ * modifications of mutable states. Adding information to a state that is already in the reached
+ * set is harmless, but if a state loses information afterwards (e.g., by forgetting values), the
+ * snapshot may still rule out coverage by this state although it would now cover other states.
+ * This does not affect soundness.
+ */
+public interface CoverageIndexable {
+
+  /** Returns the coverage signature of this state, see {@link CoverageIndexable}. */
+  long getCoverageSignature();
+
+  /**
+   * Check whether a state with signature {@code pReachedSignature} might cover a state with
+   * signature {@code pSignature}.
+   */
+  static boolean mayBeCoveredBy(long pSignature, long pReachedSignature) {
+    return (pReachedSignature & ~pSignature) == 0;
+  }
+
+  /** Return the coverage signature of an arbitrary abstract state, or 0 if it has none. */
+  static long getCoverageSignature(AbstractState pState) {
+    if (pState instanceof CoverageIndexable) {
+      return ((CoverageIndexable) pState).getCoverageSignature();
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,26 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Marker interface for abstract states that may be interned, i.e., that may be replaced by an
+ * equal instance that is shared with other abstract states (cf. option
+ * cpa.composite.internStates).
+ *
+ * <p>Implementing classes need to satisfy the following conditions:
+ *
+ * <ul>
+ *   <li>The objects are immutable, at least regarding everything that is observable from outside.
+ *   <li>{@link Object#equals(Object)} and {@link Object#hashCode()} are based on the content of the
+ *       object, and two equal objects can be used interchangeably.
+ *   <li>The code that handles such states does not rely on object identity, e.g., by storing the
+ *       states in identity-based maps.
+ * </ul>
+ */
+public interface Internable extends AbstractState {}
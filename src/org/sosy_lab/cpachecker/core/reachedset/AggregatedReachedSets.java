@@ -8,6 +8,7 @@
 
 package org.sosy_lab.cpachecker.core.reachedset;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.FluentIterable.from;
 
 import com.google.common.collect.ImmutableSet;
@@ -15,8 +16,11 @@ import com.google.errorprone.annotations.concurrent.GuardedBy;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantExchange;
 
 public abstract class AggregatedReachedSets {
 
@@ -34,6 +38,14 @@ public abstract class AggregatedReachedSets {
 
   public abstract Set<UnmodifiableReachedSet> snapShot();
 
+  /**
+   * Return the exchange for invariants between analyses that share these reached sets, if
+   * invariants are exchanged.
+   */
+  public Optional<InvariantExchange> getInvariantExchange() {
+    return Optional.empty();
+  }
+
   private static class SimpleAggregatedReachedSets extends AggregatedReachedSets {
     private final ImmutableSet<UnmodifiableReachedSet> reachedSets;
 
@@ -57,7 +69,11 @@ public abstract class AggregatedReachedSets {
     @GuardedBy("lock")
     private final List<AggregatedThreadedReachedSets> otherAggregators = new ArrayList<>();
 
-    private AggregatedThreadedReachedSets() {}
+    private final @Nullable InvariantExchange invariantExchange;
+
+    private AggregatedThreadedReachedSets(@Nullable InvariantExchange pInvariantExchange) {
+      invariantExchange = pInvariantExchange;
+    }
 
     @Override
     public Set<UnmodifiableReachedSet> snapShot() {
@@ -72,6 +88,25 @@ public abstract class AggregatedReachedSets {
       }
     }
 
+    @Override
+    public Optional<InvariantExchange> getInvariantExchange() {
+      if (invariantExchange != null) {
+        return Optional.of(invariantExchange);
+      }
+      lock.readLock().lock();
+      try {
+        for (AggregatedThreadedReachedSets other : otherAggregators) {
+          Optional<InvariantExchange> exchange = other.getInvariantExchange();
+          if (exchange.isPresent()) {
+            return exchange;
+          }
+        }
+        return Optional.empty();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
     private void addReachedSet(UnmodifiableReachedSet reached) {
       lock.writeLock().lock();
       try {
@@ -111,7 +146,16 @@ public abstract class AggregatedReachedSets {
 
   public static class AggregatedReachedSetManager {
 
-    private final AggregatedThreadedReachedSets reachedView = new AggregatedThreadedReachedSets();
+    private final AggregatedThreadedReachedSets reachedView;
+
+    public AggregatedReachedSetManager() {
+      reachedView = new AggregatedThreadedReachedSets(null);
+    }
+
+    /** Create a manager whose view additionally provides the given exchange for invariants. */
+    public AggregatedReachedSetManager(InvariantExchange pInvariantExchange) {
+      reachedView = new AggregatedThreadedReachedSets(checkNotNull(pInvariantExchange));
+    }
 
     public void addReachedSet(UnmodifiableReachedSet reached) {
       reachedView.addReachedSet(reached);
@@ -72,6 +72,11 @@ public class ForwardingReachedSet implements ReachedSet, StatisticsProvider {
     return delegate.getReached(pState);
   }
 
+  @Override
+  public Collection<AbstractState> getCoverageCandidates(AbstractState pState) {
+    return delegate.getCoverageCandidates(pState);
+  }
+
   @Override
   public Collection<AbstractState> getReached(CFANode pLocation) {
     return delegate.getReached(pLocation);
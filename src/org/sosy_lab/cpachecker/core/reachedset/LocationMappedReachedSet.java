@@ -31,6 +31,13 @@ public class LocationMappedReachedSet extends PartitionedReachedSet {
     super(pCpa, waitlistFactory);
   }
 
+  public LocationMappedReachedSet(
+      ConfigurableProgramAnalysis pCpa,
+      WaitlistFactory waitlistFactory,
+      boolean pUseCoverageIndex) {
+    super(pCpa, waitlistFactory, pUseCoverageIndex);
+  }
+
   @Override
   public Collection<AbstractState> getReached(CFANode location) {
     checkNotNull(location);
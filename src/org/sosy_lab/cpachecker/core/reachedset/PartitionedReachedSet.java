@@ -10,18 +10,27 @@ package org.sosy_lab.cpachecker.core.reachedset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.CoverageIndexable;
 import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
+import org.sosy_lab.cpachecker.util.statistics.AbstractStatValue;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
 
 /**
  * Special implementation of the reached set that partitions the set by keys that
@@ -37,27 +46,86 @@ import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
  * for merging and coverage checks), it will return a subset of the set of all
  * reached states. This subset contains exactly those states, whose partition
  * key is equal to the key of the state given as a parameter.
+ *
+ * Optionally, each partition can additionally be indexed by the coverage signature of the states
+ * (cf. {@link CoverageIndexable}). Then {@link #getCoverageCandidates(AbstractState)} skips all
+ * states of the partition whose signature shows that they cannot cover the given state. The
+ * signature of a state is taken when the state is added, later modifications of a mutable state
+ * are not reflected in the index.
  */
 public class PartitionedReachedSet extends DefaultReachedSet {
 
   private final Multimap<Object, AbstractState> partitionedReached = LinkedHashMultimap.create(100, 1);
 
+  /** partition key -> coverage signature -> states, null if the coverage index is disabled */
+  private final @Nullable Map<Object, Multimap<Long, AbstractState>> coverageIndex;
+
+  /**
+   * The coverage signature of each state in the coverage index, as computed when the state was
+   * added. Signatures of mutable states may change later on, but the state needs to be removed
+   * from the bucket it was put into.
+   */
+  private final @Nullable Map<AbstractState, Long> coverageSignatures;
+
+  private final StatInt coverageCandidates =
+      new StatInt(StatKind.SUM, "Number of coverage candidates from index");
+  private final StatInt coveragePruned =
+      new StatInt(StatKind.SUM, "Number of states pruned by coverage index");
+
   public PartitionedReachedSet(ConfigurableProgramAnalysis pCpa, WaitlistFactory waitlistFactory) {
+    this(pCpa, waitlistFactory, false);
+  }
+
+  public PartitionedReachedSet(
+      ConfigurableProgramAnalysis pCpa,
+      WaitlistFactory waitlistFactory,
+      boolean pUseCoverageIndex) {
     super(pCpa, waitlistFactory);
+    coverageIndex = pUseCoverageIndex ? new HashMap<>() : null;
+    coverageSignatures = pUseCoverageIndex ? new HashMap<>() : null;
   }
 
   @Override
   public void add(AbstractState pState, Precision pPrecision) {
     super.add(pState, pPrecision);
 
-    partitionedReached.put(getPartitionKey(pState), pState);
+    Object key = getPartitionKey(pState);
+    partitionedReached.put(key, pState);
+
+    if (coverageIndex != null) {
+      long signature = CoverageIndexable.getCoverageSignature(pState);
+      Long oldSignature = coverageSignatures.put(pState, signature);
+      if (oldSignature != null) {
+        // state was added again, remove it from the bucket of its old signature
+        removeFromCoverageIndex(key, pState, oldSignature);
+      }
+      coverageIndex.computeIfAbsent(key, k -> LinkedHashMultimap.create()).put(signature, pState);
+    }
   }
 
   @Override
   public void remove(AbstractState pState) {
     super.remove(pState);
 
-    partitionedReached.remove(getPartitionKey(pState), pState);
+    Object key = getPartitionKey(pState);
+    partitionedReached.remove(key, pState);
+
+    if (coverageIndex != null) {
+      Long signature = coverageSignatures.remove(pState);
+      if (signature != null) {
+        removeFromCoverageIndex(key, pState, signature);
+      }
+    }
+  }
+
+  private void removeFromCoverageIndex(Object pKey, AbstractState pState, long pSignature) {
+    Multimap<Long, AbstractState> partition = coverageIndex.get(pKey);
+    if (partition != null) {
+      partition.remove(pSignature, pState);
+      if (partition.isEmpty()) {
+        coverageIndex.remove(pKey);
+      }
+    }
   }
 
   @Override
@@ -65,6 +133,10 @@ public class PartitionedReachedSet extends DefaultReachedSet {
     super.clear();
 
     partitionedReached.clear();
+    if (coverageIndex != null) {
+      coverageIndex.clear();
+      coverageSignatures.clear();
+    }
   }
 
   @Override
@@ -72,6 +144,32 @@ public class PartitionedReachedSet extends DefaultReachedSet {
     return getReachedForKey(getPartitionKey(pState));
   }
 
+  @Override
+  public Collection<AbstractState> getCoverageCandidates(AbstractState pState) {
+    if (coverageIndex == null) {
+      return getReached(pState);
+    }
+
+    Multimap<Long, AbstractState> partition = coverageIndex.get(getPartitionKey(pState));
+    if (partition == null) {
+      return ImmutableList.of();
+    }
+
+    long signature = CoverageIndexable.getCoverageSignature(pState);
+    List<AbstractState> candidates = new ArrayList<>();
+    int pruned = 0;
+    for (Map.Entry<Long, Collection<AbstractState>> entry : partition.asMap().entrySet()) {
+      if (CoverageIndexable.mayBeCoveredBy(signature, entry.getKey())) {
+        candidates.addAll(entry.getValue());
+      } else {
+        pruned += entry.getValue().size();
+      }
+    }
+    coverageCandidates.setNextValue(candidates.size());
+    coveragePruned.setNextValue(pruned);
+    return Collections.unmodifiableList(candidates);
+  }
+
   public int getNumberOfPartitions() {
     return partitionedReached.keySet().size();
   }
@@ -103,4 +201,16 @@ public class PartitionedReachedSet extends DefaultReachedSet {
   protected Set<?> getKeySet() {
     return Collections.unmodifiableSet(partitionedReached.keySet());
   }
+
+  @Override
+  public ImmutableMap<String, AbstractStatValue> getStatistics() {
+    if (coverageIndex == null) {
+      return super.getStatistics();
+    }
+    return ImmutableMap.<String, AbstractStatValue>builder()
+        .putAll(super.getStatistics())
+        .put(coverageCandidates.getTitle(), coverageCandidates)
+        .put(coveragePruned.getTitle(), coveragePruned)
+        .build();
+  }
 }
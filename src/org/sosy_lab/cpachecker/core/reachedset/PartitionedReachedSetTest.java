@@ -0,0 +1,108 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.reachedset;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.core.defaults.SingletonPrecision;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeState;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+
+public class PartitionedReachedSetTest {
+
+  private static final MemoryLocation X = MemoryLocation.forIdentifier("x");
+  private static final MemoryLocation Y = MemoryLocation.forIdentifier("y");
+
+  private PartitionedReachedSet reached;
+
+  @Before
+  public void setUp() {
+    reached =
+        new PartitionedReachedSet(
+            mock(ConfigurableProgramAnalysis.class), TraversalMethod.DFS, true);
+  }
+
+  private static ValueAnalysisState valueState(Object... pAssignments) {
+    ValueAnalysisState state = new ValueAnalysisState(MachineModel.LINUX32);
+    for (int i = 0; i < pAssignments.length; i += 2) {
+      state.assignConstant(
+          (MemoryLocation) pAssignments[i],
+          new NumericValue((Integer) pAssignments[i + 1]),
+          CNumericTypes.INT);
+    }
+    return state;
+  }
+
+  private static CompositeState wrap(ValueAnalysisState pState) {
+    return new CompositeState(ImmutableList.of(pState));
+  }
+
+  private void add(AbstractState pState) {
+    reached.add(pState, SingletonPrecision.getInstance());
+  }
+
+  private long getPrunedStates() {
+    return ((StatInt) reached.getStatistics().get("Number of states pruned by coverage index"))
+        .getValueSum();
+  }
+
+  @Test
+  public void testCandidatesArePruned() throws Exception {
+    CompositeState xIs1 = wrap(valueState(X, 1));
+    CompositeState xIs2 = wrap(valueState(X, 2));
+    CompositeState yIs2 = wrap(valueState(Y, 2));
+    CompositeState top = wrap(valueState());
+    add(xIs1);
+    add(xIs2);
+    add(yIs2);
+    add(top);
+
+    ValueAnalysisState newState = valueState(X, 1, Y, 3);
+    Collection<AbstractState> candidates = reached.getCoverageCandidates(wrap(newState));
+
+    assertThat(candidates).containsExactly(xIs1, top);
+    assertThat(getPrunedStates()).isEqualTo(2);
+
+    // all states that really cover the new state are candidates
+    for (AbstractState state : reached) {
+      ValueAnalysisState value = (ValueAnalysisState) ((CompositeState) state).get(0);
+      if (newState.isLessOrEqual(value)) {
+        assertThat(candidates).contains(state);
+      }
+    }
+  }
+
+  @Test
+  public void testRemoveModifiedState() {
+    ValueAnalysisState value = valueState(X, 1);
+    CompositeState state = wrap(value);
+    add(state);
+
+    // the signature of the state changes after it was added
+    value.assignConstant(Y, new NumericValue(5), CNumericTypes.INT);
+    reached.remove(state);
+
+    assertThat(reached.asCollection()).isEmpty();
+    assertThat(reached.getCoverageCandidates(wrap(valueState(X, 1, Y, 5)))).isEmpty();
+    assertThat(reached.getCoverageCandidates(wrap(valueState(X, 1)))).isEmpty();
+  }
+}
@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.reachedset;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
 import java.util.Set;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
@@ -72,6 +73,20 @@ public interface ReachedSet extends UnmodifiableReachedSet {
 
   AbstractState popFromWaitlist();
 
+  /**
+   * Returns a subset of {@link #getReached(AbstractState)} that contains at least all states that
+   * may cover the given state with respect to a stop-sep operator. Implementations may use the
+   * {@link org.sosy_lab.cpachecker.core.interfaces.CoverageIndexable coverage signature} of states
+   * to skip states that cannot cover the given state. The returned collection must not be used for
+   * the merge operator.
+   *
+   * @param state An abstract state for which coverage should be checked.
+   * @return A subset of the reached set.
+   */
+  default Collection<AbstractState> getCoverageCandidates(AbstractState state) {
+    return getReached(state);
+  }
+
   default ImmutableMap<String, AbstractStatValue> getStatistics() {
     return ImmutableMap.of();
   }
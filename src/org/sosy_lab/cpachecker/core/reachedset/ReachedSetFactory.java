@@ -10,6 +10,9 @@ package org.sosy_lab.cpachecker.core.reachedset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -30,10 +33,13 @@ import org.sosy_lab.cpachecker.core.waitlist.ExplicitSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.LoopIterationSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.LoopstackSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.PostorderSortedWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.core.waitlist.ReversePostorderSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.SMGSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.ThreadingSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
 import org.sosy_lab.cpachecker.core.waitlist.WeightedRandomWaitlist;
 import org.sosy_lab.cpachecker.cpa.automaton.AutomatonVariableWaitlist;
@@ -160,6 +166,17 @@ public class ReachedSetFactory {
   )
   private boolean useWeightedBranchOrder = false;
 
+  @Option(
+      secure = true,
+      name = "traversal.usePriorityQueue",
+      description =
+          "store the states of the waitlist in a single priority queue instead of nesting a"
+              + " sorted waitlist for each of the enabled sort keys (callstack, reverse postorder,"
+              + " loop iterations, etc.). This does not change the order of the traversal and is"
+              + " only used if 'analysis.traversal.order' is DFS or BFS and no other waitlist"
+              + " (e.g., weighted, automaton-based) is enabled below the sorted waitlists.")
+  private boolean usePriorityQueue = false;
+
   @Option(
     secure = true,
     name = "traversal.useBlocks",
@@ -188,15 +205,37 @@ public class ReachedSetFactory {
       description = "track more statistics about the reachedset")
   private boolean withStatistics = false;
 
+  @Option(
+      secure = true,
+      name = "reachedSet.coverageIndex",
+      description =
+          "index the partitions of the reached set by the coverage signature of the states"
+              + " such that states that cannot cover a new state are skipped by the stop operator"
+              + " (only for PARTITIONED and LOCATIONMAPPED, requires a stop operator"
+              + " with stop-sep semantics)")
+  private boolean useCoverageIndex = false;
+
   private @Nullable BlockConfiguration blockConfig;
   private @Nullable UsageConfiguration usageConfig;
   private WeightedRandomWaitlist.@Nullable WaitlistOptions weightedWaitlistOptions;
   private final LogManager logger;
+  private final UnaryOperator<WaitlistFactory> waitlistDecorator;
 
   public ReachedSetFactory(Configuration pConfig, LogManager pLogger)
       throws InvalidConfigurationException {
+    this(pConfig, pLogger, UnaryOperator.identity());
+  }
+
+  /**
+   * Create a factory for reached sets whose waitlists are additionally decorated by the given
+   * function, which is applied to the factory for the configured waitlist strategy.
+   */
+  public ReachedSetFactory(
+      Configuration pConfig, LogManager pLogger, UnaryOperator<WaitlistFactory> pWaitlistDecorator)
+      throws InvalidConfigurationException {
     pConfig.inject(this);
     this.logger = checkNotNull(pLogger);
+    waitlistDecorator = checkNotNull(pWaitlistDecorator);
 
     if (useBlocks) {
       blockConfig = new BlockConfiguration(pConfig);
@@ -238,6 +277,96 @@ public class ReachedSetFactory {
       waitlistFactory = AutomatonMatchesWaitlist.factory(waitlistFactory);
       waitlistFactory = AutomatonFailedMatchesWaitlist.factory(waitlistFactory);
     }
+
+    List<SortKey> sortKeys = getSortKeys();
+    if (canUsePriorityQueue() && !sortKeys.isEmpty()) {
+      waitlistFactory = PrioritySortedWaitlist.factory(traversalMethod, sortKeys);
+    } else {
+      waitlistFactory = createSortedWaitlistFactory(waitlistFactory);
+    }
+
+    if (useBlocks) {
+      waitlistFactory = BlockWaitlist.factory(waitlistFactory, blockConfig, logger);
+    }
+
+    waitlistFactory = waitlistDecorator.apply(waitlistFactory);
+
+    ReachedSet reached;
+    switch (reachedSet) {
+    case PARTITIONED:
+        reached = new PartitionedReachedSet(cpa, waitlistFactory, useCoverageIndex);
+        break;
+    case PSEUDOPARTITIONED:
+        reached = new PseudoPartitionedReachedSet(cpa, waitlistFactory);
+        break;
+    case LOCATIONMAPPED:
+        reached = new LocationMappedReachedSet(cpa, waitlistFactory, useCoverageIndex);
+        break;
+    case USAGE:
+        reached = new UsageReachedSet(cpa, waitlistFactory, usageConfig, logger);
+        break;
+    case NORMAL:
+    default:
+        reached = new DefaultReachedSet(cpa, waitlistFactory);
+    }
+
+    if (withStatistics) {
+      reached = new StatisticsReachedSet(reached);
+    }
+
+    return reached;
+  }
+
+  private boolean canUsePriorityQueue() {
+    return usePriorityQueue
+        && (traversalMethod == TraversalMethod.DFS || traversalMethod == TraversalMethod.BFS)
+        && !useWeightedDepthOrder
+        && !useWeightedBranchOrder
+        && !useAutomatonInformation
+        && byAutomatonVariable == null;
+  }
+
+  /**
+   * Returns the sort keys of the enabled sorted waitlists, starting with the most significant
+   * one, i.e., in the reverse order of their nesting in {@link #createSortedWaitlistFactory}.
+   */
+  private List<SortKey> getSortKeys() {
+    List<SortKey> sortKeys = new ArrayList<>();
+    if (useNumberOfHeapObjects) {
+      sortKeys.add(SMGSortedWaitlist.SORT_KEY);
+    }
+    if (useNumberOfThreads) {
+      sortKeys.add(ThreadingSortedWaitlist.SORT_KEY);
+    }
+    if (useExplicitInformation) {
+      sortKeys.add(ExplicitSortedWaitlist.SORT_KEY);
+    }
+    if (useCallstack) {
+      sortKeys.add(CallstackSortedWaitlist.SORT_KEY);
+    }
+    if (useReverseLoopstack) {
+      sortKeys.add(LoopstackSortedWaitlist.REVERSED_SORT_KEY);
+    }
+    if (useLoopstack) {
+      sortKeys.add(LoopstackSortedWaitlist.SORT_KEY);
+    }
+    if (useReverseLoopIterationCount) {
+      sortKeys.add(LoopIterationSortedWaitlist.REVERSED_SORT_KEY);
+    }
+    if (useLoopIterationCount) {
+      sortKeys.add(LoopIterationSortedWaitlist.SORT_KEY);
+    }
+    if (usePostorder) {
+      sortKeys.add(PostorderSortedWaitlist.SORT_KEY);
+    }
+    if (useReversePostorder) {
+      sortKeys.add(ReversePostorderSortedWaitlist.SORT_KEY);
+    }
+    return sortKeys;
+  }
+
+  private WaitlistFactory createSortedWaitlistFactory(WaitlistFactory pWaitlistFactory) {
+    WaitlistFactory waitlistFactory = pWaitlistFactory;
     if (useReversePostorder) {
       waitlistFactory = ReversePostorderSortedWaitlist.factory(waitlistFactory);
     }
@@ -271,34 +400,7 @@ public class ReachedSetFactory {
     if (useNumberOfHeapObjects) {
       waitlistFactory = SMGSortedWaitlist.factory(waitlistFactory);
     }
-    if (useBlocks) {
-      waitlistFactory = BlockWaitlist.factory(waitlistFactory, blockConfig, logger);
-    }
-
-    ReachedSet reached;
-    switch (reachedSet) {
-    case PARTITIONED:
-        reached = new PartitionedReachedSet(cpa, waitlistFactory);
-        break;
-    case PSEUDOPARTITIONED:
-        reached = new PseudoPartitionedReachedSet(cpa, waitlistFactory);
-        break;
-    case LOCATIONMAPPED:
-        reached = new LocationMappedReachedSet(cpa, waitlistFactory);
-        break;
-    case USAGE:
-        reached = new UsageReachedSet(cpa, waitlistFactory, usageConfig, logger);
-        break;
-    case NORMAL:
-    default:
-        reached = new DefaultReachedSet(cpa, waitlistFactory);
-    }
-
-    if (withStatistics) {
-      reached = new StatisticsReachedSet(reached);
-    }
-
-    return reached;
+    return waitlistFactory;
   }
 
   /**
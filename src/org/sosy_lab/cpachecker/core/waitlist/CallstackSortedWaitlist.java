@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.callstack.CallstackState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -20,16 +21,20 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  */
 public class CallstackSortedWaitlist extends AbstractSortedWaitlist<Integer> {
 
+  public static final SortKey SORT_KEY =
+      pState -> {
+        CallstackState callstackState =
+            AbstractStates.extractStateByType(pState, CallstackState.class);
+        return (callstackState != null) ? callstackState.getDepth() : 0;
+      };
+
   protected CallstackSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
     super(pSecondaryStrategy);
   }
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    CallstackState callstackState =
-      AbstractStates.extractStateByType(pState, CallstackState.class);
-
-    return (callstackState != null) ? callstackState.getDepth() : 0;
+    return SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -21,17 +22,22 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  */
 public class ExplicitSortedWaitlist extends AbstractSortedWaitlist<Integer> {
 
+  public static final SortKey SORT_KEY =
+      pState -> {
+        ValueAnalysisState explicitState =
+            AbstractStates.extractStateByType(pState, ValueAnalysisState.class);
+
+        // negate size so that the highest key corresponds to the smallest map
+        return (explicitState != null) ? -explicitState.getSize() : 0;
+      };
+
   protected ExplicitSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
     super(pSecondaryStrategy);
   }
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    ValueAnalysisState explicitState =
-      AbstractStates.extractStateByType(pState, ValueAnalysisState.class);
-
-    // negate size so that the highest key corresponds to the smallest map
-    return (explicitState != null) ? -explicitState.getSize() : 0;
+    return SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
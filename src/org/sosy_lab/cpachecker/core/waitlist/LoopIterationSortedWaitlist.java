@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.loopbound.LoopBoundState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -18,6 +19,18 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  * first.
  */
 public class LoopIterationSortedWaitlist extends AbstractSortedWaitlist<Integer> {
+
+  public static final SortKey SORT_KEY =
+      pState -> {
+        LoopBoundState loopBoundState =
+            AbstractStates.extractStateByType(pState, LoopBoundState.class);
+        return (loopBoundState != null)
+            ? loopBoundState.getMaxNumberOfIterationsInLoopstackFrame()
+            : 0;
+      };
+
+  public static final SortKey REVERSED_SORT_KEY = pState -> -SORT_KEY.getSortKey(pState);
+
   private final int multiplier;
 
   private LoopIterationSortedWaitlist(WaitlistFactory pSecondaryStrategy,
@@ -28,10 +41,7 @@ public class LoopIterationSortedWaitlist extends AbstractSortedWaitlist<Integer>
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    LoopBoundState loopBoundState = AbstractStates.extractStateByType(pState, LoopBoundState.class);
-    return (loopBoundState != null)
-        ? (multiplier * loopBoundState.getMaxNumberOfIterationsInLoopstackFrame())
-        : 0;
+    return multiplier * SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
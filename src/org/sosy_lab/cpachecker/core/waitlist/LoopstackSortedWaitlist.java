@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.loopbound.LoopBoundState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -19,6 +20,16 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  * loopstack are considered first.
  */
 public class LoopstackSortedWaitlist extends AbstractSortedWaitlist<Integer>{
+
+  public static final SortKey SORT_KEY =
+      pState -> {
+        LoopBoundState loopstackState =
+            AbstractStates.extractStateByType(pState, LoopBoundState.class);
+        return (loopstackState != null) ? loopstackState.getDepth() : 0;
+      };
+
+  public static final SortKey REVERSED_SORT_KEY = pState -> -SORT_KEY.getSortKey(pState);
+
   private final int multiplier;
 
   private LoopstackSortedWaitlist(WaitlistFactory pSecondaryStrategy,
@@ -29,8 +40,7 @@ public class LoopstackSortedWaitlist extends AbstractSortedWaitlist<Integer>{
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    LoopBoundState loopstackState = AbstractStates.extractStateByType(pState, LoopBoundState.class);
-    return (loopstackState != null) ? (multiplier * loopstackState.getDepth()) : 0;
+    return multiplier * SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
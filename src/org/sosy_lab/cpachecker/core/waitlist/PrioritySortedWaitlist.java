@@ -0,0 +1,271 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+
+/**
+ * Sorted waitlist that behaves like a nesting of several {@link AbstractSortedWaitlist}s with
+ * integer keys and {@link TraversalMethod#DFS} or {@link TraversalMethod#BFS} as innermost
+ * strategy, but stores all states in a single array-based binary heap. The sort keys of each
+ * state are computed once when the state is added and stored next to each other in a primitive
+ * array, and states with equal keys are ordered by the time they were added. Thus no nested
+ * waitlists, tree maps, and boxed keys are necessary.
+ *
+ * <p>Removing a state only marks its heap entry as stale, stale entries are skipped by {@link
+ * #pop()} and dropped when there are too many of them. Like for the other waitlists, the caller
+ * needs to make sure that a state is not added twice, adding a state again moves it to its new
+ * position.
+ *
+ * <p>The iterators created by this class are unmodifiable and do not iterate in any particular
+ * order.
+ */
+public final class PrioritySortedWaitlist implements Waitlist {
+
+  /** Function that computes a sort key of an abstract state. Larger keys are considered first. */
+  @FunctionalInterface
+  public interface SortKey {
+    int getSortKey(AbstractState pState);
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final SortKey[] sortKeys;
+  private final int keyCount;
+
+  /** whether states with equal keys are popped in DFS order (otherwise in BFS order) */
+  private final boolean lastInFirstOut;
+
+  // the heap as parallel arrays, the keys of the i-th entry are keys[i * keyCount + j]
+  private AbstractState[] states = new AbstractState[INITIAL_CAPACITY];
+  private long[] sequenceNumbers = new long[INITIAL_CAPACITY];
+  private int[] keys;
+  private int heapSize = 0;
+
+  private long nextSequenceNumber = 0;
+
+  /** the sequence number of the valid heap entry of each state in this waitlist */
+  private final Map<AbstractState, Long> validEntries = new HashMap<>();
+
+  private int staleEntries = 0;
+
+  private PrioritySortedWaitlist(TraversalMethod pTraversal, List<SortKey> pSortKeys) {
+    checkArgument(pTraversal == TraversalMethod.DFS || pTraversal == TraversalMethod.BFS);
+    lastInFirstOut = pTraversal == TraversalMethod.DFS;
+    sortKeys = pSortKeys.toArray(new SortKey[0]);
+    keyCount = sortKeys.length;
+    keys = new int[INITIAL_CAPACITY * keyCount];
+  }
+
+  /**
+   * Create a factory for waitlists that consider states in the order of the given sort keys, the
+   * first key being the most significant one, and in the order of the given traversal method for
+   * states with the same keys.
+   */
+  public static WaitlistFactory factory(TraversalMethod pTraversal, List<SortKey> pSortKeys) {
+    checkArgument(pTraversal == TraversalMethod.DFS || pTraversal == TraversalMethod.BFS);
+    ImmutableList<SortKey> sortKeys = ImmutableList.copyOf(pSortKeys);
+    return () -> new PrioritySortedWaitlist(pTraversal, sortKeys);
+  }
+
+  @Override
+  public void add(AbstractState pState) {
+    if (heapSize == states.length) {
+      int capacity = states.length * 2;
+      states = Arrays.copyOf(states, capacity);
+      sequenceNumbers = Arrays.copyOf(sequenceNumbers, capacity);
+      keys = Arrays.copyOf(keys, capacity * keyCount);
+    }
+
+    int index = heapSize++;
+    long sequenceNumber = nextSequenceNumber++;
+    states[index] = pState;
+    sequenceNumbers[index] = sequenceNumber;
+    for (int k = 0; k < keyCount; k++) {
+      keys[index * keyCount + k] = sortKeys[k].getSortKey(pState);
+    }
+    if (validEntries.put(pState, sequenceNumber) != null) {
+      staleEntries++;
+    }
+    siftUp(index);
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(states, 0, heapSize, null);
+    heapSize = 0;
+    validEntries.clear();
+    staleEntries = 0;
+  }
+
+  @Override
+  public boolean contains(AbstractState pState) {
+    return validEntries.containsKey(pState);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return validEntries.isEmpty();
+  }
+
+  @Override
+  public Iterator<AbstractState> iterator() {
+    return IntStream.range(0, heapSize).filter(this::isValid).mapToObj(i -> states[i]).iterator();
+  }
+
+  @Override
+  public AbstractState pop() {
+    if (validEntries.isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    while (true) {
+      AbstractState state = states[0];
+      boolean valid = isValid(0);
+      removeFirst();
+      if (valid) {
+        validEntries.remove(state);
+        return state;
+      }
+      staleEntries--;
+    }
+  }
+
+  @Override
+  public boolean remove(AbstractState pState) {
+    if (validEntries.remove(pState) == null) {
+      return false;
+    }
+    staleEntries++;
+    if (staleEntries > heapSize / 2 && heapSize > INITIAL_CAPACITY) {
+      removeStaleEntries();
+    }
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return validEntries.size();
+  }
+
+  @Override
+  public String toString() {
+    return Iterables.toString(this);
+  }
+
+  private boolean isValid(int pIndex) {
+    Long sequenceNumber = validEntries.get(states[pIndex]);
+    return sequenceNumber != null && sequenceNumber == sequenceNumbers[pIndex];
+  }
+
+  /** Rebuild the heap from the valid entries only. */
+  private void removeStaleEntries() {
+    int size = 0;
+    for (int i = 0; i < heapSize; i++) {
+      if (isValid(i)) {
+        move(i, size++);
+      }
+    }
+    Arrays.fill(states, size, heapSize, null);
+    heapSize = size;
+    staleEntries = 0;
+    for (int i = heapSize / 2 - 1; i >= 0; i--) {
+      siftDown(i);
+    }
+  }
+
+  private void removeFirst() {
+    heapSize--;
+    move(heapSize, 0);
+    states[heapSize] = null;
+    if (heapSize > 0) {
+      siftDown(0);
+    }
+  }
+
+  /** Whether the entry at the first index needs to be popped before the one at the second. */
+  private boolean isBefore(int pIndex1, int pIndex2) {
+    int offset1 = pIndex1 * keyCount;
+    int offset2 = pIndex2 * keyCount;
+    for (int k = 0; k < keyCount; k++) {
+      int key1 = keys[offset1 + k];
+      int key2 = keys[offset2 + k];
+      if (key1 != key2) {
+        return key1 > key2;
+      }
+    }
+    return lastInFirstOut
+        ? sequenceNumbers[pIndex1] > sequenceNumbers[pIndex2]
+        : sequenceNumbers[pIndex1] < sequenceNumbers[pIndex2];
+  }
+
+  private void siftUp(int pIndex) {
+    int index = pIndex;
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (!isBefore(index, parent)) {
+        break;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int pIndex) {
+    int index = pIndex;
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && isBefore(child + 1, child)) {
+        child++;
+      }
+      if (!isBefore(child, index)) {
+        break;
+      }
+      swap(index, child);
+      index = child;
+    }
+  }
+
+  private void move(int pFrom, int pTo) {
+    if (pFrom != pTo) {
+      states[pTo] = states[pFrom];
+      sequenceNumbers[pTo] = sequenceNumbers[pFrom];
+      System.arraycopy(keys, pFrom * keyCount, keys, pTo * keyCount, keyCount);
+    }
+  }
+
+  private void swap(int pIndex1, int pIndex2) {
+    AbstractState state = states[pIndex1];
+    states[pIndex1] = states[pIndex2];
+    states[pIndex2] = state;
+    long sequenceNumber = sequenceNumbers[pIndex1];
+    sequenceNumbers[pIndex1] = sequenceNumbers[pIndex2];
+    sequenceNumbers[pIndex2] = sequenceNumber;
+    int offset1 = pIndex1 * keyCount;
+    int offset2 = pIndex2 * keyCount;
+    for (int k = 0; k < keyCount; k++) {
+      int key = keys[offset1 + k];
+      keys[offset1 + k] = keys[offset2 + k];
+      keys[offset2 + k] = key;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
+
+public class PrioritySortedWaitlistTest {
+
+  private static final class TestState implements AbstractState {
+    private final int first;
+    private final int second;
+
+    private TestState(int pFirst, int pSecond) {
+      first = pFirst;
+      second = pSecond;
+    }
+
+    @Override
+    public String toString() {
+      return "(" + first + ", " + second + ")";
+    }
+  }
+
+  private static final SortKey FIRST_KEY = pState -> ((TestState) pState).first;
+  private static final SortKey SECOND_KEY = pState -> -((TestState) pState).second;
+
+  private static final class TestSortedWaitlist extends AbstractSortedWaitlist<Integer> {
+    private final SortKey sortKey;
+
+    private TestSortedWaitlist(WaitlistFactory pSecondaryStrategy, SortKey pSortKey) {
+      super(pSecondaryStrategy);
+      sortKey = pSortKey;
+    }
+
+    @Override
+    protected Integer getSortKey(AbstractState pState) {
+      return sortKey.getSortKey(pState);
+    }
+  }
+
+  /** Create the nested sorted waitlists that should behave like a priority-sorted waitlist. */
+  private static Waitlist createNestedWaitlist(TraversalMethod pTraversal) {
+    WaitlistFactory inner = () -> new TestSortedWaitlist(pTraversal, SECOND_KEY);
+    return new TestSortedWaitlist(inner, FIRST_KEY);
+  }
+
+  private static Waitlist createPriorityWaitlist(TraversalMethod pTraversal) {
+    return PrioritySortedWaitlist.factory(pTraversal, ImmutableList.of(FIRST_KEY, SECOND_KEY))
+        .createWaitlistInstance();
+  }
+
+  @Test
+  public void testPopOrder() {
+    Waitlist waitlist = createPriorityWaitlist(TraversalMethod.DFS);
+    TestState a = new TestState(1, 5);
+    TestState b = new TestState(2, 5);
+    TestState c = new TestState(2, 3);
+    TestState d = new TestState(2, 3);
+    waitlist.add(a);
+    waitlist.add(b);
+    waitlist.add(c);
+    waitlist.add(d);
+
+    assertThat(waitlist.size()).isEqualTo(4);
+    assertThat(waitlist).containsExactly(a, b, c, d);
+    assertThat(waitlist.pop()).isSameInstanceAs(d);
+    assertThat(waitlist.pop()).isSameInstanceAs(c);
+    assertThat(waitlist.pop()).isSameInstanceAs(b);
+    assertThat(waitlist.pop()).isSameInstanceAs(a);
+    assertThat(waitlist.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testRemove() {
+    Waitlist waitlist = createPriorityWaitlist(TraversalMethod.BFS);
+    TestState a = new TestState(1, 1);
+    TestState b = new TestState(1, 1);
+    waitlist.add(a);
+    waitlist.add(b);
+
+    assertThat(waitlist.remove(a)).isTrue();
+    assertThat(waitlist.remove(a)).isFalse();
+    assertThat(waitlist.contains(a)).isFalse();
+    assertThat(waitlist.size()).isEqualTo(1);
+    assertThat(waitlist).containsExactly(b);
+
+    waitlist.add(a);
+    assertThat(waitlist.pop()).isSameInstanceAs(b);
+    assertThat(waitlist.pop()).isSameInstanceAs(a);
+    assertThat(waitlist.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testSameOrderAsNestedWaitlists() {
+    for (TraversalMethod traversal : ImmutableList.of(TraversalMethod.DFS, TraversalMethod.BFS)) {
+      Random random = new Random(0);
+      Waitlist expected = createNestedWaitlist(traversal);
+      Waitlist actual = createPriorityWaitlist(traversal);
+      List<TestState> added = new ArrayList<>();
+
+      for (int i = 0; i < 10000; i++) {
+        int operation = random.nextInt(10);
+        if (operation < 5 || expected.isEmpty()) {
+          TestState state = new TestState(random.nextInt(5), random.nextInt(5));
+          expected.add(state);
+          actual.add(state);
+          added.add(state);
+        } else if (operation < 8) {
+          assertThat(actual.pop()).isSameInstanceAs(expected.pop());
+        } else {
+          TestState state = added.get(random.nextInt(added.size()));
+          assertThat(actual.remove(state)).isEqualTo(expected.remove(state));
+        }
+        assertThat(actual.size()).isEqualTo(expected.size());
+      }
+
+      while (!expected.isEmpty()) {
+        assertThat(actual.pop()).isSameInstanceAs(expected.pop());
+      }
+      assertThat(actual.isEmpty()).isTrue();
+    }
+  }
+}
@@ -9,10 +9,14 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
 public class ReversePostorderSortedWaitlist extends AbstractSortedWaitlist<Integer> {
 
+  public static final SortKey SORT_KEY =
+      pState -> AbstractStates.extractLocation(pState).getReversePostorderId();
+
   protected ReversePostorderSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
     super(pSecondaryStrategy);
   }
@@ -25,7 +29,7 @@ public class ReversePostorderSortedWaitlist extends AbstractSortedWaitlist<Integ
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    return AbstractStates.extractLocation(pState).getReversePostorderId();
+    return SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
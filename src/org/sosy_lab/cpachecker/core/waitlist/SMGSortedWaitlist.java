@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.smg.SMGState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -19,16 +20,21 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  */
 public class SMGSortedWaitlist extends AbstractSortedWaitlist<Integer> {
 
+  public static final SortKey SORT_KEY =
+      pState -> {
+        SMGState state = AbstractStates.extractStateByType(pState, SMGState.class);
+
+        // negate size so that the highest key corresponds to the smallest map
+        return (state == null) ? 0 : -state.getHeap().getHeapObjects().size();
+      };
+
   protected SMGSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
     super(pSecondaryStrategy);
   }
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    SMGState state = AbstractStates.extractStateByType(pState, SMGState.class);
-
-    // negate size so that the highest key corresponds to the smallest map
-    return (state == null) ? 0 : -state.getHeap().getHeapObjects().size();
+    return SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.core.waitlist;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.PrioritySortedWaitlist.SortKey;
 import org.sosy_lab.cpachecker.cpa.threading.ThreadingState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
@@ -21,17 +22,21 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
  */
 public class ThreadingSortedWaitlist extends AbstractSortedWaitlist<Integer> {
 
+  public static final SortKey SORT_KEY =
+      pState -> {
+        ThreadingState state = AbstractStates.extractStateByType(pState, ThreadingState.class);
+
+        // negate size so that the highest key corresponds to the smallest map
+        return (state == null) ? 0 : -state.getThreadIds().size();
+      };
+
   protected ThreadingSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
     super(pSecondaryStrategy);
   }
 
   @Override
   protected Integer getSortKey(AbstractState pState) {
-    ThreadingState state =
-      AbstractStates.extractStateByType(pState, ThreadingState.class);
-
-    // negate size so that the highest key corresponds to the smallest map
-    return (state == null) ? 0 : -state.getThreadIds().size();
+    return SORT_KEY.getSortKey(pState);
   }
 
   public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
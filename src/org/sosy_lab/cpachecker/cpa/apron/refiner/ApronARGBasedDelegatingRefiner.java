@@ -60,7 +60,8 @@ import org.sosy_lab.cpachecker.util.states.MemoryLocation;
  * and if this fails, optionally delegates also to {@link PredicateCPARefiner}.
  */
 @Options(prefix="cpa.apron.refiner")
-class ApronARGBasedDelegatingRefiner implements ARGBasedRefiner, Statistics, StatisticsProvider {
+class ApronARGBasedDelegatingRefiner
+    implements ARGBasedRefiner, Statistics, StatisticsProvider, AutoCloseable {
 
   /**
    * refiner used for value-analysis interpolation refinement
@@ -246,6 +247,11 @@ class ApronARGBasedDelegatingRefiner implements ARGBasedRefiner, Statistics, Sta
     pStatsCollection.add(interpolatingRefiner);
   }
 
+  @Override
+  public void close() {
+    interpolatingRefiner.close();
+  }
+
   @Override
   public String getName() {
     return "ApronAnalysisDelegatingRefiner";
@@ -51,6 +51,8 @@ public abstract class ApronDelegatingRefiner implements Refiner {
         new ValueAnalysisPathInterpolator(
             feasibilityChecker,
             strongestPostOp,
+            ValueAnalysisPathInterpolator.componentsFactory(
+                logger, cfa, Configuration.defaultConfiguration(), config),
             new ValueAnalysisPrefixProvider(logger, cfa, config, shutdownNotifier),
             config,
             logger,
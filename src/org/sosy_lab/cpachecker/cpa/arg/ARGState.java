@@ -19,7 +19,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.graph.Traverser;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -36,29 +35,33 @@ import org.sosy_lab.cpachecker.core.defaults.AbstractSerializableSingleWrapperSt
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithDummyLocation;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocations;
+import org.sosy_lab.cpachecker.core.interfaces.CoverageIndexable;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 
 public class ARGState extends AbstractSerializableSingleWrapperState
-    implements Comparable<ARGState>, Graphable, Splitable {
+    implements Comparable<ARGState>, Graphable, Splitable, CoverageIndexable {
 
-  private static final long serialVersionUID = 2608287648397165040L;
+  private static final long serialVersionUID = -4476290370305485003L;
 
-  // We use a List here although we would like to have a Set
-  // because ArrayList is much more memory efficient than e.g. LinkedHashSet.
+  // Children and parents are stored in the compact encoding of ARGStateAdjacency
+  // (null, a single state, or an array of states), because ARGs have millions of states
+  // and most of them have only one parent and few children.
   // Also these collections are small and so a slow contains() method won't hurt.
   // To enforce set semantics, do not add elements except through addparent()!
-  private final Collection<ARGState> children = new ArrayList<>(1);
-  private final Collection<ARGState> parents = new ArrayList<>(1);
+  private @Nullable Object children = null;
+  private @Nullable Object parents = null;
 
   private ARGState mCoveredBy = null;
   private Set<ARGState> mCoveredByThis = null; // lazy initialization because rarely needed
 
-  // boolean which keeps track of which elements have already had their successors computed
-  private boolean wasExpanded = false;
-  private boolean mayCover = true;
-  private boolean destroyed = false;
-  private boolean hasCoveredParent = false;
+  // flags of this state, packed into a single field
+  private static final byte WAS_EXPANDED = 1; // successors have already been computed
+  private static final byte MAY_COVER = 1 << 1;
+  private static final byte DESTROYED = 1 << 2;
+  private static final byte HAS_COVERED_PARENT = 1 << 3;
+
+  private byte flags = MAY_COVER;
 
   private ARGState mergedWith = null;
 
@@ -77,6 +80,14 @@ public class ARGState extends AbstractSerializableSingleWrapperState
     }
   }
 
+  private boolean hasFlag(byte pFlag) {
+    return (flags & pFlag) != 0;
+  }
+
+  private void setFlag(byte pFlag, boolean pValue) {
+    flags = (byte) (pValue ? flags | pFlag : flags & ~pFlag);
+  }
+
   // parent & child relations
 
   /**
@@ -84,20 +95,20 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * @return A unmodifiable collection of ARGStates without duplicates.
    */
   public Collection<ARGState> getParents() {
-    return Collections.unmodifiableCollection(parents);
+    return ARGStateAdjacency.asCollection(() -> parents);
   }
 
   public void addParent(ARGState pOtherParent) {
     checkNotNull(pOtherParent);
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
 
     // Manually enforce set semantics.
-    if (!parents.contains(pOtherParent)) {
-      assert !pOtherParent.children.contains(this);
-      parents.add(pOtherParent);
-      pOtherParent.children.add(this);
+    if (!ARGStateAdjacency.contains(parents, pOtherParent)) {
+      assert !ARGStateAdjacency.contains(pOtherParent.children, this);
+      parents = ARGStateAdjacency.add(parents, pOtherParent);
+      pOtherParent.children = ARGStateAdjacency.add(pOtherParent.children, this);
     } else {
-      assert pOtherParent.children.contains(this);
+      assert ARGStateAdjacency.contains(pOtherParent.children, this);
     }
   }
 
@@ -106,8 +117,8 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * @return An unmodifiable collection of ARGStates without duplicates.
    */
   public Collection<ARGState> getChildren() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
-    return Collections.unmodifiableCollection(children);
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
+    return ARGStateAdjacency.asCollection(() -> children);
   }
 
   /**
@@ -208,7 +219,7 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * over it.
    */
   public FluentIterable<ARGState> getSubgraph() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
     return from(Traverser.forGraph(ARGState::getChildren).breadthFirst(this));
   }
 
@@ -217,7 +228,8 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   public void setCovered(@NonNull ARGState pCoveredBy) {
     checkState(!isCovered(), "Cannot cover already covered element %s", this);
     checkNotNull(pCoveredBy);
-    checkArgument(pCoveredBy.mayCover, "Trying to cover with non-covering element %s", pCoveredBy);
+    checkArgument(
+        pCoveredBy.hasFlag(MAY_COVER), "Trying to cover with non-covering element %s", pCoveredBy);
 
     mCoveredBy = pCoveredBy;
     if (pCoveredBy.mCoveredByThis == null) {
@@ -236,7 +248,7 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   }
 
   public boolean isCovered() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
     return mCoveredBy != null;
   }
 
@@ -246,7 +258,7 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   }
 
   public Set<ARGState> getCoveredByThis() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
     if (mCoveredByThis == null) {
       return ImmutableSet.of();
     } else {
@@ -255,23 +267,23 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   }
 
   public boolean mayCover() {
-    return mayCover && !hasCoveredParent && !isCovered();
+    return hasFlag(MAY_COVER) && !hasFlag(HAS_COVERED_PARENT) && !isCovered();
   }
 
   public void setNotCovering() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
-    mayCover = false;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
+    setFlag(MAY_COVER, false);
   }
 
   void setHasCoveredParent(boolean pHasCoveredParent) {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
-    hasCoveredParent = pHasCoveredParent;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
+    setFlag(HAS_COVERED_PARENT, pHasCoveredParent);
   }
 
   // merged-with marker so that stop can return true for merged elements
 
   void setMergedWith(ARGState pMergedWith) {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
     assert mergedWith == null : "Second merging of element " + this;
 
     mergedWith = pMergedWith;
@@ -284,18 +296,18 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   // was-expanded marker so we can identify open leafs
 
   public boolean wasExpanded() {
-    return wasExpanded;
+    return hasFlag(WAS_EXPANDED);
   }
 
   public void markExpanded() {
-    wasExpanded = true;
+    setFlag(WAS_EXPANDED, true);
   }
 
   void deleteChild(ARGState child) {
-    assert children.contains(child);
-    assert child.parents.contains(this);
-    children.remove(child);
-    child.parents.remove(this);
+    assert ARGStateAdjacency.contains(children, child);
+    assert ARGStateAdjacency.contains(child.parents, this);
+    children = ARGStateAdjacency.remove(children, child);
+    child.parents = ARGStateAdjacency.remove(child.parents, this);
   }
 
   // counterexample
@@ -336,7 +348,7 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   }
 
   public boolean isDestroyed() {
-    return destroyed;
+    return hasFlag(DESTROYED);
   }
 
   /**
@@ -367,13 +379,13 @@ public class ARGState extends AbstractSerializableSingleWrapperState
 
   @Override
   public boolean isTarget() {
-    return !hasCoveredParent && !isCovered() && super.isTarget();
+    return !hasFlag(HAS_COVERED_PARENT) && !isCovered() && super.isTarget();
   }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
-    if (destroyed) {
+    if (isDestroyed()) {
       sb.append("Destroyed ");
     }
     if (mCoveredBy != null) {
@@ -381,11 +393,11 @@ public class ARGState extends AbstractSerializableSingleWrapperState
     }
     sb.append("ARG State (Id: ");
     sb.append(stateId);
-    if (!destroyed) {
+    if (!isDestroyed()) {
       sb.append(", Parents: ");
-      sb.append(stateIdsOf(parents));
+      sb.append(stateIdsOf(getParents()));
       sb.append(", Children: ");
-      sb.append(stateIdsOf(children));
+      sb.append(stateIdsOf(getChildren()));
 
       if (mCoveredBy != null) {
         sb.append(", Covered by: ");
@@ -416,6 +428,12 @@ public class ARGState extends AbstractSerializableSingleWrapperState
     return false;
   }
 
+  @Override
+  public long getCoverageSignature() {
+    // ARGStopSep only lets this state cover others if the wrapped state covers them
+    return CoverageIndexable.getCoverageSignature(getWrappedState());
+  }
+
   private Iterable<Integer> stateIdsOf(Iterable<ARGState> elements) {
     return from(elements).transform(ARGState::getStateId);
   }
@@ -432,13 +450,13 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * elements will not be removed from the covered set.
    */
   public void removeFromARG() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
 
     detachFromARG();
 
     clearCoverageRelation();
 
-    destroyed = true;
+    setFlag(DESTROYED, true);
   }
 
   /**
@@ -467,21 +485,21 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * parents' children list and from its children's parents list.
    */
   void detachFromARG() {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
 
     // clear children
-    for (ARGState child : children) {
-      assert child.parents.contains(this);
-      child.parents.remove(this);
+    for (ARGState child : getChildren()) {
+      assert ARGStateAdjacency.contains(child.parents, this);
+      child.parents = ARGStateAdjacency.remove(child.parents, this);
     }
-    children.clear();
+    children = null;
 
     // clear parents
-    for (ARGState parent : parents) {
-      assert parent.children.contains(this);
-      parent.children.remove(this);
+    for (ARGState parent : getParents()) {
+      assert ARGStateAdjacency.contains(parent.children, this);
+      parent.children = ARGStateAdjacency.remove(parent.children, this);
     }
-    parents.clear();
+    parents = null;
   }
 
   /**
@@ -494,26 +512,26 @@ public class ARGState extends AbstractSerializableSingleWrapperState
    * @param replacement the replacement for this state
    */
   public void replaceInARGWith(ARGState replacement) {
-    assert !destroyed : "Don't use destroyed ARGState " + this;
-    assert !replacement.destroyed : "Don't use destroyed ARGState " + replacement;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
+    assert !replacement.isDestroyed() : "Don't use destroyed ARGState " + replacement;
     assert !isCovered() : "Not implemented: Replacement of covered element " + this;
     assert !replacement.isCovered() : "Cannot replace with covered element " + replacement;
     assert !this.equals(replacement) : "Don't replace ARGState " + this + " with itself";
 
     // copy children
-    for (ARGState child : children) {
-      assert child.parents.contains(this) : "Inconsistent ARG at " + this;
-      child.parents.remove(this);
+    for (ARGState child : getChildren()) {
+      assert ARGStateAdjacency.contains(child.parents, this) : "Inconsistent ARG at " + this;
+      child.parents = ARGStateAdjacency.remove(child.parents, this);
       child.addParent(replacement);
     }
-    children.clear();
+    children = null;
 
-    for (ARGState parent : parents) {
-      assert parent.children.contains(this) : "Inconsistent ARG at " + this;
-      parent.children.remove(this);
+    for (ARGState parent : getParents()) {
+      assert ARGStateAdjacency.contains(parent.children, this) : "Inconsistent ARG at " + this;
+      parent.children = ARGStateAdjacency.remove(parent.children, this);
       replacement.addParent(parent);
     }
-    parents.clear();
+    parents = null;
 
     if (mCoveredByThis != null) {
       if (replacement.mCoveredByThis == null) {
@@ -531,7 +549,7 @@ public class ARGState extends AbstractSerializableSingleWrapperState
       mCoveredByThis = null;
     }
 
-    destroyed = true;
+    setFlag(DESTROYED, true);
   }
 
   @Override
@@ -553,26 +571,26 @@ public class ARGState extends AbstractSerializableSingleWrapperState
   public void makeTwinOf(ARGState pTemplateState) {
 
     checkState(this.stateId != pTemplateState.stateId);
-    checkState(!pTemplateState.destroyed);
+    checkState(!pTemplateState.isDestroyed());
     checkState(pTemplateState.counterexample == null);
 
-    this.wasExpanded = pTemplateState.wasExpanded;
-    this.mayCover = pTemplateState.mayCover;
-    this.hasCoveredParent = pTemplateState.hasCoveredParent;
+    this.setFlag(WAS_EXPANDED, pTemplateState.hasFlag(WAS_EXPANDED));
+    this.setFlag(MAY_COVER, pTemplateState.hasFlag(MAY_COVER));
+    this.setFlag(HAS_COVERED_PARENT, pTemplateState.hasFlag(HAS_COVERED_PARENT));
 
   }
 
   public void removeParent(ARGState pOtherParent) {
     checkNotNull(pOtherParent);
-    assert !destroyed : "Don't use destroyed ARGState " + this;
+    assert !isDestroyed() : "Don't use destroyed ARGState " + this;
 
     // Manually enforce set semantics.
-    if (parents.contains(pOtherParent)) {
-      assert pOtherParent.children.contains(this);
-      parents.remove(pOtherParent);
-      pOtherParent.children.remove(this);
+    if (ARGStateAdjacency.contains(parents, pOtherParent)) {
+      assert ARGStateAdjacency.contains(pOtherParent.children, this);
+      parents = ARGStateAdjacency.remove(parents, pOtherParent);
+      pOtherParent.children = ARGStateAdjacency.remove(pOtherParent.children, this);
     } else {
-      assert !pOtherParent.children.contains(this) : "Problem detected!";
+      assert !ARGStateAdjacency.contains(pOtherParent.children, this) : "Problem detected!";
     }
   }
 }
@@ -0,0 +1,238 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import com.google.common.collect.Iterators;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compact encoding of the parents or children of an {@link ARGState}. Most states in an ARG have
+ * exactly one parent and at most a few children, so instead of a collection object we store
+ * <code>null</code> for no state, the state itself for a single state, an array (of length 2 to
+ * {@link #MAX_ARRAY_SIZE}) for a few states, and a {@link StateList} for more states. This avoids
+ * two collection objects and their backing arrays per ARG state.
+ *
+ * <p>Arrays are never modified after they are stored, each modification creates a new array. This
+ * is cheap for such small arrays. States with many parents or children (e.g., merge points or
+ * states with many successors) use a {@link StateList} instead, which is modified in place and
+ * grows geometrically, such that adding a state takes amortized constant time.
+ *
+ * <p>In both cases iterating over the states is not affected by concurrent modifications of the
+ * ARG (the iteration continues on the old states). The set semantics needs to be enforced by the
+ * callers, as before with lists.
+ */
+final class ARGStateAdjacency {
+
+  /** Maximal number of states that are stored in a copy-on-write array. */
+  static final int MAX_ARRAY_SIZE = 4;
+
+  private ARGStateAdjacency() {}
+
+  static int size(@Nullable Object pStates) {
+    if (pStates == null) {
+      return 0;
+    } else if (pStates instanceof ARGState) {
+      return 1;
+    } else if (pStates instanceof StateList) {
+      return ((StateList) pStates).size;
+    } else {
+      return ((ARGState[]) pStates).length;
+    }
+  }
+
+  static boolean contains(@Nullable Object pStates, Object pState) {
+    if (pStates == null) {
+      return false;
+    } else if (pStates instanceof ARGState) {
+      return pStates == pState;
+    } else if (pStates instanceof StateList) {
+      return ((StateList) pStates).indexOf(pState) >= 0;
+    } else {
+      for (ARGState state : (ARGState[]) pStates) {
+        if (state == pState) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** Return the encoding of the given states plus the given state, which must not be contained. */
+  static Object add(@Nullable Object pStates, ARGState pState) {
+    if (pStates == null) {
+      return pState;
+    } else if (pStates instanceof ARGState) {
+      return new ARGState[] {(ARGState) pStates, pState};
+    } else if (pStates instanceof StateList) {
+      ((StateList) pStates).add(pState);
+      return pStates;
+    }
+
+    ARGState[] states = (ARGState[]) pStates;
+    if (states.length == MAX_ARRAY_SIZE) {
+      StateList result = new StateList(states);
+      result.add(pState);
+      return result;
+    }
+    ARGState[] result = Arrays.copyOf(states, states.length + 1);
+    result[states.length] = pState;
+    return result;
+  }
+
+  /** Return the encoding of the given states without the given state, if it is contained. */
+  static @Nullable Object remove(@Nullable Object pStates, ARGState pState) {
+    if (pStates == null) {
+      return null;
+    } else if (pStates instanceof ARGState) {
+      return pStates == pState ? null : pStates;
+    } else if (pStates instanceof StateList) {
+      return ((StateList) pStates).remove(pState);
+    }
+
+    ARGState[] states = (ARGState[]) pStates;
+    int index = 0;
+    while (index < states.length && states[index] != pState) {
+      index++;
+    }
+    if (index == states.length) {
+      return pStates;
+    } else if (states.length == 2) {
+      return states[1 - index];
+    }
+    return copyWithout(states, states.length, index);
+  }
+
+  /** Return a new array with the first given number of states, except the one at the index. */
+  private static ARGState[] copyWithout(ARGState[] pStates, int pSize, int pIndex) {
+    ARGState[] result = new ARGState[pSize - 1];
+    System.arraycopy(pStates, 0, result, 0, pIndex);
+    System.arraycopy(pStates, pIndex + 1, result, pIndex, result.length - pIndex);
+    return result;
+  }
+
+  static Iterator<ARGState> iterator(@Nullable Object pStates) {
+    if (pStates == null) {
+      return Collections.emptyIterator();
+    } else if (pStates instanceof ARGState) {
+      return Iterators.singletonIterator((ARGState) pStates);
+    } else if (pStates instanceof StateList) {
+      return ((StateList) pStates).iterator();
+    } else {
+      return Iterators.forArray((ARGState[]) pStates);
+    }
+  }
+
+  /**
+   * Return an unmodifiable view of the states that are given by the supplier, which is queried on
+   * each access such that the view reflects later changes of the ARG.
+   */
+  static Collection<ARGState> asCollection(Supplier<@Nullable Object> pStates) {
+    return new AdjacencyView(pStates);
+  }
+
+  /**
+   * Growable list of more than {@link #MAX_ARRAY_SIZE} states. States are appended in place, which
+   * does not affect running iterations, because they only iterate up to the size at their start.
+   * Removing a state shifts the following states, so if an iteration was started on the current
+   * array, the list switches to a copy of it before.
+   */
+  private static final class StateList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ARGState[] elements;
+    private int size;
+
+    /** Whether an iteration was started on the current array, such that it must not be shifted. */
+    private transient boolean shared = false;
+
+    private StateList(ARGState[] pStates) {
+      elements = Arrays.copyOf(pStates, 2 * pStates.length);
+      size = pStates.length;
+    }
+
+    private int indexOf(Object pState) {
+      for (int i = 0; i < size; i++) {
+        if (elements[i] == pState) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void add(ARGState pState) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, 2 * size);
+        shared = false;
+      }
+      elements[size++] = pState;
+    }
+
+    /** Remove the state and return the encoding of the remaining states. */
+    private Object remove(ARGState pState) {
+      int index = indexOf(pState);
+      if (index < 0) {
+        return this;
+      } else if (size == MAX_ARRAY_SIZE + 1) {
+        return copyWithout(elements, size, index);
+      }
+      ARGState[] target = elements;
+      if (shared) {
+        target = new ARGState[elements.length];
+        System.arraycopy(elements, 0, target, 0, index);
+        shared = false;
+      }
+      System.arraycopy(elements, index + 1, target, index, size - index - 1);
+      elements = target;
+      elements[--size] = null;
+      return this;
+    }
+
+    private Iterator<ARGState> iterator() {
+      shared = true;
+      return Iterators.limit(Iterators.forArray(elements), size);
+    }
+  }
+
+  private static final class AdjacencyView extends AbstractCollection<ARGState> {
+
+    private final Supplier<@Nullable Object> states;
+
+    private AdjacencyView(Supplier<@Nullable Object> pStates) {
+      states = pStates;
+    }
+
+    @Override
+    public Iterator<ARGState> iterator() {
+      return ARGStateAdjacency.iterator(states.get());
+    }
+
+    @Override
+    public int size() {
+      return ARGStateAdjacency.size(states.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return states.get() == null;
+    }
+
+    @Override
+    public boolean contains(Object pState) {
+      return ARGStateAdjacency.contains(states.get(), pState);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+
+public class ARGStateTest {
+
+  @Test
+  public void testChildrenAndParents() {
+    ARGState root = new ARGState(null, null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+    ARGState child3 = new ARGState(null, root);
+    ARGState join = new ARGState(null, child1);
+    join.addParent(child2);
+    join.addParent(child2); // set semantics
+
+    assertThat(root.getParents()).isEmpty();
+    assertThat(root.getChildren()).containsExactly(child1, child2, child3).inOrder();
+    assertThat(child1.getParents()).containsExactly(root);
+    assertThat(join.getParents()).containsExactly(child1, child2).inOrder();
+    assertThat(child2.getChildren()).containsExactly(join);
+
+    root.deleteChild(child2);
+    assertThat(root.getChildren()).containsExactly(child1, child3).inOrder();
+    assertThat(child2.getParents()).isEmpty();
+
+    join.removeParent(child1);
+    join.removeParent(child1);
+    assertThat(join.getParents()).containsExactly(child2);
+    assertThat(child1.getChildren()).isEmpty();
+  }
+
+  @Test
+  public void testViewsReflectChanges() {
+    ARGState root = new ARGState(null, null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+
+    Collection<ARGState> children = root.getChildren();
+    assertThat(children).hasSize(2);
+
+    // iterating while modifying the ARG iterates over the previous children
+    for (ARGState child : children) {
+      child.removeFromARG();
+    }
+    assertThat(children).isEmpty();
+    assertThat(child1.isDestroyed()).isTrue();
+    assertThat(child2.isDestroyed()).isTrue();
+  }
+
+  @Test
+  public void testManyChildren() {
+    int count = 4 * ARGStateAdjacency.MAX_ARRAY_SIZE;
+    ARGState root = new ARGState(null, null);
+    List<ARGState> children = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      children.add(new ARGState(null, root));
+      assertThat(root.getChildren()).containsExactlyElementsIn(children).inOrder();
+    }
+
+    // remove children from the middle, the end, and the start
+    for (int i = 0; i < count; i++) {
+      ARGState child = children.remove((i * 7) % children.size());
+      root.deleteChild(child);
+      assertThat(root.getChildren()).containsExactlyElementsIn(children).inOrder();
+      assertThat(root.getChildren().contains(child)).isFalse();
+      assertThat(child.getParents()).isEmpty();
+    }
+    assertThat(root.getChildren()).isEmpty();
+  }
+
+  @Test
+  public void testIterationOverManyChildrenWhileModifying() {
+    int count = 2 * ARGStateAdjacency.MAX_ARRAY_SIZE;
+    ARGState root = new ARGState(null, null);
+    List<ARGState> children = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      children.add(new ARGState(null, root));
+    }
+
+    // iterating while modifying the ARG iterates over the previous children
+    List<ARGState> visited = new ArrayList<>();
+    for (ARGState child : root.getChildren()) {
+      visited.add(child);
+      root.deleteChild(child);
+      new ARGState(null, root);
+    }
+    assertThat(visited).containsExactlyElementsIn(children).inOrder();
+    assertThat(root.getChildren()).hasSize(count);
+    assertThat(root.getChildren()).containsNoneIn(children);
+  }
+
+  @Test
+  public void testReplaceInARG() {
+    ARGState root = new ARGState(null, null);
+    ARGState state = new ARGState(null, root);
+    ARGState child1 = new ARGState(null, state);
+    ARGState child2 = new ARGState(null, state);
+    ARGState replacement = new ARGState(null, null);
+
+    state.replaceInARGWith(replacement);
+
+    assertThat(state.isDestroyed()).isTrue();
+    assertThat(root.getChildren()).containsExactly(replacement);
+    assertThat(replacement.getParents()).containsExactly(root);
+    assertThat(replacement.getChildren()).containsExactly(child1, child2).inOrder();
+    assertThat(child1.getParents()).containsExactly(replacement);
+    assertThat(child2.getParents()).containsExactly(replacement);
+  }
+
+  @Test
+  public void testFlags() {
+    ARGState state = new ARGState(null, null);
+    assertThat(state.wasExpanded()).isFalse();
+    assertThat(state.mayCover()).isTrue();
+    assertThat(state.isDestroyed()).isFalse();
+
+    state.markExpanded();
+    state.setHasCoveredParent(true);
+    assertThat(state.wasExpanded()).isTrue();
+    assertThat(state.mayCover()).isFalse();
+
+    state.setHasCoveredParent(false);
+    assertThat(state.mayCover()).isTrue();
+    state.setNotCovering();
+    assertThat(state.mayCover()).isFalse();
+
+    ARGState twin = new ARGState(null, null);
+    twin.makeTwinOf(state);
+    assertThat(twin.wasExpanded()).isTrue();
+    assertThat(twin.mayCover()).isFalse();
+  }
+}
@@ -8,27 +8,49 @@
 
 package org.sosy_lab.cpachecker.cpa.arg.witnessexport.formatter;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
-import javax.xml.parsers.ParserConfigurationException;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.core.interfaces.Targetable.TargetInformation;
 import org.sosy_lab.cpachecker.cpa.arg.witnessexport.Edge;
 import org.sosy_lab.cpachecker.cpa.arg.witnessexport.Witness;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.ElementType;
-import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlBuilder;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlWriter;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeFlag;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeType;
 import org.sosy_lab.cpachecker.util.expressions.ExpressionTree;
 import org.sosy_lab.cpachecker.util.expressions.ExpressionTrees;
-import org.w3c.dom.Element;
 
-public class WitnessToGraphMLFormatter extends WitnessToOutputFormatter<Element> {
+/**
+ * Formatter for witnesses in GraphML that writes each node and edge directly to the target
+ * instead of building a DOM of the whole witness first.
+ *
+ * <p>GraphML requires keys to be declared at the beginning of the document, so all keys that a
+ * witness may use are declared. The data that edges add to their target nodes is taken from the
+ * entering edges of each node when it is written, such that each node can be written completely
+ * when it is reached.
+ */
+public class WitnessToGraphMLFormatter extends WitnessToOutputFormatter<String> {
 
-  private GraphMlBuilder doc;
+  private static final ImmutableSet<KeyDef> WITNESS_KEYS =
+      Sets.immutableEnumSet(EnumSet.allOf(KeyDef.class));
+
+  private @Nullable GraphMlWriter writer;
+
+  /** The node that was created last and that is not written yet, because data may follow. */
+  private @Nullable String pendingNodeId;
+
+  private final List<Map.Entry<KeyDef, String>> pendingNodeData = new ArrayList<>();
 
   public WitnessToGraphMLFormatter(Witness pWitness) {
     super(pWitness);
@@ -36,64 +58,92 @@ public class WitnessToGraphMLFormatter extends WitnessToOutputFormatter<Element>
 
   @Override
   protected void initialize(Appendable pTarget) throws IOException {
-    try {
-      doc =
-          new GraphMlBuilder(
-              witness.getWitnessType(),
-              witness.getOriginFile(),
-              witness.getCfa(),
-              witness.getMetaData());
-    } catch (ParserConfigurationException e) {
-      throw new IOException(e);
-    }
+    writer =
+        new GraphMlWriter(
+            pTarget,
+            witness.getWitnessType(),
+            witness.getOriginFile(),
+            witness.getCfa(),
+            witness.getMetaData(),
+            WITNESS_KEYS);
   }
 
   @Override
   protected void finish(Appendable pTarget) throws IOException {
-    doc.appendTo(pTarget);
+    writePendingNode();
+    writer.finish();
+    writer = null;
   }
 
   @Override
-  protected Element createNewNode(String pNodeId, Appendable pTarget) {
-    final Element result = doc.createNodeElement(pNodeId, NodeType.ONPATH);
+  protected String createNewNode(String pNodeId, Appendable pTarget) throws IOException {
+    writePendingNode();
+    pendingNodeId = pNodeId;
     if (witness.getWitnessOptions().exportNodeLabel()) {
       // add a printable label that for example is shown in yEd
-      doc.addDataElementChild(result, KeyDef.LABEL, pNodeId);
+      pendingNodeData.add(Maps.immutableEntry(KeyDef.LABEL, pNodeId));
     }
     for (NodeFlag f : witness.getNodeFlags().get(pNodeId)) {
-      doc.addDataElementChild(result, f.key, "true");
+      pendingNodeData.add(Maps.immutableEntry(f.key, "true"));
     }
     for (TargetInformation violation : witness.getViolatedProperties().get(pNodeId)) {
-      doc.addDataElementChild(result, KeyDef.VIOLATEDPROPERTY, violation.toString());
+      pendingNodeData.add(Maps.immutableEntry(KeyDef.VIOLATEDPROPERTY, violation.toString()));
     }
     if (witness.hasQuasiInvariant(pNodeId)) {
       ExpressionTree<Object> tree = witness.getQuasiInvariant(pNodeId);
-      doc.addDataElementChild(result, KeyDef.INVARIANT, tree.toString());
+      pendingNodeData.add(Maps.immutableEntry(KeyDef.INVARIANT, tree.toString()));
     }
-    return result;
+    return pNodeId;
   }
 
   @Override
   protected void createNewEdge(
-      Edge pEdge, Element pSourceNode, Element pTargetNode, Appendable pTarget) {
-    final Element edge = doc.createEdgeElement(pEdge.getSource(), pEdge.getTarget());
+      Edge pEdge, String pSourceNode, String pTargetNode, Appendable pTarget) throws IOException {
+    writePendingNode();
+    List<Map.Entry<KeyDef, String>> edgeData = new ArrayList<>();
     for (Map.Entry<KeyDef, String> entry : pEdge.getLabel().getMapping().entrySet()) {
-      KeyDef keyDef = entry.getKey();
-      String value = entry.getValue();
-      if (keyDef.keyFor.equals(ElementType.EDGE)) {
-        doc.addDataElementChild(edge, keyDef, value);
-      } else if (keyDef.keyFor.equals(ElementType.NODE)) {
-        doc.addDataElementChild(pTargetNode, keyDef, value);
+      if (entry.getKey().keyFor.equals(ElementType.EDGE)) {
+        edgeData.add(entry);
       }
     }
+    writer.writeEdge(pEdge.getSource(), pEdge.getTarget(), edgeData);
   }
 
   @Override
   protected void addInvariantsData(
-      Element pNode, ExpressionTree<Object> pTree, @Nullable String pScope, Appendable pTarget) {
-    doc.addDataElementChild(pNode, KeyDef.INVARIANT, pTree.toString());
+      String pNode, ExpressionTree<Object> pTree, @Nullable String pScope, Appendable pTarget) {
+    checkState(pNode.equals(pendingNodeId), "Invariant for node %s that is already written", pNode);
+    pendingNodeData.add(Maps.immutableEntry(KeyDef.INVARIANT, pTree.toString()));
     if (!isNullOrEmpty(pScope) && !pTree.equals(ExpressionTrees.getFalse())) {
-      doc.addDataElementChild(pNode, KeyDef.INVARIANTSCOPE, pScope);
+      pendingNodeData.add(Maps.immutableEntry(KeyDef.INVARIANTSCOPE, pScope));
+    }
+  }
+
+  private void writePendingNode() throws IOException {
+    if (pendingNodeId != null) {
+      for (Edge edge : witness.getEnteringEdges().get(pendingNodeId)) {
+        if (isExpanded(edge.getSource())) {
+          for (Map.Entry<KeyDef, String> entry : edge.getLabel().getMapping().entrySet()) {
+            if (entry.getKey().keyFor.equals(ElementType.NODE)) {
+              pendingNodeData.add(entry);
+            }
+          }
+        }
+      }
+      writer.writeNode(pendingNodeId, NodeType.ONPATH, pendingNodeData);
+      pendingNodeId = null;
+      pendingNodeData.clear();
     }
   }
+
+  /**
+   * Returns whether the leaving edges of the given node are written when the node is reached,
+   * which is the case unless the node has an exported invariant that is false (cf. {@link
+   * WitnessToOutputFormatter#appendTo(Appendable)}).
+   */
+  private boolean isExpanded(String pNodeId) {
+    return pNodeId.equals(witness.getEntryStateNodeId())
+        || !witness.getInvariantExportStates().contains(pNodeId)
+        || !witness.getStateInvariant(pNodeId).equals(ExpressionTrees.getFalse());
+  }
 }
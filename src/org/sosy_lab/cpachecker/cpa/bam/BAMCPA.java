@@ -37,6 +37,7 @@ import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheAggressiveImpl;
 import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheImpl;
 import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManager;
 import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManagerImpl;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMSummaryStore;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 
@@ -86,11 +87,17 @@ public class BAMCPA extends AbstractBAMCPA implements StatisticsProvider, ProofC
       this.wrappedProofChecker = null;
     }
 
+    final BAMSummaryStore summaryStore =
+        new BAMSummaryStore(config, logger, pCfa, pSpecification, pReachedSetFactory, this);
+    if (summaryStore.isEnabled() && (handleRecursiveProcedures || useCopyOnWriteRefinement())) {
+      throw new InvalidConfigurationException(
+          "Block summaries cannot be stored for recursive procedures or copy-on-write refinement.");
+    }
     final BAMCache cache;
     if (aggressiveCaching) {
-      cache = new BAMCacheAggressiveImpl(config, getReducer(), logger);
+      cache = new BAMCacheAggressiveImpl(config, getReducer(), logger, summaryStore);
     } else {
-      cache = new BAMCacheImpl(config, getReducer(), logger);
+      cache = new BAMCacheImpl(config, getReducer(), logger, summaryStore);
     }
     data = new BAMDataManagerImpl(this, cache, pReachedSetFactory, pLogger);
 
@@ -31,6 +31,8 @@ import org.sosy_lab.cpachecker.cfa.blocks.Block;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheConcurrent;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheImpl;
 import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.StatHist;
 import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer;
@@ -125,6 +127,30 @@ class BAMCPAStatistics implements Statistics {
       put(out, 0, depthsOfFoundTargetStates);
     }
 
+    if (cpa instanceof BAMCPAWithBreakOnMissingBlock) {
+      // parallel BAM
+      BAMCacheConcurrent cache = ((BAMCPAWithBreakOnMissingBlock) cpa).getCache();
+      out.println("\nConcurrent access to BAM cache:");
+      put(
+          out,
+          1,
+          "Time for cache accesses (sum over all threads)",
+          cache.getAccessTime().formatAs(TimeUnit.SECONDS));
+      put(out, 1, cache.getDuplicateBlocksAvoided());
+    }
+
+    if (cpa.getData().getCache() instanceof BAMCacheImpl) {
+      BAMCacheImpl cache = (BAMCacheImpl) cpa.getData().getCache();
+      if (cache.hasStateLimit()) {
+        out.println("\nEviction from BAM cache:");
+        put(out, 1, cache.getEvictedBlocks());
+        put(out, 1, "Number of evicted states", cache.getEvictedStates());
+        put(out, 1, cache.getRecomputedBlocks());
+        put(out, 1, "Number of states of blocks analyzed again", cache.getRecomputedStates());
+        put(out, 1, "Time for analyzing evicted blocks again", cache.getRecomputationTimer());
+      }
+    }
+
     out.println("\nBAM-based Refinement:");
     put(out, 1, computePathTimer);
     put(out, 1, computeSubtreeTimer);
@@ -22,10 +22,8 @@ import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.core.specification.Specification;
-import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCache;
-import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheSynchronized;
-import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManager;
-import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManagerSynchronized;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCacheConcurrent;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMDataManagerConcurrent;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 
 @Options(prefix = "cpa.bam")
@@ -41,8 +39,8 @@ public class BAMCPAWithBreakOnMissingBlock extends AbstractBAMCPA {
   )
   private boolean breakForMissingBlock = true;
 
-  private final BAMCache cache;
-  private final BAMDataManager data;
+  private final BAMCacheConcurrent cache;
+  private final BAMDataManagerConcurrent data;
 
   private BAMCPAWithBreakOnMissingBlock(
       ConfigurableProgramAnalysis pCpa,
@@ -56,8 +54,8 @@ public class BAMCPAWithBreakOnMissingBlock extends AbstractBAMCPA {
     super(pCpa, pConfig, pLogger, pShutdownNotifier, pSpecification, pCfa);
     pConfig.inject(this);
 
-    cache = new BAMCacheSynchronized(pConfig, getReducer(), pLogger);
-    data = new BAMDataManagerSynchronized(this, cache, reachedsetFactory, pLogger);
+    cache = new BAMCacheConcurrent(getReducer());
+    data = new BAMDataManagerConcurrent(this, cache, reachedsetFactory, pLogger);
   }
 
   @Override
@@ -80,12 +78,12 @@ public class BAMCPAWithBreakOnMissingBlock extends AbstractBAMCPA {
     return new BAMStopOperatorWithBreakOnMissingBlock(getWrappedCpa().getStopOperator());
   }
 
-  public BAMCache getCache() {
+  public BAMCacheConcurrent getCache() {
     return cache;
   }
 
   @Override
-  public BAMDataManager getData() {
+  public BAMDataManagerConcurrent getData() {
     return data;
   }
 
@@ -238,6 +238,14 @@ public class BAMSubgraphComputer {
       }
 
       final ReachedSet reachedSet = data.getReachedSetForInitialState(expandedRoot, reducedTarget);
+      if (data.getCache().isSummaryOnly(reachedSet)) {
+        logger.log(
+            Level.FINE,
+            "Target state refers to a block summary without paths. Updating it.");
+        final CFANode rootNode = extractLocation(expandedRoot);
+        data.getCache().discardSummary(reachedSet, partitioning.getBlockForCallNode(rootNode));
+        throw new MissingBlockException(expandedRoot, newExpandedTarget.getWrappedState());
+      }
       assert reachedSet.contains(reducedTarget)
           : String.format(
               "reduced state '%s' is not part of reachedset with root '%s' from expanded root '%s'",
@@ -13,6 +13,7 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.cfa.blocks.Block;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
@@ -60,6 +61,27 @@ public interface BAMCache extends Statistics {
    *  then there is a way to clear all caches and to restore ARG completely. */
   void clear();
 
+  /**
+   * Check whether the given reached-set contains only the entry state and the exit states of its
+   * block, but no paths through the block. This is the case for summaries from a previous run and
+   * for reached-sets that were evicted from the cache.
+   */
+  default boolean isSummaryOnly(ReachedSet pReached) {
+    return false;
+  }
+
+  /**
+   * Remove a reached-set without paths (see {@link #isSummaryOnly}) from the cache, such that the
+   * block is analyzed again on the next request.
+   */
+  default void discardSummary(ReachedSet pReached, Block pContext) {}
+
+  /**
+   * Register a listener that is informed about the states that are removed from the reached-sets
+   * of the cache when blocks are evicted, such that no references to these states remain.
+   */
+  default void registerEvictionListener(Consumer<Collection<? extends AbstractState>> pListener) {}
+
   class BAMCacheEntry {
     private final ReachedSet rs;
     private Set<AbstractState> exitStates;
@@ -19,6 +19,7 @@ import org.sosy_lab.cpachecker.cfa.blocks.Block;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Reducer;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 
 /**
  * This implementation of BAMCache uses an heuristic to improve the cache-hit-rate. Whenever
@@ -30,9 +31,16 @@ public class BAMCacheAggressiveImpl extends BAMCacheImpl {
 
   private final Map<AbstractStateHash, BAMCacheEntry> impreciseReachedCache = new LinkedHashMap<>();
 
-  public BAMCacheAggressiveImpl(Configuration config, Reducer reducer, LogManager logger)
+  public BAMCacheAggressiveImpl(
+      Configuration config, Reducer reducer, LogManager logger, BAMSummaryStore summaryStore)
       throws InvalidConfigurationException {
-    super(config, reducer, logger);
+    super(config, reducer, logger, summaryStore);
+  }
+
+  @Override
+  protected void removeEntriesFor(ReachedSet pReached) {
+    impreciseReachedCache.values().removeIf(entry -> entry.getReachedSet() == pReached);
+    super.removeEntriesFor(pReached);
   }
 
   @Override
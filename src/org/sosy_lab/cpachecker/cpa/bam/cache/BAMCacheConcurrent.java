@@ -0,0 +1,210 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.bam.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
+
+import com.google.common.collect.Collections2;
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.Reducer;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+
+/**
+ * A BAM cache that can be accessed concurrently by several threads without a global lock. The
+ * entries are stored in a {@link ConcurrentHashMap}, and {@link #getOrCreate} guarantees that at
+ * most one reached-set is created for each key, such that a missing block is analyzed only once.
+ *
+ * <p>In contrast to {@link BAMCacheImpl}, the iteration order of the cached reached-sets is not
+ * deterministic, which does not matter for the parallel analysis.
+ */
+public class BAMCacheConcurrent implements BAMCache {
+
+  private final ConcurrentMap<CacheKey, BAMCacheEntry> preciseReachedCache =
+      new ConcurrentHashMap<>();
+
+  private final Reducer reducer;
+
+  private volatile @Nullable BAMCacheEntry lastAnalyzedEntry = null;
+
+  private final StatCounter cacheMisses = new StatCounter("Number of cache misses");
+  private final StatCounter partialCacheHits = new StatCounter("Number of partial cache hits");
+  private final StatCounter fullCacheHits = new StatCounter("Number of full cache hits");
+  private final StatCounter duplicateBlocksAvoided =
+      new StatCounter("Number of duplicate block computations avoided");
+  private final LongAdder accessNanos = new LongAdder();
+
+  public BAMCacheConcurrent(Reducer pReducer) {
+    reducer = checkNotNull(pReducer);
+  }
+
+  private CacheKey getKey(AbstractState stateKey, Precision precisionKey, Block context) {
+    return new CacheKey(reducer.getHashCodeForState(stateKey, precisionKey), context);
+  }
+
+  @Override
+  public BAMCacheEntry put(
+      AbstractState stateKey, Precision precisionKey, Block context, ReachedSet item) {
+    long start = System.nanoTime();
+    try {
+      BAMCacheEntry entry = new BAMCacheEntry(item);
+      preciseReachedCache.put(getKey(stateKey, precisionKey, context), entry);
+      return entry;
+    } finally {
+      accessNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Return the entry for the given key, or create a new entry with the reached-set from the given
+   * supplier if there is none. If several threads call this method concurrently with the same key,
+   * only one reached-set is created and all threads get the same entry.
+   */
+  public BAMCacheEntry getOrCreate(
+      AbstractState stateKey,
+      Precision precisionKey,
+      Block context,
+      Supplier<ReachedSet> reachedSetSupplier) {
+    long start = System.nanoTime();
+    try {
+      BAMCacheEntry[] createdEntry = new BAMCacheEntry[1];
+      BAMCacheEntry entry =
+          preciseReachedCache.computeIfAbsent(
+              getKey(stateKey, precisionKey, context),
+              k -> createdEntry[0] = new BAMCacheEntry(reachedSetSupplier.get()));
+      if (entry != createdEntry[0]) {
+        // another thread created the entry in the meantime and is responsible for the block
+        duplicateBlocksAvoided.inc();
+      }
+      return entry;
+    } finally {
+      accessNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public BAMCacheEntry get(AbstractState stateKey, Precision precisionKey, Block context) {
+    long start = System.nanoTime();
+    try {
+      BAMCacheEntry entry = preciseReachedCache.get(getKey(stateKey, precisionKey, context));
+      if (entry == null) {
+        cacheMisses.inc();
+      } else {
+        lastAnalyzedEntry = entry;
+        if (entry.getExitStates() == null) {
+          // we have cached a partly computed reached-set
+          partialCacheHits.inc();
+        } else {
+          fullCacheHits.inc();
+        }
+      }
+      return entry;
+    } finally {
+      accessNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  @Deprecated
+  public ARGState getLastAnalyzedBlock() {
+    BAMCacheEntry entry = lastAnalyzedEntry;
+    return entry == null ? null : entry.getRootOfBlock();
+  }
+
+  @Override
+  public boolean containsPreciseKey(AbstractState stateKey, Precision precisionKey, Block context) {
+    return preciseReachedCache.containsKey(getKey(stateKey, precisionKey, context));
+  }
+
+  @Override
+  public Collection<ReachedSet> getAllCachedReachedStates() {
+    return Collections2.transform(preciseReachedCache.values(), BAMCacheEntry::getReachedSet);
+  }
+
+  @Override
+  public void clear() {
+    preciseReachedCache.clear();
+    lastAnalyzedEntry = null;
+  }
+
+  /** Number of times a thread would have analyzed a block that another thread already started. */
+  public StatCounter getDuplicateBlocksAvoided() {
+    return duplicateBlocksAvoided;
+  }
+
+  /** Time spent in cache accesses, summed over all threads. */
+  public TimeSpan getAccessTime() {
+    return TimeSpan.ofNanos(accessNanos.sum());
+  }
+
+  private static final class CacheKey {
+
+    private final Object wrappedHash;
+    private final Block context;
+    private final int hashCode;
+
+    private CacheKey(Object pWrappedHash, Block pContext) {
+      wrappedHash = checkNotNull(pWrappedHash);
+      context = checkNotNull(pContext);
+      // the key is computed once per access, but may be compared often
+      hashCode = wrappedHash.hashCode() * 17 + context.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object pObj) {
+      if (pObj == this) {
+        return true;
+      }
+      if (!(pObj instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) pObj;
+      return hashCode == other.hashCode
+          && context.equals(other.context)
+          && wrappedHash.equals(other.wrappedHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  @Override
+  public void printStatistics(PrintStream out, Result pResult, UnmodifiableReachedSet pReached) {
+    long sumCalls = cacheMisses.getValue() + partialCacheHits.getValue() + fullCacheHits.getValue();
+    put(out, 0, "Total number of recursive CPA calls", sumCalls);
+    put(out, 1, cacheMisses.getTitle(), withPercent(cacheMisses, sumCalls));
+    put(out, 1, partialCacheHits.getTitle(), withPercent(partialCacheHits, sumCalls));
+    put(out, 1, fullCacheHits.getTitle(), withPercent(fullCacheHits, sumCalls));
+  }
+
+  private static String withPercent(StatCounter pCounter, long pSum) {
+    return pCounter.getValue() + " (" + toPercent(pCounter.getValue(), pSum) + " of all calls)";
+  }
+
+  @Override
+  public String getName() {
+    return "BAMCache";
+  }
+}
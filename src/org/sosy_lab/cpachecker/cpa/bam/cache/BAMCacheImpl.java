@@ -9,15 +9,25 @@
 package org.sosy_lab.cpachecker.cpa.bam.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
 
 import com.google.common.collect.Collections2;
+import com.google.common.collect.Sets;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -31,6 +41,9 @@ import org.sosy_lab.cpachecker.core.interfaces.Reducer;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMSummaryStore.BlockSummary;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.StatHist;
 
 @Options(prefix = "cpa.bam")
@@ -40,6 +53,17 @@ public class BAMCacheImpl implements BAMCache {
       + "for each cache miss to find the cause of the miss.")
   private boolean gatherCacheMissStatistics = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Maximum number of abstract states in the reached sets of the cache (0 for no limit)."
+              + " If the limit is exceeded, the reached sets of the least recently used blocks are"
+              + " reduced to their entry and exit states, which are sufficient for reusing the"
+              + " block. Evicted blocks are analyzed again if a counterexample passes through"
+              + " them.")
+  @IntegerOption(min = 0)
+  private int maxCachedStates = 0;
+
   private final Timer hashingTimer = new Timer();
   private final Timer equalsTimer = new Timer();
 
@@ -58,13 +82,43 @@ public class BAMCacheImpl implements BAMCache {
   protected final Reducer reducer;
   protected final LogManager logger;
 
+  private final BAMSummaryStore summaryStore;
+
+  /** Reached-sets in the cache that represent summaries from the summary store. */
+  private final Map<ReachedSet, BlockSummary> loadedSummaries = new IdentityHashMap<>();
+
+  /** Finished entries whose reached-sets may be evicted, from least to most recently used. */
+  private final Set<TrackedCacheEntry> evictionCandidates = new LinkedHashSet<>();
+
+  private final Set<ReachedSet> evictedReachedSets = Sets.newIdentityHashSet();
+
+  /** Keys of evicted entries that were discarded, such that the block will be analyzed again. */
+  private final List<AbstractStateHash> discardedEvictedKeys = new ArrayList<>();
+
+  private final List<Consumer<Collection<? extends AbstractState>>> evictionListeners =
+      new ArrayList<>();
+
+  /** Number of states in the reached-sets of finished entries, as of their last use. */
+  private long cachedStates = 0;
+
+  private int runningRecomputations = 0;
+
+  private final StatCounter evictedBlocks = new StatCounter("Number of evicted blocks");
+  private long evictedStates = 0;
+  private final StatCounter recomputedBlocks =
+      new StatCounter("Number of evicted blocks analyzed again");
+  private long recomputedStates = 0;
+  private final Timer recomputationTimer = new Timer();
+
   public BAMCacheImpl(
       Configuration config,
       Reducer reducer,
-      LogManager logger) throws InvalidConfigurationException {
+      LogManager logger,
+      BAMSummaryStore summaryStore) throws InvalidConfigurationException {
     config.inject(this, BAMCacheImpl.class);
     this.reducer = reducer;
     this.logger = logger;
+    this.summaryStore = summaryStore;
   }
 
   protected AbstractStateHash getHashCode(AbstractState stateKey, Precision precisionKey, Block context) {
@@ -75,12 +129,26 @@ public class BAMCacheImpl implements BAMCache {
   public BAMCacheEntry put(
       AbstractState stateKey, Precision precisionKey, Block context, ReachedSet rs) {
     AbstractStateHash hash = getHashCode(stateKey, precisionKey, context);
-    BAMCacheEntry entry = new BAMCacheEntry(rs);
+    final BAMCacheEntry entry;
+    if (maxCachedStates > 0) {
+      entry = new TrackedCacheEntry(rs, isDiscardedEvictedKey(stateKey, context));
+    } else {
+      entry = new BAMCacheEntry(rs);
+    }
     // assert !preciseReachedCache.containsKey(hash);
     preciseReachedCache.put(hash, entry);
     return entry;
   }
 
+  /**
+   * Check whether the block was evicted and discarded before, ignoring the precision. A new entry
+   * for such a block is a recomputation caused by the eviction.
+   */
+  private boolean isDiscardedEvictedKey(AbstractState stateKey, Block context) {
+    return discardedEvictedKeys.removeIf(
+        key -> getHashCode(stateKey, key.precisionKey, context).equals(key));
+  }
+
   protected static boolean allStatesContainedInReachedSet(Collection<AbstractState> pElements, ReachedSet reached) {
     return reached.asCollection().containsAll(pElements);
   }
@@ -91,6 +159,11 @@ public class BAMCacheImpl implements BAMCache {
 
     final BAMCacheEntry entry = get0(stateKey, precisionKey, context);
 
+    if (entry instanceof TrackedCacheEntry) {
+      // the entry is in use until its exit states are set again
+      evictionCandidates.remove(entry);
+    }
+
     // get some statistics
     if (entry == null) {
       cacheMisses++;
@@ -130,11 +203,124 @@ public class BAMCacheImpl implements BAMCache {
       final Precision precisionKey,
       final Block context,
       AbstractStateHash hash) {
+    for (BlockSummary summary : summaryStore.getSummaries(context)) {
+      if (getHashCode(summary.getEntryState(), precisionKey, context).equals(hash)) {
+        ReachedSet reached =
+            summaryStore.createReachedSet(summary, (ARGState) stateKey, precisionKey);
+        BAMCacheEntry entry = new BAMCacheEntry(reached);
+        entry.setExitStates(from(reached.asCollection()).filter(s -> s != stateKey).toSet());
+        preciseReachedCache.put(hash, entry);
+        loadedSummaries.put(reached, summary);
+        lastAnalyzedEntry = entry;
+        logger.log(Level.FINEST, "CACHE_ACCESS: entry from summary store");
+        return entry;
+      }
+    }
+
     lastAnalyzedEntry = null;
     logger.log(Level.FINEST, "CACHE_ACCESS: entry not available");
     return null;
   }
 
+  @Override
+  public void registerEvictionListener(Consumer<Collection<? extends AbstractState>> pListener) {
+    evictionListeners.add(checkNotNull(pListener));
+  }
+
+  @Override
+  public boolean isSummaryOnly(ReachedSet pReached) {
+    return loadedSummaries.containsKey(pReached) || evictedReachedSets.contains(pReached);
+  }
+
+  @Override
+  public void discardSummary(ReachedSet pReached, Block pContext) {
+    BlockSummary summary = loadedSummaries.remove(pReached);
+    if (summary != null) {
+      summaryStore.discard(pContext, summary);
+    }
+    if (evictedReachedSets.remove(pReached)) {
+      for (Map.Entry<AbstractStateHash, BAMCacheEntry> cached : preciseReachedCache.entrySet()) {
+        if (cached.getValue().getReachedSet() == pReached) {
+          discardedEvictedKeys.add(cached.getKey());
+        }
+      }
+    }
+    removeEntriesFor(pReached);
+  }
+
+  /** Update the size of a finished entry and evict other entries if the cache is too large. */
+  private void entryFinished(TrackedCacheEntry pEntry) {
+    ReachedSet reached = pEntry.getReachedSet();
+    cachedStates += reached.size() - pEntry.accountedStates;
+    pEntry.accountedStates = reached.size();
+
+    if (pEntry.isRecomputation) {
+      pEntry.isRecomputation = false;
+      recomputedBlocks.inc();
+      recomputedStates += reached.size();
+      runningRecomputations--;
+      if (runningRecomputations == 0) {
+        recomputationTimer.stop();
+      }
+    }
+
+    // move the entry to the end of the eviction order
+    evictionCandidates.remove(pEntry);
+    if (!evictedReachedSets.contains(reached) && isSafeSummary(pEntry)) {
+      evictionCandidates.add(pEntry);
+    }
+
+    Iterator<TrackedCacheEntry> candidates = evictionCandidates.iterator();
+    while (cachedStates > maxCachedStates && candidates.hasNext()) {
+      TrackedCacheEntry candidate = candidates.next();
+      candidates.remove();
+      // refinements might have changed the reached-set since its last use
+      if (isSafeSummary(candidate)) {
+        evict(candidate);
+      }
+    }
+  }
+
+  /**
+   * Reduce the reached-set of the given entry to its entry state and its exit states, such that
+   * the entry can still be used as full cache hit. The exit states are attached directly to the
+   * entry state, because expanded states in other reached-sets refer to them.
+   */
+  private void evict(TrackedCacheEntry pEntry) {
+    ReachedSet reached = pEntry.getReachedSet();
+    ARGState root = (ARGState) reached.getFirstState();
+    Set<AbstractState> exitStates = pEntry.getExitStates();
+    List<ARGState> innerStates =
+        root.getSubgraph().filter(s -> s != root && !exitStates.contains(s)).toList();
+    for (ARGState state : innerStates) {
+      state.removeFromARG();
+    }
+    reached.removeAll(innerStates);
+    for (AbstractState exitState : exitStates) {
+      if (exitState != root) {
+        ((ARGState) exitState).addParent(root);
+      }
+    }
+    for (Consumer<Collection<? extends AbstractState>> listener : evictionListeners) {
+      listener.accept(innerStates);
+    }
+
+    evictedReachedSets.add(reached);
+    evictedBlocks.inc();
+    evictedStates += innerStates.size();
+    cachedStates += reached.size() - pEntry.accountedStates;
+    pEntry.accountedStates = reached.size();
+    logger.log(Level.FINEST, "CACHE_EVICTION: removed", innerStates.size(), "states of block");
+  }
+
+  /** Remove all cache entries for the given reached-set. */
+  protected void removeEntriesFor(ReachedSet pReached) {
+    preciseReachedCache.values().removeIf(entry -> entry.getReachedSet() == pReached);
+    if (lastAnalyzedEntry != null && lastAnalyzedEntry.getReachedSet() == pReached) {
+      lastAnalyzedEntry = null;
+    }
+  }
+
   @Override
   @Deprecated
   public ARGState getLastAnalyzedBlock() {
@@ -254,6 +440,64 @@ public class BAMCacheImpl implements BAMCache {
     }
     out.println("Time for checking equality of abstract states:       " + equalsTimer + " (Calls: " + equalsTimer.getNumberOfIntervals() + ")");
     out.println("Time for computing the hashCode of abstract states:  " + hashingTimer + " (Calls: " + hashingTimer.getNumberOfIntervals() + ")");
+    if (summaryStore.isEnabled()) {
+      summaryStore.printStatistics(out);
+    }
+  }
+
+  @Override
+  public void writeOutputFiles(Result pResult, UnmodifiableReachedSet pReached) {
+    if (!summaryStore.isEnabled()) {
+      return;
+    }
+    for (Map.Entry<AbstractStateHash, BAMCacheEntry> cached : preciseReachedCache.entrySet()) {
+      BAMCacheEntry entry = cached.getValue();
+      if (!loadedSummaries.containsKey(entry.getReachedSet()) && isSafeSummary(entry)) {
+        summaryStore.add(cached.getKey().context, cached.getKey().stateKey, entry.getExitStates());
+      }
+    }
+    summaryStore.write();
+  }
+
+  public boolean hasStateLimit() {
+    return maxCachedStates > 0;
+  }
+
+  public StatCounter getEvictedBlocks() {
+    return evictedBlocks;
+  }
+
+  /** Number of states that were removed from the cache by evicting blocks. */
+  public long getEvictedStates() {
+    return evictedStates;
+  }
+
+  public StatCounter getRecomputedBlocks() {
+    return recomputedBlocks;
+  }
+
+  /** Number of states in the reached-sets of evicted blocks that were analyzed again. */
+  public long getRecomputedStates() {
+    return recomputedStates;
+  }
+
+  /** Time for analyzing evicted blocks again, including the analysis of nested blocks. */
+  public Timer getRecomputationTimer() {
+    return recomputationTimer;
+  }
+
+  /**
+   * Check whether the block of the given entry was analyzed completely without reaching a target
+   * state, such that its exit states can be reused for the same entry state in a later run.
+   */
+  private static boolean isSafeSummary(BAMCacheEntry pEntry) {
+    Set<AbstractState> exitStates = pEntry.getExitStates();
+    ReachedSet reached = pEntry.getReachedSet();
+    return exitStates != null
+        && !reached.hasWaitingState()
+        && !reached.wasTargetReached()
+        && !from(exitStates).anyMatch(AbstractStates::isTargetState)
+        && !from(exitStates).anyMatch(s -> ((ARGState) s).isDestroyed());
   }
 
   @Override
@@ -265,5 +509,41 @@ public class BAMCacheImpl implements BAMCache {
   public void clear() {
     preciseReachedCache.clear();
     lastAnalyzedEntry = null;
+    evictionCandidates.clear();
+    evictedReachedSets.clear();
+    discardedEvictedKeys.clear();
+    cachedStates = 0;
+    runningRecomputations = 0;
+    recomputationTimer.stopIfRunning();
+  }
+
+  /** Cache entry that keeps track of its size and its uses for evicting entries. */
+  private class TrackedCacheEntry extends BAMCacheEntry {
+
+    private int accountedStates = 0;
+    private boolean isRecomputation;
+
+    private TrackedCacheEntry(ReachedSet pReached, boolean pIsRecomputation) {
+      super(pReached);
+      isRecomputation = pIsRecomputation;
+      if (isRecomputation) {
+        if (runningRecomputations == 0) {
+          recomputationTimer.start();
+        }
+        runningRecomputations++;
+      }
+    }
+
+    @Override
+    public void setExitStates(Set<AbstractState> pExitStates) {
+      super.setExitStates(pExitStates);
+      entryFinished(this);
+    }
+
+    @Override
+    public void deleteInfo() {
+      super.deleteInfo();
+      evictionCandidates.remove(this);
+    }
   }
 }
@@ -0,0 +1,219 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.bam.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.core.defaults.SingletonPrecision;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.Reducer;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
+import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.bam.AbstractBAMCPA;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCache.BAMCacheEntry;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class BAMCacheImplTest {
+
+  private static final int MAX_CACHED_STATES = 10;
+
+  private final Precision precision = SingletonPrecision.getInstance();
+  private final ConfigurableProgramAnalysis cpa = mock(ConfigurableProgramAnalysis.class);
+  private final Block block = mock(Block.class);
+
+  private LogManager logger;
+  private ReachedSetFactory reachedSetFactory;
+  private BAMCacheImpl cache;
+
+  @Before
+  public void setUp() throws Exception {
+    Configuration config =
+        TestDataTools.configurationForTest()
+            .setOption("cpa.bam.maxCachedStates", Integer.toString(MAX_CACHED_STATES))
+            .build();
+    logger = LogManager.createTestLogManager();
+    reachedSetFactory = new ReachedSetFactory(config, logger);
+    Reducer reducer = mock(Reducer.class);
+    // states are cached by identity
+    when(reducer.getHashCodeForState(any(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    BAMSummaryStore summaryStore =
+        new BAMSummaryStore(
+            config,
+            logger,
+            mock(CFA.class),
+            Specification.alwaysSatisfied(),
+            reachedSetFactory,
+            cpa);
+    cache = new BAMCacheImpl(config, reducer, logger, summaryStore);
+  }
+
+  private static ARGState newRoot() {
+    return new ARGState(mock(AbstractState.class), null);
+  }
+
+  /**
+   * Put a completely analyzed block into the cache whose reached-set is a chain of the given number
+   * of states, starting at the given root. The last state of the chain is the only exit state.
+   */
+  private BAMCacheEntry analyzeBlock(ARGState pRoot, int pStates) {
+    ReachedSet reached = reachedSetFactory.create(cpa);
+    reached.addNoWaitlist(pRoot, precision);
+    BAMCacheEntry entry = cache.put(pRoot, precision, block, reached);
+    ARGState state = pRoot;
+    for (int i = 1; i < pStates; i++) {
+      state = new ARGState(mock(AbstractState.class), state);
+      reached.addNoWaitlist(state, precision);
+    }
+    entry.setExitStates(ImmutableSet.of(state));
+    return entry;
+  }
+
+  private static ARGState getExitState(BAMCacheEntry pEntry) {
+    return (ARGState) Iterables.getOnlyElement(pEntry.getExitStates());
+  }
+
+  /** Return the states of the block that are neither its root nor its exit state. */
+  private static List<ARGState> getInnerStates(BAMCacheEntry pEntry) {
+    List<ARGState> result = new ArrayList<>();
+    for (AbstractState state : pEntry.getReachedSet()) {
+      if (state != pEntry.getReachedSet().getFirstState()
+          && !pEntry.getExitStates().contains(state)) {
+        result.add((ARGState) state);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testBlocksAreEvictedWhenLimitIsExceeded() {
+    ARGState root = newRoot();
+    BAMCacheEntry first = analyzeBlock(root, 6);
+    ARGState exitState = getExitState(first);
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isFalse();
+
+    BAMCacheEntry second = analyzeBlock(newRoot(), 6);
+
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isTrue();
+    assertThat(first.getReachedSet().asCollection()).containsExactly(root, exitState);
+    assertThat(exitState.getParents()).containsExactly(root);
+    assertThat(cache.isSummaryOnly(second.getReachedSet())).isFalse();
+    assertThat(second.getReachedSet().size()).isEqualTo(6);
+    assertThat(cache.getEvictedBlocks().getValue()).isEqualTo(1);
+    assertThat(cache.getEvictedStates()).isEqualTo(4);
+
+    // the evicted block can still be used as full cache hit
+    BAMCacheEntry cached = cache.get(root, precision, block);
+    assertThat(cached).isSameInstanceAs(first);
+    assertThat(cached.getExitStates()).containsExactly(exitState);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedBlockIsEvicted() {
+    ARGState firstRoot = newRoot();
+    BAMCacheEntry first = analyzeBlock(firstRoot, 5);
+    BAMCacheEntry second = analyzeBlock(newRoot(), 5);
+    assertThat(cache.getEvictedBlocks().getValue()).isEqualTo(0);
+
+    // use the first block again, such that the second one is the least recently used
+    assertThat(cache.get(firstRoot, precision, block)).isSameInstanceAs(first);
+    first.setExitStates(first.getExitStates());
+    BAMCacheEntry third = analyzeBlock(newRoot(), 2);
+
+    assertThat(cache.isSummaryOnly(second.getReachedSet())).isTrue();
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isFalse();
+    assertThat(cache.isSummaryOnly(third.getReachedSet())).isFalse();
+    assertThat(cache.getEvictedBlocks().getValue()).isEqualTo(1);
+  }
+
+  @Test
+  public void testBlocksInUseAreNotEvicted() {
+    ARGState firstRoot = newRoot();
+    BAMCacheEntry first = analyzeBlock(firstRoot, 6);
+
+    // the block is in use until its exit states are set again
+    assertThat(cache.get(firstRoot, precision, block)).isSameInstanceAs(first);
+    analyzeBlock(newRoot(), 6);
+
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isFalse();
+    assertThat(first.getReachedSet().size()).isEqualTo(6);
+  }
+
+  @Test
+  public void testDiscardedEvictedBlockIsAnalyzedAgain() {
+    ARGState root = newRoot();
+    BAMCacheEntry first = analyzeBlock(root, 6);
+    analyzeBlock(newRoot(), 6);
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isTrue();
+
+    // a counterexample through the evicted block needs the paths through it
+    cache.discardSummary(first.getReachedSet(), block);
+    assertThat(cache.containsPreciseKey(root, precision, block)).isFalse();
+    assertThat(cache.get(root, precision, block)).isNull();
+
+    BAMCacheEntry recomputed = analyzeBlock(root, 6);
+
+    assertThat(recomputed).isNotSameInstanceAs(first);
+    assertThat(cache.isSummaryOnly(recomputed.getReachedSet())).isFalse();
+    assertThat(cache.getRecomputedBlocks().getValue()).isEqualTo(1);
+    assertThat(cache.getRecomputedStates()).isEqualTo(6);
+    assertThat(cache.get(root, precision, block)).isSameInstanceAs(recomputed);
+  }
+
+  @Test
+  public void testEvictionRemovesStatesFromDataManager() {
+    BAMDataManagerImpl dataManager =
+        new BAMDataManagerImpl(mock(AbstractBAMCPA.class), cache, reachedSetFactory, logger);
+
+    BAMCacheEntry first = analyzeBlock(newRoot(), 6);
+    ImmutableList<ARGState> innerStates = ImmutableList.copyOf(getInnerStates(first));
+    assertThat(innerStates).hasSize(4);
+    ARGState expandedState = innerStates.get(0);
+    ARGState callState = innerStates.get(1);
+    ARGState exitState = getExitState(first);
+
+    // data for a nested block that returned to the first inner state and was called from the second
+    ARGState nestedRoot = newRoot();
+    ARGState nestedExit = new ARGState(mock(AbstractState.class), nestedRoot);
+    ReachedSet nestedReached = reachedSetFactory.create(cpa);
+    nestedReached.addNoWaitlist(nestedRoot, precision);
+    nestedReached.addNoWaitlist(nestedExit, precision);
+    dataManager.registerExpandedState(expandedState, precision, nestedExit, block);
+    dataManager.registerInitialState(callState, nestedExit, nestedReached);
+    dataManager.registerExpandedState(exitState, precision, nestedExit, block);
+    assertThat(dataManager.getNonReducedInitialStates(nestedRoot)).containsExactly(callState);
+
+    analyzeBlock(newRoot(), 6);
+
+    assertThat(cache.isSummaryOnly(first.getReachedSet())).isTrue();
+    assertThat(dataManager.hasExpandedState(expandedState)).isFalse();
+    assertThat(dataManager.hasInitialState(callState)).isFalse();
+    assertThat(dataManager.getNonReducedInitialStates(nestedRoot)).isEmpty();
+    // the exit state is still part of the evicted block
+    assertThat(dataManager.hasExpandedState(exitState)).isTrue();
+  }
+}
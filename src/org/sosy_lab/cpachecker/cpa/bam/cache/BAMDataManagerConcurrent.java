@@ -0,0 +1,280 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.bam.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
+import org.sosy_lab.cpachecker.cpa.bam.AbstractBAMCPA;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMCache.BAMCacheEntry;
+
+/**
+ * Data structures required for parallel BAM, based on concurrent maps instead of a global lock.
+ * Each single operation is atomic. Compound operations (e.g., following the chain of expanded
+ * states) only access states of the same reached-set, which are handled by one thread at a time.
+ */
+public class BAMDataManagerConcurrent implements BAMDataManager {
+
+  private final LogManager logger;
+
+  private final BAMCacheConcurrent bamCache;
+
+  private final AbstractBAMCPA bamCpa;
+
+  private final ReachedSetFactory reachedSetFactory;
+
+  /** Mapping of non-reduced initial states and exit states to {@link ReachedSet}. */
+  private final ConcurrentMap<AbstractState, ConcurrentMap<AbstractState, ReachedSet>>
+      initialStateToReachedSet = new ConcurrentHashMap<>();
+
+  /** Mapping of reduced initial states to non-reduced initial states. */
+  private final ConcurrentMap<AbstractState, Set<AbstractState>> reducedToNonReduced =
+      new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<AbstractState, BlockExitData> expandedStateToBlockExit =
+      new ConcurrentHashMap<>();
+
+  private static class BlockExitData {
+
+    private final AbstractState reducedState;
+    private final Block block;
+    private final Precision expandedPrecision;
+
+    BlockExitData(AbstractState pReducedState, Block pBlock, Precision pExpandedPrecision) {
+      reducedState = pReducedState;
+      block = pBlock;
+      expandedPrecision = pExpandedPrecision;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Data <%s, %s, %s>", reducedState, block, expandedPrecision);
+    }
+  }
+
+  public BAMDataManagerConcurrent(
+      AbstractBAMCPA pBamCpa,
+      BAMCacheConcurrent pCache,
+      ReachedSetFactory pReachedSetFactory,
+      LogManager pLogger) {
+    bamCpa = pBamCpa;
+    bamCache = pCache;
+    reachedSetFactory = pReachedSetFactory;
+    logger = pLogger;
+  }
+
+  @Override
+  public void replaceStateInCaches(
+      AbstractState oldState, AbstractState newState, boolean oldStateMustExist) {
+    if (oldState.equals(newState)) {
+      return; // nothing to do
+    }
+    final BlockExitData entry = expandedStateToBlockExit.remove(oldState);
+    if (entry != null) {
+      expandedStateToBlockExit.put(newState, entry);
+    } else {
+      assert !oldStateMustExist : "no data for state " + oldState;
+    }
+  }
+
+  @Override
+  public BAMCacheEntry createAndRegisterNewReachedSet(
+      AbstractState initialState, Precision initialPrecision, Block context) {
+    return bamCache.put(
+        initialState, initialPrecision, context, createReachedSet(initialState, initialPrecision));
+  }
+
+  /**
+   * Return the cache entry for the given block entry if it exists, otherwise create a new
+   * reached-set with the given state as root and register it in the cache. This is atomic, i.e.,
+   * if several threads request the same missing block, only one reached-set is created.
+   */
+  public BAMCacheEntry getOrCreateReachedSet(
+      AbstractState initialState, Precision initialPrecision, Block context) {
+    return bamCache.getOrCreate(
+        initialState,
+        initialPrecision,
+        context,
+        () -> createReachedSet(initialState, initialPrecision));
+  }
+
+  private ReachedSet createReachedSet(AbstractState initialState, Precision initialPrecision) {
+    final ReachedSet reached = reachedSetFactory.create(bamCpa);
+    reached.add(initialState, initialPrecision);
+    return reached;
+  }
+
+  @Override
+  public ReachedSetFactory getReachedSetFactory() {
+    return reachedSetFactory;
+  }
+
+  @Override
+  public void registerExpandedState(
+      AbstractState expandedState,
+      Precision expandedPrecision,
+      AbstractState reducedState,
+      Block innerBlock) {
+    BlockExitData previousValue =
+        expandedStateToBlockExit.put(
+            expandedState, new BlockExitData(reducedState, innerBlock, expandedPrecision));
+    assert previousValue == null
+        : "expanded state was registered before with data " + previousValue;
+  }
+
+  @Override
+  public boolean alreadyReturnedFromSameBlock(AbstractState state, Block block) {
+    BlockExitData data = expandedStateToBlockExit.get(state);
+    while (data != null) {
+      if (block == data.block) {
+        return true;
+      }
+      data = expandedStateToBlockExit.get(data.reducedState);
+    }
+    return false;
+  }
+
+  @Override
+  public AbstractState getInnermostState(AbstractState state) {
+    BlockExitData data = expandedStateToBlockExit.get(state);
+    while (data != null) {
+      state = data.reducedState;
+      data = expandedStateToBlockExit.get(state);
+    }
+    return state;
+  }
+
+  @Override
+  public List<AbstractState> getExpandedStatesList(AbstractState state) {
+    List<AbstractState> lst = new ArrayList<>();
+    BlockExitData data;
+    while ((data = expandedStateToBlockExit.get(state)) != null) {
+      lst.add(state);
+      state = data.reducedState;
+    }
+    return Lists.reverse(lst);
+  }
+
+  @Override
+  public void registerInitialState(
+      AbstractState initialState, AbstractState exitState, ReachedSet reachedSet) {
+    ReachedSet oldReachedSet =
+        initialStateToReachedSet
+            .computeIfAbsent(initialState, k -> new ConcurrentHashMap<>())
+            .put(exitState, reachedSet);
+    if (oldReachedSet != null && oldReachedSet != reachedSet) {
+      logger.logf(
+          Level.ALL,
+          "New root state %s with exit state %s overrides old reachedset %s with new reachedset %s.",
+          initialState,
+          exitState,
+          oldReachedSet.getFirstState(),
+          reachedSet.getFirstState());
+    }
+    reducedToNonReduced
+        .computeIfAbsent(reachedSet.getFirstState(), k -> ConcurrentHashMap.newKeySet())
+        .add(initialState);
+  }
+
+  @Override
+  public ReachedSet getReachedSetForInitialState(
+      AbstractState initialState, AbstractState exitState) {
+    Map<AbstractState, ReachedSet> exitStateToReachedSet =
+        initialStateToReachedSet.get(initialState);
+    assert exitStateToReachedSet != null && exitStateToReachedSet.containsKey(exitState)
+        : "no block matching states: " + initialState + " -> " + exitState;
+    ReachedSet reached = checkNotNull(exitStateToReachedSet.get(exitState));
+    assert reached.contains(exitState)
+        : "reachedset should contain exit state for block: " + exitState;
+    return reached;
+  }
+
+  @Override
+  public boolean hasInitialState(AbstractState state) {
+    Map<AbstractState, ReachedSet> exitStateToReachedSet = initialStateToReachedSet.get(state);
+    return exitStateToReachedSet != null && !exitStateToReachedSet.isEmpty();
+  }
+
+  @Override
+  public ImmutableSet<AbstractState> getNonReducedInitialStates(AbstractState pReducedState) {
+    Set<AbstractState> nonReduced = reducedToNonReduced.get(pReducedState);
+    return nonReduced == null ? ImmutableSet.of() : ImmutableSet.copyOf(nonReduced);
+  }
+
+  @Override
+  public AbstractState getReducedStateForExpandedState(AbstractState state) {
+    assert hasExpandedState(state) : "no match for state: " + state;
+    return expandedStateToBlockExit.get(state).reducedState;
+  }
+
+  @Override
+  public Block getInnerBlockForExpandedState(AbstractState state) {
+    assert hasExpandedState(state) : "no match for state: " + state;
+    return expandedStateToBlockExit.get(state).block;
+  }
+
+  @Override
+  public boolean hasExpandedState(AbstractState state) {
+    return expandedStateToBlockExit.containsKey(state);
+  }
+
+  @Override
+  public BAMCacheConcurrent getCache() {
+    return bamCache;
+  }
+
+  @Override
+  public @Nullable Precision getExpandedPrecisionForState(AbstractState pState) {
+    final BlockExitData data = expandedStateToBlockExit.get(pState);
+    return data == null ? null : data.expandedPrecision;
+  }
+
+  @Override
+  public void clear() {
+    initialStateToReachedSet.clear();
+    expandedStateToBlockExit.clear();
+    bamCache.clear();
+    reducedToNonReduced.clear();
+  }
+
+  @Override
+  public boolean addUncachedBlockEntry(CFANode pNode) {
+    // Not sure how the option works with ParallelBAM
+    return true;
+  }
+
+  @Override
+  public boolean isUncachedBlockEntry(CFANode pNode) {
+    // Not sure how the option works with ParallelBAM
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "BAM DATA MANAGER (%d initial states, %d expanded states)",
+        initialStateToReachedSet.size(), expandedStateToBlockExit.size());
+  }
+}
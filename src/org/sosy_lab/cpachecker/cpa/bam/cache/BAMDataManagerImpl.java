@@ -19,6 +19,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Table;
 import com.google.common.collect.Table.Cell;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -102,6 +103,22 @@ public class BAMDataManagerImpl implements BAMDataManager {
     bamCache = pArgCache;
     reachedSetFactory = pReachedSetFactory;
     logger = pLogger;
+    bamCache.registerEvictionListener(this::removeEvictedStates);
+  }
+
+  /**
+   * Remove the data of states that were removed from the reached-set of an evicted block. Such
+   * states can be expanded states of nested blocks or non-reduced initial states of nested blocks.
+   */
+  private void removeEvictedStates(Collection<? extends AbstractState> pStates) {
+    for (AbstractState state : pStates) {
+      expandedStateToBlockExit.remove(state);
+      Map<AbstractState, ReachedSet> nestedReachedSets = initialStateToReachedSet.row(state);
+      for (ReachedSet reached : nestedReachedSets.values()) {
+        reducedToNonReduced.remove(reached.getFirstState(), state);
+      }
+      nestedReachedSets.clear();
+    }
   }
 
   /**
@@ -0,0 +1,615 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.bam.cache;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.sosy_lab.common.collect.Collections3.transformedImmutableListCopy;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.cfa.model.ADeclarationEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
+import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.automaton.Automaton;
+import org.sosy_lab.cpachecker.cpa.callstack.CallstackState;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeState;
+import org.sosy_lab.cpachecker.cpa.location.LocationState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Persistent storage for summaries of blocks, such that blocks do not need to be analyzed again in
+ * a later run of the analysis on the same program.
+ *
+ * <p>A summary consists of the reduced entry state of a block and the reduced exit states that were
+ * computed for it. Summaries are grouped by a fingerprint of the block, which is computed from the
+ * nodes and edges of the block, and the whole store is only valid for the configuration (and the
+ * specification and global declarations of the program) with which it was written. Thus a changed
+ * block or a changed configuration invalidates the respective summaries. The nodes of the block
+ * are identified by their position in the block, both in the fingerprint and in the stored
+ * location and callstack states, such that a block stays valid if only the code before it changes
+ * and thus the global node numbers change. The precision is not stored: a summary is reused for
+ * any precision, like aggressive caching does within one run.
+ *
+ * <p>Only summaries of completely analyzed blocks that do not contain target states are stored,
+ * and the abstract states need to be {@link Serializable}. Because the reached set of a reused
+ * summary contains only the entry state and the exit states, it cannot provide paths through the
+ * block. If a counterexample passes through a reused summary, the summary is discarded and the
+ * block is analyzed again.
+ */
+@Options(prefix = "cpa.bam.summaries")
+public class BAMSummaryStore {
+
+  private static final String FORMAT_VERSION = "CPAchecker BAM summaries 3";
+
+  /**
+   * Options that do not influence the result of the analysis of a block, because they control only
+   * output, statistics, or resource limits. The specification is represented by its automata
+   * instead of the names of its files, and the program by the fingerprints of its blocks.
+   */
+  private static final Pattern IRRELEVANT_OPTIONS =
+      Pattern.compile(
+          "analysis\\.programNames|specification"
+              + "|(output|log|statistics|limits|report|cpa\\.bam\\.summaries)\\..*"
+              + "|.*\\.export(\\..*)?");
+
+  @Option(
+      name = "file",
+      description =
+          "File in which summaries of completely analyzed blocks are stored at the end of the"
+              + " analysis. If the file exists, it is read at the beginning, and the summaries of"
+              + " blocks whose code did not change are reused instead of analyzing these blocks"
+              + " again. The summaries are only reused with the same configuration. Like other"
+              + " output files, the file is placed in the output directory.")
+  // the file is read and written, the latter needs the handling of output files
+  @FileOption(FileOption.Type.OUTPUT_FILE)
+  private @Nullable Path file = null;
+
+  private final LogManager logger;
+  private final ReachedSetFactory reachedSetFactory;
+  private final ConfigurableProgramAnalysis cpa;
+  private final String configurationFingerprint;
+
+  /** Serialized summaries, grouped by the fingerprint of their block. */
+  private final Map<String, List<StoredSummary>> storedSummaries = new LinkedHashMap<>();
+
+  /** Deserialized summaries of the blocks that were requested in this run. */
+  private final Map<Block, List<BlockSummary>> summariesForBlock = new HashMap<>();
+
+  private final Map<Block, BlockLayout> blockLayouts = new HashMap<>();
+
+  private int loadedSummaries = 0;
+  private final StatCounter invalidSummaries =
+      new StatCounter("Number of loaded summaries that could not be restored");
+  private final StatCounter reusedSummaries = new StatCounter("Number of reused summaries");
+  private final StatCounter discardedSummaries =
+      new StatCounter("Number of reused summaries discarded for refinement");
+  private final StatCounter writtenSummaries = new StatCounter("Number of stored summaries");
+  private final StatCounter nonSerializableSummaries =
+      new StatCounter("Number of summaries with non-serializable states");
+
+  public BAMSummaryStore(
+      Configuration pConfig,
+      LogManager pLogger,
+      CFA pCfa,
+      Specification pSpecification,
+      ReachedSetFactory pReachedSetFactory,
+      ConfigurableProgramAnalysis pCpa)
+      throws InvalidConfigurationException {
+    pConfig.inject(this);
+    logger = pLogger;
+    reachedSetFactory = pReachedSetFactory;
+    cpa = pCpa;
+    if (file == null) {
+      configurationFingerprint = "";
+    } else {
+      configurationFingerprint = computeConfigurationFingerprint(pConfig, pSpecification, pCfa);
+      if (Files.exists(file)) {
+        load();
+      }
+    }
+  }
+
+  public boolean isEnabled() {
+    return file != null;
+  }
+
+  private static String computeConfigurationFingerprint(
+      Configuration pConfig, Specification pSpecification, CFA pCfa) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    // the properties string has one sorted line "key = value" per option
+    for (String line : Splitter.on('\n').omitEmptyStrings().split(pConfig.asPropertiesString())) {
+      String key = Splitter.on('=').trimResults().split(line).iterator().next();
+      if (!IRRELEVANT_OPTIONS.matcher(key).matches()) {
+        hasher.putString(line, UTF_8);
+      }
+    }
+    for (Automaton automaton : pSpecification.getSpecificationAutomata()) {
+      hasher.putString(automaton.toString(), UTF_8);
+    }
+    // global declarations influence the analysis of all blocks, but belong to only one block
+    for (CFANode node : ImmutableSortedSet.copyOf(pCfa.getAllNodes())) {
+      for (ADeclarationEdge edge : CFAUtils.leavingEdges(node).filter(ADeclarationEdge.class)) {
+        if (edge.getDeclaration().isGlobal()) {
+          hasher.putString(edge.getDeclaration().toASTString(), UTF_8);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private BlockLayout getLayout(Block pBlock) {
+    return blockLayouts.computeIfAbsent(pBlock, BlockLayout::new);
+  }
+
+  private void load() {
+    try (ObjectInputStream in =
+        new ObjectInputStream(new GZIPInputStream(Files.newInputStream(file)))) {
+      if (!FORMAT_VERSION.equals(in.readUTF())
+          || !configurationFingerprint.equals(in.readUTF())) {
+        logger.log(
+            Level.INFO,
+            "Ignoring block summaries in",
+            file,
+            "because they were computed with a different configuration.");
+        return;
+      }
+      @SuppressWarnings("unchecked")
+      Map<String, List<StoredSummary>> loaded = (Map<String, List<StoredSummary>>) in.readObject();
+      for (Map.Entry<String, List<StoredSummary>> entry : loaded.entrySet()) {
+        storedSummaries.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        loadedSummaries += entry.getValue().size();
+      }
+      logger.log(Level.INFO, "Loaded", loadedSummaries, "block summaries from", file);
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      logger.logUserException(Level.WARNING, e, "Could not read block summaries");
+    }
+  }
+
+  /**
+   * Return the summaries that were loaded for the given block. The states of the summaries are
+   * restored on the first request for a block, and summaries that cannot be restored or that do
+   * not fit to the block are ignored.
+   */
+  List<BlockSummary> getSummaries(Block pBlock) {
+    if (storedSummaries.isEmpty()) {
+      return ImmutableList.of();
+    }
+    return summariesForBlock.computeIfAbsent(pBlock, this::restoreSummaries);
+  }
+
+  private List<BlockSummary> restoreSummaries(Block pBlock) {
+    BlockLayout layout = getLayout(pBlock);
+    List<StoredSummary> stored = storedSummaries.get(layout.fingerprint);
+    if (stored == null) {
+      return new ArrayList<>();
+    }
+    List<BlockSummary> result = new ArrayList<>(stored.size());
+    for (StoredSummary summary : stored) {
+      try {
+        AbstractState entryState = deserialize(summary.entryState, layout);
+        List<AbstractState> exitStates = new ArrayList<>(summary.exitStates.size());
+        for (byte[] exitState : summary.exitStates) {
+          AbstractState state = deserialize(exitState, layout);
+          CFANode location = AbstractStates.extractLocation(state);
+          if (location == null || !pBlock.isReturnNode(location)) {
+            throw new IOException("exit state does not belong to the block: " + state);
+          }
+          exitStates.add(state);
+        }
+        result.add(new BlockSummary(summary, new ARGState(entryState, null), exitStates));
+      } catch (IOException | ClassNotFoundException | ClassCastException e) {
+        logger.logDebugException(e, "Could not restore block summary");
+        invalidSummaries.inc();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create a reached set that represents the given summary. Its root is the given reduced entry
+   * state, and the exit states of the summary are direct children of the root.
+   */
+  ReachedSet createReachedSet(BlockSummary pSummary, ARGState pRoot, Precision pPrecision) {
+    ReachedSet reached = reachedSetFactory.create(cpa);
+    reached.addNoWaitlist(pRoot, pPrecision);
+    for (AbstractState exitState : pSummary.exitStates) {
+      reached.addNoWaitlist(new ARGState(exitState, pRoot), pPrecision);
+    }
+    reusedSummaries.inc();
+    return reached;
+  }
+
+  /** Remove a summary that is not sufficient for the analysis, such that it is not stored again. */
+  void discard(Block pBlock, BlockSummary pSummary) {
+    discardedSummaries.inc();
+    summariesForBlock.getOrDefault(pBlock, new ArrayList<>()).remove(pSummary);
+    List<StoredSummary> stored = storedSummaries.get(getLayout(pBlock).fingerprint);
+    if (stored != null) {
+      stored.remove(pSummary.stored);
+    }
+  }
+
+  /**
+   * Add the summary of a completely analyzed block that does not contain target states. The states
+   * are expected to be {@link ARGState}s.
+   */
+  void add(Block pBlock, AbstractState pEntryState, Collection<AbstractState> pExitStates) {
+    checkState(isEnabled());
+    try {
+      List<byte[]> exitStates = new ArrayList<>(pExitStates.size());
+      BlockLayout layout = getLayout(pBlock);
+      for (AbstractState exitState : pExitStates) {
+        exitStates.add(serialize(((ARGState) exitState).getWrappedState(), layout));
+      }
+      StoredSummary summary =
+          new StoredSummary(
+              serialize(((ARGState) pEntryState).getWrappedState(), layout), exitStates);
+      storedSummaries.computeIfAbsent(layout.fingerprint, k -> new ArrayList<>()).add(summary);
+      writtenSummaries.inc();
+    } catch (IOException e) {
+      // typically a NotSerializableException of one of the wrapped states
+      logger.logDebugException(e, "Could not serialize block summary");
+      nonSerializableSummaries.inc();
+    }
+  }
+
+  /** Write all summaries, i.e., the loaded ones that are still valid and the added ones. */
+  void write() {
+    checkState(isEnabled());
+    Map<String, List<StoredSummary>> summaries = new LinkedHashMap<>(storedSummaries);
+    summaries.values().removeIf(List::isEmpty);
+    try {
+      MoreFiles.createParentDirectories(file);
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+        out.writeUTF(FORMAT_VERSION);
+        out.writeUTF(configurationFingerprint);
+        out.writeObject(summaries);
+      }
+    } catch (IOException e) {
+      logger.logUserException(Level.WARNING, e, "Could not write block summaries");
+    }
+  }
+
+  private static byte[] serialize(AbstractState pState, BlockLayout pLayout) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new StateOutputStream(bytes, pLayout)) {
+      // location states replace themselves before replaceObject is called for them
+      out.writeObject(pLayout.replaceNodes(pState));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static AbstractState deserialize(byte[] pBytes, BlockLayout pLayout)
+      throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new StateInputStream(new ByteArrayInputStream(pBytes), pLayout)) {
+      return (AbstractState) in.readObject();
+    }
+  }
+
+  void printStatistics(PrintStream pOut) {
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put("Block summaries from file", file)
+        .beginLevel()
+        .put("Number of loaded summaries", loadedSummaries)
+        .put(invalidSummaries)
+        .put(reusedSummaries)
+        .put(discardedSummaries)
+        .put(writtenSummaries)
+        .put(nonSerializableSummaries);
+  }
+
+  /**
+   * The nodes of a block in the order of a depth-first traversal from its call nodes, and the
+   * fingerprint of the block. The position of a node in this order identifies the node
+   * independently of its global number, which changes whenever code before the block changes.
+   */
+  private static final class BlockLayout {
+
+    private final ImmutableList<CFANode> nodes;
+    private final ImmutableMap<CFANode, Integer> positions;
+    private final String fingerprint;
+
+    private BlockLayout(Block pBlock) {
+      Set<CFANode> visited = new LinkedHashSet<>();
+      Deque<CFANode> waitlist = new ArrayDeque<>();
+      // blocks typically have one call node, the order of several ones is that of their numbers
+      for (CFANode callNode : ImmutableSortedSet.copyOf(pBlock.getCallNodes()).descendingSet()) {
+        waitlist.push(callNode);
+      }
+      while (!waitlist.isEmpty()) {
+        CFANode node = waitlist.pop();
+        if (visited.add(node)) {
+          ImmutableList<CFANode> successors =
+              CFAUtils.allSuccessorsOf(node).filter(pBlock.getNodes()::contains).toList();
+          // push in reverse order, such that the first successor is visited first
+          successors.reverse().forEach(waitlist::push);
+        }
+      }
+      // nodes that are unreachable from the call nodes are unusual, but need to be contained
+      visited.addAll(ImmutableSortedSet.copyOf(pBlock.getNodes()));
+      nodes = ImmutableList.copyOf(visited);
+      ImmutableMap.Builder<CFANode, Integer> positionsBuilder =
+          ImmutableMap.builderWithExpectedSize(nodes.size());
+      for (int i = 0; i < nodes.size(); i++) {
+        positionsBuilder.put(nodes.get(i), i);
+      }
+      positions = positionsBuilder.build();
+      fingerprint = computeFingerprint(pBlock);
+    }
+
+    private String computeFingerprint(Block pBlock) {
+      Hasher hasher = Hashing.sha256().newHasher();
+      for (CFANode node : nodes) {
+        hasher.putString(node.getFunctionName(), UTF_8);
+        hasher.putBoolean(pBlock.isCallNode(node)).putBoolean(pBlock.isReturnNode(node));
+        hasher.putInt(CFAUtils.allLeavingEdges(node).size());
+        for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+          // successors outside of the block, e.g., of function calls, are identified by function
+          CFANode successor = edge.getSuccessor();
+          hasher
+              .putInt(positions.getOrDefault(successor, -1))
+              .putString(successor.getFunctionName(), UTF_8)
+              .putString(edge.getEdgeType().name(), UTF_8)
+              .putString(edge.getCode(), UTF_8);
+        }
+      }
+      return hasher.hash().toString();
+    }
+
+    private NodeReference reference(CFANode pNode) {
+      return new NodeReference(positions.getOrDefault(pNode, -1), pNode.getNodeNumber());
+    }
+
+    private CFANode resolve(NodeReference pReference) throws InvalidObjectException {
+      CFANode node =
+          pReference.position >= 0
+              ? nodes.get(pReference.position)
+              : GlobalInfo.getInstance()
+                  .getCFAInfo()
+                  .orElseThrow()
+                  .getNodeByNodeNumber(pReference.nodeNumber);
+      if (node == null) {
+        throw new InvalidObjectException("unknown node N" + pReference.nodeNumber);
+      }
+      return node;
+    }
+
+    /**
+     * Replace location and callstack states, also as components of composite states, by their
+     * serialized form with references to nodes.
+     */
+    private Object replaceNodes(Object pObj) {
+      if (pObj instanceof CompositeState) {
+        return new SerializedCompositeState(
+            transformedImmutableListCopy(
+                ((CompositeState) pObj).getWrappedStates(), this::replaceNodes));
+      } else if (pObj instanceof LocationState) {
+        return new SerializedLocationState(reference(((LocationState) pObj).getLocationNode()));
+      } else if (pObj instanceof CallstackState) {
+        CallstackState callstack = (CallstackState) pObj;
+        return new SerializedCallstackState(
+            callstack.getPreviousState() == null
+                ? null
+                : replaceNodes(callstack.getPreviousState()),
+            callstack.getCurrentFunction(),
+            reference(callstack.getCallNode()));
+      }
+      return pObj;
+    }
+
+    /** Restore the states that were replaced by {@link #replaceNodes(Object)}. */
+    private Object restoreNodes(Object pObj) throws InvalidObjectException {
+      if (pObj instanceof SerializedCompositeState) {
+        return new CompositeState(
+            transformedImmutableListCopy(
+                ((SerializedCompositeState) pObj).states, AbstractState.class::cast));
+      } else if (pObj instanceof SerializedLocationState) {
+        return GlobalInfo.getInstance()
+            .getCFAInfo()
+            .orElseThrow()
+            .getLocationStateFactory()
+            .getState(resolve(((SerializedLocationState) pObj).location));
+      } else if (pObj instanceof SerializedCallstackState) {
+        SerializedCallstackState callstack = (SerializedCallstackState) pObj;
+        return new CallstackState(
+            (CallstackState) callstack.previousState,
+            callstack.function,
+            resolve(callstack.callNode));
+      }
+      return pObj;
+    }
+  }
+
+  /**
+   * Writes the states of a summary such that the nodes of the block are identified by their
+   * position in the block instead of their global number. Other nodes and the nodes in states that
+   * are not known to this class keep their global numbers.
+   */
+  private static final class StateOutputStream extends ObjectOutputStream {
+
+    private final BlockLayout layout;
+
+    private StateOutputStream(OutputStream pOut, BlockLayout pLayout) throws IOException {
+      super(pOut);
+      layout = pLayout;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object pObj) {
+      return layout.replaceNodes(pObj);
+    }
+  }
+
+  /** Reads states written by {@link StateOutputStream} for the same block in the current CFA. */
+  private static final class StateInputStream extends ObjectInputStream {
+
+    private final BlockLayout layout;
+
+    private StateInputStream(InputStream pIn, BlockLayout pLayout) throws IOException {
+      super(pIn);
+      layout = pLayout;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(Object pObj) throws IOException {
+      // nested objects are resolved first, e.g., the previous state of a callstack state
+      return layout.restoreNodes(pObj);
+    }
+  }
+
+  /** A node, identified by its position in the block or, if outside the block, its number. */
+  private static final class NodeReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int position;
+    private final int nodeNumber;
+
+    private NodeReference(int pPosition, int pNodeNumber) {
+      position = pPosition;
+      nodeNumber = pNodeNumber;
+    }
+  }
+
+  private static final class SerializedLocationState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final NodeReference location;
+
+    private SerializedLocationState(NodeReference pLocation) {
+      location = pLocation;
+    }
+  }
+
+  private static final class SerializedCallstackState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // a SerializedCallstackState when written, and the restored CallstackState when read
+    private final @Nullable Object previousState;
+    private final String function;
+    private final NodeReference callNode;
+
+    private SerializedCallstackState(
+        @Nullable Object pPreviousState, String pFunction, NodeReference pCallNode) {
+      previousState = pPreviousState;
+      function = pFunction;
+      callNode = pCallNode;
+    }
+  }
+
+  private static final class SerializedCompositeState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // the serialized forms of the components when written, and the restored ones when read
+    private final ImmutableList<Object> states;
+
+    private SerializedCompositeState(ImmutableList<Object> pStates) {
+      states = pStates;
+    }
+  }
+
+  /**
+   * Serialized form of a summary. The states are serialized individually, such that a state that
+   * cannot be restored only invalidates its own summary.
+   */
+  private static final class StoredSummary implements Serializable {
+
+    private static final long serialVersionUID = 3L;
+
+    private final byte[] entryState;
+    private final List<byte[]> exitStates;
+
+    private StoredSummary(byte[] pEntryState, List<byte[]> pExitStates) {
+      entryState = pEntryState;
+      exitStates = new ArrayList<>(pExitStates);
+    }
+  }
+
+  /** A restored summary with the wrapped states (i.e., without the ARG) of the summary. */
+  static final class BlockSummary {
+
+    private final StoredSummary stored;
+    private final ARGState entryState;
+    private final ImmutableList<AbstractState> exitStates;
+
+    private BlockSummary(
+        StoredSummary pStored, ARGState pEntryState, Collection<AbstractState> pExitStates) {
+      stored = pStored;
+      entryState = pEntryState;
+      exitStates = ImmutableList.copyOf(pExitStates);
+    }
+
+    /** The entry state of the summary, wrapped into an ARG state without parents. */
+    ARGState getEntryState() {
+      return entryState;
+    }
+
+    ImmutableList<AbstractState> getExitStates() {
+      return exitStates;
+    }
+  }
+}
@@ -0,0 +1,243 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.bam.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.converters.FileTypeConverter;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.core.AnalysisDirection;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
+import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.bam.cache.BAMSummaryStore.BlockSummary;
+import org.sosy_lab.cpachecker.cpa.callstack.CallstackState;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeState;
+import org.sosy_lab.cpachecker.cpa.location.LocationState;
+import org.sosy_lab.cpachecker.cpa.location.LocationStateFactory;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class BAMSummaryStoreTest {
+
+  private static final String FUNCTION = "f";
+
+  private static final ImmutableList<String> PROGRAM =
+      ImmutableList.of(
+          "int h(int y) {",
+          "  return y;",
+          "}",
+          "int f(int x) {",
+          "  if (x > 0) {",
+          "    return x;",
+          "  }",
+          "  return 0;",
+          "}",
+          "int main() {",
+          "  int a = h(1);",
+          "  return f(a);",
+          "}");
+
+  /** The program with more code in a function before the block of {@link #FUNCTION}. */
+  private static final ImmutableList<String> PROGRAM_WITH_CHANGE_BEFORE_BLOCK =
+      ImmutableList.of(
+          "int h(int y) {",
+          "  y = y + 1;",
+          "  if (y > 2) {",
+          "    y = y * 2;",
+          "  }",
+          "  return y;",
+          "}",
+          "int f(int x) {",
+          "  if (x > 0) {",
+          "    return x;",
+          "  }",
+          "  return 0;",
+          "}",
+          "int main() {",
+          "  int a = h(1);",
+          "  return f(a);",
+          "}");
+
+  /** The program with a change in the block of {@link #FUNCTION}. */
+  private static final ImmutableList<String> PROGRAM_WITH_CHANGE_IN_BLOCK =
+      ImmutableList.of(
+          "int h(int y) {",
+          "  return y;",
+          "}",
+          "int f(int x) {",
+          "  if (x > 1) {",
+          "    return x;",
+          "  }",
+          "  return 0;",
+          "}",
+          "int main() {",
+          "  int a = h(1);",
+          "  return f(a);",
+          "}");
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final LogManager logger = LogManager.createTestLogManager();
+
+  private CFA cfa;
+
+  private ConfigurationBuilder configurationBuilder() throws Exception {
+    FileTypeConverter fileTypeConverter =
+        FileTypeConverter.create(
+            Configuration.builder()
+                .setOption("rootDirectory", tempFolder.getRoot().toString())
+                .build());
+    return Configuration.builder()
+        .addConverter(FileOption.class, fileTypeConverter)
+        .setOption("cpa.bam.summaries.file", "summaries.ser.gz");
+  }
+
+  /** Parse the program and return the block of {@link #FUNCTION}. */
+  private Block parse(List<String> pProgram) throws Exception {
+    cfa = TestDataTools.makeCFA(pProgram.toArray(new String[0]));
+    GlobalInfo.getInstance().storeCFA(cfa);
+    GlobalInfo.getInstance()
+        .getCFAInfo()
+        .orElseThrow()
+        .storeLocationStateFactory(
+            new LocationStateFactory(
+                cfa, AnalysisDirection.FORWARD, Configuration.defaultConfiguration()));
+
+    FunctionEntryNode entryNode = cfa.getFunctionHead(FUNCTION);
+    return new Block(
+        ImmutableSet.of(),
+        ImmutableSet.of(entryNode),
+        ImmutableSet.of(entryNode.getExitNode()),
+        FluentIterable.from(cfa.getAllNodes())
+            .filter(node -> node.getFunctionName().equals(FUNCTION)));
+  }
+
+  private BAMSummaryStore createStore(Configuration pConfig) throws Exception {
+    return new BAMSummaryStore(
+        pConfig,
+        logger,
+        cfa,
+        Specification.alwaysSatisfied(),
+        new ReachedSetFactory(pConfig, logger),
+        mock(ConfigurableProgramAnalysis.class));
+  }
+
+  private static ARGState createState(CFANode pLocation, CFANode pCallNode) {
+    LocationState location =
+        GlobalInfo.getInstance()
+            .getCFAInfo()
+            .orElseThrow()
+            .getLocationStateFactory()
+            .getState(pLocation);
+    CallstackState callstack = new CallstackState(null, FUNCTION, pCallNode);
+    return new ARGState(new CompositeState(ImmutableList.of(location, callstack)), null);
+  }
+
+  /** Store a summary of the block from its call node to its return node, and write the store. */
+  private void storeSummary(Configuration pConfig, Block pBlock) throws Exception {
+    BAMSummaryStore store = createStore(pConfig);
+    CFANode callNode = pBlock.getCallNode();
+    CFANode returnNode = Iterables.getOnlyElement(pBlock.getReturnNodes());
+    store.add(
+        pBlock,
+        createState(callNode, callNode),
+        ImmutableList.of(createState(returnNode, callNode)));
+    store.write();
+  }
+
+  private static void checkRestoredSummary(BlockSummary pSummary, Block pBlock) {
+    CFANode callNode = pBlock.getCallNode();
+    CFANode returnNode = Iterables.getOnlyElement(pBlock.getReturnNodes());
+    assertThat(AbstractStates.extractLocation(pSummary.getEntryState())).isSameInstanceAs(callNode);
+
+    AbstractState exitState = Iterables.getOnlyElement(pSummary.getExitStates());
+    assertThat(AbstractStates.extractLocation(exitState)).isSameInstanceAs(returnNode);
+    CallstackState callstack = AbstractStates.extractStateByType(exitState, CallstackState.class);
+    assertThat(callstack.getCurrentFunction()).isEqualTo(FUNCTION);
+    assertThat(callstack.getCallNode()).isSameInstanceAs(callNode);
+    assertThat(callstack.getPreviousState()).isNull();
+  }
+
+  @Test
+  public void testSummaryIsRestored() throws Exception {
+    Configuration config = configurationBuilder().build();
+    Block block = parse(PROGRAM);
+    storeSummary(config, block);
+
+    List<BlockSummary> summaries = createStore(config).getSummaries(block);
+
+    checkRestoredSummary(Iterables.getOnlyElement(summaries), block);
+  }
+
+  @Test
+  public void testSummaryIsRestoredWithNewNodeNumbers() throws Exception {
+    Configuration config = configurationBuilder().build();
+    Block oldBlock = parse(PROGRAM);
+    storeSummary(config, oldBlock);
+
+    Block block = parse(PROGRAM_WITH_CHANGE_BEFORE_BLOCK);
+    assertThat(block.getCallNode().getNodeNumber())
+        .isNotEqualTo(oldBlock.getCallNode().getNodeNumber());
+    List<BlockSummary> summaries = createStore(config).getSummaries(block);
+
+    checkRestoredSummary(Iterables.getOnlyElement(summaries), block);
+  }
+
+  @Test
+  public void testSummaryOfChangedBlockIsIgnored() throws Exception {
+    Configuration config = configurationBuilder().build();
+    storeSummary(config, parse(PROGRAM));
+
+    Block block = parse(PROGRAM_WITH_CHANGE_IN_BLOCK);
+
+    assertThat(createStore(config).getSummaries(block)).isEmpty();
+  }
+
+  @Test
+  public void testSummaryOfOtherConfigurationIsIgnored() throws Exception {
+    storeSummary(configurationBuilder().build(), parse(PROGRAM));
+
+    Configuration otherConfig =
+        configurationBuilder().setOption("analysis.traversal.order", "BFS").build();
+    Block block = parse(PROGRAM);
+
+    assertThat(createStore(otherConfig).getSummaries(block)).isEmpty();
+  }
+
+  @Test
+  public void testOutputOptionsDoNotInvalidateSummaries() throws Exception {
+    storeSummary(configurationBuilder().build(), parse(PROGRAM));
+
+    Configuration otherConfig =
+        configurationBuilder().setOption("statistics.memory", "false").build();
+    Block block = parse(PROGRAM);
+
+    assertThat(createStore(otherConfig).getSummaries(block)).hasSize(1);
+  }
+}
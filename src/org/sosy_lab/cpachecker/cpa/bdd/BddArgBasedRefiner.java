@@ -37,7 +37,7 @@ import org.sosy_lab.cpachecker.util.states.MemoryLocation;
 /**
  * Refiner implementation that delegates to {@link ValueAnalysisPathInterpolator}.
  */
-class BddArgBasedRefiner implements ARGBasedRefiner, Statistics, StatisticsProvider {
+class BddArgBasedRefiner implements ARGBasedRefiner, Statistics, StatisticsProvider, AutoCloseable {
 
   /**
    * refiner used for value-analysis interpolation refinement
@@ -126,6 +126,11 @@ class BddArgBasedRefiner implements ARGBasedRefiner, Statistics, StatisticsProvi
     pStatsCollection.add(interpolatingRefiner);
   }
 
+  @Override
+  public void close() {
+    interpolatingRefiner.close();
+  }
+
   @Override
   public String getName() {
     return "BddDelegatingRefiner";
@@ -50,6 +50,8 @@ public abstract class BddRefiner implements Refiner {
         new ValueAnalysisPathInterpolator(
             feasibilityChecker,
             strongestPostOperator,
+            ValueAnalysisPathInterpolator.componentsFactory(
+                logger, cfa, Configuration.defaultConfiguration(), config),
             new ValueAnalysisPrefixProvider(logger, cfa, config, shutdownNotifier),
             config,
             logger,
@@ -82,6 +82,15 @@ public final class CompositeCPA
               + " be a list.")
   private boolean aggregateBasicBlocks = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Intern the component states that support this and the tuples of component states of"
+              + " composite states, such that equal states share memory and can be compared by"
+              + " reference. Tuples are only shared if they consist of the same component"
+              + " instances.")
+  private boolean internStates = false;
+
   private static class CompositeCPAFactory extends AbstractCPAFactory {
 
     private CFA cfa = null;
@@ -126,6 +135,7 @@ public final class CompositeCPA
   private final ImmutableList<ConfigurableProgramAnalysis> cpas;
   private final CFA cfa;
   private final Supplier<MergeOperator> mergeSupplier;
+  private final CompositeStateInterner interner;
 
   private CompositeCPA(
       Configuration config, CFA pCfa, ImmutableList<ConfigurableProgramAnalysis> cpas)
@@ -134,6 +144,7 @@ public final class CompositeCPA
     this.cfa = pCfa;
     this.cpas = cpas;
     mergeSupplier = buildMergeOperatorSupplier();
+    interner = CompositeStateInterner.create(internStates);
   }
 
   @Override
@@ -147,7 +158,8 @@ public final class CompositeCPA
     return new CompositeTransferRelation(
         transformedImmutableListCopy(cpas, ConfigurableProgramAnalysis::getTransferRelation),
         cfa,
-        aggregateBasicBlocks);
+        aggregateBasicBlocks,
+        interner);
   }
 
   @Override
@@ -224,7 +236,7 @@ public final class CompositeCPA
           simplePrecisionAdjustments);
 
     } else {
-      return new CompositePrecisionAdjustment(precisionAdjustments);
+      return new CompositePrecisionAdjustment(precisionAdjustments, interner);
     }
   }
 
@@ -250,7 +262,7 @@ public final class CompositeCPA
       initialStates.add(sp.getInitialState(pNode, pPartition));
     }
 
-    return new CompositeState(initialStates.build());
+    return interner.createState(initialStates.build());
   }
 
   @Override
@@ -269,6 +281,9 @@ public final class CompositeCPA
     from(cpas)
         .filter(StatisticsProvider.class)
         .forEach(cpa -> cpa.collectStatistics(pStatsCollection));
+    if (interner.isEnabled()) {
+      pStatsCollection.add(interner);
+    }
   }
 
   @Override
@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableList;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractDomain;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Internable;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 
 import java.util.List;
@@ -44,9 +45,20 @@ class CompositeDomain implements AbstractDomain {
     Preconditions.checkState(comp1Elements.size() == comp2Elements.size());
     Preconditions.checkState(comp1Elements.size() == domains.size());
 
+    if (comp1Elements == comp2Elements) {
+      // interned tuples of component states, the relation is reflexive
+      return true;
+    }
+
     for (int idx = 0; idx < comp1Elements.size(); idx++) {
       AbstractDomain domain = domains.get(idx);
-      if (!domain.isLessOrEqual(comp1Elements.get(idx), comp2Elements.get(idx))) {
+      AbstractState element1 = comp1Elements.get(idx);
+      AbstractState element2 = comp2Elements.get(idx);
+      if (element1 == element2 && element1 instanceof Internable) {
+        // interned component states, the relation is reflexive
+        continue;
+      }
+      if (!domain.isLessOrEqual(element1, element2)) {
         return false;
       }
     }
@@ -24,9 +24,12 @@ import org.sosy_lab.cpachecker.exceptions.CPAException;
 class CompositePrecisionAdjustment implements PrecisionAdjustment {
   private final ImmutableList<PrecisionAdjustment> precisionAdjustments;
   private final ImmutableList<Function<AbstractState, AbstractState>> stateProjectionFunctions;
+  private final CompositeStateInterner interner;
 
-  CompositePrecisionAdjustment(ImmutableList<PrecisionAdjustment> precisionAdjustments) {
+  CompositePrecisionAdjustment(
+      ImmutableList<PrecisionAdjustment> precisionAdjustments, CompositeStateInterner interner) {
     this.precisionAdjustments = precisionAdjustments;
+    this.interner = interner;
 
     ImmutableList.Builder<Function<AbstractState, AbstractState>> stateProjections =
         ImmutableList.builder();
@@ -90,7 +93,7 @@ class CompositePrecisionAdjustment implements PrecisionAdjustment {
       outPrecisions.add(newPrecision);
     }
 
-    CompositeState outElement = modified ? new CompositeState(outElements.build()) : comp;
+    CompositeState outElement = modified ? interner.createState(outElements.build()) : comp;
     CompositePrecision outPrecision =
         modified ? new CompositePrecision(outPrecisions.build()) : prec;
     Optional<CompositeState> outElementStrengthened = callStrengthen(outElement, outPrecision);
@@ -22,8 +22,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractWrapperState;
+import org.sosy_lab.cpachecker.core.interfaces.CoverageIndexable;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
 import org.sosy_lab.cpachecker.core.interfaces.PseudoPartitionable;
@@ -32,15 +34,24 @@ import org.sosy_lab.cpachecker.cpa.arg.Splitable;
 
 public class CompositeState
     implements AbstractWrapperState, Targetable, Partitionable, PseudoPartitionable, Serializable,
-        Graphable, Splitable {
+        Graphable, Splitable, CoverageIndexable {
   private static final long serialVersionUID = -5143296331663510680L;
   private final ImmutableList<AbstractState> states;
   private transient Object partitionKey; // lazily initialized
   private transient Comparable<?> pseudoPartitionKey; // lazily initialized
   private transient Object pseudoHashCode; // lazily initialized
 
+  // keeps the entry of the tuple in the intern table alive, cf. CompositeStateInterner
+  private final transient @Nullable Object internedTuple;
+
   public CompositeState(List<AbstractState> elements) {
     this.states = ImmutableList.copyOf(elements);
+    internedTuple = null;
+  }
+
+  CompositeState(ImmutableList<AbstractState> pStates, Object pInternedTuple) {
+    states = pStates;
+    internedTuple = pInternedTuple;
   }
 
   int getNumberOfStates() {
@@ -184,6 +195,21 @@ public class CompositeState
     return pseudoHashCode;
   }
 
+  @Override
+  public long getCoverageSignature() {
+    // not cached, because the signatures of mutable components may change
+    long signature = 0;
+    int i = 0;
+    for (AbstractState element : states) {
+      // A composite state is covered only if all components are covered, so combining the
+      // component signatures is sound. Rotating them (which preserves the subset relation
+      // between signatures) avoids that all components use the same bits.
+      signature |= Long.rotateLeft(CoverageIndexable.getCoverageSignature(element), 13 * i);
+      i++;
+    }
+    return signature;
+  }
+
   private static final class CompositePartitionKey {
 
     private final Object[] keys;
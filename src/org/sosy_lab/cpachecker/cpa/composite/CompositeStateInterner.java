@@ -0,0 +1,155 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.composite;
+
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
+
+import com.google.common.base.Equivalence;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.io.PrintStream;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Internable;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Factory for {@link CompositeState}s that hash-conses the component states that are {@link
+ * Internable} and the tuples of component states, such that equal component states and equal
+ * tuples share memory. The intern tables only keep weak references and are thread-safe.
+ *
+ * <p>Tuples are compared by the identity of their components: components that are not {@link
+ * Internable} may be equal without being interchangeable (e.g., automaton states, whose equality
+ * ignores their candidate invariants and matches), so only tuples of the same component instances
+ * are shared. This also avoids hashing the components deeply.
+ *
+ * <p>The {@link CompositeState} itself is not interned, because it is used as an object with
+ * identity (e.g., as wrapped state of exactly one ARG state).
+ */
+final class CompositeStateInterner implements Statistics {
+
+  private static final CompositeStateInterner DISABLED = new CompositeStateInterner(false);
+
+  private final boolean enabled;
+
+  private final @Nullable Interner<AbstractState> componentInterner;
+  private final @Nullable Interner<ComponentTuple> tupleInterner;
+
+  private final StatCounter componentRequests = new StatCounter("Interned component states");
+  private final StatCounter newComponents =
+      new StatCounter("Component states added to intern table");
+  private final StatCounter tupleRequests = new StatCounter("Interned tuples of component states");
+  private final StatCounter newTuples = new StatCounter("Tuples added to intern table");
+
+  private CompositeStateInterner(boolean pEnabled) {
+    enabled = pEnabled;
+    componentInterner = pEnabled ? Interners.newWeakInterner() : null;
+    tupleInterner = pEnabled ? Interners.newWeakInterner() : null;
+  }
+
+  static CompositeStateInterner create(boolean pEnabled) {
+    return pEnabled ? new CompositeStateInterner(true) : DISABLED;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Create a {@link CompositeState} with the given components, which may be interned. */
+  CompositeState createState(List<AbstractState> pComponents) {
+    if (!enabled) {
+      return new CompositeState(pComponents);
+    }
+
+    ImmutableList.Builder<AbstractState> components =
+        ImmutableList.builderWithExpectedSize(pComponents.size());
+    for (AbstractState component : pComponents) {
+      components.add(component instanceof Internable ? intern(component) : component);
+    }
+    ComponentTuple tuple = new ComponentTuple(components.build());
+    ComponentTuple internedTuple = tupleInterner.intern(tuple);
+    tupleRequests.inc();
+    if (internedTuple == tuple) {
+      newTuples.inc();
+    }
+    // the state references the interned tuple, such that it stays in the weak intern table
+    return new CompositeState(internedTuple.components, internedTuple);
+  }
+
+  private AbstractState intern(AbstractState pComponent) {
+    AbstractState interned = componentInterner.intern(pComponent);
+    componentRequests.inc();
+    if (interned == pComponent) {
+      newComponents.inc();
+    }
+    return interned;
+  }
+
+  /** Key of the tuple intern table that compares components by identity. */
+  private static final class ComponentTuple {
+
+    private static final Equivalence<Iterable<AbstractState>> IDENTITY =
+        Equivalence.identity().pairwise();
+
+    private final ImmutableList<AbstractState> components;
+    private final int hashCode;
+
+    private ComponentTuple(ImmutableList<AbstractState> pComponents) {
+      components = pComponents;
+      hashCode = IDENTITY.hash(pComponents);
+    }
+
+    @Override
+    public boolean equals(Object pObj) {
+      if (this == pObj) {
+        return true;
+      }
+      if (!(pObj instanceof ComponentTuple)) {
+        return false;
+      }
+      ComponentTuple other = (ComponentTuple) pObj;
+      return hashCode == other.hashCode && IDENTITY.equivalent(components, other.components);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put(componentRequests)
+        .beginLevel()
+        .put(newComponents)
+        .put("Deduplicated component states", deduplicationRatio(componentRequests, newComponents))
+        .endLevel()
+        .put(tupleRequests)
+        .beginLevel()
+        .put(newTuples)
+        .put("Deduplicated tuples", deduplicationRatio(tupleRequests, newTuples));
+  }
+
+  private static String deduplicationRatio(StatCounter pRequests, StatCounter pNew) {
+    long requests = pRequests.getValue();
+    return toPercent(requests - pNew.getValue(), requests);
+  }
+
+  @Override
+  public String getName() {
+    return "Interning of composite states";
+  }
+}
@@ -0,0 +1,87 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.composite;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.cpa.loopbound.LoopBoundState;
+
+public class CompositeStateInternerTest {
+
+  /** State that is equal to all other instances, but not interchangeable with them. */
+  private static final class EqualState implements AbstractState {
+
+    @Override
+    public boolean equals(Object pObj) {
+      return pObj instanceof EqualState;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+  }
+
+  private final CompositeStateInterner interner = CompositeStateInterner.create(true);
+
+  @Test
+  public void testInternableComponentsAreShared() {
+    LoopBoundState first = new LoopBoundState();
+    LoopBoundState second = new LoopBoundState();
+    assertThat(second).isEqualTo(first);
+
+    CompositeState state1 = interner.createState(ImmutableList.of(first));
+    CompositeState state2 = interner.createState(ImmutableList.of(second));
+
+    assertThat(state2.getWrappedStates().get(0)).isSameInstanceAs(first);
+    assertThat(state2.getWrappedStates()).isSameInstanceAs(state1.getWrappedStates());
+  }
+
+  @Test
+  public void testEqualComponentsThatAreNotInternableAreKept() {
+    LoopBoundState loopBoundState = new LoopBoundState();
+    EqualState first = new EqualState();
+    EqualState second = new EqualState();
+
+    CompositeState state1 = interner.createState(ImmutableList.of(loopBoundState, first));
+    CompositeState state2 = interner.createState(ImmutableList.of(loopBoundState, second));
+
+    assertThat(state1.getWrappedStates().get(1)).isSameInstanceAs(first);
+    assertThat(state2.getWrappedStates().get(1)).isSameInstanceAs(second);
+    assertThat(state2.getWrappedStates()).isNotSameInstanceAs(state1.getWrappedStates());
+  }
+
+  @Test
+  public void testTuplesOfSameComponentsAreShared() {
+    LoopBoundState loopBoundState = new LoopBoundState();
+    EqualState component = new EqualState();
+
+    CompositeState state1 = interner.createState(ImmutableList.of(loopBoundState, component));
+    CompositeState state2 = interner.createState(ImmutableList.of(loopBoundState, component));
+
+    assertThat(state2).isNotSameInstanceAs(state1);
+    assertThat(state2.getWrappedStates()).isSameInstanceAs(state1.getWrappedStates());
+  }
+
+  @Test
+  public void testDisabledInternerDoesNotShareComponents() {
+    LoopBoundState first = new LoopBoundState();
+    LoopBoundState second = new LoopBoundState();
+    CompositeStateInterner disabled = CompositeStateInterner.create(false);
+
+    CompositeState state1 = disabled.createState(ImmutableList.of(first));
+    CompositeState state2 = disabled.createState(ImmutableList.of(second));
+
+    assertThat(state1.getWrappedStates().get(0)).isSameInstanceAs(first);
+    assertThat(state2.getWrappedStates().get(0)).isSameInstanceAs(second);
+  }
+}
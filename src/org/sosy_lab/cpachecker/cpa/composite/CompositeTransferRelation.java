@@ -57,10 +57,15 @@ final class CompositeTransferRelation implements WrapperTransferRelation {
   private final int size;
   private final boolean predicatesPresent;
   private final boolean aggregateBasicBlocks;
+  private final CompositeStateInterner interner;
 
   CompositeTransferRelation(
-      ImmutableList<TransferRelation> pTransferRelations, CFA pCFA, boolean pAggregateBasicBlocks) {
+      ImmutableList<TransferRelation> pTransferRelations,
+      CFA pCFA,
+      boolean pAggregateBasicBlocks,
+      CompositeStateInterner pInterner) {
     transferRelations = pTransferRelations;
+    interner = pInterner;
     cfa = pCFA;
     size = pTransferRelations.size();
     aggregateBasicBlocks = pAggregateBasicBlocks;
@@ -122,7 +127,7 @@ final class CompositeTransferRelation implements WrapperTransferRelation {
 
     for (List<AbstractState> successor :
         createCartesianProduct(allComponentsSuccessors, resultCount)) {
-      compositeSuccessors.add(new CompositeState(successor));
+      compositeSuccessors.add(interner.createState(successor));
     }
   }
 
@@ -259,7 +264,7 @@ final class CompositeTransferRelation implements WrapperTransferRelation {
 
       // finally, create a CompositeState for each result of strengthen
       for (List<AbstractState> lList : lResultingElements) {
-        compositeSuccessors.add(new CompositeState(lList));
+        compositeSuccessors.add(interner.createState(lList));
       }
     }
   }
@@ -19,11 +19,12 @@ import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
+import org.sosy_lab.cpachecker.core.interfaces.Internable;
 import org.sosy_lab.cpachecker.util.CFAUtils;
 
 /** Represents one abstract state of the FunctionPointer CPA. */
 public class FunctionPointerState
-    implements LatticeAbstractState<FunctionPointerState>, Serializable, Graphable {
+    implements LatticeAbstractState<FunctionPointerState>, Serializable, Graphable, Internable {
 
   private static final long serialVersionUID = -1951853216031911649L;
 
@@ -14,6 +14,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.Objects;
 import java.util.Set;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Internable;
 import org.sosy_lab.cpachecker.core.interfaces.LoopIterationReportingState;
 import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
 import org.sosy_lab.cpachecker.core.interfaces.conditions.AvoidanceReportingState;
@@ -27,7 +28,11 @@ import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 
 public class LoopBoundState
-    implements AbstractState, Partitionable, AvoidanceReportingState, LoopIterationReportingState {
+    implements AbstractState,
+        Partitionable,
+        AvoidanceReportingState,
+        LoopIterationReportingState,
+        Internable {
 
   private final LoopStack loopStack;
 
@@ -59,7 +59,8 @@ import org.sosy_lab.cpachecker.util.states.MemoryLocation;
  * and if this fails, optionally delegates also to {@link PredicateCPARefiner}.
  */
 @Options(prefix="cpa.octagon.refiner")
-class OctagonArgBasedDelegatingRefiner implements ARGBasedRefiner, Statistics, StatisticsProvider {
+class OctagonArgBasedDelegatingRefiner
+    implements ARGBasedRefiner, Statistics, StatisticsProvider, AutoCloseable {
 
   /**
    * refiner used for value-analysis interpolation refinement
@@ -239,6 +240,11 @@ class OctagonArgBasedDelegatingRefiner implements ARGBasedRefiner, Statistics, S
     pStatsCollection.add(interpolatingRefiner);
   }
 
+  @Override
+  public void close() {
+    interpolatingRefiner.close();
+  }
+
   @Override
   public String getName() {
     return "OctagonAnalysisDelegatingRefiner";
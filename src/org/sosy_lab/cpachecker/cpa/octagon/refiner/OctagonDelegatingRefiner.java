@@ -51,6 +51,8 @@ public abstract class OctagonDelegatingRefiner implements Refiner {
         new ValueAnalysisPathInterpolator(
             valueChecker,
             valuePostOp,
+            ValueAnalysisPathInterpolator.componentsFactory(
+                logger, cfa, Configuration.defaultConfiguration(), config),
             new ValueAnalysisPrefixProvider(logger, cfa, config, shutdownNotifier),
             config,
             logger,
@@ -19,6 +19,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Internable;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.ExplicitLocationSet;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.LocationSet;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.LocationSetBot;
@@ -29,7 +30,7 @@ import org.sosy_lab.cpachecker.util.states.MemoryLocation;
  * Instances of this class are pointer states that are used as abstract elements
  * in the pointer CPA.
  */
-public class PointerState implements AbstractState {
+public class PointerState implements AbstractState, Internable {
 
   /**
    * The initial empty pointer state.
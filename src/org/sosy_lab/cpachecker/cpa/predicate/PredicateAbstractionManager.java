@@ -14,6 +14,8 @@ import static com.google.common.base.Predicates.equalTo;
 import com.google.common.base.Functions;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -27,8 +29,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -48,6 +48,7 @@ import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantSupplier;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantSupplier.TrivialInvariantSupplier;
 import org.sosy_lab.cpachecker.cpa.callstack.CallstackStateEqualsWrapper;
+import org.sosy_lab.cpachecker.cpa.predicate.PredicateAbstractionStatistics.CacheStatistics;
 import org.sosy_lab.cpachecker.cpa.predicate.persistence.PredicateAbstractionsStorage;
 import org.sosy_lab.cpachecker.cpa.predicate.persistence.PredicateAbstractionsStorage.AbstractionNode;
 import org.sosy_lab.cpachecker.util.Pair;
@@ -103,16 +104,18 @@ public class PredicateAbstractionManager {
 
   private boolean abstractionReuseDisabledBecauseOfAmbiguity = false;
 
-  private final Map<Pair<BooleanFormula, ImmutableSet<BooleanFormula>>, AbstractionFormula>
+  // The caches are bounded by options.getCacheSize() (if not negative)
+  // and evict the least recently used entries.
+  private final Cache<Pair<BooleanFormula, ImmutableSet<BooleanFormula>>, AbstractionFormula>
       abstractionCache;
 
   // Cache for satisfiability queries: if formula is contained, it is unsat
-  private final Set<BooleanFormula> unsatisfiabilityCache;
+  private final Cache<BooleanFormula, Boolean> unsatisfiabilityCache;
 
   //cache for cartesian abstraction queries. For each predicate, the values
   // are -1: predicate is false, 0: predicate is don't care,
   // 1: predicate is true
-  private final Map<Pair<BooleanFormula, AbstractionPredicate>, Byte> cartesianAbstractionCache;
+  private final Cache<Pair<BooleanFormula, AbstractionPredicate>, Byte> cartesianAbstractionCache;
 
   // Statistics
   private final TimerWrapper trivialPredicatesTimer;
@@ -163,15 +166,15 @@ public class PredicateAbstractionManager {
     }
 
     if (options.isUseCache()) {
-      abstractionCache = new HashMap<>();
-      unsatisfiabilityCache = new HashSet<>();
+      abstractionCache = createCache(stats.abstractionCacheStats);
+      unsatisfiabilityCache = createCache(stats.unsatisfiabilityCacheStats);
     } else {
       abstractionCache = null;
       unsatisfiabilityCache = null;
     }
 
     if (options.isUseCache() && (options.getAbstractionType() != AbstractionType.BOOLEAN)) {
-      cartesianAbstractionCache = new HashMap<>();
+      cartesianAbstractionCache = createCache(stats.cartesianAbstractionCacheStats);
     } else {
       cartesianAbstractionCache = null;
     }
@@ -189,6 +192,36 @@ public class PredicateAbstractionManager {
     abstractionBddConstructionTimer = stats.abstractionBddConstructionTime.getNewTimer();
   }
 
+  private <K, V> Cache<K, V> createCache(CacheStatistics pCacheStats) {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+    if (options.getCacheSize() >= 0) {
+      builder.maximumSize(options.getCacheSize());
+    }
+    return builder
+        .removalListener(
+            notification -> {
+              if (notification.wasEvicted()) {
+                pCacheStats.evictions.incrementAndGet();
+              }
+            })
+        .build();
+  }
+
+  /**
+   * Check whether one of the given formulas is known to be unsatisfiable. Each call counts as a
+   * single hit or miss of the cache, regardless of the number of formulas.
+   */
+  private boolean isCachedUnsat(BooleanFormula... pFormulas) {
+    for (BooleanFormula f : pFormulas) {
+      if (unsatisfiabilityCache.getIfPresent(f) != null) {
+        stats.unsatisfiabilityCacheStats.hits.incrementAndGet();
+        return true;
+      }
+    }
+    stats.unsatisfiabilityCacheStats.misses.incrementAndGet();
+    return false;
+  }
+
   /**
    * Compute an abstraction of a single boolean formula.
    * @param f The formula to be abstracted. Needs to be instantiated
@@ -232,8 +265,8 @@ public class PredicateAbstractionManager {
 
   public void clear() {
     if (options.isUseCache()) {
-      abstractionCache.clear();
-      unsatisfiabilityCache.clear();
+      abstractionCache.invalidateAll();
+      unsatisfiabilityCache.invalidateAll();
     }
   }
   /**
@@ -315,9 +348,10 @@ public class PredicateAbstractionManager {
           Collections3.transformedImmutableSetCopy(
               remainingPredicates, pred -> instantiator.apply(pred.getSymbolicAtom()));
       absKey = Pair.of(f, instantiatedPreds);
-      AbstractionFormula result = abstractionCache.get(absKey);
+      AbstractionFormula result = abstractionCache.getIfPresent(absKey);
 
       if (result != null) {
+        stats.abstractionCacheStats.hits.incrementAndGet();
         // create new abstraction object to have a unique abstraction id
 
         // instantiate the formula with the current indices
@@ -331,9 +365,9 @@ public class PredicateAbstractionManager {
         stats.numCallsAbstractionCached.incrementAndGet();
         return result;
       }
+      stats.abstractionCacheStats.misses.incrementAndGet();
 
-      boolean unsatisfiable = unsatisfiabilityCache.contains(symbFormula)
-                            || unsatisfiabilityCache.contains(f);
+      boolean unsatisfiable = isCachedUnsat(symbFormula, f);
       if (unsatisfiable) {
         // block is infeasible
         logger.log(
@@ -397,7 +431,7 @@ public class PredicateAbstractionManager {
       abstractionCache.put(absKey, result);
 
       if (result.isFalse()) {
-        unsatisfiabilityCache.add(f);
+        unsatisfiabilityCache.put(f, Boolean.TRUE);
       }
     }
 
@@ -441,7 +475,7 @@ public class PredicateAbstractionManager {
       return bfmgr.makeTrue();
     }
 
-    if (unsatisfiabilityCache.contains(pF)) {
+    if (options.isUseCache() && isCachedUnsat(pF)) {
       stats.numCallsAbstractionCached.incrementAndGet();
       return bfmgr.makeFalse();
     }
@@ -459,8 +493,8 @@ public class PredicateAbstractionManager {
       symbolicAbs = fmgr.simplify(symbolicAbs);
     }
 
-    if (bfmgr.isFalse(symbolicAbs)) {
-      unsatisfiabilityCache.add(pF);
+    if (options.isUseCache() && bfmgr.isFalse(symbolicAbs)) {
+      unsatisfiabilityCache.put(pF, Boolean.TRUE);
     }
 
     return symbolicAbs;
@@ -828,8 +862,17 @@ public class PredicateAbstractionManager {
       while (predicateIt.hasNext()) {
         final AbstractionPredicate p = predicateIt.next();
         Pair<BooleanFormula, AbstractionPredicate> cacheKey = Pair.of(f, p);
-        if (options.isUseCache() && cartesianAbstractionCache.containsKey(cacheKey)) {
-          byte predVal = cartesianAbstractionCache.get(cacheKey);
+        Byte cachedPredVal = null;
+        if (options.isUseCache()) {
+          cachedPredVal = cartesianAbstractionCache.getIfPresent(cacheKey);
+          if (cachedPredVal != null) {
+            stats.cartesianAbstractionCacheStats.hits.incrementAndGet();
+          } else {
+            stats.cartesianAbstractionCacheStats.misses.incrementAndGet();
+          }
+        }
+        if (cachedPredVal != null) {
+          byte predVal = cachedPredVal;
           stats.numCartesianAbsPredicatesCached.incrementAndGet();
 
           abstractionBddConstructionTimer.start();
@@ -11,6 +11,7 @@ package org.sosy_lab.cpachecker.cpa.predicate;
 import java.nio.file.Path;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -53,6 +54,15 @@ public class PredicateAbstractionManagerOptions {
   @Option(secure = true, name = "abs.useCache", description = "use caching of abstractions")
   private boolean useCache = true;
 
+  @Option(
+      secure = true,
+      name = "abs.cacheSize",
+      description =
+          "maximum number of entries in each of the abstraction caches, least recently used"
+              + " entries are evicted if the limit is reached (-1 for unbounded caches)")
+  @IntegerOption(min = -1)
+  private int cacheSize = -1;
+
   @Option(
       secure = true,
       name = "refinement.splitItpAtoms",
@@ -110,6 +120,10 @@ public class PredicateAbstractionManagerOptions {
     return useCache;
   }
 
+  int getCacheSize() {
+    return cacheSize;
+  }
+
   boolean isSplitItpAtoms() {
     return splitItpAtoms;
   }
@@ -65,5 +65,26 @@ public class PredicateAbstractionStatistics {
   long allSatCount = 0;
   int maxAllSatCount = 0;
 
+  final CacheStatistics abstractionCacheStats = new CacheStatistics();
+  final CacheStatistics unsatisfiabilityCacheStats = new CacheStatistics();
+  final CacheStatistics cartesianAbstractionCacheStats = new CacheStatistics();
+
   public PredicateAbstractionStatistics() {}
+
+  /** Hits, misses, and evictions (because of the size limit) of one of the abstraction caches. */
+  static final class CacheStatistics {
+    final AtomicInteger hits = new AtomicInteger(0);
+    final AtomicInteger misses = new AtomicInteger(0);
+    final AtomicInteger evictions = new AtomicInteger(0);
+
+    boolean wasUsed() {
+      return hits.get() > 0 || misses.get() > 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d hits, %d misses, %d evictions", hits.get(), misses.get(), evictions.get());
+    }
+  }
 }
\ No newline at end of file
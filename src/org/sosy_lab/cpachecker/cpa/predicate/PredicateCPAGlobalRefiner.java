@@ -14,6 +14,7 @@ import static org.sosy_lab.cpachecker.util.statistics.StatisticsWriter.writingSt
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.SetMultimap;
 import java.io.PrintStream;
 import java.util.ArrayDeque;
@@ -41,8 +42,11 @@ import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGCPA;
 import org.sosy_lab.cpachecker.cpa.arg.ARGReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.predicate.BlockFormulaStrategy.BlockFormulas;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.predicates.interpolation.CounterexampleTraceInfo;
+import org.sosy_lab.cpachecker.util.predicates.interpolation.InterpolationManager;
 import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
 import org.sosy_lab.cpachecker.util.predicates.smt.Solver;
 import org.sosy_lab.cpachecker.util.statistics.StatTimer;
@@ -59,7 +63,7 @@ import org.sosy_lab.java_smt.api.SolverException;
  * abstraction, this is left to an instance of {@link GlobalRefinementStrategy}.
  */
 @Options(prefix="cpa.predicate.refinement.global")
-public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
+public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider, AutoCloseable {
 
   @Option(secure = true,
           description = "Instead of updating precision and arg we say that the refinement was not successful"
@@ -76,6 +80,7 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
   private final LogManager logger;
   private final GlobalRefinementStrategy strategy;
   private final Solver solver;
+  private final InterpolationManager interpolationManager;
   private final BooleanFormulaManager bfmgr;
   private final ARGCPA argCPA;
 
@@ -84,6 +89,7 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
       final FormulaManagerView pFmgr,
       final GlobalRefinementStrategy pStrategy,
       final Solver pSolver,
+      final InterpolationManager pInterpolationManager,
       final ARGCPA pArgcpa,
       final Configuration pConfig) throws InvalidConfigurationException {
     pConfig.inject(this);
@@ -91,6 +97,7 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
     logger = pLogger;
     bfmgr = pFmgr.getBooleanFormulaManager();
     solver = pSolver;
+    interpolationManager = pInterpolationManager;
     strategy = pStrategy;
     argCPA = pArgcpa;
 
@@ -169,6 +176,10 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
     final ARGState root = (ARGState) pReached.asReachedSet().getFirstState();
     assert successors.containsKey(root);
 
+    if (interpolationManager.isParallelInterpolationEnabled()) {
+      return refinePathsSeparately(predecessors, pReached, targets);
+    }
+
     // Now predecessors/successors contains all abstraction states on all error
     // paths and their relations.
     // These states and the relation form a tree.
@@ -290,6 +301,71 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
     return Optional.empty();
   }
 
+  /**
+   * Perform refinement for the path to each target state separately. In contrast to {@link
+   * #step(Deque, List, SetMultimap, Map, ARGReachedSet, List, InterpolatingProverEnvironment)}, the
+   * paths are not explored together on one solver stack, but all of them are given to the {@link
+   * InterpolationManager}, which interpolates them in parallel. The interpolants are used for
+   * refinement afterwards in the order of the target states, such that the resulting precision does
+   * not depend on the scheduling of the threads.
+   *
+   * @param predecessors The predecessor relation between abstraction states.
+   * @param pReached The complete reached set.
+   * @param targets The set of target states.
+   * @return The feasible error location or absent
+   */
+  private Optional<ARGState> refinePathsSeparately(
+      final Map<ARGState, ARGState> predecessors,
+      final ARGReachedSet pReached,
+      final List<AbstractState> targets)
+      throws CPAException, InterruptedException {
+    List<List<ARGState>> abstractionStatesTraces = new ArrayList<>(targets.size());
+    List<BlockFormulas> traces = new ArrayList<>(targets.size());
+    for (AbstractState target : targets) {
+      // the trace starts after the root, because the root has no block formula
+      List<ARGState> abstractionStatesTrace = new ArrayList<>();
+      for (ARGState cur = (ARGState) target;
+          predecessors.containsKey(cur);
+          cur = predecessors.get(cur)) {
+        abstractionStatesTrace.add(cur);
+      }
+      abstractionStatesTrace = Lists.reverse(abstractionStatesTrace);
+      abstractionStatesTraces.add(abstractionStatesTrace);
+      traces.add(
+          new BlockFormulas(
+              Lists.transform(
+                  abstractionStatesTrace,
+                  state ->
+                      getPredicateState(state)
+                          .getAbstractionFormula()
+                          .getBlockFormula()
+                          .getFormula())));
+    }
+
+    interpolationTime.start();
+    List<CounterexampleTraceInfo> infos;
+    try {
+      infos = interpolationManager.buildCounterexampleTraces(traces);
+    } finally {
+      interpolationTime.stop();
+    }
+
+    for (int i = 0; i < targets.size(); i++) {
+      if (!infos.get(i).isSpurious()) {
+        // We have found a reachable target state, abort refinement.
+        logger.log(Level.FINE, "Found reachable target state", targets.get(i));
+        return Optional.of((ARGState) targets.get(i));
+      }
+    }
+
+    for (int i = 0; i < targets.size(); i++) {
+      // TODO repeated counterexample is always false currently, we also ignore the return value
+      strategy.performRefinement(
+          pReached, abstractionStatesTraces.get(i), infos.get(i).getInterpolants(), false);
+    }
+    return Optional.empty();
+  }
+
   /**
    * Actually perform refinement on one path. We compute the interpolants from
    * the first state to the unreachable one.
@@ -341,6 +417,11 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
     pStatsCollection.add(new Stats());
   }
 
+  @Override
+  public void close() {
+    interpolationManager.close();
+  }
+
   private class Stats implements Statistics {
 
     @Override
@@ -350,6 +431,9 @@ public class PredicateCPAGlobalRefiner implements Refiner, StatisticsProvider {
       w0.put("Number of predicate refinements", numberOfRefinements);
       if (numberOfRefinements > 0) {
         w0.put(totalTime).put(interpolationTime).put(satCheckTime);
+        if (interpolationManager.isParallelInterpolationEnabled()) {
+          interpolationManager.printStatistics(w0);
+        }
       }
     }
 
@@ -0,0 +1,114 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.predicate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.io.TempFile;
+import org.sosy_lab.common.io.TempFile.DeleteOnCloseFile;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class PredicateCPAGlobalRefinerTest {
+
+  private static final int THREADS = 4;
+
+  /** Program with several error locations that are all unreachable. */
+  private static final ImmutableList<String> SAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = __VERIFIER_nondet_int();",
+          "  int y = 0;",
+          "  int z = 0;",
+          "  if (x > 0) { y = 1; } else { y = 2; }",
+          "  if (x > 10) { z = y + 1; } else { z = y; }",
+          "  if (y == 0) { ERROR: return 1; }",
+          "  if (x > 0 && y != 1) { goto ERROR; }",
+          "  if (x <= 0 && y != 2) { goto ERROR; }",
+          "  if (x > 10 && z != 2) { goto ERROR; }",
+          "  if (z < 1) { goto ERROR; }",
+          "  return 0;",
+          "}");
+
+  /** Program with several error locations of which only one is reachable. */
+  private static final ImmutableList<String> UNSAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = __VERIFIER_nondet_int();",
+          "  int y = 0;",
+          "  if (x > 0) { y = 1; } else { y = 2; }",
+          "  if (y == 0) { ERROR: return 1; }",
+          "  if (x > 0 && y != 1) { goto ERROR; }",
+          "  if (x > 5 && y == 1) { goto ERROR; }",
+          "  return 0;",
+          "}");
+
+  private static CPAcheckerResult check(List<String> pProgram, int pThreads) throws Exception {
+    try (DeleteOnCloseFile programFile =
+        TempFile.builder().prefix("test").suffix(".c").createDeleteOnClose()) {
+      Files.write(programFile.toPath(), pProgram);
+
+      Configuration config =
+          TestDataTools.configurationForTest()
+              .loadFromFile("config/predicateAnalysis.properties")
+              .setOption("cegar.refiner", "cpa.predicate.PredicateGlobalRefiner")
+              .setOption("cegar.globalRefinement", "true")
+              .setOption("cpa.automaton.breakOnTargetState", "0")
+              .setOption(
+                  "cpa.predicate.refinement.parallelInterpolationThreads",
+                  Integer.toString(pThreads))
+              .build();
+
+      return CPATestRunner.run(config, programFile.toPath().toString()).getCheckerResult();
+    }
+  }
+
+  private static String getStatistics(CPAcheckerResult pResult) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+      pResult.printStatistics(printStream);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testParallelInterpolationOfSafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(SAFE_PROGRAM, 1);
+    CPAcheckerResult parallel = check(SAFE_PROGRAM, THREADS);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.TRUE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+
+    // check that the traces were actually interpolated in parallel
+    assertThat(getStatistics(sequential)).doesNotContain("Parallel interpolation of traces");
+    assertThat(getStatistics(parallel)).contains("Parallel interpolation of traces");
+  }
+
+  @Test
+  public void testParallelInterpolationOfUnsafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(UNSAFE_PROGRAM, 1);
+    CPAcheckerResult parallel = check(UNSAFE_PROGRAM, THREADS);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.FALSE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+    assertThat(parallel.getTargetDescription()).isEqualTo(sequential.getTargetDescription());
+  }
+}
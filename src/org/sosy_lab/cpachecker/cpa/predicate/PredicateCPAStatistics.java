@@ -276,6 +276,15 @@ class PredicateCPAStatistics implements Statistics {
     if (statistics.symbolicCoverageCheckTimer.getNumberOfIntervals() > 0) {
       out.println("  Symbolic coverage check:         " + statistics.symbolicCoverageCheckTimer.getNumberOfIntervals());
     }
+    if (as.abstractionCacheStats.wasUsed()) {
+      out.println("Abstraction cache:                 " + as.abstractionCacheStats);
+    }
+    if (as.unsatisfiabilityCacheStats.wasUsed()) {
+      out.println("Unsatisfiability cache:            " + as.unsatisfiabilityCacheStats);
+    }
+    if (as.cartesianAbstractionCacheStats.wasUsed()) {
+      out.println("Cartesian abstraction cache:       " + as.cartesianAbstractionCacheStats);
+    }
     out.println("Number of SMT sat checks:          " + solver.satChecks);
     out.println("  trivial:                         " + solver.trivialSatChecks);
     out.println("  cached:                          " + solver.cachedSatChecks);
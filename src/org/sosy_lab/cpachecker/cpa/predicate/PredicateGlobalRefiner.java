@@ -11,10 +11,12 @@ package org.sosy_lab.cpachecker.cpa.predicate;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.Refiner;
 import org.sosy_lab.cpachecker.cpa.arg.ARGCPA;
 import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.predicates.interpolation.InterpolationManager;
 import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
 import org.sosy_lab.cpachecker.util.predicates.smt.Solver;
 
@@ -35,11 +37,23 @@ public abstract class PredicateGlobalRefiner implements Refiner {
         new PredicateAbstractionGlobalRefinementStrategy(
             config, logger, predicateCpa.getPredicateManager(), solver);
 
+    CFA cfa = predicateCpa.getCfa();
+    InterpolationManager interpolationManager =
+        new InterpolationManager(
+            predicateCpa.getPathFormulaManager(),
+            solver,
+            cfa.getLoopStructure(),
+            cfa.getVarClassification(),
+            config,
+            predicateCpa.getShutdownNotifier(),
+            logger);
+
     return new PredicateCPAGlobalRefiner(
         logger,
         fmgr,
         strategy,
         solver,
+        interpolationManager,
         CPAs.retrieveCPAOrFail(pCpa, ARGCPA.class, PredicateGlobalRefiner.class),
         config);
   }
@@ -53,6 +53,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 import org.sosy_lab.cpachecker.cfa.types.c.CTypes;
 import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
+import org.sosy_lab.cpachecker.core.interfaces.CoverageIndexable;
 import org.sosy_lab.cpachecker.core.interfaces.ExpressionTreeReportingState;
 import org.sosy_lab.cpachecker.core.interfaces.FormulaReportingState;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
@@ -85,7 +86,7 @@ import org.sosy_lab.java_smt.api.FormulaType.FloatingPointType;
 public final class ValueAnalysisState
     implements AbstractQueryableState, FormulaReportingState, ExpressionTreeReportingState,
         ForgetfulState<ValueAnalysisInformation>, Serializable, Graphable,
-        LatticeAbstractState<ValueAnalysisState>, PseudoPartitionable {
+        LatticeAbstractState<ValueAnalysisState>, PseudoPartitionable, CoverageIndexable {
 
   private static final long serialVersionUID = -3152134511524554358L;
 
@@ -760,6 +761,22 @@ public final class ValueAnalysisState
     return this;
   }
 
+  /**
+   * The signature contains one bit for each pair of memory location and value of this state. Like
+   * {@link #isLessOrEqual(ValueAnalysisState)}, it ignores the types of the values. The signature
+   * is computed from the current assignment, so it changes when this state is modified.
+   */
+  @Override
+  public long getCoverageSignature() {
+    long signature = 0;
+    for (Entry<MemoryLocation, ValueAndType> entry : constantsMap.entrySet()) {
+      int hash = 31 * entry.getKey().hashCode() + entry.getValue().getValue().hashCode();
+      // use the upper bits of a multiplicative hash as index of the bit to set
+      signature |= 1L << ((hash * 0x9E3779B9) >>> 26);
+    }
+    return signature;
+  }
+
   @Override
   public ExpressionTree<Object> getFormulaApproximation(
       FunctionEntryNode pFunctionScope, CFANode pLocation) {
@@ -48,4 +48,21 @@ public class ValueAnalysisTest {
           "test/programs/simple/explicit/explicitIgnoreFeatureVars.c");
       results.assertIsSafe();
   }
+
+  @Test
+  public void coverageIndexTest() throws Exception {
+    // check whether the coverage index of the reached set does not change the result
+
+    Map<String, String> prop =
+        ImmutableMap.of(
+            "CompositeCPA.cpas",
+                "cpa.location.LocationCPA, cpa.callstack.CallstackCPA, cpa.value.ValueAnalysisCPA",
+            "specification", "config/specification/default.spc",
+            "ValueAnalysisCPA.precision.variableBlacklist", "somethingElse",
+            "analysis.reachedSet.coverageIndex", "true");
+
+    TestResults results =
+        CPATestRunner.run(prop, "test/programs/simple/explicit/explicitIgnoreFeatureVars.c");
+    results.assertIsSafe();
+  }
 }
@@ -67,6 +67,8 @@ public class ValueAnalysisGlobalRefiner extends ValueAnalysisRefiner {
     return new ValueAnalysisGlobalRefiner(
         checker,
         strongestPostOp,
+        ValueAnalysisPathInterpolator.componentsFactory(
+            logger, cfa, Configuration.defaultConfiguration(), config),
         new ValueAnalysisPrefixProvider(
             logger, cfa, config, valueAnalysisCpa.getShutdownNotifier()),
         new PrefixSelector(cfa.getVarClassification(), cfa.getLoopStructure(), logger),
@@ -79,6 +81,7 @@ public class ValueAnalysisGlobalRefiner extends ValueAnalysisRefiner {
   ValueAnalysisGlobalRefiner(
       final ValueAnalysisFeasibilityChecker pFeasibilityChecker,
       final StrongestPostOperator<ValueAnalysisState> pStrongestPostOperator,
+      final ValueAnalysisPathInterpolator.ComponentsFactory pComponentsFactory,
       final GenericPrefixProvider<ValueAnalysisState> pPrefixProvider,
       final PrefixSelector pPrefixSelector,
       final Configuration pConfig,
@@ -88,6 +91,7 @@ public class ValueAnalysisGlobalRefiner extends ValueAnalysisRefiner {
 
     super(pFeasibilityChecker,
         pStrongestPostOperator,
+        pComponentsFactory,
         new SortingPathExtractor(pPrefixProvider,
             pPrefixSelector,
             pLogger,
@@ -88,7 +88,10 @@ public class ValueAnalysisImpactRefiner extends AbstractARGBasedRefiner implemen
             logger, cfa, config, valueAnalysisCpa.getShutdownNotifier());
 
     ImpactDelegateRefiner delegate =
-        new ImpactDelegateRefiner(checker, strongestPostOperator, pathExtractor, prefixProvider,
+        new ImpactDelegateRefiner(checker, strongestPostOperator,
+            ValueAnalysisPathInterpolator.componentsFactory(
+                logger, cfa, Configuration.defaultConfiguration(), config),
+            pathExtractor, prefixProvider,
             config, logger, valueAnalysisCpa.getShutdownNotifier(), valueAnalysisCpa.getCFA());
 
     return new ValueAnalysisImpactRefiner(delegate, argCpa, logger);
@@ -176,6 +179,7 @@ public class ValueAnalysisImpactRefiner extends AbstractARGBasedRefiner implemen
     ImpactDelegateRefiner(
         final ValueAnalysisFeasibilityChecker pFeasibilityChecker,
         final StrongestPostOperator<ValueAnalysisState> pStrongestPostOperator,
+        final ValueAnalysisPathInterpolator.ComponentsFactory pComponentsFactory,
         final PathExtractor pPathExtractor,
         final GenericPrefixProvider<ValueAnalysisState> pPrefixProvider,
         final Configuration pConfig, final LogManager pLogger,
@@ -185,6 +189,7 @@ public class ValueAnalysisImpactRefiner extends AbstractARGBasedRefiner implemen
       super(pFeasibilityChecker,
           new ValueAnalysisPathInterpolator(pFeasibilityChecker,
               pStrongestPostOperator,
+              pComponentsFactory,
               pPrefixProvider,
               pConfig, pLogger, pShutdownNotifier, pCfa),
           ValueAnalysisInterpolantManager.getInstance(),
@@ -103,6 +103,30 @@ public final class ValueAnalysisInterpolant
     return new ValueAnalysisInterpolant(newAssignment);
   }
 
+  /**
+   * This method conjoins two value-analysis interpolants. In contrast to {@link #join}, the
+   * interpolants may contain different values for the same memory location, in which case their
+   * conjunction is contradicting, i.e., "false".
+   *
+   * @param other the value-analysis interpolant to conjoin with this one
+   * @return a new value-analysis interpolant representing the conjunction of this and the other
+   *     value-analysis interpolant
+   */
+  ValueAnalysisInterpolant conjoin(final ValueAnalysisInterpolant other) {
+    if (assignment == null || other.assignment == null) {
+      return ValueAnalysisInterpolant.FALSE;
+    }
+
+    for (Entry<MemoryLocation, ValueAndType> entry : other.assignment.entrySet()) {
+      ValueAndType value = assignment.get(entry.getKey());
+      if (value != null && !value.equals(entry.getValue())) {
+        return ValueAnalysisInterpolant.FALSE;
+      }
+    }
+
+    return join(other);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(assignment);
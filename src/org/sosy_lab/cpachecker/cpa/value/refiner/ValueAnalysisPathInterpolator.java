@@ -8,13 +8,28 @@
 
 package org.sosy_lab.cpachecker.cpa.value.refiner;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -22,6 +37,8 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
 import org.sosy_lab.cpachecker.cpa.arg.path.ARGPath;
 import org.sosy_lab.cpachecker.cpa.arg.path.PathIterator;
@@ -29,6 +46,7 @@ import org.sosy_lab.cpachecker.cpa.conditions.path.AssignmentsInPathCondition.Un
 import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
 import org.sosy_lab.cpachecker.cpa.value.refiner.utils.UseDefBasedInterpolator;
 import org.sosy_lab.cpachecker.cpa.value.refiner.utils.ValueAnalysisEdgeInterpolator;
+import org.sosy_lab.cpachecker.cpa.value.refiner.utils.ValueAnalysisFeasibilityChecker;
 import org.sosy_lab.cpachecker.cpa.value.refiner.utils.ValueAnalysisInterpolantManager;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.RefinementFailedException;
@@ -38,13 +56,19 @@ import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.refinement.FeasibilityChecker;
 import org.sosy_lab.cpachecker.util.refinement.GenericPathInterpolator;
 import org.sosy_lab.cpachecker.util.refinement.GenericPrefixProvider;
+import org.sosy_lab.cpachecker.util.refinement.InfeasiblePrefix;
 import org.sosy_lab.cpachecker.util.refinement.StrongestPostOperator;
 import org.sosy_lab.cpachecker.util.refinement.UseDefRelation;
 import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 
 @Options(prefix="cpa.value.refinement")
 public class ValueAnalysisPathInterpolator
-    extends GenericPathInterpolator<ValueAnalysisState, ValueAnalysisInterpolant> {
+    extends GenericPathInterpolator<ValueAnalysisState, ValueAnalysisInterpolant>
+    implements AutoCloseable {
 
   @Option(secure=true, description="whether to perform (more precise) edge-based interpolation or (more efficient) path-based interpolation")
   private boolean performEdgeBasedInterpolation = true;
@@ -57,6 +81,23 @@ public class ValueAnalysisPathInterpolator
   @Option(secure=true, description="whether or not to do lazy-abstraction")
   private boolean doLazyAbstraction = true;
 
+  @Option(
+      secure = true,
+      description =
+          "whether to interpolate all infeasible sliced prefixes of an error path instead of only"
+              + " the selected one, and to conjoin their interpolants, such that a single"
+              + " refinement eliminates all reasons of infeasibility. This is only used for"
+              + " edge-based interpolation with refinement selection.")
+  private boolean interpolateAllPrefixes = false;
+
+  @Option(
+      secure = true,
+      description =
+          "number of threads for interpolating all infeasible sliced prefixes of an error path in"
+              + " parallel, if cpa.value.refinement.interpolateAllPrefixes is enabled.")
+  @IntegerOption(min = 1)
+  private int prefixInterpolationThreads = 1;
+
   /**
    * a reference to the assignment-counting state, to make the precision increment aware of thresholds
    */
@@ -66,9 +107,55 @@ public class ValueAnalysisPathInterpolator
 
   private final ValueAnalysisInterpolantManager interpolantManager;
 
+  private final Configuration config;
+  private final LogManager logger;
+  private final ShutdownNotifier shutdownNotifier;
+  private final GenericPrefixProvider<ValueAnalysisState> prefixProvider;
+  private final ComponentsFactory componentsFactory;
+
+  // only initialized if prefixes are interpolated in parallel
+  private @Nullable ExecutorService prefixExecutor = null;
+  private final List<ValueAnalysisPathInterpolator> workers = new ArrayList<>();
+
+  private final StatCounter allPrefixInterpolations =
+      new StatCounter("Number of interpolations of all prefixes");
+  private final StatInt allPrefixes =
+      new StatInt(StatKind.SUM, "Number of prefixes interpolated together");
+
+  /**
+   * Factory for the strongest-post operator and the feasibility checker of the threads for parallel
+   * prefix interpolation. Each thread needs its own instances, because they are not thread-safe.
+   * The created instances need to behave like the ones given to the interpolator.
+   */
+  @FunctionalInterface
+  public interface ComponentsFactory {
+    Pair<StrongestPostOperator<ValueAnalysisState>, FeasibilityChecker<ValueAnalysisState>> create()
+        throws InvalidConfigurationException;
+  }
+
+  /**
+   * Return a factory that creates a {@link ValueAnalysisStrongestPostOperator} and a {@link
+   * ValueAnalysisFeasibilityChecker} with the given configurations.
+   */
+  public static ComponentsFactory componentsFactory(
+      final LogManager pLogger,
+      final CFA pCfa,
+      final Configuration pStrongestPostConfig,
+      final Configuration pFeasibilityCheckerConfig) {
+    return () -> {
+      StrongestPostOperator<ValueAnalysisState> strongestPost =
+          new ValueAnalysisStrongestPostOperator(pLogger, pStrongestPostConfig, pCfa);
+      return Pair.of(
+          strongestPost,
+          new ValueAnalysisFeasibilityChecker(
+              strongestPost, pLogger, pCfa, pFeasibilityCheckerConfig));
+    };
+  }
+
   public ValueAnalysisPathInterpolator(
       final FeasibilityChecker<ValueAnalysisState> pFeasibilityChecker,
       final StrongestPostOperator<ValueAnalysisState> pStrongestPostOperator,
+      final ComponentsFactory pComponentsFactory,
       final GenericPrefixProvider<ValueAnalysisState> pPrefixProvider,
       final Configuration pConfig,
       final LogManager pLogger,
@@ -92,6 +179,11 @@ public class ValueAnalysisPathInterpolator
     pConfig.inject(this);
     cfa = pCfa;
     interpolantManager = ValueAnalysisInterpolantManager.getInstance();
+    config = pConfig;
+    logger = pLogger;
+    shutdownNotifier = pShutdownNotifier;
+    prefixProvider = pPrefixProvider;
+    componentsFactory = pComponentsFactory;
   }
 
   @Override
@@ -100,7 +192,10 @@ public class ValueAnalysisPathInterpolator
       final ValueAnalysisInterpolant interpolant
   ) throws CPAException, InterruptedException {
 
-    if (performEdgeBasedInterpolation) {
+    if (performEdgeBasedInterpolation && isAllPrefixInterpolationEnabled()) {
+      return performAllPrefixInterpolation(errorPath, interpolant);
+
+    } else if (performEdgeBasedInterpolation) {
       return super.performInterpolation(errorPath, interpolant);
 
     } else {
@@ -121,6 +216,188 @@ public class ValueAnalysisPathInterpolator
     }
   }
 
+  private boolean isAllPrefixInterpolationEnabled() {
+    return interpolateAllPrefixes && isRefinementSelectionEnabled();
+  }
+
+  /**
+   * This method interpolates all infeasible sliced prefixes of the error path and conjoins their
+   * interpolants, instead of interpolating only the selected prefix. If more than one thread is
+   * configured, the prefixes are interpolated in parallel. Each thread uses its own instance of
+   * this class, because the strongest-post operator and the feasibility checker are not
+   * thread-safe.
+   *
+   * @param errorPath the error path to interpolate
+   * @param interpolant the initial interpolant
+   */
+  private Map<ARGState, ValueAnalysisInterpolant> performAllPrefixInterpolation(
+      final ARGPath errorPath, final ValueAnalysisInterpolant interpolant)
+      throws CPAException, InterruptedException {
+    totalInterpolations.inc();
+
+    interpolationOffset = -1;
+
+    List<InfeasiblePrefix> prefixes = extractInfeasibleSlicedPrefixes(errorPath, interpolant);
+
+    if (prefixes.size() < 2) {
+      // nothing to conjoin, proceed as for the selected prefix
+      ARGPath errorPathPrefix = selectPrefix(errorPath, prefixes);
+
+      timerInterpolation.start();
+
+      Map<ARGState, ValueAnalysisInterpolant> interpolants =
+          performEdgeBasedInterpolation(errorPathPrefix, interpolant);
+
+      timerInterpolation.stop();
+
+      propagateFalseInterpolant(errorPath, errorPathPrefix, interpolants);
+
+      return interpolants;
+    }
+
+    totalPrefixes.setNextValue(prefixes.size());
+    allPrefixInterpolations.inc();
+    allPrefixes.setNextValue(prefixes.size());
+
+    timerInterpolation.start();
+    try {
+      List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>> results =
+          prefixInterpolationThreads > 1
+              ? interpolatePrefixesInParallel(prefixes, interpolant)
+              : interpolatePrefixes(
+                  Lists.transform(prefixes, InfeasiblePrefix::getPath), interpolant);
+
+      // conjoin the interpolants of all prefixes in the order of the prefixes
+      interpolationOffset = -1;
+      Map<ARGState, ValueAnalysisInterpolant> interpolants = new LinkedHashMap<>();
+      for (int i = 0; i < prefixes.size(); i++) {
+        Map<ARGState, ValueAnalysisInterpolant> prefixInterpolants = results.get(i).getFirst();
+        propagateFalseInterpolant(errorPath, prefixes.get(i).getPath(), prefixInterpolants);
+        for (Map.Entry<ARGState, ValueAnalysisInterpolant> itp : prefixInterpolants.entrySet()) {
+          interpolants.merge(itp.getKey(), itp.getValue(), ValueAnalysisInterpolant::conjoin);
+        }
+
+        int offset = results.get(i).getSecond();
+        if (offset != -1 && (interpolationOffset == -1 || offset < interpolationOffset)) {
+          interpolationOffset = offset;
+        }
+      }
+      return interpolants;
+
+    } finally {
+      timerInterpolation.stop();
+    }
+  }
+
+  /**
+   * Interpolate the given prefixes with the worker threads.
+   *
+   * @return the interpolants and the interpolation offset of each prefix, in the order of the
+   *     prefixes
+   */
+  private List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>>
+      interpolatePrefixesInParallel(
+          final List<InfeasiblePrefix> prefixes, final ValueAnalysisInterpolant interpolant)
+          throws CPAException, InterruptedException {
+    initializeWorkers();
+
+    int threads = Math.min(prefixInterpolationThreads, prefixes.size());
+    List<List<ARGPath>> prefixesOfWorkers = new ArrayList<>(threads);
+    for (int w = 0; w < threads; w++) {
+      prefixesOfWorkers.add(new ArrayList<>());
+    }
+    for (int i = 0; i < prefixes.size(); i++) {
+      prefixesOfWorkers.get(i % threads).add(prefixes.get(i).getPath());
+    }
+
+    List<Future<List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>>>> futures =
+        new ArrayList<>(threads);
+    for (int w = 0; w < threads; w++) {
+      ValueAnalysisPathInterpolator worker = workers.get(w);
+      List<ARGPath> paths = prefixesOfWorkers.get(w);
+      futures.add(prefixExecutor.submit(() -> worker.interpolatePrefixes(paths, interpolant)));
+    }
+
+    // Wait for all workers, even if one fails, because they must not be used concurrently
+    // by the next refinement.
+    List<List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>>> resultsOfWorkers =
+        new ArrayList<>(threads);
+    Throwable failure = null;
+    for (Future<List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>>> future : futures) {
+      try {
+        resultsOfWorkers.add(Uninterruptibles.getUninterruptibly(future));
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure != null) {
+      Throwables.propagateIfPossible(failure, CPAException.class, InterruptedException.class);
+      throw new UnexpectedCheckedException("interpolation", failure);
+    }
+
+    List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>> results =
+        new ArrayList<>(prefixes.size());
+    for (int i = 0; i < prefixes.size(); i++) {
+      results.add(resultsOfWorkers.get(i % threads).get(i / threads));
+    }
+    return results;
+  }
+
+  /**
+   * Interpolate the given prefixes one after another. This method is called on this instance if
+   * prefixes are interpolated sequentially, and on the workers for the parallel interpolation.
+   *
+   * @return the interpolants and the interpolation offset of each prefix
+   */
+  private List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>> interpolatePrefixes(
+      final List<ARGPath> pPrefixes, final ValueAnalysisInterpolant pInterpolant)
+      throws CPAException, InterruptedException {
+    List<Pair<Map<ARGState, ValueAnalysisInterpolant>, Integer>> result =
+        new ArrayList<>(pPrefixes.size());
+    for (ARGPath prefix : pPrefixes) {
+      interpolationOffset = -1;
+      Map<ARGState, ValueAnalysisInterpolant> interpolants =
+          performEdgeBasedInterpolation(prefix, pInterpolant);
+      result.add(Pair.of(interpolants, interpolationOffset));
+    }
+    return result;
+  }
+
+  private void initializeWorkers() throws CPAException {
+    if (prefixExecutor != null) {
+      return;
+    }
+    try {
+      for (int i = 0; i < prefixInterpolationThreads; i++) {
+        Pair<StrongestPostOperator<ValueAnalysisState>, FeasibilityChecker<ValueAnalysisState>>
+            components = componentsFactory.create();
+        workers.add(
+            new ValueAnalysisPathInterpolator(
+                components.getSecond(),
+                components.getFirst(),
+                componentsFactory,
+                prefixProvider,
+                config,
+                logger,
+                shutdownNotifier,
+                cfa));
+      }
+    } catch (InvalidConfigurationException e) {
+      // should not happen, the configuration was already used for the refiner
+      throw new CPAException("Could not create interpolator for parallel interpolation", e);
+    }
+    // daemon threads, such that the executor does not prevent termination if it is not closed
+    prefixExecutor =
+        Executors.newFixedThreadPool(
+            prefixInterpolationThreads,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("PrefixInterpolation-%d")
+                .build());
+  }
+
   /**
    * This method performs interpolation on the complete path, based on the
    * use-def-relation. It creates fake interpolants that are not inductive.
@@ -159,6 +436,39 @@ public class ValueAnalysisPathInterpolator
     return getClass().getSimpleName();
   }
 
+  @Override
+  public void printStatistics(PrintStream out, Result result, UnmodifiableReachedSet reached) {
+    super.printStatistics(out, result, reached);
+
+    if (isAllPrefixInterpolationEnabled()) {
+      StatInt queriesOfWorkers =
+          new StatInt(StatKind.SUM, "Number of interpolation queries in parallel");
+      for (ValueAnalysisPathInterpolator worker : workers) {
+        queriesOfWorkers.add(worker.totalInterpolationQueries);
+      }
+      StatisticsWriter.writingStatisticsTo(out)
+          .beginLevel()
+          .put(allPrefixInterpolations)
+          .put(allPrefixes)
+          .putIf(prefixInterpolationThreads > 1, queriesOfWorkers);
+    }
+  }
+
+  /**
+   * Stop the threads for parallel prefix interpolation. This instance must not be used anymore
+   * afterwards, but its statistics can still be printed.
+   */
+  @Override
+  public void close() {
+    if (prefixExecutor != null) {
+      // all tasks are finished, because performAllPrefixInterpolation waits for them
+      prefixExecutor.shutdown();
+    }
+    for (ValueAnalysisPathInterpolator worker : workers) {
+      worker.close();
+    }
+  }
+
   public Multimap<CFANode, MemoryLocation> determinePrecisionIncrement(ARGPath errorPath)
       throws CPAException, InterruptedException {
 
@@ -0,0 +1,107 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.value.refiner;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.io.TempFile;
+import org.sosy_lab.common.io.TempFile.DeleteOnCloseFile;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class ValueAnalysisPathInterpolatorTest {
+
+  private static final int THREADS = 4;
+
+  /** Program whose error paths have several infeasible sliced prefixes. */
+  private static final ImmutableList<String> SAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = 1;",
+          "  int y = 2;",
+          "  int z = 3;",
+          "  if (__VERIFIER_nondet_int()) { x = 1; } else { y = 2; }",
+          "  if (x != 1) { if (y != 2) { if (z != 3) { ERROR: return 1; } } }",
+          "  if (y != 2) { if (z != 3) { goto ERROR; } }",
+          "  return 0;",
+          "}");
+
+  /** Program with an error path of several infeasible prefixes and a feasible one. */
+  private static final ImmutableList<String> UNSAFE_PROGRAM =
+      ImmutableList.of(
+          "extern int __VERIFIER_nondet_int();",
+          "int main() {",
+          "  int x = __VERIFIER_nondet_int();",
+          "  int y = 2;",
+          "  int z = 3;",
+          "  if (y != 2) { if (z != 3) { goto ERROR; } }",
+          "  if (x == 5) { if (z == 3) { ERROR: return 1; } }",
+          "  return 0;",
+          "}");
+
+  private static CPAcheckerResult check(List<String> pProgram, int pThreads) throws Exception {
+    try (DeleteOnCloseFile programFile =
+        TempFile.builder().prefix("test").suffix(".c").createDeleteOnClose()) {
+      Files.write(programFile.toPath(), pProgram);
+
+      Configuration config =
+          TestDataTools.configurationForTest()
+              .loadFromFile("config/valueAnalysis.properties")
+              .setOption("cpa.value.refinement.interpolateAllPrefixes", "true")
+              .setOption(
+                  "cpa.value.refinement.prefixInterpolationThreads", Integer.toString(pThreads))
+              .build();
+
+      return CPATestRunner.run(config, programFile.toPath().toString()).getCheckerResult();
+    }
+  }
+
+  private static String getStatistics(CPAcheckerResult pResult) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+      pResult.printStatistics(printStream);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testParallelPrefixInterpolationOfSafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(SAFE_PROGRAM, 1);
+    CPAcheckerResult parallel = check(SAFE_PROGRAM, THREADS);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.TRUE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+
+    // check that all prefixes were interpolated, and only in parallel with several threads
+    assertThat(getStatistics(sequential)).contains("Number of interpolations of all prefixes");
+    assertThat(getStatistics(sequential))
+        .doesNotContain("Number of interpolation queries in parallel");
+    assertThat(getStatistics(parallel)).contains("Number of interpolation queries in parallel");
+  }
+
+  @Test
+  public void testParallelPrefixInterpolationOfUnsafeProgram() throws Exception {
+    CPAcheckerResult sequential = check(UNSAFE_PROGRAM, 1);
+    CPAcheckerResult parallel = check(UNSAFE_PROGRAM, THREADS);
+
+    assertThat(sequential.getResult()).isEqualTo(Result.FALSE);
+    assertThat(parallel.getResult()).isEqualTo(sequential.getResult());
+  }
+}
@@ -157,6 +157,7 @@ public class ValueAnalysisRefiner
 
     return new ValueAnalysisRefiner(checker,
         strongestPostOp,
+        ValueAnalysisPathInterpolator.componentsFactory(logger, cfa, config, config),
         new PathExtractor(logger, config),
         prefixProvider,
         config,
@@ -168,6 +169,7 @@ public class ValueAnalysisRefiner
   ValueAnalysisRefiner(
       final ValueAnalysisFeasibilityChecker pFeasibilityChecker,
       final StrongestPostOperator<ValueAnalysisState> pStrongestPostOperator,
+      final ValueAnalysisPathInterpolator.ComponentsFactory pComponentsFactory,
       final PathExtractor pPathExtractor,
       final GenericPrefixProvider<ValueAnalysisState> pPrefixProvider,
       final Configuration pConfig, final LogManager pLogger,
@@ -177,6 +179,7 @@ public class ValueAnalysisRefiner
     super(pFeasibilityChecker,
         new ValueAnalysisPathInterpolator(pFeasibilityChecker,
             pStrongestPostOperator,
+            pComponentsFactory,
             pPrefixProvider,
             pConfig, pLogger, pShutdownNotifier, pCfa),
         ValueAnalysisInterpolantManager.getInstance(),
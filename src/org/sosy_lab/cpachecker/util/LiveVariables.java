@@ -30,6 +30,10 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SortedSetMultimap;
 import com.google.common.collect.TreeMultimap;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -79,7 +83,9 @@ import org.sosy_lab.cpachecker.util.resources.ResourceLimitChecker;
 import org.sosy_lab.cpachecker.util.resources.WalltimeLimit;
 import org.sosy_lab.cpachecker.util.variableclassification.VariableClassification;
 
-public class LiveVariables {
+public class LiveVariables implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   public enum EvaluationStrategy {
     FUNCTION_WISE, GLOBAL
@@ -150,8 +156,14 @@ public class LiveVariables {
    */
   private static class AllVariablesAsLiveVariables extends LiveVariables {
 
+    private static final long serialVersionUID = 1L;
+
     private final ImmutableSet<ASimpleDeclaration> allVariables;
 
+    private AllVariablesAsLiveVariables(ImmutableSet<ASimpleDeclaration> pAllVariables) {
+      allVariables = pAllVariables;
+    }
+
     private AllVariablesAsLiveVariables(CFA cfa, List<Pair<ADeclaration, String>> globalsList) {
       checkNotNull(cfa);
       checkNotNull(globalsList);
@@ -200,6 +212,20 @@ public class LiveVariables {
     public Set<ASimpleDeclaration> getAllLiveVariables() {
       return allVariables;
     }
+
+    private Object writeReplace() {
+      return new SerializationProxy(this);
+    }
+
+    /**
+     * javadoc to remove unused parameter warning
+     *
+     * @param in the input stream
+     */
+    @SuppressWarnings("UnusedVariable") // parameter is required by API
+    private void readObject(ObjectInputStream in) throws IOException {
+      throw new InvalidObjectException("Proxy required");
+    }
   }
 
   /**
@@ -582,6 +608,73 @@ public class LiveVariables {
     }
   }
 
+  private Object writeReplace() {
+    return new SerializationProxy(this);
+  }
+
+  /**
+   * javadoc to remove unused parameter warning
+   *
+   * @param in the input stream
+   */
+  @SuppressWarnings("UnusedVariable") // parameter is required by API
+  private void readObject(ObjectInputStream in) throws IOException {
+    throw new InvalidObjectException("Proxy required");
+  }
+
+  /**
+   * Live variables are stored with the CFA (e.g., in the CFA cache), but the equivalence wrappers
+   * and comparators used internally are not serializable. Thus only the plain declarations are
+   * written and the wrappers are recreated when reading.
+   */
+  private static class SerializationProxy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** all variables if every variable is considered live, null otherwise */
+    private final @Nullable ImmutableSet<ASimpleDeclaration> allVariables;
+
+    private final @Nullable ImmutableSetMultimap<CFANode, ASimpleDeclaration> liveVariables;
+    private final @Nullable ImmutableList<ASimpleDeclaration> globalVariables;
+    private final @Nullable VariableClassification variableClassification;
+    private final @Nullable EvaluationStrategy evaluationStrategy;
+    private final @Nullable Language language;
+
+    private SerializationProxy(LiveVariables pLiveVariables) {
+      if (pLiveVariables instanceof AllVariablesAsLiveVariables) {
+        allVariables = ((AllVariablesAsLiveVariables) pLiveVariables).allVariables;
+        liveVariables = null;
+        globalVariables = null;
+        variableClassification = null;
+        evaluationStrategy = null;
+        language = null;
+      } else {
+        allVariables = null;
+        liveVariables =
+            ImmutableSetMultimap.copyOf(
+                Multimaps.transformValues(pLiveVariables.liveVariables, FROM_EQUIV_WRAPPER));
+        globalVariables =
+            pLiveVariables.globalVariables.stream()
+                .map(FROM_EQUIV_WRAPPER)
+                .collect(ImmutableList.toImmutableList());
+        variableClassification = pLiveVariables.variableClassification;
+        evaluationStrategy = pLiveVariables.evaluationStrategy;
+        language = pLiveVariables.language;
+      }
+    }
+
+    private Object readResolve() {
+      if (allVariables != null) {
+        return new AllVariablesAsLiveVariables(allVariables);
+      }
+      return new LiveVariables(
+          Multimaps.transformValues(liveVariables, TO_EQUIV_WRAPPER),
+          variableClassification,
+          from(globalVariables).transform(TO_EQUIV_WRAPPER).toSet(),
+          evaluationStrategy,
+          language);
+    }
+  }
 
   private static class AnalysisParts {
 
@@ -15,6 +15,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
@@ -365,47 +366,10 @@ public class AutomatonGraphmlCommon {
       graph = doc.createElement("graph");
       root.appendChild(graph);
       graph.setAttribute("edgedefault", "directed");
-      graph.appendChild(createDataElement(KeyDef.WITNESS_TYPE, pGraphType.toString()));
-      graph.appendChild(
-          createDataElement(KeyDef.SOURCECODELANGUAGE, pCfa.getLanguage().toString()));
-      graph.appendChild(
-          createDataElement(KeyDef.PRODUCER, pVerificationTaskMetaData.getProducerString()));
-
-      int nSpecs = 0;
-      for (Property property : pVerificationTaskMetaData.getProperties()) {
-        graph.appendChild(createDataElement(KeyDef.SPECIFICATION, property.toFullString(pCfa)));
-        ++nSpecs;
+      for (Map.Entry<KeyDef, String> data :
+          createGraphData(pGraphType, pCfa, pVerificationTaskMetaData)) {
+        graph.appendChild(createDataElement(data.getKey(), data.getValue()));
       }
-
-      for (Path specFile : pVerificationTaskMetaData.getNonPropertySpecificationFiles()) {
-        graph.appendChild(
-            createDataElement(
-                KeyDef.SPECIFICATION,
-                MoreFiles.asCharSource(specFile, Charsets.UTF_8).read().trim()));
-        ++nSpecs;
-      }
-
-      if (nSpecs == 0) {
-        graph.appendChild(createDataElement(KeyDef.SPECIFICATION, "TRUE"));
-      }
-
-      for (Path inputWitness : pVerificationTaskMetaData.getInputWitnessFiles()) {
-        graph.appendChild(createDataElement(KeyDef.INPUTWITNESSHASH, computeHash(inputWitness)));
-      }
-
-      for (Path programFile : pCfa.getFileNames()) {
-        graph.appendChild(createDataElement(KeyDef.PROGRAMFILE, programFile.toString()));
-      }
-      for (Path programFile : pCfa.getFileNames()) {
-        graph.appendChild(createDataElement(KeyDef.PROGRAMHASH, computeHash(programFile)));
-      }
-
-      graph.appendChild(
-          createDataElement(KeyDef.ARCHITECTURE, getArchitecture(pCfa.getMachineModel())));
-      ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault()).withNano(0);
-      graph.appendChild(
-          createDataElement(
-              KeyDef.CREATIONTIME, now.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)));
     }
 
     private void defineKey(KeyDef pKeyDef) {
@@ -507,7 +471,249 @@ public class AutomatonGraphmlCommon {
         throw new RuntimeException("Error while writing witness.", ex);
       }
     }
+  }
+
+  /** Create the data elements that describe the whole graph, in the order of the output. */
+  private static List<Map.Entry<KeyDef, String>> createGraphData(
+      WitnessType pGraphType, CFA pCfa, VerificationTaskMetaData pVerificationTaskMetaData)
+      throws IOException {
+    List<Map.Entry<KeyDef, String>> result = new ArrayList<>();
+    result.add(Maps.immutableEntry(KeyDef.WITNESS_TYPE, pGraphType.toString()));
+    result.add(Maps.immutableEntry(KeyDef.SOURCECODELANGUAGE, pCfa.getLanguage().toString()));
+    result.add(
+        Maps.immutableEntry(KeyDef.PRODUCER, pVerificationTaskMetaData.getProducerString()));
+
+    int nSpecs = 0;
+    for (Property property : pVerificationTaskMetaData.getProperties()) {
+      result.add(Maps.immutableEntry(KeyDef.SPECIFICATION, property.toFullString(pCfa)));
+      ++nSpecs;
+    }
+
+    for (Path specFile : pVerificationTaskMetaData.getNonPropertySpecificationFiles()) {
+      result.add(
+          Maps.immutableEntry(
+              KeyDef.SPECIFICATION,
+              MoreFiles.asCharSource(specFile, Charsets.UTF_8).read().trim()));
+      ++nSpecs;
+    }
+
+    if (nSpecs == 0) {
+      result.add(Maps.immutableEntry(KeyDef.SPECIFICATION, "TRUE"));
+    }
+
+    for (Path inputWitness : pVerificationTaskMetaData.getInputWitnessFiles()) {
+      result.add(Maps.immutableEntry(KeyDef.INPUTWITNESSHASH, computeHash(inputWitness)));
+    }
 
+    for (Path programFile : pCfa.getFileNames()) {
+      result.add(Maps.immutableEntry(KeyDef.PROGRAMFILE, programFile.toString()));
+    }
+    for (Path programFile : pCfa.getFileNames()) {
+      result.add(Maps.immutableEntry(KeyDef.PROGRAMHASH, computeHash(programFile)));
+    }
+
+    result.add(
+        Maps.immutableEntry(KeyDef.ARCHITECTURE, getArchitecture(pCfa.getMachineModel())));
+    ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault()).withNano(0);
+    result.add(
+        Maps.immutableEntry(
+            KeyDef.CREATIONTIME, now.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)));
+    return result;
+  }
+
+  /**
+   * Writes a GraphML document incrementally while the nodes and edges are added, such that the
+   * document is never kept in memory as a whole. The output is the same as the one of {@link
+   * GraphMlBuilder} (including indentation, attribute order, and escaping), but all keys that are
+   * used by nodes and edges need to be given in advance, because they are declared before the
+   * graph. After the last node or edge, {@link #finish()} needs to be called.
+   */
+  public static class GraphMlWriter {
+
+    private final Appendable out;
+    private final Set<KeyDef> declaredKeys = EnumSet.of(KeyDef.ORIGINFILE);
+
+    public GraphMlWriter(
+        Appendable pTarget,
+        WitnessType pGraphType,
+        @Nullable String pDefaultSourceFileName,
+        CFA pCfa,
+        VerificationTaskMetaData pVerificationTaskMetaData,
+        Set<KeyDef> pUsedKeys)
+        throws IOException {
+      out = pTarget;
+      for (KeyDef keyDef : KeyDef.values()) {
+        if (keyDef.keyFor == ElementType.GRAPH) {
+          declaredKeys.add(keyDef);
+        }
+      }
+      declaredKeys.addAll(pUsedKeys);
+      List<Map.Entry<KeyDef, String>> graphData =
+          createGraphData(pGraphType, pCfa, pVerificationTaskMetaData);
+
+      out.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+      out.append("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\"");
+      out.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">");
+
+      for (KeyDef keyDef : declaredKeys) {
+        String defaultValue = keyDef.defaultValue;
+        if (keyDef == KeyDef.ORIGINFILE && pDefaultSourceFileName != null) {
+          defaultValue = pDefaultSourceFileName;
+        }
+        newLine(1);
+        out.append("<").append(GraphMLTag.KEY.text);
+        appendAttribute("attr.name", keyDef.attrName);
+        appendAttribute("attr.type", keyDef.attrType);
+        appendAttribute("for", keyDef.keyFor.toString());
+        appendAttribute("id", keyDef.id);
+        if (defaultValue == null) {
+          out.append("/>");
+        } else {
+          out.append(">");
+          newLine(2);
+          appendTextElement(GraphMLTag.DEFAULT.text, defaultValue);
+          newLine(1);
+          out.append("</").append(GraphMLTag.KEY.text).append(">");
+        }
+      }
+
+      newLine(1);
+      out.append("<").append(GraphMLTag.GRAPH.text);
+      appendAttribute("edgedefault", "directed");
+      out.append(">");
+      for (Map.Entry<KeyDef, String> data : graphData) {
+        newLine(2);
+        appendDataElement(data.getKey(), data.getValue());
+      }
+    }
+
+    public void writeNode(String pNodeId, NodeType pNodeType, List<Map.Entry<KeyDef, String>> pData)
+        throws IOException {
+      List<Map.Entry<KeyDef, String>> data = pData;
+      if (pNodeType != defaultNodeType) {
+        data = new ArrayList<>(pData.size() + 1);
+        data.add(Maps.immutableEntry(KeyDef.NODETYPE, pNodeType.toString()));
+        data.addAll(pData);
+      }
+      newLine(2);
+      out.append("<").append(GraphMLTag.NODE.text);
+      appendAttribute("id", pNodeId);
+      appendDataChildren(GraphMLTag.NODE, data);
+    }
+
+    public void writeEdge(String pFrom, String pTo, List<Map.Entry<KeyDef, String>> pData)
+        throws IOException {
+      newLine(2);
+      out.append("<").append(GraphMLTag.EDGE.text);
+      appendAttribute("source", pFrom);
+      appendAttribute("target", pTo);
+      appendDataChildren(GraphMLTag.EDGE, pData);
+    }
+
+    /** Close the document. No nodes or edges may be written afterwards. */
+    public void finish() throws IOException {
+      newLine(1);
+      out.append("</").append(GraphMLTag.GRAPH.text).append(">");
+      newLine(0);
+      out.append("</graphml>");
+      newLine(0);
+    }
+
+    private void appendDataChildren(GraphMLTag pParent, List<Map.Entry<KeyDef, String>> pData)
+        throws IOException {
+      if (pData.isEmpty()) {
+        out.append("/>");
+        return;
+      }
+      out.append(">");
+      for (Map.Entry<KeyDef, String> data : pData) {
+        newLine(3);
+        appendDataElement(data.getKey(), data.getValue());
+      }
+      newLine(2);
+      out.append("</").append(pParent.text).append(">");
+    }
+
+    private void appendDataElement(KeyDef pKey, String pValue) throws IOException {
+      Preconditions.checkArgument(
+          declaredKeys.contains(pKey), "Key %s was not declared before the graph", pKey);
+      out.append("<").append(GraphMLTag.DATA.text);
+      appendAttribute("key", pKey.id);
+      appendTextContent(GraphMLTag.DATA.text, pValue);
+    }
+
+    private void appendTextElement(String pTag, String pText) throws IOException {
+      out.append("<").append(pTag);
+      appendTextContent(pTag, pText);
+    }
+
+    /** Append the rest of an element whose start tag is still open and that contains only text. */
+    private void appendTextContent(String pTag, String pText) throws IOException {
+      if (pText.isEmpty()) {
+        out.append("/>");
+      } else {
+        out.append(">");
+        appendEscaped(pText, false);
+        out.append("</").append(pTag).append(">");
+      }
+    }
+
+    private void appendAttribute(String pName, String pValue) throws IOException {
+      out.append(" ").append(pName).append("=\"");
+      appendEscaped(pValue, true);
+      out.append("\"");
+    }
+
+    private void newLine(int pDepth) throws IOException {
+      out.append("\n");
+      for (int i = 0; i < pDepth; i++) {
+        out.append(" ");
+      }
+    }
+
+    /**
+     * Append the text with the same escaping as the XML serializer of the JDK, which replaces
+     * control characters and characters outside of the basic multilingual plane by character
+     * references (except for the C1 control characters in attribute values, which it keeps).
+     */
+    private void appendEscaped(String pText, boolean pIsAttribute) throws IOException {
+      int unescapedStart = 0;
+      for (int i = 0; i < pText.length(); i++) {
+        char c = pText.charAt(i);
+        final String replacement;
+        if (c == '&') {
+          replacement = "&amp;";
+        } else if (c == '<') {
+          replacement = "&lt;";
+        } else if (c == '>') {
+          replacement = "&gt;";
+        } else if (c == '"') {
+          replacement = pIsAttribute ? "&quot;" : null;
+        } else if (c == '\n' || c == '\t') {
+          replacement = pIsAttribute ? "&#" + (int) c + ";" : null;
+        } else if (c < 0x20 || (!pIsAttribute && c >= 0x7F && c <= 0x9F)) {
+          replacement = "&#" + (int) c + ";";
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < pText.length()
+            && Character.isLowSurrogate(pText.charAt(i + 1))) {
+          out.append(pText, unescapedStart, i);
+          out.append("&#").append(Integer.toString(pText.codePointAt(i))).append(";");
+          i++;
+          unescapedStart = i + 1;
+          continue;
+        } else if (Character.isSurrogate(c)) {
+          throw new IOException("Invalid UTF-16 surrogate detected: " + Integer.toHexString(c));
+        } else {
+          replacement = null;
+        }
+        if (replacement != null) {
+          out.append(pText, unescapedStart, i);
+          out.append(replacement);
+          unescapedStart = i + 1;
+        }
+      }
+      out.append(pText, unescapedStart, pText.length());
+    }
   }
 
   public static boolean handleAsEpsilonEdge(CFAEdge pEdge, CFAEdgeWithAdditionalInfo
@@ -0,0 +1,135 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.automaton;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.Language;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.core.specification.Specification;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlBuilder;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlWriter;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeType;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.WitnessType;
+import org.w3c.dom.Element;
+
+public class AutomatonGraphmlCommonTest {
+
+  /** Text with all characters that need escaping or are escaped by the XML serializer. */
+  private static final String SPECIAL_CHARACTERS =
+      "a & b < c > d \" e ' f \t g \n h \r i \u0001 j \u001F k \u007F l \u0085 m \u009F n"
+          + " \u00E4 o \uD83D\uDE00 p";
+
+  private static final String DEFAULT_SOURCE_FILE = "file&<>\".c";
+
+  // the creation time is the only part of the output that may differ between two runs
+  private static final Pattern CREATION_TIME =
+      Pattern.compile("<data key=\"" + KeyDef.CREATIONTIME.id + "\">[^<]*</data>");
+
+  private CFA cfa;
+  private VerificationTaskMetaData metaData;
+
+  @Before
+  public void setUp() throws Exception {
+    cfa = mock(CFA.class);
+    when(cfa.getLanguage()).thenReturn(Language.C);
+    when(cfa.getMachineModel()).thenReturn(MachineModel.LINUX64);
+    when(cfa.getFileNames()).thenReturn(ImmutableList.of());
+    metaData =
+        new VerificationTaskMetaData(
+            Configuration.defaultConfiguration(), Specification.alwaysSatisfied());
+  }
+
+  private static List<Map.Entry<KeyDef, String>> data(KeyDef pKey, String pValue) {
+    return ImmutableList.of(Maps.immutableEntry(pKey, pValue));
+  }
+
+  private String writeWithBuilder() throws Exception {
+    GraphMlBuilder builder =
+        new GraphMlBuilder(WitnessType.VIOLATION_WITNESS, DEFAULT_SOURCE_FILE, cfa, metaData);
+
+    Element entry = builder.createNodeElement("A", NodeType.ONPATH);
+    builder.addDataElementChild(entry, KeyDef.ISENTRYNODE, "true");
+    Element special = builder.createNodeElement(SPECIAL_CHARACTERS, NodeType.ANNOTATION);
+    builder.addDataElementChild(special, KeyDef.INVARIANT, SPECIAL_CHARACTERS);
+    builder.createNodeElement("C", NodeType.ONPATH);
+
+    Element edge = builder.createEdgeElement("A", SPECIAL_CHARACTERS);
+    builder.addDataElementChild(edge, KeyDef.SOURCECODE, SPECIAL_CHARACTERS);
+    builder.addDataElementChild(edge, KeyDef.ASSUMPTION, "x == 1;");
+    builder.addDataElementChild(edge, KeyDef.ORIGINFILE, "");
+    builder.createEdgeElement(SPECIAL_CHARACTERS, "C");
+
+    StringBuilder result = new StringBuilder();
+    builder.appendTo(result);
+    return result.toString();
+  }
+
+  private String writeWithWriter() throws Exception {
+    StringBuilder result = new StringBuilder();
+    GraphMlWriter writer =
+        new GraphMlWriter(
+            result,
+            WitnessType.VIOLATION_WITNESS,
+            DEFAULT_SOURCE_FILE,
+            cfa,
+            metaData,
+            ImmutableSet.of(
+                KeyDef.ISENTRYNODE,
+                KeyDef.NODETYPE,
+                KeyDef.INVARIANT,
+                KeyDef.SOURCECODE,
+                KeyDef.ASSUMPTION));
+
+    writer.writeNode("A", NodeType.ONPATH, data(KeyDef.ISENTRYNODE, "true"));
+    writer.writeNode(
+        SPECIAL_CHARACTERS, NodeType.ANNOTATION, data(KeyDef.INVARIANT, SPECIAL_CHARACTERS));
+    writer.writeNode("C", NodeType.ONPATH, ImmutableList.of());
+
+    writer.writeEdge(
+        "A",
+        SPECIAL_CHARACTERS,
+        ImmutableList.of(
+            Maps.immutableEntry(KeyDef.SOURCECODE, SPECIAL_CHARACTERS),
+            Maps.immutableEntry(KeyDef.ASSUMPTION, "x == 1;"),
+            Maps.immutableEntry(KeyDef.ORIGINFILE, "")));
+    writer.writeEdge(SPECIAL_CHARACTERS, "C", ImmutableList.of());
+    writer.finish();
+    return result.toString();
+  }
+
+  private static byte[] withoutCreationTime(String pGraphMl) {
+    return CREATION_TIME.matcher(pGraphMl).replaceAll("").getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testWriterProducesSameOutputAsBuilder() throws Exception {
+    String fromBuilder = writeWithBuilder();
+    String fromWriter = writeWithWriter();
+
+    assertThat(fromBuilder).contains("&amp;");
+    assertThat(fromBuilder).containsMatch(CREATION_TIME);
+    assertThat(fromWriter).containsMatch(CREATION_TIME);
+    assertThat(withoutCreationTime(fromWriter)).isEqualTo(withoutCreationTime(fromBuilder));
+  }
+}
@@ -22,6 +22,7 @@ import com.google.common.collect.Lists;
 import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +43,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -102,6 +104,17 @@ public final class InterpolationManager {
     if (interpolantVerificationTimer.getNumberOfIntervals() > 0) {
       w1.put("Interpolant verification", interpolantVerificationTimer);
     }
+    if (!workers.isEmpty()) {
+      w1.put("Parallel interpolation of traces", parallelInterpolationTimer);
+      StatisticsWriter w2 = w1.beginLevel();
+      w2.put("Translation of formulas between solvers", formulaTranslationTimer);
+      for (int i = 0; i < workers.size(); i++) {
+        InterpolationWorker worker = workers.get(i);
+        w2.put(
+            "Interpolation in thread " + i,
+            worker.interpolationTimer + " (Traces: " + worker.interpolatedTraces + ")");
+      }
+    }
   }
 
 
@@ -201,7 +214,25 @@ public final class InterpolationManager {
 
   private final ITPStrategy itpStrategy;
 
+  @Option(
+      secure = true,
+      description =
+          "Number of threads for interpolating independent counterexample traces in parallel,"
+              + " e.g., the paths to all target states during global refinement. Each thread uses"
+              + " its own instance of the SMT solver. With 1, the traces are interpolated"
+              + " sequentially.")
+  @IntegerOption(min = 1)
+  private int parallelInterpolationThreads = 1;
+
   private final ExecutorService executor;
+
+  // created lazily, because most analyses never interpolate several traces at once
+  private @Nullable ExecutorService parallelExecutor = null;
+  private final List<InterpolationWorker> workers = new ArrayList<>();
+  private final Timer parallelInterpolationTimer = new Timer();
+  private final Timer formulaTranslationTimer = new Timer();
+
+  private final Configuration config;
   private final LoopStructure loopStructure;
   private final VariableClassification variableClassification;
 
@@ -215,6 +246,7 @@ public final class InterpolationManager {
       LogManager pLogger) throws InvalidConfigurationException {
     config.inject(this, InterpolationManager.class);
 
+    this.config = config;
     logger = pLogger;
     shutdownNotifier = pShutdownNotifier;
     fmgr = pSolver.getFormulaManager();
@@ -227,7 +259,7 @@ public final class InterpolationManager {
     if (itpTimeLimit.isEmpty()) {
       executor = null;
     } else {
-      // important to use daemon threads here, because we never have the chance to stop the executor
+      // daemon threads, such that they do not keep the JVM alive if close() is not called
       executor =
           Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true).build());
     }
@@ -320,6 +352,147 @@ public final class InterpolationManager {
     return buildCounterexampleTrace(pFormulas, ImmutableList.of());
   }
 
+  /** Whether {@link #buildCounterexampleTraces(List)} distributes the traces across threads. */
+  public boolean isParallelInterpolationEnabled() {
+    return parallelInterpolationThreads > 1;
+  }
+
+  /**
+   * Counterexample analysis for several independent traces, e.g., for the paths to all target
+   * states of a global refinement. The result contains the information for each trace in the order
+   * of the given traces.
+   *
+   * <p>If parallel interpolation is enabled, the traces are distributed across several threads,
+   * each of which uses its own SMT solver. The formulas are translated to and from the solvers of
+   * the threads before and after the parallel computation, because the solver of this instance is
+   * not thread-safe. Traces that turn out to be feasible are analyzed again with the solver of this
+   * instance, such that their information about the error path is complete.
+   */
+  public List<CounterexampleTraceInfo> buildCounterexampleTraces(List<BlockFormulas> pTraces)
+      throws CPAException, InterruptedException {
+    if (!isParallelInterpolationEnabled() || pTraces.size() < 2) {
+      List<CounterexampleTraceInfo> result = new ArrayList<>(pTraces.size());
+      for (BlockFormulas trace : pTraces) {
+        result.add(buildCounterexampleTrace(trace));
+      }
+      return result;
+    }
+
+    parallelInterpolationTimer.start();
+    try {
+      initializeWorkers();
+      final int threads = Math.min(workers.size(), pTraces.size());
+
+      // trace i is handled by worker i % threads
+      List<List<BlockFormulas>> tracesOfWorkers = new ArrayList<>(threads);
+      formulaTranslationTimer.start();
+      try {
+        for (int w = 0; w < threads; w++) {
+          tracesOfWorkers.add(new ArrayList<>());
+        }
+        for (int i = 0; i < pTraces.size(); i++) {
+          tracesOfWorkers
+              .get(i % threads)
+              .add(workers.get(i % threads).translateTrace(pTraces.get(i)));
+        }
+      } finally {
+        formulaTranslationTimer.stop();
+      }
+
+      List<Future<List<CounterexampleTraceInfo>>> futures = new ArrayList<>(threads);
+      for (int w = 0; w < threads; w++) {
+        InterpolationWorker worker = workers.get(w);
+        List<BlockFormulas> traces = tracesOfWorkers.get(w);
+        futures.add(parallelExecutor.submit(() -> worker.interpolate(traces)));
+      }
+
+      // Wait for all workers, even if one fails, because their solvers must not be used
+      // concurrently by the next call.
+      List<List<CounterexampleTraceInfo>> resultsOfWorkers = new ArrayList<>(threads);
+      Throwable failure = null;
+      for (Future<List<CounterexampleTraceInfo>> future : futures) {
+        try {
+          resultsOfWorkers.add(Uninterruptibles.getUninterruptibly(future));
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+      if (failure != null) {
+        Throwables.propagateIfPossible(failure, CPAException.class, InterruptedException.class);
+        throw new UnexpectedCheckedException("interpolation", failure);
+      }
+
+      List<CounterexampleTraceInfo> result = new ArrayList<>(pTraces.size());
+      formulaTranslationTimer.start();
+      try {
+        for (int i = 0; i < pTraces.size(); i++) {
+          CounterexampleTraceInfo info = resultsOfWorkers.get(i % threads).get(i / threads);
+          result.add(
+              info.isSpurious()
+                  ? CounterexampleTraceInfo.infeasible(
+                      workers.get(i % threads).translateInterpolants(info.getInterpolants()))
+                  : null);
+        }
+      } finally {
+        formulaTranslationTimer.stop();
+      }
+
+      for (int i = 0; i < pTraces.size(); i++) {
+        if (result.get(i) == null) {
+          // the workers do not know the branching formulas, so we need to check this trace again
+          result.set(i, buildCounterexampleTrace(pTraces.get(i)));
+        }
+      }
+      return result;
+
+    } finally {
+      parallelInterpolationTimer.stop();
+    }
+  }
+
+  private void initializeWorkers() throws CPAException {
+    if (parallelExecutor != null) {
+      return;
+    }
+    try {
+      for (int i = 0; i < parallelInterpolationThreads; i++) {
+        workers.add(new InterpolationWorker());
+      }
+    } catch (InvalidConfigurationException e) {
+      // should not happen, the configuration was already used for the solver of this instance
+      throw new CPAException("Could not create solver for parallel interpolation", e);
+    }
+    // daemon threads, such that they do not keep the JVM alive if close() is not called
+    parallelExecutor =
+        Executors.newFixedThreadPool(
+            parallelInterpolationThreads,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Interpolation-%d").build());
+  }
+
+  /**
+   * Stop the threads of this instance and close the SMT solvers of the threads for parallel
+   * interpolation. The solver that was given to this instance is not closed. This instance must not
+   * be used anymore afterwards, but its statistics can still be printed.
+   */
+  public void close() {
+    if (executor != null) {
+      // a query that exceeded the time limit might still be running
+      executor.shutdownNow();
+    }
+    if (parallelExecutor != null) {
+      // all tasks are finished, because buildCounterexampleTraces waits for them
+      parallelExecutor.shutdown();
+    }
+    for (InterpolationWorker worker : workers) {
+      worker.close();
+    }
+    if (interpolator != null && interpolator.itpProver != null) {
+      interpolator.close();
+    }
+  }
+
   private CounterexampleTraceInfo buildCounterexampleTrace0(
       final BlockFormulas pFormulas, final List<AbstractState> pAbstractionStates)
       throws CPAException, InterruptedException {
@@ -740,6 +913,66 @@ public final class InterpolationManager {
     return fmgr.formatFormulaOutputFile("interpolation", cexAnalysisTimer.getNumberOfIntervals(), formula, index);
   }
 
+  /**
+   * A thread for parallel interpolation of traces, with its own SMT solver and its own instance of
+   * {@link InterpolationManager} that is used for all traces of this thread.
+   */
+  private final class InterpolationWorker {
+
+    private final Solver workerSolver;
+    private final FormulaManagerView workerFmgr;
+    private final InterpolationManager workerManager;
+
+    // only accessed by the thread of the worker while it interpolates
+    private final Timer interpolationTimer = new Timer();
+    private int interpolatedTraces = 0;
+
+    private InterpolationWorker() throws InvalidConfigurationException {
+      workerSolver = Solver.create(config, logger, shutdownNotifier);
+      workerFmgr = workerSolver.getFormulaManager();
+      // The path-formula manager belongs to the solver of the outer instance, but it is only used
+      // for traces with branching formulas, and traces are given to workers without them.
+      workerManager =
+          new InterpolationManager(
+              pmgr,
+              workerSolver,
+              Optional.ofNullable(loopStructure),
+              Optional.ofNullable(variableClassification),
+              config,
+              shutdownNotifier,
+              logger);
+    }
+
+    private BlockFormulas translateTrace(BlockFormulas pTrace) {
+      return new BlockFormulas(
+          from(pTrace.getFormulas()).transform(f -> workerFmgr.translateFrom(f, fmgr)).toList());
+    }
+
+    private List<BooleanFormula> translateInterpolants(List<BooleanFormula> pInterpolants) {
+      return from(pInterpolants).transform(f -> fmgr.translateFrom(f, workerFmgr)).toList();
+    }
+
+    private List<CounterexampleTraceInfo> interpolate(List<BlockFormulas> pTraces)
+        throws CPAException, InterruptedException {
+      interpolationTimer.start();
+      try {
+        List<CounterexampleTraceInfo> result = new ArrayList<>(pTraces.size());
+        for (BlockFormulas trace : pTraces) {
+          result.add(workerManager.buildCounterexampleTrace(trace));
+          interpolatedTraces++;
+        }
+        return result;
+      } finally {
+        interpolationTimer.stop();
+      }
+    }
+
+    private void close() {
+      workerManager.close();
+      workerSolver.close();
+    }
+  }
+
   /**
    * This class encapsulates the used SMT solver for interpolation,
    * and keeps track of the formulas that are currently on the solver stack.
@@ -20,6 +20,7 @@ import java.util.Set;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.ExpressionTreeSupplier;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantExchange;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.LazyLocationMapping;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.ReachedSetBasedExpressionTreeSupplier;
 import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
@@ -33,6 +34,9 @@ public class ExpressionTreeInvariantSupplier implements ExpressionTreeSupplier {
   private final AggregatedReachedSets aggregatedReached;
   private final CFA cfa;
 
+  /** Invariants that analyses running in parallel published (if any). */
+  private final ExpressionTreeSupplier exchangedInvariants;
+
   private Set<UnmodifiableReachedSet> lastUsedReachedSets = ImmutableSet.of();
   private ExpressionTreeSupplier lastInvariantSupplier = TrivialInvariantSupplier.INSTANCE;
 
@@ -42,12 +46,18 @@ public class ExpressionTreeInvariantSupplier implements ExpressionTreeSupplier {
   public ExpressionTreeInvariantSupplier(AggregatedReachedSets pAggregated, CFA pCFA) {
     aggregatedReached = pAggregated;
     cfa = pCFA;
+    exchangedInvariants =
+        pAggregated
+            .getInvariantExchange()
+            .map(InvariantExchange::asExpressionTreeSupplier)
+            .orElse(TrivialInvariantSupplier.INSTANCE);
     updateInvariants(); // at initialization we want to update the invariants the first time
   }
 
   @Override
   public ExpressionTree<Object> getInvariantFor(CFANode pNode) throws InterruptedException {
-    return lastInvariantSupplier.getInvariantFor(pNode);
+    return And.of(
+        lastInvariantSupplier.getInvariantFor(pNode), exchangedInvariants.getInvariantFor(pNode));
   }
 
   public void updateInvariants() {
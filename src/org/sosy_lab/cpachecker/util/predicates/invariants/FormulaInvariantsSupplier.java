@@ -28,6 +28,7 @@ import org.sosy_lab.common.collect.Collections3;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.types.c.CPointerType;
 import org.sosy_lab.cpachecker.cfa.types.c.CType;
+import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantExchange;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.InvariantSupplier;
 import org.sosy_lab.cpachecker.core.algorithm.invariants.LazyLocationMapping;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
@@ -47,6 +48,9 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
 
   private final AggregatedReachedSets aggregatedReached;
 
+  /** Invariants that analyses running in parallel published (if any). */
+  private final InvariantSupplier exchangedInvariants;
+
   private Set<UnmodifiableReachedSet> lastUsedReachedSets = ImmutableSet.of();
   private InvariantSupplier lastInvariantSupplier = TrivialInvariantSupplier.INSTANCE;
 
@@ -55,6 +59,11 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
 
   public FormulaInvariantsSupplier(AggregatedReachedSets pAggregated) {
     aggregatedReached = pAggregated;
+    exchangedInvariants =
+        pAggregated
+            .getInvariantExchange()
+            .map(InvariantExchange::asInvariantSupplier)
+            .orElse(TrivialInvariantSupplier.INSTANCE);
     updateInvariants(); // at initialization we want to update the invariants the first time
   }
 
@@ -66,7 +75,10 @@ public class FormulaInvariantsSupplier implements InvariantSupplier {
       PathFormulaManager pPfmgr,
       @Nullable PathFormula pContext)
       throws InterruptedException {
-    return lastInvariantSupplier.getInvariantFor(pNode, pCallstackInfo, pFmgr, pPfmgr, pContext);
+    BooleanFormulaManager bfmgr = pFmgr.getBooleanFormulaManager();
+    return bfmgr.and(
+        lastInvariantSupplier.getInvariantFor(pNode, pCallstackInfo, pFmgr, pPfmgr, pContext),
+        exchangedInvariants.getInvariantFor(pNode, pCallstackInfo, pFmgr, pPfmgr, pContext));
   }
 
   public void updateInvariants() {
@@ -11,12 +11,21 @@ package org.sosy_lab.cpachecker.util.predicates.pathformula;
 import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
 
 import com.google.common.base.Equivalence;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.PrintStream;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
 import org.sosy_lab.cpachecker.cfa.ast.c.CIdExpression;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
@@ -37,9 +46,98 @@ import org.sosy_lab.java_smt.api.Model.ValueAssignment;
 /**
  * Implementation of {@link PathFormulaManager} that delegates to another
  * instance but caches results of some methods.
+ *
+ * <p>All caches are indexed by the path formula the operation is applied to, such that the number
+ * of path formulas for which results are retained can be bounded and such that the caches can use
+ * weak references to these path formulas (which are typically referenced from the abstract states
+ * of the analysis).
  */
+@Options(prefix = "cpa.predicate.pathFormulaCache")
 public class CachingPathFormulaManager implements PathFormulaManager {
 
+  @Option(
+      secure = true,
+      description =
+          "maximum number of path formulas for which results are cached in each cache of the"
+              + " caching path-formula manager, least-recently used entries are evicted first"
+              + " (-1 for unlimited)")
+  @IntegerOption(min = -1)
+  private int size = -1;
+
+  @Option(
+      secure = true,
+      description =
+          "reference the path formulas that are used as cache keys only weakly, such that"
+              + " cache entries are removed once the formula is not reachable anymore from the"
+              + " abstract states. Note that keys are compared by identity in this case.")
+  private boolean weakKeys = false;
+
+  /** Hit and miss counters of one of the caches. */
+  private static final class CacheStatistics {
+
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private CacheStatistics(String pName) {
+      name = pName;
+    }
+
+    private void print(PrintStream out, long pRetainedEntries) {
+      long cacheHits = hits.sum();
+      long lookups = cacheHits + misses.sum();
+      if (lookups == 0) {
+        return;
+      }
+      out.println(
+          String.format(
+              "  %-32s %d hits (%s), %d evictions, %d retained entries",
+              name + ":",
+              cacheHits,
+              toPercent(cacheHits, lookups),
+              evictions.sum(),
+              pRetainedEntries));
+    }
+  }
+
+  /**
+   * A cache for results of an operation on a path formula and another key (e.g., an edge). The
+   * results are grouped by the path formula, which is the unit of eviction.
+   */
+  private final class FormulaCache<K, V> {
+
+    private final CacheStatistics stats;
+    private final Cache<PathFormula, Map<K, V>> cache;
+
+    private FormulaCache(String pName) {
+      stats = new CacheStatistics(pName);
+      cache = createCache(stats);
+    }
+
+    private @Nullable V get(PathFormula pFormula, K pKey) {
+      Map<K, V> results = cache.getIfPresent(pFormula);
+      return results == null ? null : results.get(pKey);
+    }
+
+    private void put(PathFormula pFormula, K pKey, V pValue) {
+      try {
+        cache.get(pFormula, ConcurrentHashMap::new).put(pKey, pValue);
+      } catch (ExecutionException e) {
+        // cannot happen, creating a map does not throw checked exceptions
+        throw new AssertionError(e);
+      }
+    }
+
+    private long retainedEntries() {
+      long count = 0;
+      for (Map<K, V> results : cache.asMap().values()) {
+        count += results.size();
+      }
+      return count;
+    }
+  }
+
   @SuppressWarnings("deprecation")
   public final ThreadSafeTimerContainer pathFormulaComputationTimer =
       new ThreadSafeTimerContainer(null);
@@ -48,90 +146,112 @@ public class CachingPathFormulaManager implements PathFormulaManager {
 
   public final PathFormulaManager delegate;
 
-  private final Map<
-          Pair<Equivalence.Wrapper<CFAEdge>, PathFormula>, Pair<PathFormula, ErrorConditions>>
-      andFormulaWithConditionsCache = new HashMap<>();
-  private final Map<Pair<Equivalence.Wrapper<CFAEdge>, PathFormula>, PathFormula> andFormulaCache =
-      new HashMap<>();
-
-  private final Map<Pair<PathFormula, PathFormula>, PathFormula> orFormulaCache
-            = new HashMap<>();
+  private final FormulaCache<Equivalence.Wrapper<CFAEdge>, Pair<PathFormula, ErrorConditions>>
+      andFormulaWithConditionsCache;
+  private final FormulaCache<Equivalence.Wrapper<CFAEdge>, PathFormula> andFormulaCache;
+  private final FormulaCache<PathFormula, PathFormula> orFormulaCache;
 
-  private final Map<PathFormula, PathFormula> emptyFormulaCache
-            = new HashMap<>();
+  private final CacheStatistics emptyFormulaCacheStats = new CacheStatistics("emptyFormulaCache");
+  private final Cache<PathFormula, PathFormula> emptyFormulaCache;
 
   private final PathFormula emptyFormula;
 
-  public CachingPathFormulaManager(PathFormulaManager pDelegate) {
+  public CachingPathFormulaManager(PathFormulaManager pDelegate, Configuration pConfig)
+      throws InvalidConfigurationException {
+    pConfig.inject(this);
     delegate = pDelegate;
     emptyFormula = delegate.makeEmptyPathFormula();
+
+    andFormulaWithConditionsCache = new FormulaCache<>("andFormulaWithConditionsCache");
+    andFormulaCache = new FormulaCache<>("andFormulaCache");
+    orFormulaCache = new FormulaCache<>("orFormulaCache");
+    emptyFormulaCache = createCache(emptyFormulaCacheStats);
+  }
+
+  private <V> Cache<PathFormula, V> createCache(CacheStatistics pStats) {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+    if (size >= 0) {
+      builder.maximumSize(size);
+    }
+    if (weakKeys) {
+      builder.weakKeys();
+    }
+    return builder
+        .removalListener(
+            notification -> {
+              if (notification.wasEvicted()) {
+                pStats.evictions.increment();
+              }
+            })
+        .build();
+  }
+
+  private <V> @Nullable V recordLookup(@Nullable V pResult, CacheStatistics pStats) {
+    if (pResult == null) {
+      pStats.misses.increment();
+    } else {
+      pStats.hits.increment();
+      pathFormulaCacheHits.increment();
+    }
+    return pResult;
   }
 
   /**
-   * Returns a cache key for the specified path formula and edge. Uses {@link Equivalence#identity}
+   * Returns a cache key for the specified edge. Uses {@link Equivalence#identity}
    * as an equivalence wrapper for the edge.
    */
-  private Pair<Equivalence.Wrapper<CFAEdge>, PathFormula> createFormulaCacheKey(
-      PathFormula pOldFormula, CFAEdge pEdge) {
-    return Pair.of(Equivalence.identity().wrap(pEdge), pOldFormula);
+  private Equivalence.Wrapper<CFAEdge> createFormulaCacheKey(CFAEdge pEdge) {
+    return Equivalence.identity().wrap(pEdge);
   }
 
   @Override
   public Pair<PathFormula, ErrorConditions> makeAndWithErrorConditions(
       PathFormula pOldFormula, CFAEdge pEdge) throws CPATransferException, InterruptedException {
-    final Pair<Equivalence.Wrapper<CFAEdge>, PathFormula> formulaCacheKey =
-        createFormulaCacheKey(pOldFormula, pEdge);
-    Pair<PathFormula, ErrorConditions> result = andFormulaWithConditionsCache.get(formulaCacheKey);
+    final Equivalence.Wrapper<CFAEdge> formulaCacheKey = createFormulaCacheKey(pEdge);
+    Pair<PathFormula, ErrorConditions> result =
+        recordLookup(
+            andFormulaWithConditionsCache.get(pOldFormula, formulaCacheKey),
+            andFormulaWithConditionsCache.stats);
     if (result == null) {
       TimerWrapper t = pathFormulaComputationTimer.getNewTimer();
       t.start();
       // compute new pathFormula with the operation on the edge
       result = delegate.makeAndWithErrorConditions(pOldFormula, pEdge);
       t.stop();
-      andFormulaWithConditionsCache.put(formulaCacheKey, result);
-
-    } else {
-      pathFormulaCacheHits.increment();
+      andFormulaWithConditionsCache.put(pOldFormula, formulaCacheKey, result);
     }
     return result;
   }
 
   @Override
   public PathFormula makeAnd(PathFormula pOldFormula, CFAEdge pEdge) throws CPATransferException, InterruptedException {
-    final Pair<Equivalence.Wrapper<CFAEdge>, PathFormula> formulaCacheKey =
-        createFormulaCacheKey(pOldFormula, pEdge);
-    PathFormula result = andFormulaCache.get(formulaCacheKey);
+    final Equivalence.Wrapper<CFAEdge> formulaCacheKey = createFormulaCacheKey(pEdge);
+    PathFormula result =
+        recordLookup(andFormulaCache.get(pOldFormula, formulaCacheKey), andFormulaCache.stats);
     if (result == null) {
       TimerWrapper t = pathFormulaComputationTimer.getNewTimer();
       try {
         t.start(); // compute new pathFormula with the operation on the edge
       result = delegate.makeAnd(pOldFormula, pEdge);
-      andFormulaCache.put(formulaCacheKey, result);
+      andFormulaCache.put(pOldFormula, formulaCacheKey, result);
       } finally {
         t.stop();
       }
-
-    } else {
-      pathFormulaCacheHits.increment();
     }
     return result;
   }
 
   @Override
   public PathFormula makeOr(PathFormula pF1, PathFormula pF2) throws InterruptedException {
-    final Pair<PathFormula, PathFormula> formulaCacheKey = Pair.of(pF1, pF2);
-
-    PathFormula result = orFormulaCache.get(formulaCacheKey);
+    PathFormula result = orFormulaCache.get(pF1, pF2);
     if (result == null) {
       // try again with other order
-      result = orFormulaCache.get(Pair.of(pF2, pF1));
+      result = orFormulaCache.get(pF2, pF1);
     }
 
-    if (result == null) {
+    if (recordLookup(result, orFormulaCache.stats) == null) {
       result = delegate.makeOr(pF1, pF2);
-      orFormulaCache.put(formulaCacheKey, result);
-    } else {
-      pathFormulaCacheHits.increment();
+      orFormulaCache.put(pF1, pF2, result);
     }
     return result;
   }
@@ -148,12 +268,11 @@ public class CachingPathFormulaManager implements PathFormulaManager {
 
   @Override
   public PathFormula makeEmptyPathFormulaWithContextFrom(PathFormula pOldFormula) {
-    PathFormula result = emptyFormulaCache.get(pOldFormula);
+    PathFormula result =
+        recordLookup(emptyFormulaCache.getIfPresent(pOldFormula), emptyFormulaCacheStats);
     if (result == null) {
       result = delegate.makeEmptyPathFormulaWithContextFrom(pOldFormula);
       emptyFormulaCache.put(pOldFormula, result);
-    } else {
-      pathFormulaCacheHits.increment();
     }
     return result;
   }
@@ -214,10 +333,10 @@ public class CachingPathFormulaManager implements PathFormulaManager {
 
   @Override
   public void clearCaches() {
-    andFormulaWithConditionsCache.clear();
-    andFormulaCache.clear();
-    orFormulaCache.clear();
-    emptyFormulaCache.clear();
+    andFormulaWithConditionsCache.cache.invalidateAll();
+    andFormulaCache.cache.invalidateAll();
+    orFormulaCache.cache.invalidateAll();
+    emptyFormulaCache.invalidateAll();
     delegate.clearCaches();
   }
 
@@ -243,6 +362,11 @@ public class CachingPathFormulaManager implements PathFormulaManager {
             + " ("
             + toPercent(cacheHits, totalPathFormulaComputations)
             + ")");
+    andFormulaCache.stats.print(out, andFormulaCache.retainedEntries());
+    andFormulaWithConditionsCache.stats.print(
+        out, andFormulaWithConditionsCache.retainedEntries());
+    orFormulaCache.stats.print(out, orFormulaCache.retainedEntries());
+    emptyFormulaCacheStats.print(out, emptyFormulaCache.size());
     out.println();
 
     out.println("Inside post operator:                  ");
@@ -8,11 +8,20 @@
 
 package org.sosy_lab.cpachecker.util.refinement;
 
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.toPercent;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -25,7 +34,13 @@ import org.sosy_lab.cpachecker.cpa.arg.path.ARGPath;
 import org.sosy_lab.cpachecker.cpa.arg.path.PathIterator;
 import org.sosy_lab.cpachecker.cpa.arg.path.PathPosition;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.refinement.PathSuffixInterner.PathSuffix;
 import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 
 /**
  * Generic {@link EdgeInterpolator} that creates interpolants based on {@link MemoryLocation
@@ -51,6 +66,15 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
   @Option(secure=true, description="whether or not to manage the callstack, which is needed for BAM")
   private boolean manageCallstack = true;
 
+  @Option(
+      secure = true,
+      description =
+          "maximal number of interpolants that are cached across refinements, such that the"
+              + " interpolation queries for an edge are not repeated if the candidate interpolant"
+              + " and the remaining error path are the same as before (0 disables the cache)")
+  @IntegerOption(min = 0)
+  private int interpolantCacheSize = 0;
+
   /**
    * the shutdownNotifier in use
    */
@@ -80,6 +104,25 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
    */
   private final FeasibilityChecker<S> checker;
 
+  /**
+   * the cache of interpolants and the number of interpolation queries needed to compute them, or
+   * null if caching is disabled
+   */
+  private final @Nullable Cache<InterpolationKey<I>, Pair<I, Integer>> interpolantCache;
+
+  /** the interner of the suffixes of error paths, which are part of the keys of the cache */
+  private final PathSuffixInterner suffixInterner = new PathSuffixInterner();
+
+  /** the path whose interned suffixes are stored in {@link #suffixes} */
+  private @Nullable ARGPath suffixesPath = null;
+
+  private List<@Nullable PathSuffix> suffixes = ImmutableList.of();
+
+  private final StatCounter cacheHits = new StatCounter("Number of interpolant cache hits");
+  private final StatCounter cacheMisses = new StatCounter("Number of interpolant cache misses");
+  private final StatInt savedQueries =
+      new StatInt(StatKind.SUM, "Number of interpolation queries saved by the cache");
+
   /**
    * This method acts as the constructor of the class.
    */
@@ -106,6 +149,11 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
           pConfig, pCfa.getVarClassification(), pCpaToRefine);
 
       shutdownNotifier   = pShutdownNotifier;
+
+      interpolantCache =
+          interpolantCacheSize > 0
+              ? CacheBuilder.newBuilder().maximumSize(interpolantCacheSize).build()
+              : null;
     }
     catch (InvalidConfigurationException e) {
       throw new InvalidConfigurationException("Invalid configuration for checking path: "
@@ -178,7 +226,57 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
       return interpolantManager.createInterpolant(initialSuccessor);
     }
 
+    // the result only depends on the candidate interpolant and the remaining error path,
+    // and the precisions of the post operator and the checker never change,
+    // so it can be reused across refinements
+    PathSuffix suffix = interpolantCache == null ? null : getSuffix(pOffset);
+    InterpolationKey<I> key =
+        suffix == null
+            ? null
+            : new InterpolationKey<>(
+                interpolantManager.createInterpolant(initialSuccessor),
+                pInputInterpolant.isTrue(),
+                suffix);
+    if (key != null) {
+      Pair<I, Integer> cached = interpolantCache.getIfPresent(key);
+      if (cached != null) {
+        cacheHits.inc();
+        savedQueries.setNextValue(cached.getSecond());
+        return cached.getFirst();
+      }
+      cacheMisses.inc();
+    }
+
     ARGPath remainingErrorPath = pOffset.iterator().getSuffixExclusive();
+    I interpolant = interpolateCandidate(initialSuccessor, remainingErrorPath, pInputInterpolant);
+
+    if (key != null) {
+      interpolantCache.put(key, Pair.of(interpolant, numberOfInterpolationQueries));
+    }
+    return interpolant;
+  }
+
+  /**
+   * Return the interned suffix of the error path that starts with the edge at the given position,
+   * or null if the suffix contains a position without a single edge. The suffixes of a path are
+   * interned once, when the first position of the path is requested.
+   */
+  private @Nullable PathSuffix getSuffix(PathPosition pOffset) {
+    ARGPath path = pOffset.getPath();
+    if (path != suffixesPath) {
+      suffixes = suffixInterner.internSuffixes(path.getInnerEdges());
+      suffixesPath = path;
+    }
+    return suffixes.get(pOffset.iterator().getIndex());
+  }
+
+  /**
+   * This method derives an interpolant by removing all memory locations from the candidate
+   * interpolant that are not needed for the infeasibility of the remaining error path.
+   */
+  private I interpolateCandidate(
+      final S initialSuccessor, final ARGPath remainingErrorPath, final I pInputInterpolant)
+      throws CPAException, InterruptedException {
 
     // if the remaining path, i.e., the suffix, is contradicting by itself, then return the TRUE
     // interpolant
@@ -247,6 +345,18 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
     return numberOfInterpolationQueries;
   }
 
+  @Override
+  public void printStatistics(StatisticsWriter pWriter) {
+    if (interpolantCache != null) {
+      long lookups = cacheHits.getValue() + cacheMisses.getValue();
+      pWriter
+          .put(cacheHits)
+          .put(cacheMisses)
+          .put("Interpolant cache hit ratio", toPercent(cacheHits.getValue(), lookups))
+          .put(savedQueries);
+    }
+  }
+
   /**
    * This method gets the initial successor, i.e. the state following the initial state.
    *
@@ -314,4 +424,45 @@ public class GenericEdgeInterpolator<S extends ForgetfulState<T>, T, I extends I
     //|| cfaEdge.getEdgeType() == CFAEdgeType.ReturnStatementEdge
     ;
   }
+
+  /**
+   * Key of the interpolant cache, consisting of the candidate interpolant, whether the input
+   * interpolant was trivially true, and the interned suffix of the error path that starts with the
+   * current edge.
+   */
+  private static final class InterpolationKey<I> {
+
+    private final I candidate;
+    private final boolean inputIsTrue;
+    private final PathSuffix suffix;
+    private final int hashCode;
+
+    private InterpolationKey(I pCandidate, boolean pInputIsTrue, PathSuffix pSuffix) {
+      candidate = pCandidate;
+      inputIsTrue = pInputIsTrue;
+      suffix = pSuffix;
+      hashCode = Objects.hash(candidate, inputIsTrue, suffix);
+    }
+
+    @Override
+    public boolean equals(Object pObj) {
+      if (pObj == this) {
+        return true;
+      }
+      if (!(pObj instanceof InterpolationKey)) {
+        return false;
+      }
+      InterpolationKey<?> other = (InterpolationKey<?>) pObj;
+      // suffixes are interned, so they can be compared by identity
+      return hashCode == other.hashCode
+          && inputIsTrue == other.inputIsTrue
+          && suffix == other.suffix
+          && candidate.equals(other.candidate);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
@@ -0,0 +1,213 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.refinement;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionDeclaration;
+import org.sosy_lab.cpachecker.cfa.model.BlankEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.cpa.arg.path.ARGPath;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisCPA;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisInformation;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
+import org.sosy_lab.cpachecker.cpa.value.refiner.ValueAnalysisInterpolant;
+import org.sosy_lab.cpachecker.cpa.value.refiner.utils.ValueAnalysisInterpolantManager;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+public class GenericEdgeInterpolatorTest {
+
+  private static final MemoryLocation X = MemoryLocation.forIdentifier("x");
+  private static final MemoryLocation Y = MemoryLocation.forIdentifier("y");
+
+  /** Post operator that assigns x=1 on every edge. */
+  private static final class AssigningPostOperator
+      implements StrongestPostOperator<ValueAnalysisState> {
+
+    @Override
+    public Optional<ValueAnalysisState> getStrongestPost(
+        ValueAnalysisState pOrigin, Precision pPrecision, CFAEdge pOperation) {
+      ValueAnalysisState successor = ValueAnalysisState.copyOf(pOrigin);
+      successor.assignConstant(X, new NumericValue(1), CNumericTypes.INT);
+      return Optional.of(successor);
+    }
+
+    @Override
+    public ValueAnalysisState handleFunctionCall(
+        ValueAnalysisState pState, CFAEdge pEdge, Deque<ValueAnalysisState> pCallstack) {
+      return pState;
+    }
+
+    @Override
+    public ValueAnalysisState handleFunctionReturn(
+        ValueAnalysisState pNext, CFAEdge pEdge, Deque<ValueAnalysisState> pCallstack) {
+      return pNext;
+    }
+
+    @Override
+    public ValueAnalysisState performAbstraction(
+        ValueAnalysisState pNext, CFANode pCurrNode, ARGPath pErrorPath, Precision pPrecision) {
+      return pNext;
+    }
+  }
+
+  /** Checker that counts its queries, for which paths are only infeasible if x is known. */
+  private static final class CountingChecker implements FeasibilityChecker<ValueAnalysisState> {
+
+    private int queries = 0;
+
+    @Override
+    public boolean isFeasible(ARGPath pPath) {
+      queries++;
+      return true;
+    }
+
+    @Override
+    public boolean isFeasible(ARGPath pPath, ValueAnalysisState pStartingPoint) {
+      queries++;
+      return !pStartingPoint.contains(X);
+    }
+
+    @Override
+    public boolean isFeasible(
+        ARGPath pPath, ValueAnalysisState pStartingPoint, Deque<ValueAnalysisState> pCallstack) {
+      return isFeasible(pPath, pStartingPoint);
+    }
+  }
+
+  private final CountingChecker checker = new CountingChecker();
+
+  private final CFANode node0 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node1 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node2 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node3 = new CFANode(CFunctionDeclaration.DUMMY);
+
+  private GenericEdgeInterpolator<
+          ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+      createInterpolator(int pCacheSize) throws Exception {
+    Configuration config =
+        Configuration.builder()
+            .setOption("cpa.value.interpolation.interpolantCacheSize", Integer.toString(pCacheSize))
+            .build();
+    return new GenericEdgeInterpolator<>(
+        new AssigningPostOperator(),
+        checker,
+        ValueAnalysisInterpolantManager.getInstance(),
+        new ValueAnalysisState(MachineModel.LINUX32),
+        ValueAnalysisCPA.class,
+        config,
+        ShutdownNotifier.createDummy(),
+        mock(CFA.class));
+  }
+
+  /** Create a new path with new edges between the given nodes. */
+  private static ARGPath createPath(CFANode... pNodes) {
+    ImmutableList.Builder<ARGState> states = ImmutableList.builder();
+    ImmutableList.Builder<CFAEdge> edges = ImmutableList.builder();
+    states.add(new ARGState(null, null));
+    for (int i = 1; i < pNodes.length; i++) {
+      states.add(new ARGState(null, null));
+      edges.add(new BlankEdge("", FileLocation.DUMMY, pNodes[i - 1], pNodes[i], ""));
+    }
+    return new ARGPath(states.build(), edges.build());
+  }
+
+  private static ValueAnalysisInterpolant interpolateFirstEdge(
+      GenericEdgeInterpolator<
+              ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+          pInterpolator,
+      ARGPath pPath,
+      ValueAnalysisInterpolant pInputInterpolant)
+      throws Exception {
+    return pInterpolator.deriveInterpolant(
+        pPath,
+        pPath.getInnerEdges().get(0),
+        new ArrayDeque<>(),
+        pPath.pathIterator().getPosition(),
+        pInputInterpolant);
+  }
+
+  @Test
+  public void testInterpolantOfSameSuffixIsCached() throws Exception {
+    GenericEdgeInterpolator<ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+        interpolator = createInterpolator(10);
+
+    ValueAnalysisInterpolant interpolant =
+        interpolateFirstEdge(
+            interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+    assertThat(checker.queries).isEqualTo(1);
+    assertThat(interpolant.reconstructState().contains(X)).isTrue();
+
+    // a new path with the same locations in a later refinement
+    ValueAnalysisInterpolant cachedInterpolant =
+        interpolateFirstEdge(
+            interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+    assertThat(checker.queries).isEqualTo(1);
+    assertThat(interpolator.getNumberOfInterpolationQueries()).isEqualTo(0);
+    assertThat(cachedInterpolant).isSameInstanceAs(interpolant);
+  }
+
+  @Test
+  public void testInterpolantOfChangedSuffixIsNotCached() throws Exception {
+    GenericEdgeInterpolator<ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+        interpolator = createInterpolator(10);
+
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node3), ValueAnalysisInterpolant.TRUE);
+
+    assertThat(checker.queries).isEqualTo(2);
+    assertThat(interpolator.getNumberOfInterpolationQueries()).isEqualTo(1);
+  }
+
+  @Test
+  public void testInterpolantOfChangedCandidateIsNotCached() throws Exception {
+    GenericEdgeInterpolator<ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+        interpolator = createInterpolator(10);
+    ValueAnalysisState inputState = new ValueAnalysisState(MachineModel.LINUX32);
+    inputState.assignConstant(Y, new NumericValue(2), CNumericTypes.INT);
+
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node2), inputState.createInterpolant());
+
+    assertThat(checker.queries).isEqualTo(3);
+  }
+
+  @Test
+  public void testDisabledCache() throws Exception {
+    GenericEdgeInterpolator<ValueAnalysisState, ValueAnalysisInformation, ValueAnalysisInterpolant>
+        interpolator = createInterpolator(0);
+
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+    interpolateFirstEdge(
+        interpolator, createPath(node0, node1, node2), ValueAnalysisInterpolant.TRUE);
+
+    assertThat(checker.queries).isEqualTo(2);
+  }
+}
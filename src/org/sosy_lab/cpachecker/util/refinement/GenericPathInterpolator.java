@@ -74,7 +74,7 @@ public class GenericPathInterpolator<S extends ForgetfulState<?>, I extends Inte
   protected final StatInt totalInterpolationQueries = new StatInt(StatKind.SUM, "Number of interpolation queries");
   protected final StatInt sizeOfInterpolant         = new StatInt(StatKind.AVG, "Size of interpolant");
   protected final StatTimer timerInterpolation      = new StatTimer("Time for interpolation");
-  private final StatInt totalPrefixes               = new StatInt(StatKind.SUM, "Number of sliced prefixes");
+  protected final StatInt totalPrefixes             = new StatInt(StatKind.SUM, "Number of sliced prefixes");
   private final StatTimer prefixExtractionTime      = new StatTimer("Extracting infeasible sliced prefixes");
   private final StatTimer prefixSelectionTime       = new StatTimer("Selecting infeasible sliced prefixes");
 
@@ -152,13 +152,24 @@ public class GenericPathInterpolator<S extends ForgetfulState<?>, I extends Inte
       return pErrorPath;
     }
 
-    List<InfeasiblePrefix> infeasilbePrefixes = extractInfeasibleSlicedPrefixes(pErrorPath, pInterpolant);
+    return selectPrefix(pErrorPath, extractInfeasibleSlicedPrefixes(pErrorPath, pInterpolant));
+  }
+
+  /**
+   * This method selects one of the given infeasible sliced prefixes of the error path.
+   *
+   * @param pErrorPath the original error path
+   * @param pPrefixes the infeasible sliced prefixes of the error path
+   * @return the selected prefix, or the original error path if there are no prefixes
+   */
+  protected final ARGPath selectPrefix(
+      ARGPath pErrorPath, final List<InfeasiblePrefix> pPrefixes) {
 
-    if(!infeasilbePrefixes.isEmpty()) {
-      totalPrefixes.setNextValue(infeasilbePrefixes.size());
+    if(!pPrefixes.isEmpty()) {
+      totalPrefixes.setNextValue(pPrefixes.size());
 
       prefixSelectionTime.start();
-      pErrorPath = selector.selectSlicedPrefix(prefixPreference, infeasilbePrefixes).getPath();
+      pErrorPath = selector.selectSlicedPrefix(prefixPreference, pPrefixes).getPath();
       logger.logf(Level.FINER, "Sliced prefix selected:\n %s", pErrorPath);
       prefixSelectionTime.stop();
     }
@@ -166,7 +177,7 @@ public class GenericPathInterpolator<S extends ForgetfulState<?>, I extends Inte
     return pErrorPath;
   }
 
-  private List<InfeasiblePrefix> extractInfeasibleSlicedPrefixes(
+  protected final List<InfeasiblePrefix> extractInfeasibleSlicedPrefixes(
       final ARGPath pErrorPath,
       final I pInterpolant
   ) throws CPAException, InterruptedException {
@@ -379,6 +390,7 @@ public class GenericPathInterpolator<S extends ForgetfulState<?>, I extends Inte
         .put(totalPrefixes);
     writer.put(prefixExtractionTime);
     writer.put(prefixSelectionTime);
+    interpolator.printStatistics(writer);
   }
 
   /**
@@ -40,6 +40,7 @@ import org.sosy_lab.cpachecker.cpa.arg.path.ARGPath;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.RefinementFailedException;
 import org.sosy_lab.cpachecker.exceptions.RefinementFailedException.Reason;
+import org.sosy_lab.cpachecker.util.CPAs;
 import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.StatInt;
 import org.sosy_lab.cpachecker.util.statistics.StatKind;
@@ -57,7 +58,7 @@ import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
  */
 @Options(prefix = "cpa.value.refinement")
 public abstract class GenericRefiner<S extends ForgetfulState<?>, I extends Interpolant<S, I>>
-    implements ARGBasedRefiner, StatisticsProvider {
+    implements ARGBasedRefiner, StatisticsProvider, AutoCloseable {
 
   @Option(secure = true, description = "when to export the interpolation tree"
       + "\nNEVER:   never export the interpolation tree"
@@ -316,6 +317,11 @@ public abstract class GenericRefiner<S extends ForgetfulState<?>, I extends Inte
     pStatsCollection.add(interpolator);
   }
 
+  @Override
+  public void close() {
+    CPAs.closeIfPossible(interpolator, logger);
+  }
+
   private void printStatistics(final PrintStream pOut, final Result pResult, final UnmodifiableReachedSet pReached) {
     StatisticsWriter writer = StatisticsWriter.writingStatisticsTo(pOut);
     writer.put(refinementCounter)
@@ -0,0 +1,116 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.refinement;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.model.BlankEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+
+/**
+ * Hash-conses the suffixes of error paths, such that equal suffixes are represented by the same
+ * {@link PathSuffix} instance and can be compared by identity.
+ *
+ * <p>A suffix consists of its first edge and the interned suffix after it, so interning all
+ * suffixes of a path is linear in its length, and suffixes shared by several paths are stored only
+ * once. The intern table only keeps weak references, i.e., a suffix is kept as long as it is
+ * referenced, e.g., by a cached interpolant.
+ */
+final class PathSuffixInterner {
+
+  /** A suffix of an error path, which is only equal to suffixes that were interned with it. */
+  static final class PathSuffix {
+
+    private static final PathSuffix EMPTY = new PathSuffix(null, null);
+
+    private final @Nullable CFAEdge edge;
+    private final @Nullable PathSuffix next;
+    private final int hashCode;
+
+    private PathSuffix(@Nullable CFAEdge pEdge, @Nullable PathSuffix pNext) {
+      edge = pEdge;
+      next = pNext;
+      hashCode = pNext == null ? 0 : 31 * pNext.hashCode + hashEdge(pEdge);
+    }
+
+    private static int hashEdge(CFAEdge pEdge) {
+      if (pEdge instanceof BlankEdge) {
+        return Objects.hash(pEdge.getPredecessor(), pEdge.getSuccessor());
+      }
+      return System.identityHashCode(pEdge);
+    }
+
+    /**
+     * Blank edges (e.g., created by path slicing) do not change the state, so we compare them by
+     * their location only. Other edges are compared by identity, because {@link CFAEdge#equals}
+     * does not consider the semantics.
+     */
+    private static boolean isSameEdge(CFAEdge pEdge, CFAEdge pOther) {
+      if (pEdge == pOther) {
+        return true;
+      }
+      return pEdge instanceof BlankEdge
+          && pOther instanceof BlankEdge
+          && pEdge.getPredecessor().equals(pOther.getPredecessor())
+          && pEdge.getSuccessor().equals(pOther.getSuccessor());
+    }
+
+    @Override
+    public boolean equals(Object pObj) {
+      if (this == pObj) {
+        return true;
+      }
+      if (!(pObj instanceof PathSuffix)) {
+        return false;
+      }
+      PathSuffix other = (PathSuffix) pObj;
+      // the suffixes after the edges are already interned
+      return hashCode == other.hashCode
+          && next == other.next
+          && next != null
+          && isSameEdge(edge, other.edge);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public String toString() {
+      return next == null ? "" : (edge + "\n" + next);
+    }
+  }
+
+  private final Interner<PathSuffix> interner = Interners.newWeakInterner();
+
+  /**
+   * Intern all suffixes of the path with the given edges, starting from the tail of the path.
+   *
+   * @param pEdges the edges of the path, with null for positions without a single edge
+   * @return a list whose i-th element is the suffix starting with the i-th edge (and whose last
+   *     element is the empty suffix), or null if the suffix contains a position without a single
+   *     edge
+   */
+  List<@Nullable PathSuffix> internSuffixes(List<CFAEdge> pEdges) {
+    PathSuffix[] suffixes = new PathSuffix[pEdges.size() + 1];
+    PathSuffix suffix = PathSuffix.EMPTY;
+    suffixes[pEdges.size()] = suffix;
+    for (int i = pEdges.size() - 1; i >= 0 && suffix != null; i--) {
+      CFAEdge edge = pEdges.get(i);
+      suffix = edge == null ? null : interner.intern(new PathSuffix(edge, suffix));
+      suffixes[i] = suffix;
+    }
+    return Arrays.asList(suffixes);
+  }
+}
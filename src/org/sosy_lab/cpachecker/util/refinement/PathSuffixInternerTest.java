@@ -0,0 +1,73 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.refinement;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
+import org.sosy_lab.cpachecker.cfa.ast.c.CFunctionDeclaration;
+import org.sosy_lab.cpachecker.cfa.model.BlankEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.util.refinement.PathSuffixInterner.PathSuffix;
+
+public class PathSuffixInternerTest {
+
+  private final PathSuffixInterner interner = new PathSuffixInterner();
+
+  private final CFANode node0 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node1 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node2 = new CFANode(CFunctionDeclaration.DUMMY);
+  private final CFANode node3 = new CFANode(CFunctionDeclaration.DUMMY);
+
+  private static CFAEdge edge(CFANode pPredecessor, CFANode pSuccessor) {
+    return new BlankEdge("", FileLocation.DUMMY, pPredecessor, pSuccessor, "");
+  }
+
+  @Test
+  public void testEqualSuffixesAreShared() {
+    List<PathSuffix> suffixes1 =
+        interner.internSuffixes(ImmutableList.of(edge(node0, node1), edge(node1, node2)));
+    List<PathSuffix> suffixes2 =
+        interner.internSuffixes(ImmutableList.of(edge(node3, node1), edge(node1, node2)));
+
+    assertThat(suffixes1).hasSize(3);
+    assertThat(suffixes2.get(1)).isSameInstanceAs(suffixes1.get(1));
+    assertThat(suffixes2.get(2)).isSameInstanceAs(suffixes1.get(2));
+    assertThat(suffixes2.get(0)).isNotSameInstanceAs(suffixes1.get(0));
+  }
+
+  @Test
+  public void testChangedTailChangesAllSuffixes() {
+    CFAEdge first = edge(node0, node1);
+    List<PathSuffix> suffixes1 =
+        interner.internSuffixes(ImmutableList.of(first, edge(node1, node2)));
+    List<PathSuffix> suffixes2 =
+        interner.internSuffixes(ImmutableList.of(first, edge(node1, node3)));
+
+    assertThat(suffixes2.get(0)).isNotSameInstanceAs(suffixes1.get(0));
+    assertThat(suffixes2.get(1)).isNotSameInstanceAs(suffixes1.get(1));
+    assertThat(suffixes2.get(0)).isNotEqualTo(suffixes1.get(0));
+  }
+
+  @Test
+  public void testPositionsWithoutSingleEdgeAreNotInterned() {
+    List<PathSuffix> suffixes =
+        interner.internSuffixes(Arrays.asList(edge(node0, node1), null, edge(node2, node3)));
+
+    assertThat(suffixes.get(0)).isNull();
+    assertThat(suffixes.get(1)).isNull();
+    assertThat(suffixes.get(2)).isNotNull();
+    assertThat(suffixes.get(3)).isNotNull();
+  }
+}
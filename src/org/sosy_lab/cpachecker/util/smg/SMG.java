@@ -53,6 +53,12 @@ public class SMG {
   private final PersistentMap<SMGValue, SMGPointsToEdge> pointsToEdges;
   private final BigInteger sizeOfPointer;
 
+  /**
+   * The hash code is computed lazily and cached, because the SMG is immutable. This makes repeated
+   * hashing cheap and allows {@link #equals} to compare the hash codes before the edges.
+   */
+  private int hashCode = 0;
+
   /** Creates a new, empty SMG */
   public SMG(BigInteger pSizeOfPointer) {
     hasValueEdges = PathCopyingPersistentTreeMap.of();
@@ -86,6 +92,9 @@ public class SMG {
    * @return A modified copy of the SMG.
    */
   public SMG copyAndAddObject(SMGObject pObject) {
+    if (isValid(pObject)) {
+      return this;
+    }
     return new SMG(
         smgObjects.putAndCopy(pObject, true),
         smgValues,
@@ -101,6 +110,9 @@ public class SMG {
    * @return A modified copy of the SMG.
    */
   public SMG copyAndAddValue(SMGValue pValue) {
+    if (smgValues.contains(pValue)) {
+      return this;
+    }
     return new SMG(
         smgObjects,
         smgValues.addAndCopy(pValue),
@@ -116,6 +128,9 @@ public class SMG {
    * @return A modified copy of the SMG.
    */
   public SMG copyAndRemoveValue(SMGValue pValue) {
+    if (!smgValues.contains(pValue)) {
+      return this;
+    }
     return new SMG(
         smgObjects,
         smgValues.removeAndCopy(pValue),
@@ -194,9 +209,16 @@ public class SMG {
   }
 
   public SMG copyAndAddHVEdges(Iterable<SMGHasValueEdge> edges, SMGObject source) {
-    PersistentSet<SMGHasValueEdge> smgEdges = hasValueEdges.get(source);
+    PersistentSet<SMGHasValueEdge> oldEdges =
+        hasValueEdges.getOrDefault(source, PersistentSet.of());
+    PersistentSet<SMGHasValueEdge> smgEdges = oldEdges;
     for (SMGHasValueEdge edgeToAdd : edges) {
-      smgEdges = smgEdges.addAndCopy(edgeToAdd);
+      if (!smgEdges.contains(edgeToAdd)) {
+        smgEdges = smgEdges.addAndCopy(edgeToAdd);
+      }
+    }
+    if (smgEdges == oldEdges && hasValueEdges.containsKey(source)) {
+      return this;
     }
 
     return new SMG(
@@ -215,10 +237,16 @@ public class SMG {
    * @return A modified copy of the SMG.
    */
   public SMG copyAndRemoveHVEdges(Iterable<SMGHasValueEdge> edges, SMGObject source) {
-    PersistentSet<SMGHasValueEdge> smgEdges =
+    PersistentSet<SMGHasValueEdge> oldEdges =
         hasValueEdges.getOrDefault(source, PersistentSet.of());
+    PersistentSet<SMGHasValueEdge> smgEdges = oldEdges;
     for (SMGHasValueEdge edgeToRemove : edges) {
-      smgEdges = smgEdges.removeAndCopy(edgeToRemove);
+      if (smgEdges.contains(edgeToRemove)) {
+        smgEdges = smgEdges.removeAndCopy(edgeToRemove);
+      }
+    }
+    if (smgEdges == oldEdges && hasValueEdges.containsKey(source)) {
+      return this;
     }
 
     return new SMG(
@@ -292,6 +320,9 @@ public class SMG {
 
 
   public SMG copyAndInvalidateObject(SMGObject pObject) {
+    if (Boolean.FALSE.equals(smgObjects.get(pObject)) && !hasValueEdges.containsKey(pObject)) {
+      return this;
+    }
     PersistentMap<SMGObject, Boolean> newObjects = smgObjects.putAndCopy(pObject, false);
     PersistentMap<SMGObject, PersistentSet<SMGHasValueEdge>> newHVEdges =
         hasValueEdges.removeAndCopy(pObject);
@@ -530,6 +561,9 @@ public class SMG {
       }
     }
 
+    if (toRemoveEdgesSet.isEmpty()) {
+      return this;
+    }
     return copyAndRemoveHVEdges(toRemoveEdgesSet, object).copyAndAddHVEdges(toAddEdgesSet, object);
   }
 
@@ -780,7 +814,12 @@ public class SMG {
 
   @Override
   public int hashCode() {
-    return Objects.hash(hasValueEdges, smgObjects, pointsToEdges, smgValues);
+    int result = hashCode;
+    if (result == 0) {
+      result = Objects.hash(hasValueEdges, smgObjects, pointsToEdges, smgValues);
+      hashCode = result;
+    }
+    return result;
   }
 
   @Override
@@ -792,7 +831,8 @@ public class SMG {
       return false;
     }
     SMG other = (SMG) obj;
-    return Objects.equals(hasValueEdges, other.hasValueEdges)
+    return hashCode() == other.hashCode()
+        && Objects.equals(hasValueEdges, other.hasValueEdges)
         && Objects.equals(smgObjects, other.smgObjects)
         && Objects.equals(pointsToEdges, other.pointsToEdges)
         && Objects.equals(smgValues, other.smgValues);
@@ -75,6 +75,47 @@ public class SMGWriteReadTest extends SMGTest0 {
         .isEqualTo(PersistentSet.of(SMGObject.nullInstance()).addAndCopy(testObject));
   }
 
+  /*
+   * Test that updates that do not change the SMG return the same SMG instead of a copy.
+   */
+  @Test
+  public void unchangedSMGIsNotCopiedTest() {
+    SMGObject testObject = createRegion(BigInteger.valueOf(256));
+    smg = smg.copyAndAddObject(testObject).copyAndAddValue(value1);
+    SMGHasValueEdge edge = new SMGHasValueEdge(value1, BigInteger.ZERO, BigInteger.valueOf(64));
+    smg = smg.copyAndAddHVEdges(ImmutableList.of(edge), testObject);
+
+    assertThat(smg.copyAndAddObject(testObject)).isSameInstanceAs(smg);
+    assertThat(smg.copyAndAddValue(value1)).isSameInstanceAs(smg);
+    assertThat(smg.copyAndRemoveValue(value2)).isSameInstanceAs(smg);
+    assertThat(smg.copyAndAddHVEdges(ImmutableList.of(edge), testObject)).isSameInstanceAs(smg);
+    SMGHasValueEdge otherEdge =
+        new SMGHasValueEdge(value2, BigInteger.ZERO, BigInteger.valueOf(64));
+    assertThat(smg.copyAndRemoveHVEdges(ImmutableList.of(otherEdge), testObject))
+        .isSameInstanceAs(smg);
+  }
+
+  /*
+   * Test that equal SMGs that were built independently have the same hash code.
+   */
+  @Test
+  public void equalSMGsHaveEqualHashCodesTest() {
+    SMGObject testObject = createRegion(BigInteger.valueOf(256));
+    SMG smg1 =
+        smg.copyAndAddObject(testObject)
+            .writeValue(testObject, BigInteger.ZERO, testObject.getSize(), SMGValue.zeroValue())
+            .writeValue(testObject, BigInteger.valueOf(64), BigInteger.valueOf(64), value1);
+    SMG smg2 =
+        smg.copyAndAddObject(testObject)
+            .writeValue(testObject, BigInteger.ZERO, testObject.getSize(), SMGValue.zeroValue())
+            .writeValue(testObject, BigInteger.valueOf(64), BigInteger.valueOf(64), value1);
+
+    assertThat(smg1).isNotSameInstanceAs(smg2);
+    assertThat(smg1).isEqualTo(smg2);
+    assertThat(smg1.hashCode()).isEqualTo(smg2.hashCode());
+    assertThat(smg1).isNotEqualTo(smg);
+  }
+
   /*
    * Test adding an SMGObject, writing everything to 0 for it, then add
    * value1 from (Bytes) 3 to 11 (size 8 Bytes) and then adding value2 from
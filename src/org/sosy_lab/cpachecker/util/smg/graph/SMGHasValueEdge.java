@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.util.smg.graph;
 
 import java.math.BigInteger;
+import java.util.Objects;
 
 /**
  * Edge from (SMG-)object to (SMG-)value. May have a offset and a type. We do not use the type
@@ -85,7 +86,7 @@ public class SMGHasValueEdge implements SMGEdge, Comparable<SMGHasValueEdge> {
 
   @Override
   public int hashCode() {
-    return super.hashCode();
+    return Objects.hash(value, offset, sizeInBits);
   }
 
   @Override
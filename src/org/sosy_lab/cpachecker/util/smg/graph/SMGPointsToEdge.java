@@ -9,6 +9,7 @@
 package org.sosy_lab.cpachecker.util.smg.graph;
 
 import java.math.BigInteger;
+import java.util.Objects;
 
 /**
  * SMG edge pointing from an (SMG-)value to an (SMG-)object. Has a target specifier consisting of
@@ -84,7 +85,8 @@ public class SMGPointsToEdge implements SMGEdge, Comparable<SMGPointsToEdge> {
 
   @Override
   public int hashCode() {
-    return super.hashCode();
+    // the target specifier is not used, because it may be changed while the edge is in an SMG
+    return Objects.hash(pointsToObject, offset);
   }
 
   public void setTargetSpecifier(SMGTargetSpecifier pTargetSpecifier) {